@@ -0,0 +1,65 @@
+package org.motpassants.infrastructure.adapter.out.persistence;
+
+import org.motpassants.domain.core.model.Book;
+import org.motpassants.domain.core.model.BookSortCriteria;
+import org.motpassants.domain.core.model.SortDirection;
+import org.motpassants.domain.core.model.SortField;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encoding and decoding of the keyset cursors of the book list, for each sort field.
+ * Scores are operations per microsecond; with -prof gc, gc.alloc.rate.norm is bytes per operation.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class BookCursorBenchmark {
+
+    @Param({"UPDATED_AT", "TITLE_SORT", "PUBLICATION_DATE"})
+    public SortField field;
+
+    private BookSortCriteria criteria;
+    private Book lastOfPage;
+    private String cursor;
+
+    @Setup
+    public void setUp() {
+        criteria = new BookSortCriteria(field, SortDirection.DESC);
+        lastOfPage = Book.builder()
+            .id(UUID.fromString("3f0b8c52-6d1e-4a8f-9c2d-7e5b1a4f6c93"))
+            .titleSort("Élégie pour un été, L'")
+            .build();
+        lastOfPage.setCreatedAt(OffsetDateTime.parse("2024-03-01T10:15:30.123456Z"));
+        lastOfPage.setUpdatedAt(OffsetDateTime.parse("2025-01-12T08:00:00.654321Z"));
+        lastOfPage.setPublicationDate(LocalDate.of(1969, 3, 1));
+        cursor = BookRepositoryAdapter.encodeCursor(lastOfPage, criteria);
+    }
+
+    @Benchmark
+    public String encodeCursor() {
+        return BookRepositoryAdapter.encodeCursor(lastOfPage, criteria);
+    }
+
+    @Benchmark
+    public Object[] decodeCursor() {
+        return BookRepositoryAdapter.decodeCursor(cursor, criteria);
+    }
+}
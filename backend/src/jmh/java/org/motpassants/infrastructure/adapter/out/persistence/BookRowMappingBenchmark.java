@@ -0,0 +1,123 @@
+package org.motpassants.infrastructure.adapter.out.persistence;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.Random;
+import java.util.StringJoiner;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Row mapping of book list and detail queries, one page of rows per invocation.
+ * Scores are rows per millisecond; with -prof gc, gc.alloc.rate.norm is bytes allocated per row.
+ * The metadata parameter sets the size of the JSONB document parsed by the full mapper.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class BookRowMappingBenchmark {
+
+    // Rows of a default book list page
+    static final int ROWS = 20;
+
+    private static final String[] LIGHT_COLUMNS = {
+        "id", "title", "title_sort", "has_cover", "created_at", "updated_at", "publication_date",
+        "language_code", "cover_placeholder", "cover_color", "cover_version"};
+    private static final String[] FULL_COLUMNS = {
+        "id", "title", "title_sort", "isbn", "path", "file_size", "file_hash", "has_cover", "created_at",
+        "updated_at", "publication_date", "language_code", "publisher_id", "metadata", "search_vector"};
+
+    @Param({"empty", "typical", "large"})
+    public String metadata;
+
+    private BookRepositoryAdapter adapter;
+    private ResultSet lightRows;
+    private ResultSet fullRows;
+
+    @Setup
+    public void setUp() {
+        adapter = new BookRepositoryAdapter();
+        adapter.objectMapper = new ObjectMapper();
+        Random random = new Random(42);
+        Object[][] light = new Object[ROWS][];
+        Object[][] full = new Object[ROWS][];
+        for (int i = 0; i < ROWS; i++) {
+            UUID id = new UUID(random.nextLong(), random.nextLong());
+            String title = "The Left Hand of Darkness, volume " + i;
+            String titleSort = "Left Hand of Darkness, volume " + i + ", The";
+            Timestamp created = Timestamp.from(Instant.parse("2024-03-01T10:15:30.123456Z").plusSeconds(i * 3600L));
+            Timestamp updated = Timestamp.from(Instant.parse("2025-01-12T08:00:00.654321Z").minusSeconds(i * 60L));
+            Date published = Date.valueOf(LocalDate.of(1969, 3, 1).plusDays(i));
+            byte[] jpeg = new byte[420];
+            random.nextBytes(jpeg);
+            String placeholder = "data:image/jpeg;base64," + Base64.getEncoder().encodeToString(jpeg);
+            light[i] = new Object[] {id, title, titleSort, Boolean.TRUE, created, updated, published,
+                "en", placeholder, "#2040a0", String.format("%016x", random.nextLong())};
+            full[i] = new Object[] {id, title, titleSort, "978-0441478125", "books/" + id + ".epub",
+                1_482_331L + i, String.format("%064x", random.nextLong()), Boolean.TRUE, created, updated, published,
+                "en", new UUID(random.nextLong(), random.nextLong()), metadataJson(metadata, i),
+                (title + " ursula k. le guin ace books science fiction").toLowerCase()};
+        }
+        lightRows = InMemoryResultSet.of(LIGHT_COLUMNS, light);
+        fullRows = InMemoryResultSet.of(FULL_COLUMNS, full);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void mapRowToBookLight(Blackhole blackhole) throws SQLException {
+        lightRows.beforeFirst();
+        while (lightRows.next()) {
+            blackhole.consume(BookRepositoryAdapter.mapRowToBookLight(lightRows));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void mapRowToBook(Blackhole blackhole) throws SQLException {
+        fullRows.beforeFirst();
+        while (fullRows.next()) {
+            blackhole.consume(adapter.mapRowToBook(fullRows));
+        }
+    }
+
+    private static String metadataJson(String size, int i) {
+        if ("empty".equals(size)) {
+            return "{}";
+        }
+        StringJoiner subjects = new StringJoiner("\", \"", "[\"", "\"]");
+        int subjectCount = "large".equals(size) ? 40 : 3;
+        for (int s = 0; s < subjectCount; s++) {
+            subjects.add("Subject " + s);
+        }
+        String description = "large".equals(size)
+            ? "A lone human ambassador is sent to Winter, an alien world without sexual prejudice. ".repeat(30)
+            : "A lone human ambassador is sent to Winter.";
+        return "{\"source\": \"epub\", \"rating\": 4.5, \"series_index\": " + i
+            + ", \"subjects\": " + subjects
+            + ", \"identifiers\": {\"isbn\": \"978-0441478125\", \"goodreads\": \"18423\"}"
+            + ", \"description\": \"" + description.trim() + "\"}";
+    }
+}
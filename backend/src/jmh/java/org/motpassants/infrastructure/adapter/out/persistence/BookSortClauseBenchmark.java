@@ -0,0 +1,57 @@
+package org.motpassants.infrastructure.adapter.out.persistence;
+
+import org.motpassants.domain.core.model.BookSortCriteria;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building the ORDER BY clause of the book list from request parameters.
+ * Scores are operations per microsecond; with -prof gc, gc.alloc.rate.norm is bytes per operation.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class BookSortClauseBenchmark {
+
+    @Param({"updated_at", "title_sort", "publication_date"})
+    public String sortField;
+
+    @Param({"desc", "asc"})
+    public String sortDirection;
+
+    private BookSortCriteria criteria;
+
+    @Setup
+    public void setUp() {
+        criteria = BookSortCriteria.of(sortField, sortDirection);
+    }
+
+    @Benchmark
+    public String toSqlOrderClause() {
+        return criteria.toSqlOrderClause();
+    }
+
+    @Benchmark
+    public String orderByClause() {
+        return BookRepositoryAdapter.orderByClause(criteria);
+    }
+
+    @Benchmark
+    public String parseAndBuild() {
+        return BookRepositoryAdapter.orderByClause(BookSortCriteria.of(sortField, sortDirection));
+    }
+}
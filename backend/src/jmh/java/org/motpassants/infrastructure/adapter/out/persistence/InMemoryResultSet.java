@@ -0,0 +1,100 @@
+package org.motpassants.infrastructure.adapter.out.persistence;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Forward-only ResultSet over rows held in memory, so row mappers can be measured without a
+ * database or driver. A proxy answers the getters by column label that the mappers call, plus
+ * next, wasNull and close; {@code beforeFirst()} replays the rows. Values are returned as stored,
+ * like the driver would for the matching column types. Any other method throws.
+ */
+final class InMemoryResultSet implements InvocationHandler {
+
+    private final Map<String, Integer> columns = new HashMap<>();
+    private final Object[][] rows;
+    private int row = -1;
+    private boolean wasNull;
+
+    private InMemoryResultSet(String[] labels, Object[][] rows) {
+        for (int i = 0; i < labels.length; i++) {
+            columns.put(labels[i], i);
+        }
+        this.rows = rows;
+    }
+
+    static ResultSet of(String[] labels, Object[][] rows) {
+        return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(),
+            new Class<?>[] {ResultSet.class}, new InMemoryResultSet(labels, rows));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws SQLException {
+        String name = method.getName();
+        switch (name) {
+            case "next":
+                return ++row < rows.length;
+            case "beforeFirst":
+                row = -1;
+                return null;
+            case "wasNull":
+                return wasNull;
+            case "close":
+                return null;
+            case "isClosed":
+                return false;
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "equals":
+                return proxy == args[0];
+            case "toString":
+                return "InMemoryResultSet[" + rows.length + " rows]";
+            default:
+                break;
+        }
+        if (args == null || args.length == 0 || !(args[0] instanceof String label)) {
+            throw unsupported(method);
+        }
+        return switch (name) {
+            case "getObject" -> args.length == 2 ? ((Class<?>) args[1]).cast(value(label)) : value(label);
+            case "getString" -> {
+                Object value = value(label);
+                yield value == null ? null : value.toString();
+            }
+            case "getLong" -> {
+                Object value = value(label);
+                yield value == null ? 0L : ((Number) value).longValue();
+            }
+            case "getBoolean" -> {
+                Object value = value(label);
+                yield value != null && (Boolean) value;
+            }
+            // Stored as java.sql.Timestamp and java.sql.Date
+            case "getTimestamp", "getDate" -> value(label);
+            default -> throw unsupported(method);
+        };
+    }
+
+    private Object value(String columnLabel) throws SQLException {
+        Integer index = columns.get(columnLabel);
+        if (index == null) {
+            throw new SQLException("Unknown column: " + columnLabel);
+        }
+        if (row < 0 || row >= rows.length) {
+            throw new SQLException("No current row");
+        }
+        Object value = rows[row][index];
+        wasNull = value == null;
+        return value;
+    }
+
+    private static SQLException unsupported(Method method) {
+        return new SQLFeatureNotSupportedException("Not supported by the in-memory result set: " + method);
+    }
+}
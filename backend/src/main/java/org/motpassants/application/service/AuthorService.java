@@ -24,10 +24,16 @@ import java.util.UUID;
 public class AuthorService implements AuthorUseCase {
 
     private final AuthorRepositoryPort authorRepository;
+    private final TypeaheadService typeaheadService;
+    private final LibraryVersionService libraryVersionService;
 
     @Inject
-    public AuthorService(AuthorRepositoryPort authorRepository) {
+    public AuthorService(AuthorRepositoryPort authorRepository,
+                         TypeaheadService typeaheadService,
+                         LibraryVersionService libraryVersionService) {
         this.authorRepository = authorRepository;
+        this.typeaheadService = typeaheadService;
+        this.libraryVersionService = libraryVersionService;
     }
 
     @Override
@@ -44,7 +50,10 @@ public class AuthorService implements AuthorUseCase {
         Author author = Author.create(name, sortName, bio, birthDate, deathDate, websiteUrl, metadata);
         
         // Persist
-        return authorRepository.save(author);
+        Author saved = authorRepository.save(author);
+        libraryVersionService.bump();
+        typeaheadService.indexAuthor(saved.getId(), saved.getName());
+        return saved;
     }
 
     @Override
@@ -85,7 +94,10 @@ public class AuthorService implements AuthorUseCase {
         existingAuthor.updateMetadata(metadata);
         
         // Persist changes
-        return authorRepository.update(existingAuthor);
+        Author saved = authorRepository.update(existingAuthor);
+        libraryVersionService.bump();
+        typeaheadService.indexAuthor(saved.getId(), saved.getName());
+        return saved;
     }
 
     @Override
@@ -101,6 +113,8 @@ public class AuthorService implements AuthorUseCase {
         // TODO: Check for business constraints (e.g., author has books)
         // For now, allow deletion
         authorRepository.deleteById(id);
+        libraryVersionService.bump();
+        typeaheadService.removeAuthor(id);
     }
 
     @Override
@@ -0,0 +1,92 @@
+package org.motpassants.application.service;
+
+import org.motpassants.domain.port.out.LoggingPort;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A pass that runs in the background at a fixed delay on its own low-priority daemon thread.
+ * A failed pass is logged and the next one runs on schedule. Long passes check
+ * {@link #isStopping()} between steps so shutdown does not wait for them.
+ */
+final class BackgroundPass {
+
+    private final String threadName;
+    private final String label;
+    private final LoggingPort log;
+
+    private ScheduledExecutorService scheduler;
+    private volatile boolean stopping;
+
+    /**
+     * @param threadName name of the worker thread
+     * @param label what runs, as it should read in log messages, e.g. "Book content indexer"
+     */
+    BackgroundPass(String threadName, String label, LoggingPort log) {
+        this.threadName = threadName;
+        this.label = label;
+        this.log = log;
+    }
+
+    /**
+     * Run the pass every {@code intervalSeconds}, first after one interval. Does nothing if already started.
+     */
+    synchronized void start(long intervalSeconds, Runnable pass) {
+        if (scheduler != null) {
+            return;
+        }
+        stopping = false;
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, threadName);
+            t.setDaemon(true);
+            t.setPriority(Thread.MIN_PRIORITY);
+            return t;
+        });
+        long interval = Math.max(1L, intervalSeconds);
+        scheduler.scheduleWithFixedDelay(() -> runQuietly(pass), interval, interval, TimeUnit.SECONDS);
+        log.info(label + " started");
+    }
+
+    synchronized void stop() {
+        stopping = true;
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    /**
+     * True once shutdown began or the current thread was interrupted.
+     */
+    boolean isStopping() {
+        return stopping || Thread.currentThread().isInterrupted();
+    }
+
+    /**
+     * Sleep between steps of a pass.
+     *
+     * @return false when interrupted, in which case the pass should end
+     */
+    static boolean pause(long millis) {
+        if (millis <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void runQuietly(Runnable pass) {
+        try {
+            pass.run();
+        } catch (Throwable t) {
+            log.error(label + " pass failed", t);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package org.motpassants.application.service;
+
+import org.motpassants.domain.core.model.Book;
+import org.motpassants.domain.core.model.BookContentChapter;
+import org.motpassants.domain.core.model.ContentSearchHit;
+import org.motpassants.domain.port.in.ContentSearchUseCase;
+import org.motpassants.domain.port.out.BookContentExtractorPort;
+import org.motpassants.domain.port.out.BookContentIndexPort;
+import org.motpassants.domain.port.out.ConfigurationPort;
+import org.motpassants.domain.port.out.LoggingPort;
+
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Full-text search inside books, backed by a per-chapter index of EPUB spine documents.
+ * The index is filled by a background pass on a single low-priority thread that handles a
+ * bounded batch of new or changed books and pauses between books, so indexing never runs
+ * on request threads and never competes with them for more than one connection.
+ */
+@ApplicationScoped
+public class BookContentIndexService implements ContentSearchUseCase {
+
+    private static final int DEFAULT_LIMIT = 20;
+    private static final int MAX_LIMIT = 100;
+
+    private final BookContentIndexPort indexPort;
+    private final BookContentExtractorPort extractorPort;
+    private final ConfigurationPort configurationPort;
+    private final LoggingPort log;
+    private final BackgroundPass indexer;
+
+    @Inject
+    public BookContentIndexService(BookContentIndexPort indexPort,
+                                   BookContentExtractorPort extractorPort,
+                                   ConfigurationPort configurationPort,
+                                   LoggingPort log) {
+        this.indexPort = indexPort;
+        this.extractorPort = extractorPort;
+        this.configurationPort = configurationPort;
+        this.log = log;
+        this.indexer = new BackgroundPass("book-content-indexer", "Book content indexer", log);
+    }
+
+    void onStart(@Observes StartupEvent event) {
+        ConfigurationPort.ContentIndexConfig config = configurationPort.getContentIndexConfig();
+        if (config.isEnabled()) {
+            indexer.start(config.getIntervalSeconds(), this::indexPending);
+        }
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        indexer.stop();
+    }
+
+    @Override
+    public List<ContentSearchHit> searchContent(String query, UUID bookId, int limit) {
+        if (query == null || query.trim().isEmpty()) {
+            return List.of();
+        }
+        if (limit <= 0) limit = DEFAULT_LIMIT;
+        if (limit > MAX_LIMIT) limit = MAX_LIMIT;
+        return indexPort.search(query.trim(), bookId, limit);
+    }
+
+    /**
+     * Index one batch of new or changed books.
+     *
+     * @return the number of books processed
+     */
+    int indexPending() {
+        ConfigurationPort.ContentIndexConfig config = configurationPort.getContentIndexConfig();
+        List<Book> pending = indexPort.findBooksPendingContentIndex(Math.max(1, config.getBatchSize()));
+        int processed = 0;
+        for (Book book : pending) {
+            if (indexer.isStopping()) {
+                break;
+            }
+            if (processed > 0 && !BackgroundPass.pause(config.getPauseMillis())) {
+                break;
+            }
+            indexBook(book, config.getMaxChapterChars());
+            processed++;
+        }
+        if (processed > 0) {
+            log.infof("Indexed the content of %d books", processed);
+        }
+        return processed;
+    }
+
+    private void indexBook(Book book, int maxChapterChars) {
+        try {
+            Optional<List<BookContentChapter>> chapters = extractorPort.extractChapters(book, Math.max(1, maxChapterChars));
+            if (chapters.isEmpty()) {
+                indexPort.markSkipped(book.getId(), "No readable EPUB content");
+            } else {
+                indexPort.replaceChapters(book.getId(), chapters.get());
+            }
+        } catch (RuntimeException e) {
+            log.warn("Content indexing failed for book " + book.getId() + ": " + e.getMessage());
+            try {
+                indexPort.markFailed(book.getId(), e.getMessage());
+            } catch (RuntimeException markError) {
+                log.error("Failed to record content indexing failure for book " + book.getId(), markError);
+            }
+        }
+    }
+}
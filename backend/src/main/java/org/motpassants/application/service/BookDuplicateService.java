@@ -0,0 +1,237 @@
+package org.motpassants.application.service;
+
+import org.motpassants.domain.core.model.BookDuplicateSource;
+import org.motpassants.domain.core.model.BookSignature;
+import org.motpassants.domain.core.model.DuplicateCandidate;
+import org.motpassants.domain.core.model.DuplicateCluster;
+import org.motpassants.domain.port.in.DuplicateDetectionUseCase;
+import org.motpassants.domain.port.out.BookDuplicatePort;
+import org.motpassants.domain.port.out.ConfigurationPort;
+import org.motpassants.domain.port.out.LoggingPort;
+
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Near-duplicate book detection with MinHash and locality-sensitive hashing.
+ * A background pass on a single low-priority thread signs new or changed books in batches;
+ * finding duplicates then only compares books that share an LSH bucket, instead of every pair.
+ * The shared buckets are kept until a signature changes or the signing interval elapses.
+ */
+@ApplicationScoped
+public class BookDuplicateService implements DuplicateDetectionUseCase {
+
+    private static final int DEFAULT_LIMIT = 50;
+    private static final int MAX_LIMIT = 500;
+    // A bucket this crowded only holds near-empty signatures and would cost a quadratic comparison
+    static final int MAX_BUCKET_SIZE = 50;
+
+    private final BookDuplicatePort duplicatePort;
+    private final ConfigurationPort configurationPort;
+    private final LoggingPort log;
+    private final BackgroundPass signer;
+
+    private record CandidateBuckets(long version, long loadedAt, List<List<UUID>> buckets) {}
+
+    private volatile CandidateBuckets candidateBuckets;
+
+    @Inject
+    public BookDuplicateService(BookDuplicatePort duplicatePort,
+                                ConfigurationPort configurationPort,
+                                LoggingPort log) {
+        this.duplicatePort = duplicatePort;
+        this.configurationPort = configurationPort;
+        this.log = log;
+        this.signer = new BackgroundPass("book-duplicate-signer", "Book duplicate signer", log);
+    }
+
+    void onStart(@Observes StartupEvent event) {
+        ConfigurationPort.DuplicatesConfig config = configurationPort.getDuplicatesConfig();
+        if (config.isEnabled()) {
+            signer.start(config.getIntervalSeconds(), this::signPending);
+        }
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        signer.stop();
+    }
+
+    @Override
+    public List<DuplicateCluster> findDuplicateClusters(int limit) {
+        if (limit <= 0) limit = DEFAULT_LIMIT;
+        if (limit > MAX_LIMIT) limit = MAX_LIMIT;
+        ConfigurationPort.DuplicatesConfig config = configurationPort.getDuplicatesConfig();
+        double threshold = config.getSimilarityThreshold();
+
+        // Several bands often put the same books together; compare each group once
+        Set<List<UUID>> buckets = new LinkedHashSet<>(candidateBuckets(config));
+        if (buckets.isEmpty()) {
+            return List.of();
+        }
+        Set<UUID> candidateIds = new HashSet<>();
+        buckets.forEach(candidateIds::addAll);
+        Map<UUID, int[]> signatures = duplicatePort.findSignatures(candidateIds);
+
+        Clusters clusters = new Clusters();
+        Set<String> compared = new HashSet<>();
+        for (List<UUID> bucket : buckets) {
+            for (int i = 0; i < bucket.size(); i++) {
+                for (int j = i + 1; j < bucket.size(); j++) {
+                    UUID a = bucket.get(i);
+                    UUID b = bucket.get(j);
+                    String pair = a.compareTo(b) < 0 ? a + "|" + b : b + "|" + a;
+                    if (!compared.add(pair)) continue;
+                    double similarity = MinHasher.similarity(signatures.get(a), signatures.get(b));
+                    if (similarity >= threshold) {
+                        clusters.union(a, b, similarity);
+                    }
+                }
+            }
+        }
+
+        List<Map.Entry<UUID, List<UUID>>> groups = new ArrayList<>(clusters.groups().entrySet());
+        groups.sort(Comparator.<Map.Entry<UUID, List<UUID>>>comparingInt(e -> e.getValue().size()).reversed()
+            .thenComparing(e -> clusters.similarity(e.getKey()), Comparator.reverseOrder()));
+        if (groups.size() > limit) {
+            groups = groups.subList(0, limit);
+        }
+
+        Set<UUID> reported = new HashSet<>();
+        groups.forEach(e -> reported.addAll(e.getValue()));
+        Map<UUID, DuplicateCandidate> candidates = new HashMap<>();
+        for (DuplicateCandidate candidate : duplicatePort.findCandidates(reported)) {
+            candidates.put(candidate.bookId(), candidate);
+        }
+
+        List<DuplicateCluster> result = new ArrayList<>();
+        for (Map.Entry<UUID, List<UUID>> group : groups) {
+            List<DuplicateCandidate> books = group.getValue().stream()
+                .map(candidates::get)
+                .filter(c -> c != null)
+                .sorted(Comparator.comparing(DuplicateCandidate::title, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER))
+                    .thenComparing(DuplicateCandidate::bookId))
+                .toList();
+            // Books deleted since they were signed can leave a cluster of one
+            if (books.size() > 1) {
+                result.add(new DuplicateCluster(clusters.similarity(group.getKey()), books));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Shared buckets, regrouped only when a signature was written or removed since they were loaded.
+     * A signature written by another node can commit with a lower version than one already seen,
+     * so the buckets are also reloaded once per signing interval.
+     */
+    private List<List<UUID>> candidateBuckets(ConfigurationPort.DuplicatesConfig config) {
+        long version = duplicatePort.findSignatureVersion();
+        long now = System.currentTimeMillis();
+        long maxAge = Math.max(1L, config.getIntervalSeconds()) * 1000L;
+        CandidateBuckets cached = candidateBuckets;
+        if (cached != null && cached.version() == version && now - cached.loadedAt() < maxAge) {
+            return cached.buckets();
+        }
+        List<List<UUID>> buckets = List.copyOf(duplicatePort.findCandidateBuckets(MAX_BUCKET_SIZE));
+        candidateBuckets = new CandidateBuckets(version, now, buckets);
+        return buckets;
+    }
+
+    /**
+     * Sign every book that is new or changed since its last signature, batch by batch.
+     *
+     * @return the number of books signed
+     */
+    int signPending() {
+        ConfigurationPort.DuplicatesConfig config = configurationPort.getDuplicatesConfig();
+        int batchSize = Math.max(1, config.getBatchSize());
+        int processed = 0;
+        while (!signer.isStopping()) {
+            List<BookDuplicateSource> pending = duplicatePort.findBooksPendingSignature(batchSize);
+            if (pending.isEmpty()) {
+                break;
+            }
+            List<BookSignature> signatures = new ArrayList<>(pending.size());
+            for (BookDuplicateSource source : pending) {
+                int[] values = MinHasher.signature(MinHasher.shingles(source));
+                signatures.add(values == null
+                    ? new BookSignature(source.bookId(), new int[0], new long[0], source.updatedAt())
+                    : new BookSignature(source.bookId(), values, MinHasher.bandBuckets(values), source.updatedAt()));
+            }
+            duplicatePort.saveSignatures(signatures);
+            processed += pending.size();
+            if (pending.size() < batchSize || !BackgroundPass.pause(config.getPauseMillis())) {
+                break;
+            }
+        }
+        if (processed > 0) {
+            log.infof("Computed duplicate signatures for %d books", processed);
+        }
+        return processed;
+    }
+
+    /**
+     * Union-find over book ids, tracking the weakest link that joined each cluster.
+     */
+    private static final class Clusters {
+        private final Map<UUID, UUID> parent = new HashMap<>();
+        private final Map<UUID, Double> weakest = new HashMap<>();
+
+        void union(UUID a, UUID b, double similarity) {
+            UUID rootA = find(a);
+            UUID rootB = find(b);
+            if (rootA.equals(rootB)) {
+                return;
+            }
+            weakest.put(rootA, Math.min(similarity, Math.min(similarity(rootA), similarity(rootB))));
+            weakest.remove(rootB);
+            parent.put(rootB, rootA);
+        }
+
+        UUID find(UUID id) {
+            UUID root = id;
+            while (true) {
+                UUID up = parent.getOrDefault(root, root);
+                if (up.equals(root)) break;
+                root = up;
+            }
+            // Path compression
+            UUID current = id;
+            while (!current.equals(root)) {
+                UUID next = parent.get(current);
+                parent.put(current, root);
+                current = next;
+            }
+            return root;
+        }
+
+        double similarity(UUID root) {
+            return weakest.getOrDefault(root, 1.0);
+        }
+
+        Map<UUID, List<UUID>> groups() {
+            Map<UUID, List<UUID>> groups = new HashMap<>();
+            for (UUID id : new ArrayList<>(parent.keySet())) {
+                groups.computeIfAbsent(find(id), k -> new ArrayList<>()).add(id);
+            }
+            // Roots only appear as keys of their children; add them to their own group
+            for (Map.Entry<UUID, List<UUID>> group : groups.entrySet()) {
+                if (!group.getValue().contains(group.getKey())) group.getValue().add(group.getKey());
+            }
+            return groups;
+        }
+    }
+}
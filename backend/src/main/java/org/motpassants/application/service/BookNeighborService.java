@@ -0,0 +1,316 @@
+package org.motpassants.application.service;
+
+import org.motpassants.domain.core.model.BookFeatures;
+import org.motpassants.domain.core.model.BookNeighbor;
+import org.motpassants.domain.port.in.LibraryVersionUseCase;
+import org.motpassants.domain.port.out.BookNeighborPort;
+import org.motpassants.domain.port.out.ConfigurationPort;
+import org.motpassants.domain.port.out.LoggingPort;
+
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Keeps the precomputed table of similar books up to date.
+ * Each book is a sparse vector over its authors, series, tags, language and publisher, weighted by
+ * feature type and inverse frequency; neighbors are the books with the highest cosine similarity.
+ * Only books sharing a reasonably rare feature are compared, and a pass only recomputes books whose
+ * features changed, the books sharing a feature with them, the books that listed them and the books
+ * that listed a deleted book. It loads the features of those books and of their candidates only.
+ */
+@ApplicationScoped
+public class BookNeighborService {
+
+    // Sharing an author or a series says more than sharing a tag, and far more than a language
+    private static final Map<Character, Double> TYPE_WEIGHTS = Map.of('a', 3.0, 's', 3.0, 't', 1.0, 'p', 0.5, 'l', 0.25);
+    // Features held by more books than this do not make candidates (e.g. a language), but still count in scores
+    static final int MAX_CANDIDATE_POSTINGS = 2000;
+    private static final int WRITE_CHUNK = 500;
+
+    private final BookNeighborPort neighborPort;
+    private final LibraryVersionUseCase libraryVersionUseCase;
+    private final ConfigurationPort configurationPort;
+    private final LoggingPort log;
+
+    private final BackgroundPass refresher;
+    private long computedVersion = Long.MIN_VALUE;
+
+    @Inject
+    public BookNeighborService(BookNeighborPort neighborPort,
+                               LibraryVersionUseCase libraryVersionUseCase,
+                               ConfigurationPort configurationPort,
+                               LoggingPort log) {
+        this.neighborPort = neighborPort;
+        this.libraryVersionUseCase = libraryVersionUseCase;
+        this.configurationPort = configurationPort;
+        this.log = log;
+        this.refresher = new BackgroundPass("book-neighbors", "Similar books refresher", log);
+    }
+
+    void onStart(@Observes StartupEvent event) {
+        ConfigurationPort.SimilarBooksConfig config = configurationPort.getSimilarBooksConfig();
+        if (config.isEnabled()) {
+            refresher.start(config.getIntervalSeconds(), this::refresh);
+        }
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        refresher.stop();
+    }
+
+    /**
+     * Recompute the neighbors of books affected by changes since the last pass.
+     *
+     * @return the number of books whose neighbors were recomputed
+     */
+    int refresh() {
+        // Read before loading, so a change made during the pass triggers the next one
+        long version = libraryVersionUseCase.getLibraryVersion();
+        if (version == computedVersion) {
+            return 0;
+        }
+        ConfigurationPort.SimilarBooksConfig config = configurationPort.getSimilarBooksConfig();
+        List<BookFeatures> changed = neighborPort.loadChangedBookFeatures();
+        Set<UUID> orphaned = neighborPort.findBooksListingDeletedBooks();
+        if (changed.isEmpty() && orphaned.isEmpty()) {
+            computedVersion = version;
+            return 0;
+        }
+
+        int total = neighborPort.countBooks();
+        Index index;
+        Set<Integer> affected = new TreeSet<>();
+        // Past a fifth of the library it is cheaper to recompute everything than to trace neighbors
+        if (changed.size() * 5 > total) {
+            index = new Index(neighborPort.loadBookFeatures(), total, null);
+            for (int i = 0; i < index.ids.length; i++) affected.add(i);
+        } else {
+            Map<UUID, BookFeatures> loaded = new LinkedHashMap<>();
+            changed.forEach(book -> loaded.put(book.bookId(), book));
+            List<UUID> changedIds = changed.stream().map(BookFeatures::bookId).toList();
+            Set<UUID> affectedIds = new HashSet<>(orphaned);
+            if (!changed.isEmpty()) {
+                affectedIds.addAll(changedIds);
+                affectedIds.addAll(neighborPort.findBooksSharing(featuresOf(changed), MAX_CANDIDATE_POSTINGS));
+                affectedIds.addAll(neighborPort.findBooksListing(changedIds));
+            }
+            load(loaded, affectedIds);
+            // Candidates of an affected book share a rare feature with it
+            List<BookFeatures> affectedBooks = affectedIds.stream().map(loaded::get).filter(Objects::nonNull).toList();
+            load(loaded, neighborPort.findBooksSharing(featuresOf(affectedBooks), MAX_CANDIDATE_POSTINGS));
+            index = new Index(loaded.values(), total, neighborPort.countBooksPerFeature(featuresOf(loaded.values())));
+            for (UUID id : affectedIds) {
+                Integer position = index.positions.get(id);
+                // Books deleted since they were found are not recomputed
+                if (position != null) affected.add(position);
+            }
+        }
+
+        int neighbors = Math.max(1, config.getNeighbors());
+        Map<UUID, List<BookNeighbor>> computed = compute(index, new ArrayList<>(affected), neighbors, Math.max(1, config.getParallelism()));
+
+        List<UUID> order = new ArrayList<>(computed.keySet());
+        for (int from = 0; from < order.size(); from += WRITE_CHUNK) {
+            if (refresher.isStopping()) {
+                // What is left stays stale and is picked up by the next pass
+                return from;
+            }
+            Map<UUID, List<BookNeighbor>> chunk = new LinkedHashMap<>();
+            Map<UUID, Long> hashes = new HashMap<>();
+            for (UUID id : order.subList(from, Math.min(order.size(), from + WRITE_CHUNK))) {
+                chunk.put(id, computed.get(id));
+                hashes.put(id, index.hashes[index.positions.get(id)]);
+            }
+            neighborPort.replaceNeighbors(chunk, hashes);
+        }
+        computedVersion = version;
+        log.infof("Recomputed similar books for %d of %d books", computed.size(), total);
+        return computed.size();
+    }
+
+    private void load(Map<UUID, BookFeatures> loaded, Collection<UUID> bookIds) {
+        List<UUID> missing = bookIds.stream().filter(id -> !loaded.containsKey(id)).toList();
+        for (BookFeatures book : neighborPort.loadBookFeatures(missing)) {
+            loaded.put(book.bookId(), book);
+        }
+    }
+
+    private static Set<String> featuresOf(Collection<BookFeatures> books) {
+        Set<String> features = new HashSet<>();
+        for (BookFeatures book : books) {
+            if (book.features() != null) features.addAll(book.features());
+        }
+        return features;
+    }
+
+    private Map<UUID, List<BookNeighbor>> compute(Index index, List<Integer> books, int neighbors, int parallelism) {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            List<List<BookNeighbor>> results = pool.submit(() -> books.parallelStream()
+                .map(book -> topNeighbors(index, book, neighbors))
+                .toList()).get();
+            Map<UUID, List<BookNeighbor>> computed = new LinkedHashMap<>();
+            for (int i = 0; i < books.size(); i++) {
+                computed.put(index.ids[books.get(i)], results.get(i));
+            }
+            return computed;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Similar books computation interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Similar books computation failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static List<BookNeighbor> topNeighbors(Index index, int book, int limit) {
+        if (index.norms[book] == 0) {
+            return List.of();
+        }
+        Set<Integer> candidates = new HashSet<>();
+        for (int feature : index.features[book]) {
+            if (index.counts[feature] > MAX_CANDIDATE_POSTINGS) continue;
+            for (int other : index.postings[feature]) {
+                if (other != book) candidates.add(other);
+            }
+        }
+        // Min-heap of the best scores so far
+        PriorityQueue<double[]> best = new PriorityQueue<>(Comparator.comparingDouble((double[] e) -> e[1]));
+        for (int other : candidates) {
+            double score = index.cosine(book, other);
+            if (score <= 0) continue;
+            if (best.size() < limit) {
+                best.add(new double[] {other, score});
+            } else if (score > best.peek()[1]) {
+                best.poll();
+                best.add(new double[] {other, score});
+            }
+        }
+        List<double[]> sorted = new ArrayList<>(best);
+        sorted.sort(Comparator.comparingDouble((double[] e) -> e[1]).reversed()
+            .thenComparing(e -> index.ids[(int) e[0]]));
+        return sorted.stream().map(e -> new BookNeighbor(index.ids[(int) e[0]], e[1])).toList();
+    }
+
+    /**
+     * Weighted sparse vectors of the loaded books with an inverted index from feature to loaded books.
+     * Weights and candidate limits use library-wide feature counts, so a partial index scores
+     * the books it holds exactly as an index of the whole library would.
+     */
+    private static final class Index {
+        final UUID[] ids;
+        final Map<UUID, Integer> positions = new HashMap<>();
+        final long[] hashes;
+        final int[][] features;
+        final double[][] weights;
+        final double[] norms;
+        final int[][] postings;
+        final int[] counts;
+
+        /**
+         * @param total books in the library
+         * @param libraryCounts books holding each feature across the library, or null when all books are loaded
+         */
+        Index(Collection<BookFeatures> loaded, int total, Map<String, Integer> libraryCounts) {
+            List<BookFeatures> books = new ArrayList<>(loaded);
+            int n = books.size();
+            ids = new UUID[n];
+            hashes = new long[n];
+            features = new int[n][];
+            weights = new double[n][];
+            norms = new double[n];
+            Map<String, Integer> featureIds = new HashMap<>();
+            List<String> names = new ArrayList<>();
+            List<Integer> loadedCounts = new ArrayList<>();
+            for (int i = 0; i < n; i++) {
+                BookFeatures book = books.get(i);
+                ids[i] = book.bookId();
+                positions.put(book.bookId(), i);
+                TreeSet<String> keys = new TreeSet<>(book.features() == null ? List.of() : book.features());
+                hashes[i] = book.featuresHash();
+                int[] bookFeatures = new int[keys.size()];
+                int k = 0;
+                for (String key : keys) {
+                    Integer id = featureIds.get(key);
+                    if (id == null) {
+                        id = names.size();
+                        featureIds.put(key, id);
+                        names.add(key);
+                        loadedCounts.add(0);
+                    }
+                    loadedCounts.set(id, loadedCounts.get(id) + 1);
+                    bookFeatures[k++] = id;
+                }
+                Arrays.sort(bookFeatures);
+                features[i] = bookFeatures;
+            }
+            postings = new int[names.size()][];
+            counts = new int[names.size()];
+            int[] filled = new int[names.size()];
+            int libraryBooks = libraryCounts == null ? n : Math.max(n, total);
+            double[] featureWeights = new double[names.size()];
+            for (int f = 0; f < names.size(); f++) {
+                postings[f] = new int[loadedCounts.get(f)];
+                Integer libraryCount = libraryCounts == null ? null : libraryCounts.get(names.get(f));
+                // A count read before a concurrent change may fall below what was loaded
+                counts[f] = Math.max(loadedCounts.get(f), libraryCount == null ? 0 : libraryCount);
+                String name = names.get(f);
+                double type = name.isEmpty() ? 0.0 : TYPE_WEIGHTS.getOrDefault(name.charAt(0), 0.0);
+                featureWeights[f] = type * Math.log(1.0 + (double) libraryBooks / counts[f]);
+            }
+            for (int i = 0; i < n; i++) {
+                weights[i] = new double[features[i].length];
+                double sum = 0;
+                for (int k = 0; k < features[i].length; k++) {
+                    int f = features[i][k];
+                    postings[f][filled[f]++] = i;
+                    weights[i][k] = featureWeights[f];
+                    sum += featureWeights[f] * featureWeights[f];
+                }
+                norms[i] = Math.sqrt(sum);
+            }
+        }
+
+        double cosine(int a, int b) {
+            if (norms[a] == 0 || norms[b] == 0) {
+                return 0.0;
+            }
+            int[] fa = features[a];
+            int[] fb = features[b];
+            double dot = 0;
+            int i = 0;
+            int j = 0;
+            while (i < fa.length && j < fb.length) {
+                if (fa[i] == fb[j]) {
+                    dot += weights[a][i++] * weights[b][j++];
+                } else if (fa[i] < fb[j]) {
+                    i++;
+                } else {
+                    j++;
+                }
+            }
+            return dot / (norms[a] * norms[b]);
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package org.motpassants.application.service;
+
+import org.motpassants.domain.core.model.BookQuery;
+import org.motpassants.domain.core.model.BookQuery.Clause;
+import org.motpassants.domain.core.model.BookQuery.Field;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Parser for the structured book search syntax.
+ *
+ * <pre>
+ *   author:herbert series:dune lang:fr year:&gt;1970 format:epub "exact phrase" -tag:horror
+ * </pre>
+ *
+ * Terms are separated by whitespace and all of them must match. A term is either free text,
+ * a quoted phrase or {@code field:value} (the value may be quoted); a leading {@code -} negates it.
+ * Years accept {@code 1970}, {@code >1970}, {@code >=1970}, {@code <1980}, {@code <=1980} and {@code 1970..1979}.
+ * A prefix that is not a known field is kept as free text, so titles such as "Re:Zero" still search as typed.
+ */
+final class BookQueryParser {
+
+    static final int MAX_CLAUSES = 20;
+
+    private static final Map<String, Field> FIELDS = Map.of(
+        "title", Field.TITLE,
+        "author", Field.AUTHOR,
+        "series", Field.SERIES,
+        "publisher", Field.PUBLISHER,
+        "tag", Field.TAG,
+        "lang", Field.LANGUAGE,
+        "language", Field.LANGUAGE,
+        "format", Field.FORMAT,
+        "isbn", Field.ISBN);
+    private static final String YEAR = "year";
+
+    private final String input;
+    private int pos;
+
+    private BookQueryParser(String input) {
+        this.input = input;
+    }
+
+    static BookQuery parse(String query) {
+        if (query == null) {
+            return new BookQuery(List.of());
+        }
+        return new BookQueryParser(query.trim()).parseClauses();
+    }
+
+    private BookQuery parseClauses() {
+        List<Clause> clauses = new ArrayList<>();
+        while (skipWhitespace()) {
+            Clause clause = parseClause();
+            if (clause == null) continue;
+            if (clauses.size() == MAX_CLAUSES) {
+                throw new IllegalArgumentException("Search query cannot have more than " + MAX_CLAUSES + " terms");
+            }
+            clauses.add(clause);
+        }
+        return new BookQuery(clauses);
+    }
+
+    private Clause parseClause() {
+        boolean negated = false;
+        if (input.charAt(pos) == '-' && pos + 1 < input.length() && !Character.isWhitespace(input.charAt(pos + 1))) {
+            negated = true;
+            pos++;
+        }
+        if (input.charAt(pos) == '"') {
+            String phrase = readQuoted();
+            return phrase.isBlank() ? null : new BookQuery.Term(Field.TEXT, phrase.trim(), true, negated);
+        }
+
+        int start = pos;
+        while (pos < input.length() && Character.isLetter(input.charAt(pos))) pos++;
+        if (pos > start && pos < input.length() && input.charAt(pos) == ':') {
+            String name = input.substring(start, pos).toLowerCase(Locale.ROOT);
+            if (YEAR.equals(name)) {
+                pos++;
+                return parseYear(readValue(name), negated);
+            }
+            Field field = FIELDS.get(name);
+            if (field != null) {
+                pos++;
+                boolean quoted = pos < input.length() && input.charAt(pos) == '"';
+                String value = readValue(name);
+                return new BookQuery.Term(field, value, quoted, negated);
+            }
+        }
+        // Free text: the whole word, including any unknown "prefix:"
+        pos = start;
+        String word = readWord();
+        return new BookQuery.Term(Field.TEXT, word, false, negated);
+    }
+
+    private String readValue(String field) {
+        String value = pos < input.length() && input.charAt(pos) == '"' ? readQuoted() : readWord();
+        if (value.isBlank()) {
+            throw new IllegalArgumentException("Missing value for search field '" + field + "'");
+        }
+        return value.trim();
+    }
+
+    private String readWord() {
+        int start = pos;
+        while (pos < input.length() && !Character.isWhitespace(input.charAt(pos))) pos++;
+        return input.substring(start, pos);
+    }
+
+    /** Read a double-quoted string; an unterminated quote runs to the end of the input. */
+    private String readQuoted() {
+        int start = ++pos;
+        int end = input.indexOf('"', start);
+        if (end < 0) {
+            pos = input.length();
+            return input.substring(start);
+        }
+        pos = end + 1;
+        return input.substring(start, end);
+    }
+
+    private boolean skipWhitespace() {
+        while (pos < input.length() && Character.isWhitespace(input.charAt(pos))) pos++;
+        return pos < input.length();
+    }
+
+    private static BookQuery.YearRange parseYear(String value, boolean negated) {
+        int range = value.indexOf("..");
+        if (range >= 0) {
+            Integer from = range == 0 ? null : year(value.substring(0, range), value);
+            Integer to = range + 2 == value.length() ? null : year(value.substring(range + 2), value);
+            if (from == null && to == null) {
+                throw invalidYear(value);
+            }
+            if (from != null && to != null && from > to) {
+                throw new IllegalArgumentException("Invalid year range '" + value + "': start is after end");
+            }
+            return new BookQuery.YearRange(from, to, negated);
+        }
+        if (value.startsWith(">=")) return new BookQuery.YearRange(year(value.substring(2), value), null, negated);
+        if (value.startsWith("<=")) return new BookQuery.YearRange(null, year(value.substring(2), value), negated);
+        if (value.startsWith(">")) return new BookQuery.YearRange(year(value.substring(1), value) + 1, null, negated);
+        if (value.startsWith("<")) return new BookQuery.YearRange(null, year(value.substring(1), value) - 1, negated);
+        int year = year(value.startsWith("=") ? value.substring(1) : value, value);
+        return new BookQuery.YearRange(year, year, negated);
+    }
+
+    private static int year(String digits, String value) {
+        if (digits.isEmpty() || digits.length() > 4 || !digits.chars().allMatch(Character::isDigit)) {
+            throw invalidYear(value);
+        }
+        return Integer.parseInt(digits);
+    }
+
+    private static IllegalArgumentException invalidYear(String value) {
+        return new IllegalArgumentException("Invalid year '" + value + "': use e.g. 1970, >1970, <=1980 or 1970..1979");
+    }
+}
@@ -4,6 +4,9 @@ import org.motpassants.domain.core.model.Book;
 import org.motpassants.domain.core.model.BookSortCriteria;
 import org.motpassants.domain.core.model.PageResult;
 import org.motpassants.domain.core.model.BookSearchCriteria;
+import org.motpassants.domain.core.model.BookQuery;
+import org.motpassants.domain.core.model.BookFacets;
+import org.motpassants.domain.core.model.SeriesBookEntry;
 import org.motpassants.domain.core.model.SortField;
 import org.motpassants.domain.core.model.SortDirection;
 import org.motpassants.domain.port.in.BookUseCase;
@@ -17,6 +20,8 @@ import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
 
 /**
  * Application service implementing book management use cases.
@@ -27,10 +32,23 @@ import java.util.UUID;
 public class BookService implements BookUseCase {
     
     private final BookRepository bookRepository;
+    private final TypeaheadService typeaheadService;
+    private final LibraryVersionService libraryVersionService;
+    private final QueryResultCache<List<Book>> searchCache;
+    private final QueryResultCache<PageResult<Book>> queryCache;
+    private final QueryResultCache<BookFacets> facetCache;
     
     @Inject
-    public BookService(BookRepository bookRepository) {
+    public BookService(BookRepository bookRepository, TypeaheadService typeaheadService,
+                       LibraryVersionService libraryVersionService) {
         this.bookRepository = bookRepository;
+        this.typeaheadService = typeaheadService;
+        this.libraryVersionService = libraryVersionService;
+        this.searchCache = libraryVersionService.newQueryCache(books -> books.stream().map(Book::copy).toList());
+        this.queryCache = libraryVersionService.newQueryCache(page -> new PageResult<>(
+            page.getItems().stream().map(Book::copy).toList(), page.getNextCursor(), page.getPreviousCursor(),
+            page.hasNext(), page.hasPrevious(), page.getTotalCount()));
+        this.facetCache = libraryVersionService.newQueryCache(UnaryOperator.identity());
     }
     
     @Override
@@ -75,6 +93,14 @@ public class BookService implements BookUseCase {
         return bookRepository.findContributorsByBook(bookId);
     }
 
+    @Override
+    public void forEachBookInSeries(UUID seriesId, Consumer<SeriesBookEntry> consumer) {
+        if (seriesId == null) {
+            throw new IllegalArgumentException("Series ID cannot be null");
+        }
+        bookRepository.forEachBookInSeries(seriesId, consumer);
+    }
+
     /**
      * Helper for series image fallback: fetch a few books of a series ordered by series index.
      */
@@ -117,7 +143,10 @@ public class BookService implements BookUseCase {
         book.setCreatedAt(now);
         book.setUpdatedAt(now);
         
-        return bookRepository.save(book);
+        Book saved = bookRepository.save(book);
+        libraryVersionService.bump();
+        typeaheadService.indexBook(saved.getId(), saved.getTitle());
+        return saved;
     }
 
     @Override
@@ -136,7 +165,10 @@ public class BookService implements BookUseCase {
         }
         
         book.markAsUpdated();
-        return bookRepository.save(book);
+        Book saved = bookRepository.save(book);
+        libraryVersionService.bump();
+        typeaheadService.indexBook(saved.getId(), saved.getTitle());
+        return saved;
     }
 
     @Override
@@ -151,15 +183,47 @@ public class BookService implements BookUseCase {
         }
         
         bookRepository.deleteById(id);
+        libraryVersionService.bump();
+        typeaheadService.removeBook(id);
     }
 
     @Override
-    public List<Book> searchBooks(String query) {
+    public PageResult<Book> searchBooks(String query, String cursor, int limit) {
         if (query == null || query.trim().isEmpty()) {
-            return List.of();
+            return new PageResult<>(List.of(), null, null, false, false, 0);
         }
+        if (limit <= 0) limit = 20;
+        if (limit > 100) limit = 100;
         
-        return bookRepository.findByTitleOrAuthorContaining(query.trim());
+        String trimmed = query.trim();
+        BookQuery parsed = BookQueryParser.parse(trimmed);
+        int max = limit;
+        // Plain text and field terms share one compiled query, so free text means the same with or without fields
+        return queryCache.get(max + "|" + (cursor != null ? cursor : "") + "|" + QueryResultCache.normalizeKey(trimmed),
+            () -> bookRepository.findByQuery(parsed, cursor, max));
+    }
+
+    @Override
+    public List<Book> searchBooks(String query, int limit) {
+        if (query == null || query.trim().isEmpty()) {
+            return List.of();
+        }
+        if (limit <= 0) limit = 10;
+        if (limit > 100) limit = 100;
+        String trimmed = query.trim();
+        int max = limit;
+        return searchCache.get(max + "|" + QueryResultCache.normalizeKey(trimmed),
+            () -> List.copyOf(bookRepository.searchByTitle(trimmed, max)));
+    }
+
+    @Override
+    public List<Book> getSimilarBooks(UUID bookId, int limit) {
+        if (bookId == null) {
+            throw new IllegalArgumentException("Book ID cannot be null");
+        }
+        if (limit <= 0) limit = 10;
+        if (limit > 50) limit = 50;
+        return bookRepository.findSimilarBooks(bookId, limit);
     }
 
     @Override
@@ -180,6 +244,28 @@ public class BookService implements BookUseCase {
         return bookRepository.findByCriteria(criteria);
     }
 
+    @Override
+    public BookFacets getFacets(BookSearchCriteria criteria) {
+        if (criteria == null) {
+            throw new IllegalArgumentException("Search criteria cannot be null");
+        }
+        // Paging does not change the counts, so only the filters make up the key
+        return facetCache.get(filterSignature(criteria), () -> bookRepository.countFacets(criteria));
+    }
+
+    private static String filterSignature(BookSearchCriteria criteria) {
+        return String.join("|",
+            QueryResultCache.normalizeKey(criteria.getQuery()),
+            QueryResultCache.normalizeKey(criteria.getTitle()),
+            QueryResultCache.normalizeKey(criteria.getAuthor()),
+            QueryResultCache.normalizeKey(criteria.getSeries()),
+            QueryResultCache.normalizeKey(criteria.getLanguage()),
+            QueryResultCache.normalizeKey(criteria.getPublisher()),
+            QueryResultCache.normalizeKey(criteria.getFormat()),
+            criteria.getDecade() != null ? criteria.getDecade().toString() : "",
+            QueryResultCache.normalizeKey(criteria.getTag()));
+    }
+
     @Override
     public long getTotalBooksCount() {
         return bookRepository.count();
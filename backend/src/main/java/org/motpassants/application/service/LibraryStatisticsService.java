@@ -0,0 +1,84 @@
+package org.motpassants.application.service;
+
+import org.motpassants.domain.core.model.LibraryStatistics;
+import org.motpassants.domain.port.in.LibraryStatisticsUseCase;
+import org.motpassants.domain.port.in.LibraryVersionUseCase;
+import org.motpassants.domain.port.out.ConfigurationPort;
+import org.motpassants.domain.port.out.LibraryStatisticsPort;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Serves library statistics from memory.
+ * The figures are computed again only when the library version has changed since they were loaded,
+ * or once they are older than the configured maximum age, which covers writes from other nodes.
+ * A snapshot younger than the configured minimum age is served even if the library has changed:
+ * during an import every book write bumps the version, and the aggregates scan books, series and
+ * authors, so they are computed at most once per minimum age and may lag writes by that long.
+ * Concurrent callers of a stale snapshot wait for a single computation.
+ */
+@ApplicationScoped
+public class LibraryStatisticsService implements LibraryStatisticsUseCase {
+
+    private final LibraryStatisticsPort statisticsPort;
+    private final LibraryVersionUseCase libraryVersionUseCase;
+    private final ConfigurationPort configurationPort;
+    private final LongSupplier clock;
+
+    private volatile Snapshot snapshot;
+
+    @Inject
+    public LibraryStatisticsService(LibraryStatisticsPort statisticsPort,
+                                    LibraryVersionUseCase libraryVersionUseCase,
+                                    ConfigurationPort configurationPort) {
+        this(statisticsPort, libraryVersionUseCase, configurationPort, System::currentTimeMillis);
+    }
+
+    LibraryStatisticsService(LibraryStatisticsPort statisticsPort,
+                             LibraryVersionUseCase libraryVersionUseCase,
+                             ConfigurationPort configurationPort,
+                             LongSupplier clock) {
+        this.statisticsPort = statisticsPort;
+        this.libraryVersionUseCase = libraryVersionUseCase;
+        this.configurationPort = configurationPort;
+        this.clock = clock;
+    }
+
+    @Override
+    public LibraryStatistics getStatistics() {
+        Snapshot current = snapshot;
+        if (isValid(current)) {
+            return current.statistics();
+        }
+        synchronized (this) {
+            current = snapshot;
+            if (isValid(current)) {
+                return current.statistics();
+            }
+            // Read before loading, so a change made during the load invalidates the result
+            long version = libraryVersionUseCase.getLibraryVersion();
+            long loadedAt = clock.getAsLong();
+            LibraryStatistics statistics = statisticsPort.loadStatistics();
+            snapshot = new Snapshot(version, loadedAt, statistics);
+            return statistics;
+        }
+    }
+
+    private boolean isValid(Snapshot current) {
+        if (current == null) {
+            return false;
+        }
+        ConfigurationPort.StatisticsConfig config = configurationPort.getStatisticsConfig();
+        long age = clock.getAsLong() - current.loadedAt();
+        if (age < config.getMinAgeSeconds() * 1000L) {
+            return true;
+        }
+        return current.version() == libraryVersionUseCase.getLibraryVersion()
+            && age < config.getMaxAgeSeconds() * 1000L;
+    }
+
+    private record Snapshot(long version, long loadedAt, LibraryStatistics statistics) {}
+}
@@ -0,0 +1,50 @@
+package org.motpassants.application.service;
+
+import org.motpassants.domain.port.in.LibraryVersionUseCase;
+import org.motpassants.domain.port.out.ConfigurationPort;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.UnaryOperator;
+
+/**
+ * Tracks the library content version and hands out query result caches validated against it.
+ * BookService, AuthorService and SeriesService bump the version on every write, which
+ * invalidates all cached search results at once.
+ */
+@ApplicationScoped
+public class LibraryVersionService implements LibraryVersionUseCase {
+
+    private final ConfigurationPort configurationPort;
+    // Seeded from the clock so versions from before a restart are never reused
+    private final AtomicLong version = new AtomicLong(System.currentTimeMillis());
+
+    @Inject
+    public LibraryVersionService(ConfigurationPort configurationPort) {
+        this.configurationPort = configurationPort;
+    }
+
+    @Override
+    public long getLibraryVersion() {
+        return version.get();
+    }
+
+    /**
+     * Record that books, authors or series have changed.
+     */
+    public void bump() {
+        version.incrementAndGet();
+    }
+
+    /**
+     * Create a search result cache sized and timed from the search configuration.
+     *
+     * @param copier copies a cached value for storage and for each hit
+     */
+    <V> QueryResultCache<V> newQueryCache(UnaryOperator<V> copier) {
+        ConfigurationPort.SearchConfig config = configurationPort.getSearchConfig();
+        return new QueryResultCache<>(this::getLibraryVersion, copier, config.getCacheTtlMillis(), config.getCacheMaxEntries());
+    }
+}
@@ -0,0 +1,156 @@
+package org.motpassants.application.service;
+
+import org.motpassants.domain.core.model.BookDuplicateSource;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * MinHash signatures and LSH banding for near-duplicate detection.
+ * A book is described by a set of shingles (title trigrams, author name words, ISBN core);
+ * the share of equal signature values estimates the Jaccard similarity of two such sets.
+ * Signatures are cut into {@value #BANDS} bands of {@value #ROWS} values, and books sharing a
+ * band bucket become candidate pairs: pairs above roughly 0.7 similarity almost always share one,
+ * pairs below 0.4 almost never do, so no pairwise comparison over the whole library is needed.
+ */
+final class MinHasher {
+
+    static final int NUM_HASHES = 128;
+    static final int BANDS = 16;
+    static final int ROWS = NUM_HASHES / BANDS;
+
+    // Fixed seeds: stored signatures must stay comparable across restarts
+    private static final long[] SEEDS = new long[NUM_HASHES];
+
+    static {
+        long seed = 0x4C49425241524945L;
+        for (int i = 0; i < NUM_HASHES; i++) {
+            seed += 0x9E3779B97F4A7C15L;
+            SEEDS[i] = mix(seed);
+        }
+    }
+
+    private MinHasher() {
+    }
+
+    static Set<String> shingles(BookDuplicateSource source) {
+        Set<String> shingles = new HashSet<>();
+        String title = words(source.title());
+        if (!title.isEmpty()) {
+            String padded = " " + title + " ";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                shingles.add("t:" + padded.substring(i, i + 3));
+            }
+        }
+        if (source.authors() != null) {
+            // Words rather than whole names, so "Herbert, Frank" and "Frank Herbert" agree
+            for (String author : source.authors()) {
+                for (String word : words(author).split(" ")) {
+                    if (!word.isEmpty()) shingles.add("a:" + word);
+                }
+            }
+        }
+        String isbn = isbnCore(source.isbn());
+        if (isbn != null) {
+            shingles.add("i:" + isbn);
+        }
+        return shingles;
+    }
+
+    /**
+     * Signature of a shingle set, or null when the set is empty.
+     */
+    static int[] signature(Set<String> shingles) {
+        if (shingles.isEmpty()) {
+            return null;
+        }
+        int[] signature = new int[NUM_HASHES];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        for (String shingle : shingles) {
+            long base = fnv1a(shingle);
+            for (int i = 0; i < NUM_HASHES; i++) {
+                int value = (int) (mix(base ^ SEEDS[i]) >>> 32);
+                if (value < signature[i]) signature[i] = value;
+            }
+        }
+        return signature;
+    }
+
+    static long[] bandBuckets(int[] signature) {
+        long[] buckets = new long[BANDS];
+        for (int band = 0; band < BANDS; band++) {
+            long hash = band;
+            for (int row = 0; row < ROWS; row++) {
+                hash = mix(hash * 0x9E3779B97F4A7C15L + (signature[band * ROWS + row] & 0xFFFFFFFFL));
+            }
+            buckets[band] = hash;
+        }
+        return buckets;
+    }
+
+    /**
+     * Estimated Jaccard similarity of the sets behind two signatures.
+     */
+    static double similarity(int[] a, int[] b) {
+        if (a == null || b == null || a.length != b.length) {
+            return 0.0;
+        }
+        int equal = 0;
+        for (int i = 0; i < a.length; i++) {
+            if (a[i] == b[i]) equal++;
+        }
+        return (double) equal / a.length;
+    }
+
+    private static String words(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder out = new StringBuilder(text.length());
+        boolean space = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                if (space && out.length() > 0) out.append(' ');
+                space = false;
+                out.append(Character.toLowerCase(c));
+            } else {
+                space = true;
+            }
+        }
+        return out.toString();
+    }
+
+    /**
+     * The 12 digits shared by the ISBN-10 and ISBN-13 forms of a book (check digit dropped).
+     */
+    private static String isbnCore(String isbn) {
+        if (isbn == null) {
+            return null;
+        }
+        String digits = isbn.replaceAll("[^0-9Xx]", "").toUpperCase();
+        if (digits.length() == 10) {
+            return "978" + digits.substring(0, 9);
+        }
+        if (digits.length() == 13) {
+            return digits.substring(0, 12);
+        }
+        return digits.isEmpty() ? null : digits;
+    }
+
+    private static long fnv1a(String text) {
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < text.length(); i++) {
+            hash ^= text.charAt(i);
+            hash *= 0x100000001B3L;
+        }
+        return hash;
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
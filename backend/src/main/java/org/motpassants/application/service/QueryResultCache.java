@@ -0,0 +1,96 @@
+package org.motpassants.application.service;
+
+import org.motpassants.domain.core.model.SearchText;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Small LRU cache of search results keyed by normalized query.
+ * An entry is served only while it is younger than the TTL and was computed at the
+ * current library version, so any write to the library invalidates every entry at once.
+ * Loads run outside the lock; concurrent misses on the same key may both hit the database.
+ * The cache keeps its own copy of each value and hands out a fresh copy on every hit,
+ * so callers may change what they receive without affecting other callers.
+ */
+class QueryResultCache<V> {
+
+    private record Entry<V>(V value, long version, long expiresAt) {}
+
+    private final LongSupplier versionSource;
+    private final UnaryOperator<V> copier;
+    private final long ttlMillis;
+    private final Map<String, Entry<V>> entries;
+
+    /**
+     * @param copier copies a value so the copy shares no mutable state with it; identity for immutable values
+     */
+    QueryResultCache(LongSupplier versionSource, UnaryOperator<V> copier, long ttlMillis, int maxEntries) {
+        this.versionSource = versionSource;
+        this.copier = copier;
+        this.ttlMillis = ttlMillis;
+        int capacity = Math.max(1, maxEntries);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry<V>> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Return the cached value for the key, or load and cache it.
+     * Values rejected by {@code cacheable} are returned but not stored.
+     */
+    V get(String key, Supplier<V> loader, Predicate<V> cacheable) {
+        if (ttlMillis <= 0) {
+            return loader.get();
+        }
+        long version = versionSource.getAsLong();
+        long now = System.currentTimeMillis();
+        V cached = null;
+        synchronized (entries) {
+            Entry<V> entry = entries.get(key);
+            if (entry != null) {
+                if (entry.version() == version && entry.expiresAt() > now) {
+                    cached = entry.value();
+                } else {
+                    entries.remove(key);
+                }
+            }
+        }
+        if (cached != null) {
+            return copier.apply(cached);
+        }
+        V value = loader.get();
+        if (cacheable.test(value)) {
+            V stored = copier.apply(value);
+            synchronized (entries) {
+                entries.put(key, new Entry<>(stored, version, now + ttlMillis));
+            }
+        }
+        return value;
+    }
+
+    V get(String key, Supplier<V> loader) {
+        return get(key, loader, value -> true);
+    }
+
+    int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Cache key form of a query: the same normal form the search binds for every text
+     * column it matches, so two queries sharing a key always have the same results.
+     */
+    static String normalizeKey(String query) {
+        return query == null ? "" : SearchText.normalize(query);
+    }
+}
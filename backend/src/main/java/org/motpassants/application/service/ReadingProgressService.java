@@ -1,30 +1,82 @@
 package org.motpassants.application.service;
 
+import org.motpassants.domain.core.model.ContinueReadingItem;
 import org.motpassants.domain.core.model.ReadingProgress;
 import org.motpassants.domain.port.in.ReadingProgressUseCase;
+import org.motpassants.domain.port.out.ConfigurationPort;
+import org.motpassants.domain.port.out.LoggingPort;
+import org.motpassants.domain.port.out.ReadingProgressNotificationPort;
 import org.motpassants.domain.port.out.ReadingProgressRepository;
 
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletionStage;
+import java.util.function.BiFunction;
 
 /**
  * Application service implementing reading progress management use cases.
  * This is the core business logic layer in the hexagonal architecture.
  * Orchestrates domain objects and outbound ports.
+ * When write-behind is enabled, updates are coalesced in memory and persisted in batches.
+ * Every accepted update is published so the user's other devices can follow along.
  */
 @ApplicationScoped
 public class ReadingProgressService implements ReadingProgressUseCase {
     
     private final ReadingProgressRepository readingProgressRepository;
+    private final ReadingProgressNotificationPort notificationPort;
+    private final LoggingPort log;
+    // Null when write-behind is disabled
+    private final ReadingProgressWriteBehindBuffer buffer;
     
     @Inject
-    public ReadingProgressService(ReadingProgressRepository readingProgressRepository) {
+    public ReadingProgressService(ReadingProgressRepository readingProgressRepository,
+                                  ConfigurationPort configurationPort,
+                                  ReadingProgressNotificationPort notificationPort,
+                                  LoggingPort log) {
         this.readingProgressRepository = readingProgressRepository;
+        this.notificationPort = notificationPort;
+        this.log = log;
+        ConfigurationPort.ReadingProgressConfig config = configurationPort.getReadingProgressConfig();
+        this.buffer = (config != null && config.isWriteBehindEnabled())
+            ? new ReadingProgressWriteBehindBuffer(readingProgressRepository, log,
+                config.getFlushIntervalMillis(), config.getMaxPendingEntries())
+            : null;
+    }
+    
+    void onStart(@Observes StartupEvent event) {
+        if (buffer != null) {
+            buffer.start();
+            log.info("Reading progress write-behind buffer started");
+        }
+    }
+    
+    void onStop(@Observes ShutdownEvent event) {
+        if (buffer != null) {
+            log.info("Flushing " + buffer.pendingCount() + " buffered reading progress entries before shutdown");
+            buffer.stop();
+        }
+    }
+    
+    /**
+     * Persist all buffered progress entries immediately.
+     * 
+     * @return number of entries written
+     */
+    public int flushPendingProgress() {
+        return buffer != null ? buffer.flush() : 0;
     }
     
     @Override
@@ -39,23 +91,37 @@ public class ReadingProgressService implements ReadingProgressUseCase {
             throw new IllegalArgumentException("Progress must be between 0.0 and 1.0");
         }
         
-        // Get existing reading progress or create new one
-        Optional<ReadingProgress> existingProgress = readingProgressRepository.findByUserIdAndBookId(userId, bookId);
+        if (buffer != null) {
+            // Only hit the database on the first update of a reading session
+            ReadingProgress base = buffer.find(userId, bookId)
+                .or(() -> readingProgressRepository.findByUserIdAndBookId(userId, bookId))
+                .orElseGet(() -> ReadingProgress.create(userId, bookId));
+            return publish(buffer.update(base, current -> applyUpdate(current, progress, currentPage, totalPages, progressLocator)));
+        }
         
-        ReadingProgress readingProgress;
-        if (existingProgress.isPresent()) {
-            readingProgress = existingProgress.get();
-            readingProgress.updateProgress(progress, currentPage, totalPages);
-        } else {
-            readingProgress = ReadingProgress.create(userId, bookId);
-            readingProgress.updateProgress(progress, currentPage, totalPages);
+        // The repository upserts atomically, so no prior lookup is needed
+        ReadingProgress readingProgress = applyUpdate(ReadingProgress.create(userId, bookId),
+            progress, currentPage, totalPages, progressLocator);
+        return publish(readingProgressRepository.save(readingProgress));
+    }
+    
+    private ReadingProgress publish(ReadingProgress readingProgress) {
+        // Push delivery is best effort and must never fail the update itself
+        try {
+            notificationPort.publish(readingProgress.copy());
+        } catch (Exception e) {
+            log.warn("Could not publish reading progress change: " + e.getMessage());
         }
-        // store raw locator JSON if provided (Option A)
+        return readingProgress;
+    }
+    
+    private static ReadingProgress applyUpdate(ReadingProgress readingProgress, Double progress, Integer currentPage,
+                                               Integer totalPages, String progressLocator) {
+        readingProgress.updateProgress(progress, currentPage, totalPages);
         if (progressLocator != null && !progressLocator.isBlank()) {
             readingProgress.setProgressLocator(progressLocator);
         }
-        
-        return readingProgressRepository.save(readingProgress);
+        return readingProgress;
     }
     
     @Override
@@ -64,6 +130,12 @@ public class ReadingProgressService implements ReadingProgressUseCase {
             throw new IllegalArgumentException("User ID and Book ID cannot be null");
         }
         
+        if (buffer != null) {
+            Optional<ReadingProgress> buffered = buffer.find(userId, bookId);
+            if (buffered.isPresent()) {
+                return buffered;
+            }
+        }
         return readingProgressRepository.findByUserIdAndBookId(userId, bookId);
     }
     
@@ -73,7 +145,49 @@ public class ReadingProgressService implements ReadingProgressUseCase {
             throw new IllegalArgumentException("User ID cannot be null");
         }
         
-        return readingProgressRepository.findByUserId(userId);
+        List<ReadingProgress> stored = readingProgressRepository.findByUserId(userId);
+        if (buffer == null) {
+            return stored;
+        }
+        List<ReadingProgress> buffered = buffer.findByUser(userId);
+        if (buffered.isEmpty()) {
+            return stored;
+        }
+        // Buffered entries are newer than their stored counterparts
+        Map<UUID, ReadingProgress> byBook = new LinkedHashMap<>();
+        stored.forEach(p -> byBook.put(p.getBookId(), p));
+        buffered.forEach(p -> byBook.put(p.getBookId(), p));
+        List<ReadingProgress> merged = new ArrayList<>(byBook.values());
+        merged.sort(Comparator.comparing(ReadingProgress::getLastReadAt,
+            Comparator.nullsLast(Comparator.reverseOrder())));
+        return merged;
+    }
+    
+    @Override
+    public List<ContinueReadingItem> getContinueReading(UUID userId, int limit) {
+        if (userId == null) {
+            throw new IllegalArgumentException("User ID cannot be null");
+        }
+        if (limit <= 0) limit = 12;
+        if (limit > 50) limit = 50;
+        
+        // The shelf is answered by a single query; make sure it sees this user's positions still in the buffer
+        if (buffer != null && buffer.hasPendingFor(userId)) {
+            try {
+                buffer.flushUser(userId);
+            } catch (Exception e) {
+                log.warn("Could not flush buffered progress before loading continue reading shelf: " + e.getMessage());
+            }
+        }
+        return readingProgressRepository.findContinueReading(userId, limit);
+    }
+    
+    @Override
+    public List<UUID> getRecentlyReadBookIds(int limit) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        return readingProgressRepository.findRecentlyReadBookIds(limit);
     }
     
     @Override
@@ -83,7 +197,11 @@ public class ReadingProgressService implements ReadingProgressUseCase {
             throw new IllegalArgumentException("User ID and Book ID cannot be null");
         }
         
-        readingProgressRepository.deleteByUserIdAndBookId(userId, bookId);
+        if (buffer != null) {
+            buffer.discard(userId, bookId, () -> readingProgressRepository.deleteByUserIdAndBookId(userId, bookId));
+        } else {
+            readingProgressRepository.deleteByUserIdAndBookId(userId, bookId);
+        }
     }
     
     @Override
@@ -91,4 +209,12 @@ public class ReadingProgressService implements ReadingProgressUseCase {
     public ReadingProgress markAsCompleted(UUID userId, UUID bookId) {
         return updateReadingProgress(userId, bookId, 1.0, null, null, null);
     }
+    
+    @Override
+    public void streamReadingProgress(UUID userId, BiFunction<String, String, CompletionStage<?>> sender) {
+        if (userId == null || sender == null) {
+            throw new IllegalArgumentException("User ID and sender cannot be null");
+        }
+        notificationPort.subscribe(userId, sender);
+    }
 }
\ No newline at end of file
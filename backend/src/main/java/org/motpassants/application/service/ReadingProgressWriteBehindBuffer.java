@@ -0,0 +1,282 @@
+package org.motpassants.application.service;
+
+import org.motpassants.domain.core.model.ReadingProgress;
+import org.motpassants.domain.port.out.LoggingPort;
+import org.motpassants.domain.port.out.ReadingProgressRepository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * Write-behind buffer for reading progress.
+ * Coalesces updates per (user, book, device) in memory so that a burst of page turns
+ * results in a single batched upsert. Pending entries are flushed periodically,
+ * when the buffer grows past its threshold, and on shutdown.
+ * An accepted entry is only dropped when the repository rejects that row for good;
+ * while the database is unreachable entries are kept and scheduled flushes back off.
+ */
+class ReadingProgressWriteBehindBuffer {
+
+    private record Key(UUID userId, UUID bookId, String deviceId) {
+        static Key of(ReadingProgress progress) {
+            String deviceId = progress.getDeviceId() != null ? progress.getDeviceId() : ReadingProgress.DEFAULT_DEVICE_ID;
+            return new Key(progress.getUserId(), progress.getBookId(), deviceId);
+        }
+    }
+
+    static final long MAX_BACKOFF_MILLIS = 5 * 60_000L;
+
+    private final ReadingProgressRepository repository;
+    private final LoggingPort log;
+    private final long flushIntervalMillis;
+    private final int maxPendingEntries;
+    private final LongSupplier clock;
+
+    private final Map<Key, ReadingProgress> pending = new ConcurrentHashMap<>();
+    // Serializes flushes with deletes so a deleted entry is never written back
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final AtomicBoolean earlyFlushScheduled = new AtomicBoolean(false);
+    private ScheduledExecutorService scheduler;
+    // Set after a flush that wrote nothing because the database was unreachable; guarded by flushLock
+    private long backoffMillis;
+    private volatile long retryAt;
+
+    ReadingProgressWriteBehindBuffer(ReadingProgressRepository repository, LoggingPort log,
+                                     long flushIntervalMillis, int maxPendingEntries) {
+        this(repository, log, flushIntervalMillis, maxPendingEntries, System::currentTimeMillis);
+    }
+
+    ReadingProgressWriteBehindBuffer(ReadingProgressRepository repository, LoggingPort log,
+                                     long flushIntervalMillis, int maxPendingEntries, LongSupplier clock) {
+        this.repository = repository;
+        this.log = log;
+        this.flushIntervalMillis = Math.max(100L, flushIntervalMillis);
+        this.maxPendingEntries = Math.max(1, maxPendingEntries);
+        this.clock = clock;
+    }
+
+    synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "reading-progress-flush");
+            t.setDaemon(true);
+            return t;
+        });
+        scheduler.scheduleWithFixedDelay(this::flushWhenDue, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+            try {
+                scheduler.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            scheduler = null;
+        }
+        flushQuietly();
+    }
+
+    /**
+     * Apply an update to the buffered entry for the given key.
+     * The loaded entry is only used when nothing is pending for that key yet.
+     *
+     * @return a snapshot of the buffered entry after the update
+     */
+    ReadingProgress update(ReadingProgress loaded, UnaryOperator<ReadingProgress> change) {
+        Key key = Key.of(loaded);
+        ReadingProgress updated = pending.compute(key, (k, current) ->
+            change.apply(current != null ? current.copy() : loaded.copy()));
+        if (pending.size() >= maxPendingEntries) {
+            scheduleEarlyFlush();
+        }
+        return updated.copy();
+    }
+
+    Optional<ReadingProgress> find(UUID userId, UUID bookId) {
+        ReadingProgress progress = pending.get(new Key(userId, bookId, ReadingProgress.DEFAULT_DEVICE_ID));
+        return Optional.ofNullable(progress).map(ReadingProgress::copy);
+    }
+
+    List<ReadingProgress> findByUser(UUID userId) {
+        List<ReadingProgress> results = new ArrayList<>();
+        for (Map.Entry<Key, ReadingProgress> entry : pending.entrySet()) {
+            if (entry.getKey().userId().equals(userId)) {
+                results.add(entry.getValue().copy());
+            }
+        }
+        return results;
+    }
+
+    boolean hasPendingFor(UUID userId) {
+        for (Key key : pending.keySet()) {
+            if (key.userId().equals(userId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Drop any pending entry and run the given delete while no flush is in progress.
+     */
+    void discard(UUID userId, UUID bookId, Runnable delete) {
+        flushLock.lock();
+        try {
+            Key key = new Key(userId, bookId, ReadingProgress.DEFAULT_DEVICE_ID);
+            pending.remove(key);
+            delete.run();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    int pendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Persist all pending entries in a single batch.
+     * If the batch fails, entries are retried one by one so a single bad row cannot block the rest;
+     * an entry the repository rejects as unstorable is dropped, any other failure keeps it pending.
+     * When no entry could be written, {@link #flushWhenDue()} skips flushes for a doubling delay.
+     * Entries updated while the batch was running stay pending for the next flush.
+     *
+     * @return number of entries written
+     */
+    int flush() {
+        return flush(key -> true);
+    }
+
+    /**
+     * Persist the pending entries of a single user, leaving other users' entries for the next flush.
+     *
+     * @return number of entries written
+     */
+    int flushUser(UUID userId) {
+        return flush(key -> key.userId().equals(userId));
+    }
+
+    private int flush(Predicate<Key> selected) {
+        flushLock.lock();
+        try {
+            Map<Key, ReadingProgress> snapshot = new HashMap<>();
+            pending.forEach((key, progress) -> {
+                if (selected.test(key)) {
+                    snapshot.put(key, progress);
+                }
+            });
+            if (snapshot.isEmpty()) {
+                return 0;
+            }
+            List<ReadingProgress> batch = new ArrayList<>(snapshot.size());
+            for (ReadingProgress progress : snapshot.values()) {
+                batch.add(progress.copy());
+            }
+            try {
+                repository.saveAll(batch);
+            } catch (RuntimeException e) {
+                log.warn("Batched reading progress flush failed (" + e.getMessage() + "); retrying entries individually");
+                return flushIndividually(snapshot);
+            }
+            snapshot.forEach(pending::remove);
+            recovered();
+            return batch.size();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private int flushIndividually(Map<Key, ReadingProgress> snapshot) {
+        int written = 0;
+        int rejected = 0;
+        RuntimeException lastFailure = null;
+        for (Map.Entry<Key, ReadingProgress> entry : snapshot.entrySet()) {
+            Key key = entry.getKey();
+            try {
+                repository.save(entry.getValue().copy());
+                pending.remove(key, entry.getValue());
+                written++;
+            } catch (IllegalArgumentException e) {
+                pending.remove(key, entry.getValue());
+                rejected++;
+                log.error("Dropping reading progress for user " + key.userId() + " and book " + key.bookId()
+                    + " that cannot be stored", e);
+            } catch (RuntimeException e) {
+                lastFailure = e;
+            }
+        }
+        if (written == 0 && rejected == 0) {
+            backOff(lastFailure);
+        } else {
+            recovered();
+        }
+        return written;
+    }
+
+    /**
+     * Flush unless backing off after an outage. Used by the scheduler and early flushes; failures are logged.
+     */
+    void flushWhenDue() {
+        if (clock.getAsLong() < retryAt) {
+            return;
+        }
+        flushQuietly();
+    }
+
+    // Nothing could be written: the database is most likely down, so wait longer before each attempt
+    private void backOff(RuntimeException failure) {
+        backoffMillis = Math.min(MAX_BACKOFF_MILLIS, Math.max(flushIntervalMillis, backoffMillis * 2));
+        retryAt = clock.getAsLong() + backoffMillis;
+        log.warn("Could not write any of " + pending.size() + " buffered reading progress entries ("
+            + (failure != null ? failure.getMessage() : "unknown error") + "); keeping them and retrying in "
+            + backoffMillis + " ms");
+    }
+
+    private void recovered() {
+        backoffMillis = 0L;
+        retryAt = 0L;
+    }
+
+    private void flushQuietly() {
+        try {
+            int written = flush();
+            if (written > 0) {
+                log.debug("Flushed " + written + " buffered reading progress entries");
+            }
+        } catch (Exception e) {
+            log.error("Reading progress flush failed; entries kept for next attempt", e);
+        }
+    }
+
+    private void scheduleEarlyFlush() {
+        ScheduledExecutorService current = scheduler;
+        if (current == null || !earlyFlushScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            current.execute(() -> {
+                earlyFlushScheduled.set(false);
+                flushWhenDue();
+            });
+        } catch (Exception e) {
+            earlyFlushScheduled.set(false);
+        }
+    }
+}
@@ -26,10 +26,16 @@ import org.motpassants.domain.core.model.SeriesSortCriteria;
 public class SeriesService implements SeriesUseCase {
     
     private final SeriesRepositoryPort seriesRepository;
+    private final TypeaheadService typeaheadService;
+    private final LibraryVersionService libraryVersionService;
     
     @Inject
-    public SeriesService(SeriesRepositoryPort seriesRepository) {
+    public SeriesService(SeriesRepositoryPort seriesRepository,
+                         TypeaheadService typeaheadService,
+                         LibraryVersionService libraryVersionService) {
         this.seriesRepository = seriesRepository;
+        this.typeaheadService = typeaheadService;
+        this.libraryVersionService = libraryVersionService;
     }
     
     @Override
@@ -102,7 +108,10 @@ public class SeriesService implements SeriesUseCase {
         }
         series.setMetadata(metadata);
         
-        return seriesRepository.save(series);
+        Series saved = seriesRepository.save(series);
+        libraryVersionService.bump();
+        typeaheadService.indexSeries(saved.getId(), saved.getName());
+        return saved;
     }
     
     @Override
@@ -126,7 +135,10 @@ public class SeriesService implements SeriesUseCase {
         // Update using domain method
         series.updateDetails(name, sortName, description, imagePath, totalBooks, isCompleted, metadata);
         
-        return Optional.of(seriesRepository.save(series));
+        Series saved = seriesRepository.save(series);
+        libraryVersionService.bump();
+        typeaheadService.indexSeries(saved.getId(), saved.getName());
+        return Optional.of(saved);
     }
     
     @Override
@@ -143,7 +155,12 @@ public class SeriesService implements SeriesUseCase {
         // TODO: Check if series has books and handle accordingly
         // For now, allow deletion
         
-        return seriesRepository.deleteById(id);
+        boolean deleted = seriesRepository.deleteById(id);
+        if (deleted) {
+            libraryVersionService.bump();
+            typeaheadService.removeSeries(id);
+        }
+        return deleted;
     }
     
     @Override
@@ -154,6 +171,16 @@ public class SeriesService implements SeriesUseCase {
         return seriesRepository.searchByName(query.trim());
     }
     
+    @Override
+    public List<Series> searchSeries(String query, int limit) {
+        if (query == null || query.trim().isEmpty()) {
+            return List.of();
+        }
+        if (limit <= 0) limit = 10;
+        if (limit > 100) limit = 100;
+        return seriesRepository.searchByName(query.trim(), limit);
+    }
+    
     @Override
     public List<Book> getSeriesBooks(UUID seriesId) {
         if (seriesId == null) {
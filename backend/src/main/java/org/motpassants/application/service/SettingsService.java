@@ -3,11 +3,10 @@ package org.motpassants.application.service;
 import org.motpassants.domain.core.model.Settings;
 import org.motpassants.domain.core.model.EntityCounts;
 import org.motpassants.domain.core.model.FeatureFlags;
+import org.motpassants.domain.core.model.LibraryStatistics;
 import org.motpassants.domain.core.model.StorageConfiguration;
+import org.motpassants.domain.port.in.LibraryStatisticsUseCase;
 import org.motpassants.domain.port.in.SettingsUseCase;
-import org.motpassants.domain.port.out.BookRepository;
-import org.motpassants.domain.port.out.AuthorRepositoryPort;
-import org.motpassants.domain.port.out.SeriesRepositoryPort;
 
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
@@ -17,34 +16,29 @@ import java.util.List;
 
 /**
  * Settings service implementing business logic for system settings.
- * Orchestrates between domain models and repository ports.
+ * Entity counts come from the cached library statistics rather than counting tables per call.
  */
 @ApplicationScoped
 public class SettingsService implements SettingsUseCase {
     
-    private final BookRepository bookRepository;
-    private final AuthorRepositoryPort authorRepository;
-    private final SeriesRepositoryPort seriesRepository;
+    private final LibraryStatisticsUseCase libraryStatisticsUseCase;
     
     @Inject
-    public SettingsService(BookRepository bookRepository, 
-                          AuthorRepositoryPort authorRepository,
-                          SeriesRepositoryPort seriesRepository) {
-        this.bookRepository = bookRepository;
-        this.authorRepository = authorRepository;
-        this.seriesRepository = seriesRepository;
+    public SettingsService(LibraryStatisticsUseCase libraryStatisticsUseCase) {
+        this.libraryStatisticsUseCase = libraryStatisticsUseCase;
     }
     
     @Override
     public Settings getSystemSettings() {
-        // Get entity counts from repositories
+        // Get entity counts from the library statistics
+        LibraryStatistics statistics = libraryStatisticsUseCase.getStatistics();
         EntityCounts entityCounts = new EntityCounts(
-            bookRepository.count(),
-            seriesRepository.count(), 
-            authorRepository.count(),
+            statistics.books(),
+            statistics.series(), 
+            statistics.authors(),
             0L, // publishers - not implemented yet
-            0L, // languages - not implemented yet
-            0L, // formats - not implemented yet
+            statistics.languages().size(),
+            statistics.formats().size(),
             0L  // tags - not implemented yet
         );
         
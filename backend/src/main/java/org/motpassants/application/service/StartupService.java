@@ -19,16 +19,22 @@ import java.util.concurrent.CompletableFuture;
 public class StartupService {
 
     private final DemoDataService demoDataService;
+    private final TypeaheadService typeaheadService;
+    private final LibraryVersionService libraryVersionService;
     private final ConfigurationPort configurationPort;
     private final SecureFileProcessingPort secureFileProcessingPort;
     private final LoggingPort log;
     
     @Inject
     public StartupService(DemoDataService demoDataService,
+                          TypeaheadService typeaheadService,
+                          LibraryVersionService libraryVersionService,
                           ConfigurationPort configurationPort,
                           SecureFileProcessingPort secureFileProcessingPort,
                           LoggingPort log) {
         this.demoDataService = demoDataService;
+        this.typeaheadService = typeaheadService;
+        this.libraryVersionService = libraryVersionService;
         this.configurationPort = configurationPort;
         this.secureFileProcessingPort = secureFileProcessingPort;
         this.log = log;
@@ -36,7 +42,7 @@ public class StartupService {
     
     /**
      * Handles application startup events.
-     * Populates demo data if demo mode is enabled.
+     * Populates demo data if demo mode is enabled, then builds the typeahead index.
      */
     void onStart(@Observes StartupEvent event) {
         try {
@@ -49,6 +55,13 @@ public class StartupService {
                 } catch (Throwable t) {
                     log.warn("Asynchronous demo data population failed; continuing");
                 }
+                // Demo data is written straight to the repositories, so drop any search results cached meanwhile
+                libraryVersionService.bump();
+                try {
+                    typeaheadService.rebuild();
+                } catch (Throwable t) {
+                    log.warn("Typeahead index build failed; it will be retried on first use");
+                }
             });
         } catch (Exception e) {
             // Don't fail application startup if demo data population fails
@@ -0,0 +1,277 @@
+package org.motpassants.application.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Compact in-memory prefix index over the names of one entity type.
+ * Every word start of a normalized name becomes a term ("le seigneur des anneaux",
+ * "seigneur des anneaux", ...), kept in a sorted array with a parallel array of int postings,
+ * so a prefix query is a binary search followed by a short sequential scan.
+ * Writes go to a small sorted delta and tombstones, which are merged into the main arrays
+ * once they grow. Readers work on an immutable snapshot and never block.
+ */
+final class TypeaheadIndex {
+
+    record Hit(UUID id, String label) {}
+
+    private record Snapshot(String[] terms, int[] postings,
+                            String[] deltaTerms, int[] deltaPostings,
+                            UUID[] ids, String[] labels, int count,
+                            BitSet removed, int removedCount) {}
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int MAX_WORD_STARTS = 8;
+    private static final int MAX_DELTA_TERMS = 4096;
+    private static final int MAX_CANDIDATES = 512;
+    // Low bit of a posting is set when the term starts at a later word rather than at the name start
+    private static final int LATER_WORD = 1;
+
+    private static final String[] NO_TERMS = new String[0];
+    private static final int[] NO_POSTINGS = new int[0];
+
+    private final Map<UUID, Integer> ordinals = new HashMap<>();
+    private volatile Snapshot snapshot = new Snapshot(NO_TERMS, NO_POSTINGS, NO_TERMS, NO_POSTINGS,
+        new UUID[16], new String[16], 0, new BitSet(), 0);
+
+    /**
+     * Replace the whole content of the index.
+     */
+    synchronized void load(Map<UUID, String> entries) {
+        ordinals.clear();
+        int capacity = Math.max(16, entries.size());
+        UUID[] ids = new UUID[capacity];
+        String[] labels = new String[capacity];
+        int count = 0;
+        for (Map.Entry<UUID, String> entry : entries.entrySet()) {
+            if (entry.getKey() == null || normalize(entry.getValue()).isEmpty()) continue;
+            ids[count] = entry.getKey();
+            labels[count] = entry.getValue();
+            ordinals.put(entry.getKey(), count);
+            count++;
+        }
+        snapshot = compacted(ids, labels, count, new BitSet());
+    }
+
+    /**
+     * Add an entry or replace the name of an existing one.
+     */
+    synchronized void put(UUID id, String label) {
+        if (id == null) return;
+        List<String> newTerms = termsOf(label);
+        if (newTerms.isEmpty()) {
+            remove(id);
+            return;
+        }
+        Snapshot current = snapshot;
+        Integer previous = ordinals.get(id);
+        if (previous != null && label.equals(current.labels()[previous])) {
+            return;
+        }
+
+        BitSet removed = current.removed();
+        int removedCount = current.removedCount();
+        if (previous != null) {
+            removed = (BitSet) removed.clone();
+            removed.set(previous);
+            removedCount++;
+        }
+
+        UUID[] ids = current.ids();
+        String[] labels = current.labels();
+        int ordinal = current.count();
+        if (ordinal == ids.length) {
+            ids = Arrays.copyOf(ids, ids.length * 2);
+            labels = Arrays.copyOf(labels, labels.length * 2);
+        }
+        // Slots at or past the published count are invisible to readers, so they can be filled in place
+        ids[ordinal] = id;
+        labels[ordinal] = label;
+        ordinals.put(id, ordinal);
+
+        int added = newTerms.size();
+        String[] deltaTerms = Arrays.copyOf(current.deltaTerms(), current.deltaTerms().length + added);
+        int[] deltaPostings = Arrays.copyOf(current.deltaPostings(), current.deltaPostings().length + added);
+        int size = current.deltaTerms().length;
+        for (int i = 0; i < added; i++) {
+            size = insertSorted(deltaTerms, deltaPostings, size, newTerms.get(i), posting(ordinal, i > 0));
+        }
+
+        Snapshot next = new Snapshot(current.terms(), current.postings(), deltaTerms, deltaPostings,
+            ids, labels, ordinal + 1, removed, removedCount);
+        snapshot = needsCompaction(next) ? compacted(ids, labels, ordinal + 1, removed) : next;
+    }
+
+    synchronized void remove(UUID id) {
+        Integer ordinal = id != null ? ordinals.remove(id) : null;
+        if (ordinal == null) return;
+        Snapshot current = snapshot;
+        BitSet removed = (BitSet) current.removed().clone();
+        removed.set(ordinal);
+        Snapshot next = new Snapshot(current.terms(), current.postings(), current.deltaTerms(), current.deltaPostings(),
+            current.ids(), current.labels(), current.count(), removed, current.removedCount() + 1);
+        snapshot = needsCompaction(next) ? compacted(next.ids(), next.labels(), next.count(), removed) : next;
+    }
+
+    int size() {
+        Snapshot current = snapshot;
+        return current.count() - current.removedCount();
+    }
+
+    /**
+     * Entries having a word that starts with the given prefix.
+     * Exact names rank first, then names starting with the prefix, then later-word matches;
+     * ties go to the shorter name.
+     */
+    List<Hit> search(String prefix, int limit) {
+        String normalized = normalize(prefix);
+        if (normalized.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        Snapshot current = snapshot;
+        Map<Integer, Integer> ranks = new HashMap<>();
+        collect(current, current.terms(), current.postings(), current.terms().length, normalized, ranks);
+        collect(current, current.deltaTerms(), current.deltaPostings(), current.deltaTerms().length, normalized, ranks);
+        if (ranks.isEmpty()) {
+            return List.of();
+        }
+
+        String[] labels = current.labels();
+        List<Integer> ordered = new ArrayList<>(ranks.keySet());
+        ordered.sort(Comparator.<Integer>comparingInt(ranks::get)
+            .thenComparingInt(o -> labels[o].length())
+            .thenComparing(o -> labels[o], String.CASE_INSENSITIVE_ORDER));
+        List<Hit> hits = new ArrayList<>(Math.min(limit, ordered.size()));
+        for (int i = 0; i < ordered.size() && hits.size() < limit; i++) {
+            int ordinal = ordered.get(i);
+            hits.add(new Hit(current.ids()[ordinal], labels[ordinal]));
+        }
+        return hits;
+    }
+
+    private static void collect(Snapshot current, String[] terms, int[] postings, int length,
+                                String prefix, Map<Integer, Integer> ranks) {
+        int scanned = 0;
+        for (int i = lowerBound(terms, length, prefix); i < length && scanned < MAX_CANDIDATES; i++, scanned++) {
+            String term = terms[i];
+            if (!term.startsWith(prefix)) break;
+            int ordinal = postings[i] >>> 1;
+            if (ordinal >= current.count() || current.removed().get(ordinal)) continue;
+            boolean laterWord = (postings[i] & LATER_WORD) != 0;
+            int rank = laterWord ? 2 : (term.length() == prefix.length() ? 0 : 1);
+            ranks.merge(ordinal, rank, Math::min);
+        }
+    }
+
+    private static int lowerBound(String[] terms, int length, String key) {
+        int low = 0;
+        int high = length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (terms[mid].compareTo(key) < 0) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+
+    private static int insertSorted(String[] terms, int[] postings, int size, String term, int posting) {
+        int at = lowerBound(terms, size, term);
+        System.arraycopy(terms, at, terms, at + 1, size - at);
+        System.arraycopy(postings, at, postings, at + 1, size - at);
+        terms[at] = term;
+        postings[at] = posting;
+        return size + 1;
+    }
+
+    private static boolean needsCompaction(Snapshot s) {
+        return s.deltaTerms().length > MAX_DELTA_TERMS
+            || (s.removedCount() > 1024 && s.removedCount() > s.count() / 4);
+    }
+
+    /**
+     * Rebuild the main arrays from the live entries, renumbering ordinals densely.
+     * Called with the monitor held.
+     */
+    private Snapshot compacted(UUID[] ids, String[] labels, int count, BitSet removed) {
+        int live = count - removed.cardinality();
+        UUID[] newIds = new UUID[Math.max(16, live + live / 2)];
+        String[] newLabels = new String[newIds.length];
+        List<String> allTerms = new ArrayList<>(live * 3);
+        List<Integer> allPostings = new ArrayList<>(live * 3);
+        int next = 0;
+        ordinals.clear();
+        for (int ordinal = 0; ordinal < count; ordinal++) {
+            if (removed.get(ordinal)) continue;
+            newIds[next] = ids[ordinal];
+            newLabels[next] = labels[ordinal];
+            ordinals.put(ids[ordinal], next);
+            List<String> terms = termsOf(labels[ordinal]);
+            for (int i = 0; i < terms.size(); i++) {
+                allTerms.add(terms.get(i));
+                allPostings.add(posting(next, i > 0));
+            }
+            next++;
+        }
+
+        Integer[] order = new Integer[allTerms.size()];
+        for (int i = 0; i < order.length; i++) order[i] = i;
+        Arrays.sort(order, Comparator.comparing(allTerms::get));
+        String[] terms = new String[order.length];
+        int[] postings = new int[order.length];
+        for (int i = 0; i < order.length; i++) {
+            terms[i] = allTerms.get(order[i]);
+            postings[i] = allPostings.get(order[i]);
+        }
+        return new Snapshot(terms, postings, NO_TERMS, NO_POSTINGS, newIds, newLabels, next, new BitSet(), 0);
+    }
+
+    private static int posting(int ordinal, boolean laterWord) {
+        return (ordinal << 1) | (laterWord ? LATER_WORD : 0);
+    }
+
+    /**
+     * Terms for a name: the normalized name from each of its first word starts.
+     */
+    static List<String> termsOf(String label) {
+        String normalized = normalize(label);
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+        Set<String> terms = new LinkedHashSet<>();
+        terms.add(normalized);
+        int starts = 1;
+        for (int i = normalized.indexOf(' '); i >= 0 && starts < MAX_WORD_STARTS; i = normalized.indexOf(' ', i + 1)) {
+            terms.add(normalized.substring(i + 1));
+            starts++;
+        }
+        return new ArrayList<>(terms);
+    }
+
+    /**
+     * Lower-case, strip accents and collapse punctuation to single spaces,
+     * so "L'Écume des jours" and "l ecume des jours" compare equal.
+     */
+    static String normalize(String text) {
+        if (text == null || text.isBlank()) {
+            return "";
+        }
+        String folded = text.toLowerCase(Locale.ROOT)
+            .replace("œ", "oe")
+            .replace("æ", "ae")
+            .replace("ß", "ss");
+        folded = MARKS.matcher(Normalizer.normalize(folded, Normalizer.Form.NFD)).replaceAll("");
+        return SEPARATORS.matcher(folded).replaceAll(" ").trim();
+    }
+}
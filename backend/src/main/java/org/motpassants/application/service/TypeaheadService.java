@@ -0,0 +1,160 @@
+package org.motpassants.application.service;
+
+import org.motpassants.domain.core.model.TypeaheadSuggestion;
+import org.motpassants.domain.port.in.TypeaheadUseCase;
+import org.motpassants.domain.port.out.AuthorRepositoryPort;
+import org.motpassants.domain.port.out.BookRepository;
+import org.motpassants.domain.port.out.LoggingPort;
+import org.motpassants.domain.port.out.SeriesRepositoryPort;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Search-as-you-type service backed by in-memory prefix indexes of book titles,
+ * author names and series names.
+ * The indexes are loaded from the repositories once and then kept current by
+ * BookService, AuthorService and SeriesService on every create, update and delete,
+ * so suggestions never query the database.
+ */
+@ApplicationScoped
+public class TypeaheadService implements TypeaheadUseCase {
+
+    static final String BOOKS = "books";
+    static final String AUTHORS = "authors";
+    static final String SERIES = "series";
+    private static final List<String> ALL_ENTITY_TYPES = List.of(BOOKS, AUTHORS, SERIES);
+
+    private final BookRepository bookRepository;
+    private final AuthorRepositoryPort authorRepository;
+    private final SeriesRepositoryPort seriesRepository;
+    private final LoggingPort log;
+
+    private final TypeaheadIndex books = new TypeaheadIndex();
+    private final TypeaheadIndex authors = new TypeaheadIndex();
+    private final TypeaheadIndex series = new TypeaheadIndex();
+
+    private final Object buildLock = new Object();
+    private volatile boolean built;
+    // Changes made while a rebuild is reading the repositories, replayed once it completes
+    private List<Runnable> changesDuringBuild;
+
+    @Inject
+    public TypeaheadService(BookRepository bookRepository,
+                            AuthorRepositoryPort authorRepository,
+                            SeriesRepositoryPort seriesRepository,
+                            LoggingPort log) {
+        this.bookRepository = bookRepository;
+        this.authorRepository = authorRepository;
+        this.seriesRepository = seriesRepository;
+        this.log = log;
+    }
+
+    @Override
+    public List<TypeaheadSuggestion> suggest(String prefix, int limit, List<String> entityTypes) {
+        if (prefix == null || prefix.isBlank()) {
+            return List.of();
+        }
+        if (limit <= 0) limit = 8;
+        if (limit > 25) limit = 25;
+        ensureBuilt();
+
+        List<String> types = (entityTypes == null || entityTypes.isEmpty()) ? ALL_ENTITY_TYPES : entityTypes;
+        List<TypeaheadSuggestion> suggestions = new ArrayList<>();
+        for (String type : ALL_ENTITY_TYPES) {
+            if (!types.contains(type)) continue;
+            for (TypeaheadIndex.Hit hit : indexFor(type).search(prefix, limit)) {
+                suggestions.add(new TypeaheadSuggestion(type, hit.id(), hit.label()));
+            }
+        }
+        return suggestions;
+    }
+
+    /**
+     * Reload all three indexes from the repositories.
+     * Changes reported while loading are applied on top of the loaded data.
+     */
+    public synchronized void rebuild() {
+        synchronized (buildLock) {
+            changesDuringBuild = new ArrayList<>();
+        }
+        try {
+            long start = System.nanoTime();
+            Map<UUID, String> bookTitles = bookRepository.findAllTitles();
+            Map<UUID, String> authorNames = authorRepository.findAllNames();
+            Map<UUID, String> seriesNames = seriesRepository.findAllNames();
+            synchronized (buildLock) {
+                books.load(bookTitles);
+                authors.load(authorNames);
+                series.load(seriesNames);
+                changesDuringBuild.forEach(Runnable::run);
+                changesDuringBuild = null;
+                built = true;
+            }
+            log.infof("Typeahead index built: %d books, %d authors, %d series in %d ms",
+                books.size(), authors.size(), series.size(), (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            synchronized (buildLock) {
+                changesDuringBuild = null;
+            }
+            log.error("Failed to build typeahead index", e);
+            throw e;
+        }
+    }
+
+    private void ensureBuilt() {
+        if (built) return;
+        synchronized (this) {
+            if (!built) {
+                rebuild();
+            }
+        }
+    }
+
+    public void indexBook(UUID id, String title) {
+        apply(books, index -> index.put(id, title));
+    }
+
+    public void removeBook(UUID id) {
+        apply(books, index -> index.remove(id));
+    }
+
+    public void indexAuthor(UUID id, String name) {
+        apply(authors, index -> index.put(id, name));
+    }
+
+    public void removeAuthor(UUID id) {
+        apply(authors, index -> index.remove(id));
+    }
+
+    public void indexSeries(UUID id, String name) {
+        apply(series, index -> index.put(id, name));
+    }
+
+    public void removeSeries(UUID id) {
+        apply(series, index -> index.remove(id));
+    }
+
+    private void apply(TypeaheadIndex index, Consumer<TypeaheadIndex> change) {
+        synchronized (buildLock) {
+            change.accept(index);
+            if (changesDuringBuild != null) {
+                changesDuringBuild.add(() -> change.accept(index));
+            }
+        }
+    }
+
+    private TypeaheadIndex indexFor(String type) {
+        return switch (type) {
+            case BOOKS -> books;
+            case AUTHORS -> authors;
+            default -> series;
+        };
+    }
+}
@@ -8,101 +8,176 @@ import org.motpassants.domain.port.in.UnifiedSearchUseCase;
 import org.motpassants.domain.port.in.BookUseCase;
 import org.motpassants.domain.port.in.AuthorUseCase;
 import org.motpassants.domain.port.in.SeriesUseCase;
+import org.motpassants.domain.port.out.ConfigurationPort;
+import org.motpassants.domain.port.out.LoggingPort;
 
+import io.quarkus.runtime.ShutdownEvent;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
 import jakarta.inject.Inject;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * Unified search service implementing cross-entity search logic.
  * Orchestrates search across multiple entity types.
+ * The lookups run concurrently on virtual threads, each bounded by its own timeout and by
+ * an overall deadline; a type that fails or runs late is left out and the result is flagged as partial.
+ * Complete results are cached briefly per normalized query until the library changes;
+ * results served from the cache carry no per-type latencies.
  */
 @ApplicationScoped
 public class UnifiedSearchService implements UnifiedSearchUseCase {
-    
+
     private final BookUseCase bookUseCase;
     private final AuthorUseCase authorUseCase;
     private final SeriesUseCase seriesUseCase;
-    
+    private final ConfigurationPort configurationPort;
+    private final LoggingPort log;
+    private final QueryResultCache<UnifiedSearchResult> cache;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
     private static final List<String> ALL_ENTITY_TYPES = Arrays.asList("books", "authors", "series");
-    
+
     @Inject
-    public UnifiedSearchService(BookUseCase bookUseCase, 
+    public UnifiedSearchService(BookUseCase bookUseCase,
                                AuthorUseCase authorUseCase,
-                               SeriesUseCase seriesUseCase) {
+                               SeriesUseCase seriesUseCase,
+                               ConfigurationPort configurationPort,
+                               LibraryVersionService libraryVersionService,
+                               LoggingPort log) {
         this.bookUseCase = bookUseCase;
         this.authorUseCase = authorUseCase;
         this.seriesUseCase = seriesUseCase;
+        this.configurationPort = configurationPort;
+        this.log = log;
+        this.cache = libraryVersionService.newQueryCache(UnifiedSearchResult::copyWithoutLatency);
     }
-    
+
+    void onStop(@Observes ShutdownEvent event) {
+        executor.shutdownNow();
+    }
+
     @Override
     public UnifiedSearchResult unifiedSearch(String query, int limit, List<String> entityTypes) {
         // Validate and sanitize inputs
         if (query == null || query.trim().isEmpty()) {
             return new UnifiedSearchResult(List.of(), List.of(), List.of());
         }
-        
+
         if (limit <= 0) {
             limit = 10; // Default limit
         }
         if (limit > 50) {
             limit = 50; // Max limit to avoid performance issues
         }
-        
+        final int max = limit;
+
         // Determine which entity types to search
-        List<String> typesToSearch = (entityTypes == null || entityTypes.isEmpty()) 
-            ? ALL_ENTITY_TYPES 
+        List<String> typesToSearch = (entityTypes == null || entityTypes.isEmpty())
+            ? ALL_ENTITY_TYPES
             : entityTypes;
-        
-        // Perform searches based on requested types
-        List<Book> books = new ArrayList<>();
-        List<Author> authors = new ArrayList<>();
-        List<Series> series = new ArrayList<>();
-        
-        String sanitizedQuery = query.trim();
-        
-        if (typesToSearch.contains("books")) {
-            try {
-                // Note: BookUseCase.searchBooks might return a PageResponseDto, we need to adapt this
-                books = bookUseCase.searchBooks(sanitizedQuery);
-                if (books.size() > limit) {
-                    books = books.subList(0, limit);
-                }
-            } catch (Exception e) {
-                // Log error and continue with empty results for books
-                books = new ArrayList<>();
-            }
+
+        String key = QueryResultCache.normalizeKey(query) + "|" + max + "|"
+            + ALL_ENTITY_TYPES.stream().filter(typesToSearch::contains).toList();
+        // Partial results are not cached so a slow moment does not stick
+        return cache.get(key, () -> search(query.trim(), max, typesToSearch), result -> !result.isPartial());
+    }
+
+    private UnifiedSearchResult search(String sanitizedQuery, int max, List<String> typesToSearch) {
+        ConfigurationPort.SearchConfig config = configurationPort.getSearchConfig();
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(config.getDeadlineMillis());
+
+        // Start every requested lookup before waiting on any of them; each records its own latency
+        Map<String, Long> latencies = new ConcurrentHashMap<>();
+        Future<List<Book>> booksFuture = typesToSearch.contains("books")
+            ? submit("books", latencies, () -> truncate(bookUseCase.searchBooks(sanitizedQuery, max), max))
+            : null;
+        Future<List<Author>> authorsFuture = typesToSearch.contains("authors")
+            ? submit("authors", latencies, () -> truncate(authorUseCase.searchAuthors(sanitizedQuery, null, max).getItems(), max))
+            : null;
+        Future<List<Series>> seriesFuture = typesToSearch.contains("series")
+            ? submit("series", latencies, () -> truncate(seriesUseCase.searchSeries(sanitizedQuery, max), max))
+            : null;
+
+        List<String> incomplete = new ArrayList<>();
+        List<Book> books = await("books", booksFuture, start, config.getBooksTimeoutMillis(), deadline, latencies, incomplete);
+        List<Author> authors = await("authors", authorsFuture, start, config.getAuthorsTimeoutMillis(), deadline, latencies, incomplete);
+        List<Series> series = await("series", seriesFuture, start, config.getSeriesTimeoutMillis(), deadline, latencies, incomplete);
+
+        UnifiedSearchResult result = new UnifiedSearchResult(books, authors, series);
+        result.setPartial(!incomplete.isEmpty());
+        result.setIncompleteTypes(incomplete);
+        Map<String, Long> orderedLatencies = new LinkedHashMap<>();
+        for (String type : ALL_ENTITY_TYPES) {
+            Long latency = latencies.get(type);
+            if (latency != null) orderedLatencies.put(type, latency);
         }
-        
-        if (typesToSearch.contains("authors")) {
-            try {
-                // AuthorUseCase.searchAuthors returns PageResult<Author>
-                var pageResult = authorUseCase.searchAuthors(sanitizedQuery, null, limit);
-                authors = pageResult.getItems();
-                if (authors.size() > limit) {
-                    authors = authors.subList(0, limit);
-                }
-            } catch (Exception e) {
-                // Log error and continue with empty results for authors
-                authors = new ArrayList<>();
-            }
+        result.setLatencyMillis(orderedLatencies);
+        log.debug("Unified search latencies (ms) " + orderedLatencies + (incomplete.isEmpty() ? "" : ", incomplete: " + incomplete));
+        return result;
+    }
+
+    /**
+     * Wait for one lookup until its own timeout or the overall deadline, whichever comes first.
+     * Both are measured from the start of the search since all lookups run at the same time.
+     */
+    private <T> List<T> await(String type, Future<List<T>> future, long start, long timeoutMillis, long deadline,
+                              Map<String, Long> latencies, List<String> incomplete) {
+        if (future == null) {
+            return List.of();
+        }
+        long until = Math.min(start + TimeUnit.MILLISECONDS.toNanos(timeoutMillis), deadline);
+        try {
+            return future.get(Math.max(0L, until - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            log.warn("Unified search for " + type + " exceeded its time budget; returning partial results");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            log.warn("Unified search for " + type + " failed: " + cause.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
         }
-        
-        if (typesToSearch.contains("series")) {
+        // A lookup that was abandoned reports how long it was waited for
+        latencies.putIfAbsent(type, elapsedMillis(start));
+        incomplete.add(type);
+        return List.of();
+    }
+
+    private <T> Future<List<T>> submit(String type, Map<String, Long> latencies, Callable<List<T>> lookup) {
+        return executor.submit(() -> {
+            long start = System.nanoTime();
             try {
-                series = seriesUseCase.searchSeries(sanitizedQuery);
-                if (series.size() > limit) {
-                    series = series.subList(0, limit);
-                }
-            } catch (Exception e) {
-                // Log error and continue with empty results for series
-                series = new ArrayList<>();
+                return lookup.call();
+            } finally {
+                latencies.put(type, elapsedMillis(start));
             }
+        });
+    }
+
+    private static <T> List<T> truncate(List<T> items, int limit) {
+        if (items == null) {
+            return List.of();
         }
-        
-        return new UnifiedSearchResult(books, authors, series);
+        return items.size() > limit ? new ArrayList<>(items.subList(0, limit)) : items;
+    }
+
+    private static long elapsedMillis(long start) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
     }
-}
\ No newline at end of file
+}
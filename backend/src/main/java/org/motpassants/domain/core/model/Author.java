@@ -2,6 +2,7 @@ package org.motpassants.domain.core.model;
 
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
@@ -24,6 +25,7 @@ public class Author {
     private final OffsetDateTime createdAt;
     private OffsetDateTime updatedAt;
     private Boolean hasPicture;
+    private CoverPlaceholder coverPlaceholder; // derived from the stored picture, filled on list reads
 
     private Author(UUID id, String name, String sortName, Map<String, String> bio,
                    LocalDate birthDate, LocalDate deathDate, String websiteUrl,
@@ -70,6 +72,18 @@ public class Author {
                          metadata, createdAt, updatedAt);
     }
 
+    /**
+     * Copy of this author that can be changed without affecting the original.
+     */
+    public Author copy() {
+        Author copy = new Author(id, name, sortName, bio != null ? new LinkedHashMap<>(bio) : null,
+            birthDate, deathDate, websiteUrl, metadata != null ? new LinkedHashMap<>(metadata) : null,
+            createdAt, updatedAt);
+        copy.hasPicture = hasPicture;
+        copy.coverPlaceholder = coverPlaceholder;
+        return copy;
+    }
+
     // Business methods with validation
     public void updateName(String newName) {
         validateName(newName);
@@ -178,6 +192,8 @@ public class Author {
 
     public Boolean getHasPicture() { return hasPicture; }
     public void setHasPicture(Boolean hasPicture) { this.hasPicture = hasPicture; }
+    public CoverPlaceholder getCoverPlaceholder() { return coverPlaceholder; }
+    public void setCoverPlaceholder(CoverPlaceholder coverPlaceholder) { this.coverPlaceholder = coverPlaceholder; }
 
     @Override
     public boolean equals(Object o) {
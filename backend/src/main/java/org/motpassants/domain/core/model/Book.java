@@ -3,6 +3,7 @@ package org.motpassants.domain.core.model;
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
@@ -33,6 +34,7 @@ public class Book {
     private Map<String, Object> metadata;
     private String searchVector;
     private Boolean hasCover; // persisted flag, set by upload service; demo seeds TRUE
+    private CoverPlaceholder coverPlaceholder; // derived from the stored cover, filled on list reads
 
     // Relationships
     private Set<Format> formats = new HashSet<>();
@@ -56,6 +58,41 @@ public class Book {
         this.updatedAt = OffsetDateTime.now();
     }
 
+    /**
+     * Copy of this book that can be changed without affecting the original.
+     * Collections and metadata are copied; the objects they hold are shared.
+     */
+    public Book copy() {
+        Book copy = new Book();
+        copy.id = id;
+        copy.title = title;
+        copy.titleSort = titleSort;
+        copy.isbn = isbn;
+        copy.description = description;
+        copy.pageCount = pageCount;
+        copy.publicationYear = publicationYear;
+        copy.language = language;
+        copy.path = path;
+        copy.fileSize = fileSize;
+        copy.fileHash = fileHash;
+        copy.createdAt = createdAt;
+        copy.updatedAt = updatedAt;
+        copy.publicationDate = publicationDate;
+        copy.languageEntity = languageEntity;
+        copy.publisher = publisher;
+        copy.metadata = metadata != null ? new LinkedHashMap<>(metadata) : null;
+        copy.searchVector = searchVector;
+        copy.hasCover = hasCover;
+        copy.coverPlaceholder = coverPlaceholder;
+        copy.formats = formats != null ? new HashSet<>(formats) : null;
+        copy.originalWorks = originalWorks != null ? new HashSet<>(originalWorks) : null;
+        copy.series = series != null ? new HashSet<>(series) : null;
+        copy.tags = tags != null ? new HashSet<>(tags) : null;
+        copy.ratings = ratings != null ? new HashSet<>(ratings) : null;
+        copy.readingProgress = readingProgress != null ? new HashSet<>(readingProgress) : null;
+        return copy;
+    }
+
     // Business methods
     public void updateTitle(String newTitle, String newTitleSort) {
         this.title = newTitle;
@@ -191,6 +228,14 @@ public class Book {
         this.hasCover = hasCover;
     }
 
+    public CoverPlaceholder getCoverPlaceholder() {
+        return coverPlaceholder;
+    }
+
+    public void setCoverPlaceholder(CoverPlaceholder coverPlaceholder) {
+        this.coverPlaceholder = coverPlaceholder;
+    }
+
     public OffsetDateTime getCreatedAt() {
         return createdAt;
     }
@@ -0,0 +1,11 @@
+package org.motpassants.domain.core.model;
+
+/**
+ * Plain text of one spine document of a book, as indexed for content search.
+ */
+public record BookContentChapter(
+    int index, // position in the spine, starting at 0
+    String href, // path of the document inside the publication
+    String mediaType,
+    String text
+) {}
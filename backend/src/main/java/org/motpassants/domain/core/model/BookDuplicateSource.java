@@ -0,0 +1,18 @@
+package org.motpassants.domain.core.model;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * The fields of a book that near-duplicate detection compares,
+ * with title and author names already normalized for search.
+ * {@code updatedAt} is the book's last update when the fields were read and versions the signature.
+ */
+public record BookDuplicateSource(
+    UUID bookId,
+    String title,
+    List<String> authors,
+    String isbn,
+    OffsetDateTime updatedAt
+) {}
@@ -0,0 +1,26 @@
+package org.motpassants.domain.core.model;
+
+import java.util.List;
+
+/**
+ * Facet counts over the books matching a set of search criteria,
+ * each list ordered by descending count. Immutable, so it can be shared from a cache.
+ */
+public record BookFacets(
+    long total,
+    List<FacetCount> languages,
+    List<FacetCount> publishers,
+    List<FacetCount> decades,
+    List<FacetCount> formats,
+    List<FacetCount> series,
+    List<FacetCount> tags
+) {
+    public BookFacets {
+        languages = List.copyOf(languages);
+        publishers = List.copyOf(publishers);
+        decades = List.copyOf(decades);
+        formats = List.copyOf(formats);
+        series = List.copyOf(series);
+        tags = List.copyOf(tags);
+    }
+}
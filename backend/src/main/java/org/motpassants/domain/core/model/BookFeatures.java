@@ -0,0 +1,16 @@
+package org.motpassants.domain.core.model;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * The catalogue features of a book used to find similar books, as typed keys:
+ * {@code a:<author id>}, {@code s:<series id>}, {@code t:<tag id>}, {@code l:<language code>}
+ * and {@code p:<publisher id>}. The hash identifies the feature set, so a stored list can be
+ * checked for staleness without loading the features it was computed from.
+ */
+public record BookFeatures(
+    UUID bookId,
+    List<String> features,
+    long featuresHash
+) {}
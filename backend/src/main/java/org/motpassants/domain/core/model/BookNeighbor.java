@@ -0,0 +1,11 @@
+package org.motpassants.domain.core.model;
+
+import java.util.UUID;
+
+/**
+ * A book similar to another one, with the cosine similarity of their feature vectors.
+ */
+public record BookNeighbor(
+    UUID neighborId,
+    double score
+) {}
@@ -0,0 +1,46 @@
+package org.motpassants.domain.core.model;
+
+import java.util.List;
+
+/**
+ * Parsed form of a structured book search such as
+ * {@code author:herbert series:dune lang:fr year:>1970 format:epub "desert planet"}.
+ * A book matches when it satisfies every clause; negated clauses must not match.
+ */
+public record BookQuery(List<Clause> clauses) {
+
+    public BookQuery {
+        clauses = clauses == null ? List.of() : List.copyOf(clauses);
+    }
+
+    /**
+     * Fields a clause can target; {@code TEXT} is free text without a field prefix.
+     */
+    public enum Field { TEXT, TITLE, AUTHOR, SERIES, PUBLISHER, TAG, LANGUAGE, FORMAT, ISBN }
+
+    public sealed interface Clause permits Term, YearRange {
+        boolean negated();
+    }
+
+    /**
+     * Match a field against a value; a phrase is matched as consecutive words.
+     */
+    public record Term(Field field, String value, boolean phrase, boolean negated) implements Clause {}
+
+    /**
+     * Publication year between two inclusive bounds, either of which may be open (null).
+     */
+    public record YearRange(Integer from, Integer to, boolean negated) implements Clause {}
+
+    public boolean isEmpty() {
+        return clauses.isEmpty();
+    }
+
+    /**
+     * True when the query is only unquoted free text, without field terms or phrases.
+     */
+    public boolean isPlainText() {
+        return clauses.stream().allMatch(c -> c instanceof Term t
+            && t.field() == Field.TEXT && !t.phrase() && !t.negated());
+    }
+}
@@ -13,6 +13,8 @@ public class BookSearchCriteria {
     private String language;
     private String publisher;
     private String format;
+    private Integer decade; // first year of the decade, e.g. 1990
+    private String tag;
     private String cursor;
     private int limit;
 
@@ -77,6 +79,22 @@ public class BookSearchCriteria {
         this.format = format;
     }
 
+    public Integer getDecade() {
+        return decade;
+    }
+
+    public void setDecade(Integer decade) {
+        this.decade = decade;
+    }
+
+    public String getTag() {
+        return tag;
+    }
+
+    public void setTag(String tag) {
+        this.tag = tag;
+    }
+
     public String getCursor() {
         return cursor;
     }
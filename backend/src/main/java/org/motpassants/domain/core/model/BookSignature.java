@@ -0,0 +1,16 @@
+package org.motpassants.domain.core.model;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * MinHash signature of a book and the locality-sensitive hashing bucket of each signature band.
+ * A book without any comparable text has no buckets and is never a duplicate candidate.
+ * The signature stays current while {@code sourceUpdatedAt} equals the book's last update.
+ */
+public record BookSignature(
+    UUID bookId,
+    int[] values,
+    long[] bandBuckets,
+    OffsetDateTime sourceUpdatedAt
+) {}
@@ -0,0 +1,28 @@
+package org.motpassants.domain.core.model;
+
+import java.util.UUID;
+
+/**
+ * A match inside the text of a book.
+ * The snippet is split around the matched words so it can be used as the text
+ * part of a Readium locator, which lets the reader find the exact range.
+ */
+public record ContentSearchHit(
+    UUID bookId,
+    String bookTitle,
+    int chapterIndex,
+    int chapterCount,
+    String href,
+    String mediaType,
+    String before,
+    String highlight,
+    String after
+) {
+
+    /**
+     * Approximate position of the chapter within the whole book, from 0 to 1.
+     */
+    public double totalProgression() {
+        return chapterCount > 0 ? (double) chapterIndex / chapterCount : 0.0;
+    }
+}
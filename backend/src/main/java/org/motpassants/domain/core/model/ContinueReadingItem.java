@@ -0,0 +1,14 @@
+package org.motpassants.domain.core.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * A book the user has started but not finished, with its latest reading position.
+ * The book carries only the light listing fields.
+ */
+public record ContinueReadingItem(
+    Book book,
+    Double progress, // 0.0 to 1.0
+    Integer currentPage,
+    LocalDateTime lastReadAt
+) {}
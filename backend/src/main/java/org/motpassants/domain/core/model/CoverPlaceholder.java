@@ -0,0 +1,12 @@
+package org.motpassants.domain.core.model;
+
+/**
+ * A tiny stand-in for a cover or picture, painted before the image itself has loaded:
+ * a 16 px wide JPEG as a data URI and the dominant color as #rrggbb, along with the
+ * version (content hash) of the image they were computed from.
+ */
+public record CoverPlaceholder(
+    String dataUri,
+    String color,
+    String version
+) {}
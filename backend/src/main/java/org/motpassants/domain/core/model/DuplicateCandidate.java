@@ -0,0 +1,15 @@
+package org.motpassants.domain.core.model;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A book reported as part of a probable duplicate cluster.
+ */
+public record DuplicateCandidate(
+    UUID bookId,
+    String title,
+    List<String> authors,
+    String isbn,
+    String path
+) {}
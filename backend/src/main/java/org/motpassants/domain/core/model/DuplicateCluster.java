@@ -0,0 +1,12 @@
+package org.motpassants.domain.core.model;
+
+import java.util.List;
+
+/**
+ * Books that are probably the same work.
+ * The similarity is the lowest estimated Jaccard similarity among the pairs that joined the cluster.
+ */
+public record DuplicateCluster(
+    double similarity,
+    List<DuplicateCandidate> books
+) {}
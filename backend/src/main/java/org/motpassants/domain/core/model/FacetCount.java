@@ -0,0 +1,10 @@
+package org.motpassants.domain.core.model;
+
+/**
+ * Number of matching books sharing one value of a facet.
+ */
+public record FacetCount(
+    String value, // the value to filter on for drill-down
+    String label, // display name, same as value when there is none
+    long count
+) {}
@@ -0,0 +1,16 @@
+package org.motpassants.domain.core.model;
+
+import java.util.Map;
+
+/**
+ * Aggregate figures about the library.
+ * Formats are keyed by lower-case file extension and languages by language code; both maps are sorted.
+ */
+public record LibraryStatistics(
+    long books,
+    long series,
+    long authors,
+    long totalBytes,
+    Map<String, Long> formats,
+    Map<String, Long> languages
+) {}
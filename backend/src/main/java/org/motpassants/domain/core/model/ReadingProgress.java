@@ -4,9 +4,13 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 public class ReadingProgress {
+    // Device identifier used by the built-in web reader
+    public static final String DEFAULT_DEVICE_ID = "web-reader";
+
     private UUID id;
     private UUID userId;
     private UUID bookId;
+    private String deviceId = DEFAULT_DEVICE_ID;
     private Double progress; // 0.0 to 1.0 (0% to 100%)
     private Integer currentPage;
     private Integer totalPages;
@@ -50,6 +54,17 @@ public class ReadingProgress {
         );
     }
 
+    /**
+     * Creates a detached copy of this progress entry.
+     */
+    public ReadingProgress copy() {
+        ReadingProgress copy = new ReadingProgress(id, userId, bookId, progress, currentPage,
+            totalPages, isCompleted, lastReadAt, createdAt, updatedAt);
+        copy.deviceId = deviceId;
+        copy.progressLocator = progressLocator;
+        return copy;
+    }
+
     public void updateProgress(Double progress, Integer currentPage, Integer totalPages) {
         this.progress = progress;
         this.currentPage = currentPage;
@@ -69,6 +84,9 @@ public class ReadingProgress {
     public UUID getBookId() { return bookId; }
     public void setBookId(UUID bookId) { this.bookId = bookId; }
 
+    public String getDeviceId() { return deviceId; }
+    public void setDeviceId(String deviceId) { this.deviceId = deviceId; }
+
     public Double getProgress() { return progress; }
     public void setProgress(Double progress) { this.progress = progress; }
 
@@ -0,0 +1,42 @@
+package org.motpassants.domain.core.model;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Normal form of search text, matching the generated *_norm columns
+ * (librarie_normalize in the database: unaccent, then lower case),
+ * so that "eluard", "Éluard" and "ÉLUARD" all match "Paul Éluard".
+ */
+public final class SearchText {
+
+    private static final Pattern CONTROL_CHARACTERS = Pattern.compile("[\u0000-\u001f\u007f-\u009f]");
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    private SearchText() {}
+
+    /**
+     * Remove control characters and surrounding whitespace, lower case, fold ligatures
+     * and letters unaccent maps without a combining mark, then drop accents.
+     * Returns null for null.
+     */
+    public static String normalize(String input) {
+        if (input == null) {
+            return null;
+        }
+        String sanitized = CONTROL_CHARACTERS.matcher(input).replaceAll("").trim();
+        if (sanitized.isEmpty()) {
+            return sanitized;
+        }
+        String folded = sanitized.toLowerCase(Locale.ROOT)
+            .replace("œ", "oe")
+            .replace("æ", "ae")
+            .replace("ß", "ss")
+            .replace("ø", "o")
+            .replace("đ", "d")
+            .replace("ł", "l");
+        folded = COMBINING_MARKS.matcher(Normalizer.normalize(folded, Normalizer.Form.NFD)).replaceAll("");
+        return Normalizer.normalize(folded, Normalizer.Form.NFC);
+    }
+}
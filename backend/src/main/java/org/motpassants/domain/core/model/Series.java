@@ -1,6 +1,7 @@
 package org.motpassants.domain.core.model;
 
 import java.time.OffsetDateTime;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.UUID;
 
@@ -19,6 +20,7 @@ public class Series {
     private int totalBooks;
     private boolean isCompleted;
     private Boolean hasPicture; // persisted flag
+    private CoverPlaceholder coverPlaceholder; // derived from the stored picture, filled on list reads
     private Map<String, Object> metadata;
     private OffsetDateTime createdAt;
     private OffsetDateTime updatedAt;
@@ -40,6 +42,26 @@ public class Series {
         return series;
     }
     
+    /**
+     * Copy of this series that can be changed without affecting the original.
+     */
+    public Series copy() {
+        Series copy = new Series();
+        copy.id = id;
+        copy.name = name;
+        copy.sortName = sortName;
+        copy.description = description;
+        copy.imagePath = imagePath;
+        copy.totalBooks = totalBooks;
+        copy.isCompleted = isCompleted;
+        copy.hasPicture = hasPicture;
+        copy.coverPlaceholder = coverPlaceholder;
+        copy.metadata = metadata != null ? new LinkedHashMap<>(metadata) : null;
+        copy.createdAt = createdAt;
+        copy.updatedAt = updatedAt;
+        return copy;
+    }
+    
     // Business logic methods
     public void updateDetails(String name, String sortName, String description, 
                              String imagePath, Integer totalBooks, Boolean isCompleted, 
@@ -171,6 +193,8 @@ public class Series {
 
     public Boolean getHasPicture() { return hasPicture; }
     public void setHasPicture(Boolean hasPicture) { this.hasPicture = hasPicture; }
+    public CoverPlaceholder getCoverPlaceholder() { return coverPlaceholder; }
+    public void setCoverPlaceholder(CoverPlaceholder coverPlaceholder) { this.coverPlaceholder = coverPlaceholder; }
     
     // Legacy compatibility methods for bookCount
     public int getBookCount() {
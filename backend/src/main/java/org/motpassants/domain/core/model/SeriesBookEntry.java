@@ -0,0 +1,15 @@
+package org.motpassants.domain.core.model;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * A book as listed on its series page, with its index within that series.
+ */
+public record SeriesBookEntry(
+    UUID bookId,
+    String title,
+    boolean hasCover,
+    Double seriesIndex,
+    LocalDate publicationDate
+) {}
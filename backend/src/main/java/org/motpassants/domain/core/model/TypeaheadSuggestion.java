@@ -0,0 +1,12 @@
+package org.motpassants.domain.core.model;
+
+import java.util.UUID;
+
+/**
+ * A search-as-you-type suggestion pointing at a book, author or series.
+ */
+public record TypeaheadSuggestion(
+    String type, // "books", "authors" or "series"
+    UUID id,
+    String label // title or name as stored
+) {}
@@ -1,6 +1,9 @@
 package org.motpassants.domain.core.model;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 /**
  * Unified search result domain model containing results from all entity types.
@@ -11,6 +14,10 @@ public class UnifiedSearchResult {
     private List<Author> authors;
     private List<Series> series;
     private int totalResults;
+    // True when at least one requested entity type failed or missed its deadline
+    private boolean partial;
+    private List<String> incompleteTypes = List.of();
+    private Map<String, Long> latencyMillis = new LinkedHashMap<>();
     
     public UnifiedSearchResult() {}
     
@@ -21,6 +28,21 @@ public class UnifiedSearchResult {
         this.totalResults = books.size() + authors.size() + series.size();
     }
     
+    /**
+     * Copy of these results whose lists and entities can be changed without affecting the original.
+     * Latencies describe one particular run and are not carried over.
+     */
+    public UnifiedSearchResult copyWithoutLatency() {
+        UnifiedSearchResult copy = new UnifiedSearchResult(
+            books.stream().map(Book::copy).collect(Collectors.toList()),
+            authors.stream().map(Author::copy).collect(Collectors.toList()),
+            series.stream().map(Series::copy).collect(Collectors.toList()));
+        copy.totalResults = totalResults;
+        copy.partial = partial;
+        copy.incompleteTypes = List.copyOf(incompleteTypes);
+        return copy;
+    }
+    
     // Getters and setters
     public List<Book> getBooks() {
         return books;
@@ -54,6 +76,30 @@ public class UnifiedSearchResult {
         this.totalResults = totalResults;
     }
     
+    public boolean isPartial() {
+        return partial;
+    }
+    
+    public void setPartial(boolean partial) {
+        this.partial = partial;
+    }
+    
+    public List<String> getIncompleteTypes() {
+        return incompleteTypes;
+    }
+    
+    public void setIncompleteTypes(List<String> incompleteTypes) {
+        this.incompleteTypes = incompleteTypes;
+    }
+    
+    public Map<String, Long> getLatencyMillis() {
+        return latencyMillis;
+    }
+    
+    public void setLatencyMillis(Map<String, Long> latencyMillis) {
+        this.latencyMillis = latencyMillis;
+    }
+    
     @Override
     public String toString() {
         return "UnifiedSearchResult{" +
@@ -61,6 +107,7 @@ public class UnifiedSearchResult {
                 ", books=" + (books != null ? books.size() : 0) +
                 ", authors=" + (authors != null ? authors.size() : 0) +
                 ", series=" + (series != null ? series.size() : 0) +
+                ", partial=" + partial +
                 '}';
     }
 }
\ No newline at end of file
@@ -1,13 +1,16 @@
 package org.motpassants.domain.port.in;
 
 import org.motpassants.domain.core.model.Book;
+import org.motpassants.domain.core.model.BookFacets;
 import org.motpassants.domain.core.model.BookSearchCriteria;
 import org.motpassants.domain.core.model.BookSortCriteria;
 import org.motpassants.domain.core.model.PageResult;
+import org.motpassants.domain.core.model.SeriesBookEntry;
 
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 /**
  * Inbound port defining book-related use cases.
@@ -47,6 +50,15 @@ public interface BookUseCase {
      * @return cursor-paginated result of books in the series
      */
     PageResult<Book> getBooksBySeries(UUID seriesId, String cursor, int limit);
+
+    /**
+     * Pass every book of a series to a consumer, ordered by series index (nulls last) then title,
+     * without loading the whole series first.
+     *
+     * @param seriesId the series UUID
+     * @param consumer receives each book in order
+     */
+    void forEachBookInSeries(UUID seriesId, Consumer<SeriesBookEntry> consumer);
     
     /**
      * Retrieve a book by its unique identifier.
@@ -80,12 +92,36 @@ public interface BookUseCase {
     void deleteBook(UUID id);
 
     /**
-     * Search books by query.
+     * Search books by query, one page at a time in title order.
+     * Every plain word must match a title, path or ISBN; besides plain text the query accepts
+     * field terms such as {@code author:herbert series:dune lang:fr year:>1970 format:epub "exact phrase"}.
      * 
      * @param query the search query
-     * @return list of matching books
+     * @param cursor cursor of the page to return, or null for the first page
+     * @param limit maximum number of books per page
+     * @return matching light books, with the cursor of the next page when more books match
+     */
+    PageResult<Book> searchBooks(String query, String cursor, int limit);
+
+    /**
+     * Search books by query, best matches first, returning at most {@code limit} light books
+     * (listing fields only, no contributors or formats).
+     * 
+     * @param query the search query
+     * @param limit maximum number of books
+     * @return matching books ordered by relevance
+     */
+    List<Book> searchBooks(String query, int limit);
+
+    /**
+     * Get the books most similar to a book by authors, series, tags, language and publisher,
+     * from the table refreshed in the background.
+     * 
+     * @param bookId the book
+     * @param limit maximum number of books
+     * @return similar light books, best first
      */
-    List<Book> searchBooks(String query);
+    List<Book> getSimilarBooks(UUID bookId, int limit);
 
     /**
      * Search books with criteria.
@@ -103,6 +139,14 @@ public interface BookUseCase {
      */
     List<Book> searchBooksByCriteria(BookSearchCriteria criteria);
 
+    /**
+     * Facet counts for the books matching the criteria, for drill-down filters.
+     * 
+     * @param criteria the search criteria
+     * @return counts per language, publisher, decade, format, series and tag
+     */
+    BookFacets getFacets(BookSearchCriteria criteria);
+
     /**
      * Count total number of books.
      * 
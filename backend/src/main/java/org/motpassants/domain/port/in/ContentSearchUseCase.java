@@ -0,0 +1,22 @@
+package org.motpassants.domain.port.in;
+
+import org.motpassants.domain.core.model.ContentSearchHit;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Use case for searching inside the text of books.
+ */
+public interface ContentSearchUseCase {
+
+    /**
+     * Search the indexed text of books.
+     * 
+     * @param query the words or phrases to find
+     * @param bookId restrict the search to one book, or null for the whole library
+     * @param limit maximum number of hits
+     * @return hits ordered by relevance, each pointing at a chapter with a snippet
+     */
+    List<ContentSearchHit> searchContent(String query, UUID bookId, int limit);
+}
@@ -0,0 +1,20 @@
+package org.motpassants.domain.port.in;
+
+import org.motpassants.domain.core.model.DuplicateCluster;
+
+import java.util.List;
+
+/**
+ * Use case for finding probable duplicate books.
+ */
+public interface DuplicateDetectionUseCase {
+
+    /**
+     * Find clusters of books whose title, authors and ISBN are nearly the same,
+     * from the signatures computed so far.
+     * 
+     * @param limit maximum number of clusters
+     * @return clusters, largest first
+     */
+    List<DuplicateCluster> findDuplicateClusters(int limit);
+}
@@ -0,0 +1,17 @@
+package org.motpassants.domain.port.in;
+
+import org.motpassants.domain.core.model.LibraryStatistics;
+
+/**
+ * Use case interface for library statistics.
+ */
+public interface LibraryStatisticsUseCase {
+
+    /**
+     * Current library statistics. Served from memory, and computed again only once the library
+     * has changed or the cached figures are older than the configured maximum age.
+     *
+     * @return the library statistics
+     */
+    LibraryStatistics getStatistics();
+}
@@ -0,0 +1,17 @@
+package org.motpassants.domain.port.in;
+
+/**
+ * Use case interface for the library content version.
+ * The version changes whenever a book, author or series is created, updated or deleted,
+ * so it can be used to validate cached query results and HTTP validators.
+ */
+public interface LibraryVersionUseCase {
+
+    /**
+     * Current library version. Only equality is meaningful: a different value means
+     * the library may have changed since it was read.
+     *
+     * @return the current version
+     */
+    long getLibraryVersion();
+}
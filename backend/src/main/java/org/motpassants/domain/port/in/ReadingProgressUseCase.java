@@ -1,10 +1,13 @@
 package org.motpassants.domain.port.in;
 
+import org.motpassants.domain.core.model.ContinueReadingItem;
 import org.motpassants.domain.core.model.ReadingProgress;
 
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletionStage;
+import java.util.function.BiFunction;
 
 /**
  * Inbound port defining reading progress use cases.
@@ -42,6 +45,23 @@ public interface ReadingProgressUseCase {
      */
     List<ReadingProgress> getReadingProgressByUser(UUID userId);
     
+    /**
+     * Get the user's "continue reading" shelf: started, unfinished books by most recent read.
+     * 
+     * @param userId the user ID
+     * @param limit maximum number of books to return
+     * @return shelf entries, newest first
+     */
+    List<ContinueReadingItem> getContinueReading(UUID userId, int limit);
+    
+    /**
+     * Get the books most recently read across all users.
+     * 
+     * @param limit maximum number of books to return
+     * @return distinct book IDs, newest read first
+     */
+    List<UUID> getRecentlyReadBookIds(int limit);
+    
     /**
      * Delete reading progress for a user and book.
      * 
@@ -58,4 +78,13 @@ public interface ReadingProgressUseCase {
      * @return the updated reading progress
      */
     ReadingProgress markAsCompleted(UUID userId, UUID bookId);
+    
+    /**
+     * Follow a user's reading progress as it is saved from any device.
+     * Events are pushed until a send fails, e.g. because the client went away.
+     * 
+     * @param userId the user ID
+     * @param sender sends one named event with a JSON payload
+     */
+    void streamReadingProgress(UUID userId, BiFunction<String, String, CompletionStage<?>> sender);
 }
\ No newline at end of file
@@ -98,6 +98,16 @@ public interface SeriesUseCase {
      */
     List<Series> searchSeries(String query);
     
+    /**
+     * Search series by name, best matches first, returning at most {@code limit} light series
+     * (listing fields only).
+     * 
+     * @param query Search query for series name
+     * @param limit Maximum number of series
+     * @return Matching series ordered by relevance
+     */
+    List<Series> searchSeries(String query, int limit);
+    
     /**
      * Get books in a series.
      * 
@@ -0,0 +1,24 @@
+package org.motpassants.domain.port.in;
+
+import org.motpassants.domain.core.model.TypeaheadSuggestion;
+
+import java.util.List;
+
+/**
+ * Use case interface for search-as-you-type suggestions.
+ * Answers prefix queries over book titles, author names and series names
+ * from an in-memory index, without querying the database.
+ */
+public interface TypeaheadUseCase {
+
+    /**
+     * Suggest entities whose title or name has a word starting with the given prefix.
+     * Whole-name matches rank before matches on a later word.
+     *
+     * @param prefix text typed so far
+     * @param limit maximum number of suggestions per entity type
+     * @param entityTypes entity types to include (null for all)
+     * @return suggestions grouped by entity type, best first within each type
+     */
+    List<TypeaheadSuggestion> suggest(String prefix, int limit, List<String> entityTypes);
+}
@@ -3,6 +3,7 @@ package org.motpassants.domain.port.out;
 import org.motpassants.domain.core.model.Author;
 import org.motpassants.domain.core.model.PageResult;
 
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -59,7 +60,9 @@ public interface AuthorRepositoryPort {
     PageResult<Author> findAll(String cursor, int limit, org.motpassants.domain.core.model.AuthorSortCriteria sortCriteria);
     
     /**
-     * Search authors by name with cursor-based pagination.
+     * Search authors by name, best matches first (exact name, then name prefix,
+     * then word prefix), one page of at most {@code limit} authors at a time.
+     * The next cursor continues in relevance order; the total counts every match.
      */
     PageResult<Author> searchByName(String query, String cursor, int limit);
     
@@ -67,4 +70,9 @@ public interface AuthorRepositoryPort {
      * Count total number of authors.
      */
     long count();
+
+    /**
+     * Load the id and name of every author, for building in-memory lookup structures.
+     */
+    Map<UUID, String> findAllNames();
 }
\ No newline at end of file
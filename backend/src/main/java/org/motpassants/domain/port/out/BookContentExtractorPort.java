@@ -0,0 +1,22 @@
+package org.motpassants.domain.port.out;
+
+import org.motpassants.domain.core.model.Book;
+import org.motpassants.domain.core.model.BookContentChapter;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Port for reading the text of a book file, one entry per spine document.
+ */
+public interface BookContentExtractorPort {
+
+    /**
+     * Extract the plain text of every spine document of the book.
+     * 
+     * @param book the book whose file should be read
+     * @param maxCharsPerChapter text beyond this length is not kept
+     * @return the chapters in reading order, or empty when the file is not a readable EPUB
+     */
+    Optional<List<BookContentChapter>> extractChapters(Book book, int maxCharsPerChapter);
+}
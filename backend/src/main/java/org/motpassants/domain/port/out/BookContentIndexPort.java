@@ -0,0 +1,47 @@
+package org.motpassants.domain.port.out;
+
+import org.motpassants.domain.core.model.Book;
+import org.motpassants.domain.core.model.BookContentChapter;
+import org.motpassants.domain.core.model.ContentSearchHit;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Port for the full-text index over book contents.
+ */
+public interface BookContentIndexPort {
+
+    /**
+     * Find EPUB books that were never indexed or changed since they were last indexed.
+     * 
+     * @param limit maximum number of books
+     * @return books with at least id, title and path set, oldest first
+     */
+    List<Book> findBooksPendingContentIndex(int limit);
+
+    /**
+     * Replace the indexed chapters of a book and mark it as indexed.
+     */
+    void replaceChapters(UUID bookId, List<BookContentChapter> chapters);
+
+    /**
+     * Record that a book has no indexable content, so it is not retried until it changes.
+     */
+    void markSkipped(UUID bookId, String reason);
+
+    /**
+     * Record that indexing a book failed, so it is not retried until it changes.
+     */
+    void markFailed(UUID bookId, String error);
+
+    /**
+     * Search chapter texts, best matches first.
+     * 
+     * @param query user query (words, "quoted phrases", -excluded words)
+     * @param bookId restrict to one book, or null for all books
+     * @param limit maximum number of hits
+     * @return matching chapters with a snippet around the match
+     */
+    List<ContentSearchHit> search(String query, UUID bookId, int limit);
+}
@@ -0,0 +1,54 @@
+package org.motpassants.domain.port.out;
+
+import org.motpassants.domain.core.model.BookDuplicateSource;
+import org.motpassants.domain.core.model.BookSignature;
+import org.motpassants.domain.core.model.DuplicateCandidate;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Port for the MinHash signatures and LSH buckets used to detect near-duplicate books.
+ */
+public interface BookDuplicatePort {
+
+    /**
+     * Find books that have no signature yet or were updated after the version their signature was computed from.
+     * 
+     * @param limit maximum number of books
+     * @return normalized comparison fields of the books
+     */
+    List<BookDuplicateSource> findBooksPendingSignature(int limit);
+
+    /**
+     * Store signatures, replacing the previous signature and buckets of each book.
+     */
+    void saveSignatures(List<BookSignature> signatures);
+
+    /**
+     * Version of the stored signatures: it changes whenever a signature is written
+     * or the latest one is removed, so candidate buckets can be cached against it.
+     */
+    long findSignatureVersion();
+
+    /**
+     * Find the LSH buckets shared by several books.
+     * This aggregates every stored bucket; cache the result against {@link #findSignatureVersion()}.
+     * 
+     * @param maxBucketSize buckets with more books are ignored, as they only hold degenerate signatures
+     * @return book ids of each shared bucket
+     */
+    List<List<UUID>> findCandidateBuckets(int maxBucketSize);
+
+    /**
+     * Load the signatures of the given books.
+     */
+    Map<UUID, int[]> findSignatures(Collection<UUID> bookIds);
+
+    /**
+     * Load the displayed fields of the given books.
+     */
+    List<DuplicateCandidate> findCandidates(Collection<UUID> bookIds);
+}
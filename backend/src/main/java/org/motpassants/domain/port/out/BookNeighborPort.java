@@ -0,0 +1,66 @@
+package org.motpassants.domain.port.out;
+
+import org.motpassants.domain.core.model.BookFeatures;
+import org.motpassants.domain.core.model.BookNeighbor;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Port for the precomputed table of similar books.
+ */
+public interface BookNeighborPort {
+
+    /**
+     * Count the books in the library.
+     */
+    int countBooks();
+
+    /**
+     * Load the features of every book.
+     */
+    List<BookFeatures> loadBookFeatures();
+
+    /**
+     * Load the features of the given books.
+     */
+    List<BookFeatures> loadBookFeatures(Collection<UUID> bookIds);
+
+    /**
+     * Load the features of the books whose neighbors were never computed or were computed
+     * from other features than they have now.
+     */
+    List<BookFeatures> loadChangedBookFeatures();
+
+    /**
+     * Count the books holding each of the given features. Features no book holds are left out.
+     */
+    Map<String, Integer> countBooksPerFeature(Collection<String> features);
+
+    /**
+     * Find the books holding any of the given features, ignoring features held by more than
+     * {@code maxBooksPerFeature} books.
+     */
+    Set<UUID> findBooksSharing(Collection<String> features, int maxBooksPerFeature);
+
+    /**
+     * Find the books that currently list any of the given books as a neighbor.
+     */
+    Set<UUID> findBooksListing(Collection<UUID> neighborIds);
+
+    /**
+     * Find the books whose neighbor lists named a book that has since been deleted.
+     */
+    Set<UUID> findBooksListingDeletedBooks();
+
+    /**
+     * Replace the neighbors of the given books and record the feature hash they were computed from.
+     * 
+     * @param neighbors best neighbors per book, best first
+     * @param featureHashes feature hash per book
+     */
+    void replaceNeighbors(Map<UUID, List<BookNeighbor>> neighbors, Map<UUID, Long> featureHashes);
+}
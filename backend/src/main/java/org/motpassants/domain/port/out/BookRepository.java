@@ -2,12 +2,17 @@ package org.motpassants.domain.port.out;
 
 import org.motpassants.domain.core.model.Book;
 import org.motpassants.domain.core.model.PageResult;
+import org.motpassants.domain.core.model.BookFacets;
+import org.motpassants.domain.core.model.BookQuery;
 import org.motpassants.domain.core.model.BookSearchCriteria;
 import org.motpassants.domain.core.model.BookSortCriteria;
+import org.motpassants.domain.core.model.SeriesBookEntry;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 /**
  * Outbound port for book repository operations.
@@ -62,6 +67,15 @@ public interface BookRepository {
      */
     java.util.List<Book> findBySeriesOrderByIndex(UUID seriesId, int limit);
 
+    /**
+     * Pass every book of a series to a consumer, ordered by series index (nulls last) then title sort,
+     * as a single query whose rows are handed over while they are read.
+     *
+     * @param seriesId the series ID to filter on
+     * @param consumer receives each book in order
+     */
+    void forEachBookInSeries(UUID seriesId, Consumer<SeriesBookEntry> consumer);
+
     /**
      * Find a book by its ID.
      * 
@@ -117,7 +131,15 @@ public interface BookRepository {
     long count();
 
     /**
-     * Search books by criteria.
+     * Load the id and title of every book, for building in-memory lookup structures.
+     * 
+     * @return titles keyed by book id
+     */
+    Map<UUID, String> findAllTitles();
+
+    /**
+     * Search books by criteria, one page in title order starting after the criteria cursor.
+     * Matches are not counted: the total count is -1, see {@link #countFacets} for the total.
      * 
      * @param criteria search criteria
      * @return paginated search results
@@ -125,21 +147,52 @@ public interface BookRepository {
     PageResult<Book> search(BookSearchCriteria criteria);
 
     /**
-     * Find books by title or author containing the query string.
+     * Find light books (listing fields only) matching the query, ordered by relevance:
+     * exact title, then title prefix, then word prefix, then any other match.
      * 
      * @param query search query
-     * @return list of matching books
+     * @param limit maximum number of books
+     * @return at most {@code limit} matching books
      */
-    List<Book> findByTitleOrAuthorContaining(String query);
+    List<Book> searchByTitle(String query, int limit);
 
     /**
-     * Find books by criteria.
+     * Find books by criteria: the items of {@link #search}.
      * 
      * @param criteria search criteria
      * @return list of matching books
      */
     List<Book> findByCriteria(BookSearchCriteria criteria);
 
+    /**
+     * Find a page of books matching every clause of a structured query, in title order.
+     * Cursors have the format of {@link #search(BookSearchCriteria)}.
+     * 
+     * @param query parsed query
+     * @param cursor cursor of the page to return, or null for the first page
+     * @param limit maximum number of books per page
+     * @return matching light books, with the cursor of the next page when more books match
+     */
+    PageResult<Book> findByQuery(BookQuery query, String cursor, int limit);
+
+    /**
+     * Find the precomputed most similar books of a book, best first.
+     * 
+     * @param bookId the book
+     * @param limit maximum number of books
+     * @return similar light books
+     */
+    List<Book> findSimilarBooks(UUID bookId, int limit);
+
+    /**
+     * Count the books matching the criteria per language, publisher, publication decade,
+     * format, series and tag, in a single query. Cursor and limit are ignored.
+     * 
+     * @param criteria search criteria
+     * @return facet counts over all matching books
+     */
+    BookFacets countFacets(BookSearchCriteria criteria);
+
     /**
      * Link a book to a series with an optional index (order within the series).
      * If the link already exists, the index will be updated.
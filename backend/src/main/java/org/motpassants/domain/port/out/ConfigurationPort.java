@@ -25,6 +25,36 @@ public interface ConfigurationPort {
      */
     SecurityConfig getSecurityConfig();
     
+    /**
+     * Reading progress configuration.
+     */
+    ReadingProgressConfig getReadingProgressConfig();
+    
+    /**
+     * Unified search configuration.
+     */
+    SearchConfig getSearchConfig();
+    
+    /**
+     * Book content indexing configuration.
+     */
+    ContentIndexConfig getContentIndexConfig();
+    
+    /**
+     * Near-duplicate detection configuration.
+     */
+    DuplicatesConfig getDuplicatesConfig();
+    
+    /**
+     * Similar books configuration.
+     */
+    SimilarBooksConfig getSimilarBooksConfig();
+    
+    /**
+     * Library statistics configuration.
+     */
+    StatisticsConfig getStatisticsConfig();
+    
     interface StorageConfig {
         String getBaseDir();
         long getMaxFileSize();
@@ -44,4 +74,47 @@ public interface ConfigurationPort {
         boolean isFileValidationEnabled();
         long getMaxRequestSize();
     }
-}
\ No newline at end of file
+    
+    interface ReadingProgressConfig {
+        boolean isWriteBehindEnabled();
+        long getFlushIntervalMillis();
+        int getMaxPendingEntries();
+    }
+    
+    interface SearchConfig {
+        long getDeadlineMillis();
+        long getBooksTimeoutMillis();
+        long getAuthorsTimeoutMillis();
+        long getSeriesTimeoutMillis();
+        long getCacheTtlMillis();
+        int getCacheMaxEntries();
+    }
+    
+    interface ContentIndexConfig {
+        boolean isEnabled();
+        long getIntervalSeconds();
+        int getBatchSize();
+        long getPauseMillis();
+        int getMaxChapterChars();
+    }
+    
+    interface DuplicatesConfig {
+        boolean isEnabled();
+        long getIntervalSeconds();
+        int getBatchSize();
+        long getPauseMillis();
+        double getSimilarityThreshold();
+    }
+    
+    interface SimilarBooksConfig {
+        boolean isEnabled();
+        long getIntervalSeconds();
+        int getNeighbors();
+        int getParallelism();
+    }
+    
+    interface StatisticsConfig {
+        long getMinAgeSeconds();
+        long getMaxAgeSeconds();
+    }
+}
@@ -0,0 +1,49 @@
+package org.motpassants.domain.port.out;
+
+import org.motpassants.domain.core.model.CoverPlaceholder;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Outbound port storing the placeholders of book covers, series pictures and author pictures.
+ */
+public interface CoverPlaceholderPort {
+
+    void saveBookPlaceholder(UUID bookId, CoverPlaceholder placeholder);
+
+    void saveSeriesPlaceholder(UUID seriesId, CoverPlaceholder placeholder);
+
+    void saveAuthorPlaceholder(UUID authorId, CoverPlaceholder placeholder);
+
+    /**
+     * Ids of books that have no placeholder yet and were not found without a cover.
+     */
+    Set<UUID> findBookIdsWithoutPlaceholder();
+
+    /**
+     * Ids of series that have no placeholder yet and were not found without a picture.
+     */
+    Set<UUID> findSeriesIdsWithoutPlaceholder();
+
+    /**
+     * Ids of authors that have no placeholder yet and were not found without a picture.
+     */
+    Set<UUID> findAuthorIdsWithoutPlaceholder();
+
+    /**
+     * Record that these books have no usable cover, until a placeholder is saved for them.
+     */
+    void markBooksWithoutCover(Collection<UUID> bookIds);
+
+    /**
+     * Record that these series have no usable picture, until a placeholder is saved for them.
+     */
+    void markSeriesWithoutCover(Collection<UUID> seriesIds);
+
+    /**
+     * Record that these authors have no usable picture, until a placeholder is saved for them.
+     */
+    void markAuthorsWithoutPicture(Collection<UUID> authorIds);
+}
@@ -0,0 +1,14 @@
+package org.motpassants.domain.port.out;
+
+import org.motpassants.domain.core.model.LibraryStatistics;
+
+/**
+ * Port for computing library statistics from storage.
+ */
+public interface LibraryStatisticsPort {
+
+    /**
+     * Compute the current statistics; this scans the books, series and authors tables.
+     */
+    LibraryStatistics loadStatistics();
+}
@@ -0,0 +1,31 @@
+package org.motpassants.domain.port.out;
+
+import org.motpassants.domain.core.model.ReadingProgress;
+
+import java.util.UUID;
+import java.util.concurrent.CompletionStage;
+import java.util.function.BiFunction;
+
+/**
+ * Outbound port for pushing reading progress changes to the user's other devices.
+ * Implementations must not block the caller on slow subscribers.
+ */
+public interface ReadingProgressNotificationPort {
+
+    /**
+     * Announce that a reading position changed.
+     *
+     * @param readingProgress the latest reading progress
+     */
+    void publish(ReadingProgress readingProgress);
+
+    /**
+     * Push a user's progress changes to a live subscriber.
+     * The subscription ends by itself once a send fails, e.g. because the client went away.
+     *
+     * @param userId the user whose progress changes are pushed
+     * @param sender sends one named event with a JSON payload
+     * @return closes the subscription early
+     */
+    AutoCloseable subscribe(UUID userId, BiFunction<String, String, CompletionStage<?>> sender);
+}
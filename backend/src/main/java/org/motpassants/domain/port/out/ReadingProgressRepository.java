@@ -1,7 +1,9 @@
 package org.motpassants.domain.port.out;
 
+import org.motpassants.domain.core.model.ContinueReadingItem;
 import org.motpassants.domain.core.model.ReadingProgress;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -14,13 +16,24 @@ import java.util.UUID;
 public interface ReadingProgressRepository {
     
     /**
-     * Save a reading progress entry (create or update).
+     * Save a reading progress entry (create or update) in a single atomic upsert.
+     * An entry older than the stored one (by last read time) does not overwrite it.
      * 
      * @param readingProgress the reading progress to save
-     * @return the saved reading progress
+     * @return the stored reading progress after the upsert
+     * @throws IllegalArgumentException when this entry can never be stored, e.g. its book no longer exists;
+     *         other failures, such as the database being unreachable, are worth retrying
      */
     ReadingProgress save(ReadingProgress readingProgress);
     
+    /**
+     * Upsert several reading progress entries in a single batch.
+     * Entries are matched on (user, book, device).
+     * 
+     * @param readingProgresses the reading progress entries to persist
+     */
+    void saveAll(Collection<ReadingProgress> readingProgresses);
+    
     /**
      * Find reading progress by user and book.
      * 
@@ -38,6 +51,23 @@ public interface ReadingProgressRepository {
      */
     List<ReadingProgress> findByUserId(UUID userId);
     
+    /**
+     * Find the user's most recently read unfinished books, newest first.
+     * 
+     * @param userId the user ID
+     * @param limit maximum number of entries to return
+     * @return reading positions joined with light book projections
+     */
+    List<ContinueReadingItem> findContinueReading(UUID userId, int limit);
+    
+    /**
+     * Find the books most recently read by any user, newest first.
+     * 
+     * @param limit maximum number of book IDs to return
+     * @return distinct book IDs
+     */
+    List<UUID> findRecentlyReadBookIds(int limit);
+    
     /**
      * Delete reading progress by user and book.
      * 
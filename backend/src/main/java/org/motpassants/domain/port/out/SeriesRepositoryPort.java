@@ -3,6 +3,7 @@ package org.motpassants.domain.port.out;
 import org.motpassants.domain.core.model.Series;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -42,6 +43,13 @@ public interface SeriesRepositoryPort {
      * @return Total count of series
      */
     long count();
+
+    /**
+     * Load the id and name of every series, for building in-memory lookup structures.
+     * 
+     * @return Names keyed by series id
+     */
+    Map<UUID, String> findAllNames();
     
     /**
      * Find a series by its ID.
@@ -75,6 +83,16 @@ public interface SeriesRepositoryPort {
      */
     List<Series> searchByName(String query);
     
+    /**
+     * Search light series (listing fields only) by name, ordered by relevance:
+     * exact name, then name prefix, then word prefix, then any other match.
+     * 
+     * @param query Search query
+     * @param limit Maximum number of series
+     * @return At most {@code limit} matching series
+     */
+    List<Series> searchByName(String query, int limit);
+    
     /**
      * Check if a series exists by name.
      * 
@@ -0,0 +1,58 @@
+package org.motpassants.infrastructure.adapter.in.rest;
+
+import org.motpassants.domain.core.model.DuplicateCluster;
+import org.motpassants.domain.port.in.DuplicateDetectionUseCase;
+import org.motpassants.infrastructure.adapter.in.rest.dto.DuplicateBookDto;
+import org.motpassants.infrastructure.adapter.in.rest.dto.DuplicateClusterDto;
+
+import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.eclipse.microprofile.openapi.annotations.parameters.Parameter;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponses;
+import org.eclipse.microprofile.openapi.annotations.tags.Tag;
+
+import jakarta.inject.Inject;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+import java.util.List;
+
+/**
+ * REST controller for library maintenance operations.
+ * Provides the adapter for incoming HTTP requests in the hexagonal architecture.
+ */
+@Path("/v1/admin")
+@Tag(name = "Admin", description = "Library maintenance operations")
+@Produces(MediaType.APPLICATION_JSON)
+public class AdminController {
+
+    private final DuplicateDetectionUseCase duplicateDetectionUseCase;
+
+    @Inject
+    public AdminController(DuplicateDetectionUseCase duplicateDetectionUseCase) {
+        this.duplicateDetectionUseCase = duplicateDetectionUseCase;
+    }
+
+    @GET
+    @Path("/duplicates")
+    @Operation(summary = "Find probable duplicate books",
+        description = "Clusters of books with nearly the same title, authors and ISBN, from MinHash signatures computed in the background; books added since the last pass are not yet included")
+    @APIResponses({
+        @APIResponse(responseCode = "200", description = "Duplicate clusters, largest first")
+    })
+    public Response getDuplicates(
+            @Parameter(description = "Maximum number of clusters") @QueryParam("limit") @DefaultValue("50") int limit) {
+        List<DuplicateClusterDto> clusters = duplicateDetectionUseCase.findDuplicateClusters(limit).stream()
+            .map(this::toDto)
+            .toList();
+        return Response.ok(clusters).build();
+    }
+
+    private DuplicateClusterDto toDto(DuplicateCluster cluster) {
+        List<DuplicateBookDto> books = cluster.books().stream()
+            .map(book -> new DuplicateBookDto(book.bookId(), book.title(), book.authors(), book.isbn(), book.path()))
+            .toList();
+        return new DuplicateClusterDto(cluster.similarity(), books);
+    }
+}
@@ -15,6 +15,7 @@ import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
 import org.eclipse.microprofile.openapi.annotations.responses.APIResponses;
 import org.eclipse.microprofile.openapi.annotations.tags.Tag;
 
+import io.smallrye.mutiny.Uni;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.*;
@@ -33,6 +34,8 @@ import java.util.stream.Collectors;
 @Consumes(MediaType.APPLICATION_JSON)
 public class AuthorController {
 
+    private static final java.util.regex.Pattern VERSIONED_PICTURE = java.util.regex.Pattern.compile("([0-9a-fA-F-]{36})\\.([0-9a-f]{16})\\.jpg");
+
     private final AuthorService authorService;
     private final org.motpassants.infrastructure.media.ImageCachingService imageCachingService;
     private final org.motpassants.infrastructure.config.LibrarieConfigProperties config;
@@ -316,6 +319,41 @@ public class AuthorController {
         }
     }
 
+    @GET
+    @Path("/pictures/{file}")
+    @Produces("image/*")
+    @Operation(summary = "Get versioned author picture", description = "Serves a locally stored author picture at its content-versioned URL " +
+        "({id}.{version}.jpg, as returned in pictureUrl) with a one-year immutable Cache-Control; an outdated version redirects to the current one")
+    @APIResponses({
+        @APIResponse(responseCode = "200", description = "Image returned"),
+        @APIResponse(responseCode = "302", description = "Picture changed; redirect to its current URL"),
+        @APIResponse(responseCode = "400", description = "Invalid file name"),
+        @APIResponse(responseCode = "404", description = "Picture not found")
+    })
+    public Uni<Response> getVersionedAuthorPicture(@PathParam("file") String file,
+            @HeaderParam(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch) {
+        // Runs on the event loop: nothing here may block
+        java.util.regex.Matcher matcher = VERSIONED_PICTURE.matcher(file);
+        if (!matcher.matches()) {
+            return Uni.createFrom().item(Response.status(Response.Status.BAD_REQUEST).type(MediaType.TEXT_PLAIN).entity("Invalid picture file").build());
+        }
+        try {
+            UUID authorId = UUID.fromString(matcher.group(1));
+            java.nio.file.Path baseDir = java.nio.file.Paths.get(config.storage().baseDir());
+            return imageCachingService.serveVersioned(ifNoneMatch, baseDir, "authors", "pictures", authorId.toString(), 0,
+                matcher.group(2), current -> pictureUrl(authorId, current));
+        } catch (IllegalArgumentException e) {
+            return Uni.createFrom().item(Response.status(Response.Status.BAD_REQUEST).type(MediaType.TEXT_PLAIN).entity("Invalid author ID format").build());
+        }
+    }
+
+    /**
+     * Content-versioned URL of a locally stored author picture, served as immutable.
+     */
+    static String pictureUrl(UUID authorId, String version) {
+        return "/v1/authors/pictures/" + authorId + "." + version + ".jpg";
+    }
+
     @GET
     @Path("/{id}/picture")
     @Produces("image/*")
@@ -339,6 +377,12 @@ public class AuthorController {
                         .build();
             }
 
+            // A picture stored locally is served at its versioned URL
+            String version = imageCachingService.localVersion(java.nio.file.Paths.get(config.storage().baseDir()), "authors", "pictures", authorId.toString());
+            if (version != null) {
+                return org.motpassants.infrastructure.media.ImageCachingService.versionRedirect(pictureUrl(authorId, version));
+            }
+
             Author author = authorOpt.get();
             String remoteUrl = null;
             if (author.getMetadata() != null) {
@@ -409,6 +453,10 @@ public class AuthorController {
             .createdAt(author.getCreatedAt())
             .updatedAt(author.getUpdatedAt())
             .hasPicture(author.getHasPicture())
+            .coverPlaceholder(author.getCoverPlaceholder() != null ? author.getCoverPlaceholder().dataUri() : null)
+            .coverColor(author.getCoverPlaceholder() != null ? author.getCoverPlaceholder().color() : null)
+            .pictureUrl(author.getCoverPlaceholder() != null && author.getCoverPlaceholder().version() != null
+                ? pictureUrl(author.getId(), author.getCoverPlaceholder().version()) : null)
             .build();
     }
 }
\ No newline at end of file
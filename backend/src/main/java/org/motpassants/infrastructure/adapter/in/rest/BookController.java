@@ -4,15 +4,26 @@ import org.motpassants.application.service.BookService;
 import org.motpassants.application.service.DemoDataService;
 import org.motpassants.application.service.ReadingProgressService;
 import org.motpassants.domain.core.model.Book;
+import org.motpassants.domain.core.model.BookFacets;
 import org.motpassants.domain.core.model.BookSearchCriteria;
 import org.motpassants.domain.core.model.BookSortCriteria;
+import org.motpassants.domain.core.model.ContentSearchHit;
+import org.motpassants.domain.core.model.FacetCount;
 import org.motpassants.domain.core.model.PageResult;
 import org.motpassants.domain.core.model.ReadingProgress;
+import org.motpassants.domain.port.in.ContentSearchUseCase;
 import org.motpassants.infrastructure.adapter.in.rest.dto.BookRequestDto;
 import org.motpassants.infrastructure.adapter.in.rest.dto.BookResponseDto;
 import org.motpassants.infrastructure.adapter.in.rest.dto.BookListItemDto;
 import org.motpassants.infrastructure.adapter.in.rest.dto.BookDetailsDto;
+import org.motpassants.infrastructure.adapter.in.rest.dto.BookFacetsDto;
+import org.motpassants.infrastructure.adapter.in.rest.dto.ContentSearchHitDto;
+import org.motpassants.infrastructure.adapter.in.rest.dto.CoverBatchRequestDto;
+import org.motpassants.infrastructure.adapter.in.rest.dto.FacetCountDto;
+import org.motpassants.infrastructure.adapter.in.rest.dto.FacetedPageResponseDto;
 import org.motpassants.infrastructure.adapter.in.rest.dto.PageResponseDto;
+import org.motpassants.infrastructure.media.CoverThumbnailService;
+import org.motpassants.infrastructure.media.ImageCachingService;
 
 import org.eclipse.microprofile.openapi.annotations.Operation;
 import org.eclipse.microprofile.openapi.annotations.media.Content;
@@ -22,6 +33,7 @@ import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
 import org.eclipse.microprofile.openapi.annotations.responses.APIResponses;
 import org.eclipse.microprofile.openapi.annotations.tags.Tag;
 
+import io.smallrye.mutiny.Uni;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.*;
@@ -43,24 +55,31 @@ import java.util.stream.Collectors;
 @Consumes(MediaType.APPLICATION_JSON)
 public class BookController {
 
+    private static final int MAX_BATCH_COVERS = 100;
+    private static final java.util.regex.Pattern VERSIONED_COVER = java.util.regex.Pattern.compile("([0-9a-fA-F-]{36})\\.([0-9a-f]{16})\\.jpg");
+
     private final BookService bookService;
     private final ReadingProgressService readingProgressService;
     private final org.motpassants.infrastructure.media.ImageCachingService imageCachingService;
     private final org.motpassants.infrastructure.config.LibrarieConfigProperties config;
     private final DemoDataService demoDataService;
     private final org.motpassants.infrastructure.readium.EpubPublicationService epubService;
+    private final ContentSearchUseCase contentSearchUseCase;
+    private final CoverThumbnailService thumbnailService;
 
     @Context
     Request httpRequest;
 
     @Inject
-    public BookController(BookService bookService, ReadingProgressService readingProgressService, org.motpassants.infrastructure.media.ImageCachingService imageCachingService, org.motpassants.infrastructure.config.LibrarieConfigProperties config, DemoDataService demoDataService, org.motpassants.infrastructure.readium.EpubPublicationService epubService) {
+    public BookController(BookService bookService, ReadingProgressService readingProgressService, org.motpassants.infrastructure.media.ImageCachingService imageCachingService, org.motpassants.infrastructure.config.LibrarieConfigProperties config, DemoDataService demoDataService, org.motpassants.infrastructure.readium.EpubPublicationService epubService, ContentSearchUseCase contentSearchUseCase, CoverThumbnailService thumbnailService) {
         this.bookService = bookService;
         this.readingProgressService = readingProgressService;
         this.imageCachingService = imageCachingService;
         this.config = config;
         this.demoDataService = demoDataService;
         this.epubService = epubService;
+        this.contentSearchUseCase = contentSearchUseCase;
+        this.thumbnailService = thumbnailService;
     }
 
     @GET
@@ -406,34 +425,69 @@ public class BookController {
         }
     }
 
+    @GET
+    @Path("/{id}/similar")
+    @Operation(summary = "Get similar books", description = "Books sharing authors, series, tags, language or publisher with a book, " +
+        "most similar first; the list is precomputed in the background and may lag recent changes")
+    @APIResponses({
+        @APIResponse(responseCode = "200", description = "Similar books found"),
+        @APIResponse(responseCode = "404", description = "Book not found"),
+        @APIResponse(responseCode = "400", description = "Invalid UUID format")
+    })
+    public Response getSimilarBooks(
+            @Parameter(description = "Book UUID") @PathParam("id") String id,
+            @Parameter(description = "Maximum number of books") @QueryParam("limit") @DefaultValue("10") int limit) {
+        try {
+            UUID bookId = bookService.validateAndParseId(id);
+            List<Book> similar = bookService.getSimilarBooks(bookId, limit);
+            // Only an empty list needs the extra lookup to tell a missing book from one without neighbors
+            if (similar.isEmpty() && bookService.getBookById(bookId).isEmpty()) {
+                return Response.status(Response.Status.NOT_FOUND)
+                        .entity(Map.of("error", "Book not found"))
+                        .build();
+            }
+            return Response.ok(similar.stream().map(this::toListItemDto).collect(Collectors.toList())).build();
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(Map.of("error", e.getMessage()))
+                    .build();
+        }
+    }
+
     @GET
     @Path("/search")
-    @Operation(summary = "Search books", description = "Search books by query string (lightweight items)")
+    @Operation(summary = "Search books", description = "Search books by query string (lightweight items). " +
+        "Besides plain text the query accepts terms such as author:herbert series:dune lang:fr year:>1970 " +
+        "year:1970..1979 format:epub tag:classic publisher:ace isbn:978 \"exact phrase\"; a leading - negates a term. " +
+        "Every plain word must match a title, path or ISBN. Books come in title order; " +
+        "pass the returned nextCursor as cursor to get the next page")
     @APIResponses({
         @APIResponse(responseCode = "200", description = "Search completed successfully"),
         @APIResponse(responseCode = "400", description = "Invalid search parameters")
     })
     public Response searchBooks(
-            @Parameter(description = "Search query") @QueryParam("q") String q,
-            @Parameter(description = "Search query (alias)") @QueryParam("query") String query) {
+            @Parameter(description = "Search query, plain text or field terms") @QueryParam("q") String q,
+            @Parameter(description = "Search query (alias)") @QueryParam("query") String query,
+            @Parameter(description = "Pagination cursor") @QueryParam("cursor") String cursor,
+            @Parameter(description = "Number of items per page") @QueryParam("limit") @DefaultValue("20") int limit) {
         // Support both 'q' and 'query' params (frontend uses 'q')
         String effective = (q != null && !q.isBlank()) ? q : query;
         
         try {
             bookService.validateSearchQuery(effective);
-            List<Book> books = bookService.searchBooks(effective);
-            List<BookListItemDto> bookDtos = books.stream()
+            PageResult<Book> books = bookService.searchBooks(effective, cursor, limit);
+            List<BookListItemDto> bookDtos = books.getItems().stream()
                 .map(this::toListItemDto)
                 .collect(Collectors.toList());
 
             PageResponseDto<BookListItemDto> response = new PageResponseDto<BookListItemDto>(
                 bookDtos,
-                null, // nextCursor
+                books.getNextCursor(),
                 null, // previousCursor  
-                bookDtos.size(), // limit
-                false, // hasNext
+                limit > 0 ? Math.min(limit, 100) : 20, // limit
+                books.hasNext(),
                 false, // hasPrevious
-                (long) books.size() // totalElements
+                null // totalElements, not counted
             );
             return Response.ok(response).build();
         } catch (IllegalArgumentException e) {
@@ -443,28 +497,95 @@ public class BookController {
         }
     }
 
+    @GET
+    @Path("/content-search")
+    @Operation(summary = "Search book contents", description = "Full-text search inside the indexed text of all EPUB books; hits carry Readium locators")
+    @APIResponses({
+        @APIResponse(responseCode = "200", description = "Search completed successfully"),
+        @APIResponse(responseCode = "400", description = "Missing search query")
+    })
+    public Response searchContent(
+            @Parameter(description = "Words or \"quoted phrases\" to find") @QueryParam("q") String q,
+            @Parameter(description = "Maximum number of hits") @QueryParam("limit") @DefaultValue("20") int limit,
+            @Context UriInfo uriInfo) {
+        if (q == null || q.isBlank()) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(Map.of("error", "Search query cannot be empty"))
+                    .build();
+        }
+        return Response.ok(toContentHitDtos(contentSearchUseCase.searchContent(q, null, limit), uriInfo)).build();
+    }
+
+    @GET
+    @Path("/{id}/content-search")
+    @Operation(summary = "Search inside a book", description = "Full-text search inside the indexed text of one EPUB book; hits carry Readium locators")
+    @APIResponses({
+        @APIResponse(responseCode = "200", description = "Search completed successfully"),
+        @APIResponse(responseCode = "400", description = "Invalid book ID or missing search query")
+    })
+    public Response searchBookContent(
+            @Parameter(description = "Book UUID", required = true) @PathParam("id") String id,
+            @Parameter(description = "Words or \"quoted phrases\" to find") @QueryParam("q") String q,
+            @Parameter(description = "Maximum number of hits") @QueryParam("limit") @DefaultValue("20") int limit,
+            @Context UriInfo uriInfo) {
+        try {
+            UUID bookId = bookService.validateAndParseId(id);
+            if (q == null || q.isBlank()) {
+                throw new IllegalArgumentException("Search query cannot be empty");
+            }
+            return Response.ok(toContentHitDtos(contentSearchUseCase.searchContent(q, bookId, limit), uriInfo)).build();
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(Map.of("error", e.getMessage()))
+                    .build();
+        }
+    }
+
+    private List<ContentSearchHitDto> toContentHitDtos(List<ContentSearchHit> hits, UriInfo uriInfo) {
+        String base = uriInfo.getBaseUri().toString();
+        String booksBase = (base.endsWith("/") ? base : base + "/") + "v1/books/";
+        return hits.stream().map(hit -> {
+            // Same resource URLs as the readingOrder of the Readium manifest
+            Map<String, Object> locations = new LinkedHashMap<>();
+            locations.put("position", hit.chapterIndex() + 1);
+            locations.put("totalProgression", hit.totalProgression());
+            Map<String, Object> text = new LinkedHashMap<>();
+            text.put("before", hit.before());
+            text.put("highlight", hit.highlight());
+            text.put("after", hit.after());
+            Map<String, Object> locator = new LinkedHashMap<>();
+            locator.put("href", booksBase + hit.bookId() + "/resources/" + normalizeForUrl(hit.href()));
+            locator.put("type", hit.mediaType() != null ? hit.mediaType() : "application/xhtml+xml");
+            locator.put("title", hit.bookTitle());
+            locator.put("locations", locations);
+            locator.put("text", text);
+            return new ContentSearchHitDto(hit.bookId(), hit.bookTitle(), hit.chapterIndex(), locator);
+        }).collect(Collectors.toList());
+    }
+
     @POST
     @Path("/criteria")
-    @Operation(summary = "Search books by criteria", description = "Search books using detailed criteria (lightweight items)")
+    @Operation(summary = "Search books by criteria", description = "Search books using detailed criteria (lightweight items, in title order), with facet counts over all matching books. " +
+        "Pass the returned nextCursor as cursor to get the next page")
     @APIResponses({
         @APIResponse(responseCode = "200", description = "Search completed successfully"),
         @APIResponse(responseCode = "400", description = "Invalid search criteria")
     })
     public Response searchBooksByCriteria(BookSearchCriteria criteria) {
         try {
-            List<Book> books = bookService.searchBooksByCriteria(criteria);
-            List<BookListItemDto> bookDtos = books.stream()
+            PageResult<Book> page = bookService.searchBooks(criteria);
+            BookFacets facets = bookService.getFacets(criteria);
+            List<BookListItemDto> bookDtos = page.getItems().stream()
                 .map(this::toListItemDto)
                 .collect(Collectors.toList());
 
-            PageResponseDto<BookListItemDto> response = new PageResponseDto<BookListItemDto>(
+            FacetedPageResponseDto<BookListItemDto> response = new FacetedPageResponseDto<>(
                 bookDtos,
-                null, // nextCursor
-                null, // previousCursor
-                bookDtos.size(), // limit
-                false, // hasNext
-                false, // hasPrevious
-                (long) books.size() // totalElements
+                page.getNextCursor(),
+                criteria.getLimit() > 0 ? Math.min(criteria.getLimit(), 100) : 20, // limit
+                page.hasNext(),
+                facets.total(), // totalElements
+                toFacetsDto(facets)
             );
             return Response.ok(response).build();
         } catch (IllegalArgumentException e) {
@@ -734,14 +855,22 @@ public class BookController {
     @GET
     @Path("/{id}/cover")
     @Produces("image/*")
-    @Operation(summary = "Get book cover image", description = "Streams the book cover image from local assets with strong ETag; demo seeding hydrates files")
+    @Operation(summary = "Get book cover image", description = "Streams the book cover image from local assets with strong ETag; demo seeding hydrates files. " +
+        "With size, a JPEG variant at least that wide (160, 320 or 640 px) is returned when available. " +
+        "A stored cover redirects to its content-versioned URL")
     @APIResponses(value = {
         @APIResponse(responseCode = "200", description = "Image bytes returned"),
+        @APIResponse(responseCode = "302", description = "Redirect to the versioned cover URL"),
+        @APIResponse(responseCode = "400", description = "Invalid book ID or size"),
         @APIResponse(responseCode = "404", description = "Cover not found")
     })
-    public Response getBookCover(@PathParam("id") String id) {
+    public Response getBookCover(@PathParam("id") String id,
+            @Parameter(description = "Display width in pixels; picks the smallest variant covering it") @QueryParam("size") Integer size) {
         try {
             UUID bookId = bookService.validateAndParseId(id);
+            if (size != null && size <= 0) {
+                return Response.status(Response.Status.BAD_REQUEST).entity("Invalid size").build();
+            }
             Optional<Book> bookOpt = bookService.getBookById(bookId);
             if (bookOpt.isEmpty()) {
                 return Response.status(Response.Status.NOT_FOUND).entity("Book not found").build();
@@ -752,6 +881,11 @@ public class BookController {
             String storedUrl = null;
 
             java.nio.file.Path baseDir = java.nio.file.Paths.get(config.storage().baseDir());
+            String version = imageCachingService.localVersion(baseDir, "books", "covers", bookId.toString());
+            if (version != null) {
+                return ImageCachingService.versionRedirect(coverUrl(bookId, version) + (size != null ? "?size=" + size : ""));
+            }
+            String fileName = coverFileName(baseDir, id, size);
             // Prefer using injected config bean rather than static; but we can derive from image service's config through its sanitize call by passing baseDir string used in app config
             // Call the local-first service (it will hydrate from remote if needed and set ETag/Last-Modified)
             return imageCachingService.serveLocalFirstStrongETag(
@@ -759,7 +893,7 @@ public class BookController {
                 baseDir,
                 "books",
                 "covers",
-                id,
+                fileName,
                 storedUrl,
                 getFailoverSvg()
             );
@@ -770,6 +904,110 @@ public class BookController {
         }
     }
 
+    @GET
+    @Path("/covers/{file}")
+    @Produces("image/*")
+    @Operation(summary = "Get versioned book cover image", description = "Serves a cover at its content-versioned URL ({id}.{version}.jpg, as " +
+        "returned in coverUrl) with a one-year immutable Cache-Control; an outdated version redirects to the current one")
+    @APIResponses(value = {
+        @APIResponse(responseCode = "200", description = "Image bytes returned"),
+        @APIResponse(responseCode = "302", description = "Cover changed; redirect to its current URL"),
+        @APIResponse(responseCode = "400", description = "Invalid file name or size"),
+        @APIResponse(responseCode = "404", description = "Cover not found")
+    })
+    public Uni<Response> getVersionedBookCover(@PathParam("file") String file,
+            @Parameter(description = "Display width in pixels; picks the smallest variant covering it") @QueryParam("size") Integer size,
+            @HeaderParam(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch) {
+        // Runs on the event loop: nothing here may block
+        java.util.regex.Matcher matcher = VERSIONED_COVER.matcher(file);
+        if (!matcher.matches() || (size != null && size <= 0)) {
+            return Uni.createFrom().item(Response.status(Response.Status.BAD_REQUEST).type(MediaType.TEXT_PLAIN).entity("Invalid cover file or size").build());
+        }
+        try {
+            UUID bookId = bookService.validateAndParseId(matcher.group(1));
+            java.nio.file.Path baseDir = java.nio.file.Paths.get(config.storage().baseDir());
+            int width = size != null ? CoverThumbnailService.variantWidth(size) : 0;
+            String sizeQuery = size != null ? "?size=" + size : "";
+            return imageCachingService.serveVersioned(ifNoneMatch, baseDir, "books", "covers", bookId.toString(), width, matcher.group(2),
+                current -> coverUrl(bookId, current) + sizeQuery);
+        } catch (IllegalArgumentException e) {
+            return Uni.createFrom().item(Response.status(Response.Status.BAD_REQUEST).type(MediaType.TEXT_PLAIN).entity("Invalid book ID format").build());
+        }
+    }
+
+    /**
+     * Content-versioned cover URL, served as immutable.
+     */
+    static String coverUrl(UUID bookId, String version) {
+        return "/v1/books/covers/" + bookId + "." + version + ".jpg";
+    }
+
+    @POST
+    @Path("/covers/batch")
+    @Produces("multipart/mixed")
+    @Operation(summary = "Get several book covers at once", description = "Streams up to 100 local covers as one multipart/mixed response, " +
+        "each part carrying the book ID as Content-ID and the cover ETag. Covers whose ETag is listed in knownEtags, " +
+        "and books without a cover, are left out")
+    @APIResponses(value = {
+        @APIResponse(responseCode = "200", description = "Covers streamed"),
+        @APIResponse(responseCode = "400", description = "Missing, invalid or too many book IDs, or invalid size")
+    })
+    public Response getBookCovers(CoverBatchRequestDto request) {
+        if (request == null || request.getIds() == null || request.getIds().isEmpty()) {
+            return Response.status(Response.Status.BAD_REQUEST).type(MediaType.TEXT_PLAIN).entity("No book IDs").build();
+        }
+        if (request.getIds().size() > MAX_BATCH_COVERS) {
+            return Response.status(Response.Status.BAD_REQUEST).type(MediaType.TEXT_PLAIN)
+                .entity("At most " + MAX_BATCH_COVERS + " book IDs").build();
+        }
+        if (request.getSize() != null && request.getSize() <= 0) {
+            return Response.status(Response.Status.BAD_REQUEST).type(MediaType.TEXT_PLAIN).entity("Invalid size").build();
+        }
+        try {
+            // Files are looked up by ID alone: one book lookup per tile is what this endpoint saves
+            java.nio.file.Path baseDir = java.nio.file.Paths.get(config.storage().baseDir());
+            java.nio.file.Path coversDir = baseDir.resolve("books").resolve("covers");
+            Set<UUID> seen = new HashSet<>();
+            List<ImageCachingService.BatchImage> images = new ArrayList<>();
+            for (String id : request.getIds()) {
+                UUID bookId = bookService.validateAndParseId(id);
+                if (seen.add(bookId)) {
+                    String canonical = bookId.toString();
+                    images.add(new ImageCachingService.BatchImage(canonical,
+                        coversDir.resolve(coverFileName(baseDir, canonical, request.getSize()))));
+                }
+            }
+            Set<String> known = new HashSet<>();
+            if (request.getKnownEtags() != null) {
+                for (String etag : request.getKnownEtags()) {
+                    if (etag != null) known.add(etag.replaceFirst("^W/", "").replace("\"", "").trim());
+                }
+            }
+            String boundary = "covers-" + UUID.randomUUID();
+            return Response.ok(imageCachingService.streamBatch(images, known, boundary), "multipart/mixed; boundary=" + boundary)
+                .header(HttpHeaders.CACHE_CONTROL, "no-store")
+                .build();
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.BAD_REQUEST).type(MediaType.TEXT_PLAIN).entity("Invalid book ID format").build();
+        }
+    }
+
+    /**
+     * Name of the cover file to serve for a display width: a fresh variant, else the original.
+     */
+    private String coverFileName(java.nio.file.Path baseDir, String id, Integer size) {
+        int width = size != null ? CoverThumbnailService.variantWidth(size) : 0;
+        if (width > 0) {
+            java.nio.file.Path original = baseDir.resolve("books").resolve("covers").resolve(id);
+            if (thumbnailService.isFresh(original, width)) {
+                return id + "-" + width;
+            }
+            // Serve the original this time; the variant is generated in the background
+            thumbnailService.scheduleVariants(original);
+        }
+        return id;
+    }
+
     private static byte[] getFailoverSvg() {
         String svg = """
                 <svg xmlns='http://www.w3.org/2000/svg' width='320' height='480' viewBox='0 0 320 480'>
@@ -898,12 +1136,33 @@ public class BookController {
         return builder.build();
     }
 
+    private BookFacetsDto toFacetsDto(BookFacets facets) {
+        return new BookFacetsDto(
+            toFacetCountDtos(facets.languages()),
+            toFacetCountDtos(facets.publishers()),
+            toFacetCountDtos(facets.decades()),
+            toFacetCountDtos(facets.formats()),
+            toFacetCountDtos(facets.series()),
+            toFacetCountDtos(facets.tags())
+        );
+    }
+
+    private List<FacetCountDto> toFacetCountDtos(List<FacetCount> counts) {
+        return counts.stream()
+            .map(c -> new FacetCountDto(c.value(), c.label(), c.count()))
+            .collect(Collectors.toList());
+    }
+
     private BookListItemDto toListItemDto(Book book) {
         return BookListItemDto.builder()
             .id(book.getId())
             .title(book.getTitle())
             .titleSort(book.getTitleSort())
             .hasCover(book.getHasCover())
+            .coverPlaceholder(book.getCoverPlaceholder() != null ? book.getCoverPlaceholder().dataUri() : null)
+            .coverColor(book.getCoverPlaceholder() != null ? book.getCoverPlaceholder().color() : null)
+            .coverUrl(book.getCoverPlaceholder() != null && book.getCoverPlaceholder().version() != null
+                ? coverUrl(book.getId(), book.getCoverPlaceholder().version()) : null)
             .publicationDate(book.getPublicationDate())
             .createdAt(book.getCreatedAt())
             .build();
@@ -0,0 +1,111 @@
+package org.motpassants.infrastructure.adapter.in.rest;
+
+import org.motpassants.domain.core.model.Book;
+import org.motpassants.domain.core.model.ContinueReadingItem;
+import org.motpassants.domain.port.in.ReadingProgressUseCase;
+import org.motpassants.infrastructure.adapter.in.rest.dto.ContinueReadingItemDto;
+
+import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.eclipse.microprofile.openapi.annotations.media.Content;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+import org.eclipse.microprofile.openapi.annotations.parameters.Parameter;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponses;
+import org.eclipse.microprofile.openapi.annotations.tags.Tag;
+
+import jakarta.inject.Inject;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.sse.Sse;
+import jakarta.ws.rs.sse.SseEventSink;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+/**
+ * REST controller for the current user's personal views.
+ * Provides the adapter for incoming HTTP requests in the hexagonal architecture.
+ */
+@Path("/v1/me")
+@Tag(name = "Me", description = "Current user's reading shelves")
+@Produces(MediaType.APPLICATION_JSON)
+public class MeController {
+
+    // For now, use a mock user ID - in real implementation, get from security context
+    private static final UUID CURRENT_USER_ID = UUID.fromString("550e8400-e29b-41d4-a716-446655440000");
+
+    private final ReadingProgressUseCase readingProgressUseCase;
+
+    @Inject
+    public MeController(ReadingProgressUseCase readingProgressUseCase) {
+        this.readingProgressUseCase = readingProgressUseCase;
+    }
+
+    @GET
+    @Path("/continue-reading")
+    @Operation(summary = "Continue reading shelf", description = "Most recently read, unfinished books with their progress, newest first")
+    @APIResponses(value = {
+        @APIResponse(responseCode = "200", description = "Shelf retrieved successfully",
+            content = @Content(schema = @Schema(implementation = ContinueReadingItemDto.class)))
+    })
+    public Response getContinueReading(
+            @Parameter(description = "Maximum number of books (max 50)", example = "12")
+            @DefaultValue("12") @QueryParam("limit") int limit) {
+        try {
+            List<ContinueReadingItem> items = readingProgressUseCase.getContinueReading(CURRENT_USER_ID, limit);
+            List<ContinueReadingItemDto> dtos = items.stream()
+                .map(this::toDto)
+                .collect(Collectors.toList());
+            return Response.ok(dtos)
+                .header("Cache-Control", "private, no-cache")
+                .build();
+        } catch (Exception e) {
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                .entity("Internal server error: " + e.getMessage())
+                .build();
+        }
+    }
+
+    private ContinueReadingItemDto toDto(ContinueReadingItem item) {
+        Book book = item.book();
+        return ContinueReadingItemDto.builder()
+            .id(book.getId())
+            .title(book.getTitle())
+            .titleSort(book.getTitleSort())
+            .hasCover(Boolean.TRUE.equals(book.getHasCover()))
+            .coverPlaceholder(book.getCoverPlaceholder() != null ? book.getCoverPlaceholder().dataUri() : null)
+            .coverColor(book.getCoverPlaceholder() != null ? book.getCoverPlaceholder().color() : null)
+            .coverUrl(book.getCoverPlaceholder() != null && book.getCoverPlaceholder().version() != null
+                ? BookController.coverUrl(book.getId(), book.getCoverPlaceholder().version()) : null)
+            .publicationDate(book.getPublicationDate())
+            .progress(item.progress() != null ? item.progress() * 100 : 0.0)
+            .currentPage(item.currentPage())
+            .lastReadAt(item.lastReadAt())
+            .build();
+    }
+
+    @GET
+    @Path("/progress/events")
+    @Produces(MediaType.SERVER_SENT_EVENTS)
+    @Operation(summary = "Reading progress stream",
+        description = "Server-sent events pushing the current user's reading progress as it is saved from any device. "
+            + "Emits 'progress' events with a JSON payload and periodic 'ping' events.")
+    @APIResponse(responseCode = "200", description = "Event stream opened")
+    public void streamProgress(@Context SseEventSink eventSink, @Context Sse sse) {
+        eventSink.send(sse.newEvent("ready", "{}"));
+        // A closed sink fails the next send, at the latest the periodic ping, which ends the subscription
+        readingProgressUseCase.streamReadingProgress(CURRENT_USER_ID, (name, data) -> {
+            if (eventSink.isClosed()) {
+                return CompletableFuture.failedFuture(new IllegalStateException("Event sink closed"));
+            }
+            return eventSink.send(sse.newEventBuilder()
+                .name(name)
+                .data(data)
+                .build());
+        });
+    }
+}
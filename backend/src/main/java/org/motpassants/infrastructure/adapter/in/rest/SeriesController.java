@@ -17,12 +17,20 @@ import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
 import org.eclipse.microprofile.openapi.annotations.responses.APIResponses;
 import org.eclipse.microprofile.openapi.annotations.tags.Tag;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.smallrye.mutiny.Uni;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.StreamingOutput;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
 
 import java.util.List;
 import java.util.Map;
@@ -39,21 +47,27 @@ import java.util.stream.Collectors;
 @Produces(MediaType.APPLICATION_JSON)
 @Consumes(MediaType.APPLICATION_JSON)
 public class SeriesController {
+
+    private static final java.util.regex.Pattern VERSIONED_PICTURE = java.util.regex.Pattern.compile("([0-9a-fA-F-]{36})\\.([0-9a-f]{16})\\.jpg");
     
     private final SeriesUseCase seriesUseCase;
     private final org.motpassants.application.service.BookService bookService;
     private final org.motpassants.infrastructure.media.ImageCachingService imageCachingService;
     private final org.motpassants.infrastructure.config.LibrarieConfigProperties config;
+    private final ObjectMapper objectMapper;
+    private final org.motpassants.infrastructure.media.RemoteImageValidator remoteImageValidator;
 
     @Context
     Request httpRequest;
     
     @Inject
-    public SeriesController(SeriesUseCase seriesUseCase, org.motpassants.application.service.BookService bookService, org.motpassants.infrastructure.media.ImageCachingService imageCachingService, org.motpassants.infrastructure.config.LibrarieConfigProperties config) {
+    public SeriesController(SeriesUseCase seriesUseCase, org.motpassants.application.service.BookService bookService, org.motpassants.infrastructure.media.ImageCachingService imageCachingService, org.motpassants.infrastructure.config.LibrarieConfigProperties config, ObjectMapper objectMapper, org.motpassants.infrastructure.media.RemoteImageValidator remoteImageValidator) {
         this.seriesUseCase = seriesUseCase;
         this.bookService = bookService;
         this.imageCachingService = imageCachingService;
         this.config = config;
+        this.objectMapper = objectMapper;
+        this.remoteImageValidator = remoteImageValidator;
     }
     
     @GET
@@ -339,6 +353,41 @@ public class SeriesController {
         }
     }
     
+    @GET
+    @Path("/covers/{file}")
+    @Produces("image/*")
+    @Operation(summary = "Get versioned series picture", description = "Serves a locally stored series picture at its content-versioned URL " +
+        "({id}.{version}.jpg, as returned in pictureUrl) with a one-year immutable Cache-Control; an outdated version redirects to the current one")
+    @APIResponses(value = {
+        @APIResponse(responseCode = "200", description = "Image returned"),
+        @APIResponse(responseCode = "302", description = "Picture changed; redirect to its current URL"),
+        @APIResponse(responseCode = "400", description = "Invalid file name"),
+        @APIResponse(responseCode = "404", description = "Picture not found")
+    })
+    public Uni<Response> getVersionedSeriesPicture(@PathParam("file") String file,
+            @HeaderParam(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch) {
+        // Runs on the event loop: nothing here may block
+        java.util.regex.Matcher matcher = VERSIONED_PICTURE.matcher(file);
+        if (!matcher.matches()) {
+            return Uni.createFrom().item(Response.status(Response.Status.BAD_REQUEST).type(MediaType.TEXT_PLAIN).entity("Invalid picture file").build());
+        }
+        try {
+            UUID seriesId = UUID.fromString(matcher.group(1));
+            java.nio.file.Path baseDir = java.nio.file.Paths.get(config.storage().baseDir());
+            return imageCachingService.serveVersioned(ifNoneMatch, baseDir, "series", "covers", seriesId.toString(), 0,
+                matcher.group(2), current -> pictureUrl(seriesId, current));
+        } catch (IllegalArgumentException e) {
+            return Uni.createFrom().item(Response.status(Response.Status.BAD_REQUEST).type(MediaType.TEXT_PLAIN).entity("Invalid series ID format").build());
+        }
+    }
+
+    /**
+     * Content-versioned URL of a locally stored series picture, served as immutable.
+     */
+    private static String pictureUrl(UUID seriesId, String version) {
+        return "/v1/books/series/covers/" + seriesId + "." + version + ".jpg";
+    }
+
     @GET
     @Path("/{id}/picture")
     @Produces("image/*")
@@ -359,6 +408,12 @@ public class SeriesController {
                     .build();
             }
 
+            // A picture stored locally is served at its versioned URL
+            String version = imageCachingService.localVersion(java.nio.file.Paths.get(config.storage().baseDir()), "series", "covers", seriesId.toString());
+            if (version != null) {
+                return org.motpassants.infrastructure.media.ImageCachingService.versionRedirect(pictureUrl(seriesId, version));
+            }
+
             Series series = seriesOpt.get();
             String remoteUrl = null;
             boolean remoteUrlFromImagePath = false;
@@ -404,8 +459,16 @@ public class SeriesController {
                 }
             }
 
-            // Validate remote URL if present. If broken, clear it from the series and metadata, then fall back to books.
-            if (remoteUrl != null && !isRemoteImageReachable(remoteUrl)) {
+            // Validation runs in the background; only act on what is already known about the URL.
+            // If known broken, clear it from the series and metadata, then fall back to books.
+            org.motpassants.infrastructure.media.RemoteImageValidator.Status remoteStatus =
+                remoteUrl != null ? remoteImageValidator.status(remoteUrl) : null;
+            if (remoteStatus == org.motpassants.infrastructure.media.RemoteImageValidator.Status.UNKNOWN
+                    && !java.nio.file.Files.isRegularFile(java.nio.file.Paths.get(config.storage().baseDir(), "series", "covers", id))) {
+                // Not checked yet and nothing cached locally: answer from book covers rather than wait on the remote host
+                remoteUrl = null;
+            }
+            if (remoteStatus == org.motpassants.infrastructure.media.RemoteImageValidator.Status.BROKEN) {
                 try {
                     String newImagePath = remoteUrlFromImagePath ? null : series.getImagePath();
                     java.util.Map<String, Object> newMeta = series.getMetadata();
@@ -471,45 +534,6 @@ public class SeriesController {
         }
     }
 
-    private boolean isRemoteImageReachable(String url) {
-        try {
-            java.net.http.HttpClient client = java.net.http.HttpClient.newBuilder()
-                .connectTimeout(java.time.Duration.ofSeconds(5))
-                .followRedirects(java.net.http.HttpClient.Redirect.NORMAL)
-                .build();
-            // First try HEAD
-            java.net.http.HttpRequest head = java.net.http.HttpRequest.newBuilder(java.net.URI.create(url))
-                .timeout(java.time.Duration.ofSeconds(6))
-                .method("HEAD", java.net.http.HttpRequest.BodyPublishers.noBody())
-                .header("User-Agent", "Librarie/1.0")
-                .build();
-            java.net.http.HttpResponse<Void> hr = client.send(head, java.net.http.HttpResponse.BodyHandlers.discarding());
-            int sc = hr.statusCode();
-            String ct = hr.headers().firstValue("content-type").orElse("").toLowerCase();
-            if (sc >= 200 && sc < 300 && ct.startsWith("image/")) return true;
-        } catch (Exception ignore) {
-            // fall through to GET
-        }
-        try {
-            java.net.http.HttpClient client = java.net.http.HttpClient.newBuilder()
-                .connectTimeout(java.time.Duration.ofSeconds(5))
-                .followRedirects(java.net.http.HttpClient.Redirect.NORMAL)
-                .build();
-            java.net.http.HttpRequest get = java.net.http.HttpRequest.newBuilder(java.net.URI.create(url))
-                .timeout(java.time.Duration.ofSeconds(8))
-                .header("User-Agent", "Librarie/1.0")
-                .header("Accept", "image/avif,image/webp,image/apng,image/*,*/*;q=0.8")
-                .GET()
-                .build();
-            java.net.http.HttpResponse<byte[]> gr = client.send(get, java.net.http.HttpResponse.BodyHandlers.ofByteArray());
-            int sc = gr.statusCode();
-            String ct = gr.headers().firstValue("content-type").orElse("").toLowerCase();
-            return sc >= 200 && sc < 300 && ct.startsWith("image/") && gr.body() != null && gr.body().length > 0;
-        } catch (Exception e) {
-            return false;
-        }
-    }
-
     private static byte[] getSeriesFailoverSvg() {
         String svg = """
                 <svg xmlns='http://www.w3.org/2000/svg' width='320' height='320' viewBox='0 0 320 320'>
@@ -551,55 +575,29 @@ public class SeriesController {
                     .build();
             }
 
-            // Use ordered-by-index for UX; fetch up to 100, then if more, append rest by created_at DESC
-        java.util.List<org.motpassants.domain.core.model.Book> first = bookService.getBooksBySeriesOrderedByIndex(seriesId, 100);
-            java.util.Set<java.util.UUID> seen = new java.util.HashSet<>();
-            java.util.List<org.motpassants.infrastructure.adapter.in.rest.dto.SeriesBookItemDto> items = new java.util.ArrayList<>();
-            for (var b : first) {
-                seen.add(b.getId());
-                items.add(org.motpassants.infrastructure.adapter.in.rest.dto.SeriesBookItemDto.builder()
-                    .id(b.getId())
-                    .title(b.getTitle())
-                    .hasCover(Boolean.TRUE.equals(b.getHasCover()))
-            .seriesIndex(extractSeriesIndex(b, seriesId))
-                    .publicationDate(b.getPublicationDate())
-                    .build());
-            }
-
-            // If there might be more, fall back to cursor pages to fetch all remaining
-            String cursor = null;
-            int pageLimit = 100;
-            while (true) {
-                var page = bookService.getBooksBySeries(seriesId, cursor, pageLimit);
-                if (page.getItems() == null || page.getItems().isEmpty()) break;
-                for (var b : page.getItems()) {
-                    if (seen.add(b.getId())) {
-                        items.add(org.motpassants.infrastructure.adapter.in.rest.dto.SeriesBookItemDto.builder()
-                            .id(b.getId())
-                            .title(b.getTitle())
-                            .hasCover(Boolean.TRUE.equals(b.getHasCover()))
-                            .seriesIndex(extractSeriesIndex(b, seriesId))
-                            .publicationDate(b.getPublicationDate())
-                            .build());
-                    }
+            // One ordered query; the array is written as rows arrive instead of being collected first
+            StreamingOutput body = output -> {
+                try (JsonGenerator json = objectMapper.getFactory().createGenerator(output)) {
+                    json.writeStartArray();
+                    bookService.forEachBookInSeries(seriesId, entry -> {
+                        try {
+                            json.writeObject(org.motpassants.infrastructure.adapter.in.rest.dto.SeriesBookItemDto.builder()
+                                .id(entry.bookId())
+                                .title(entry.title())
+                                .hasCover(entry.hasCover())
+                                .seriesIndex(entry.seriesIndex())
+                                .publicationDate(entry.publicationDate())
+                                .build());
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+                    json.writeEndArray();
+                } catch (UncheckedIOException e) {
+                    throw e.getCause();
                 }
-                if (!page.hasNext()) break;
-                cursor = page.getNextCursor();
-            }
-
-            // Sort by series index asc (nulls last); then title
-            items.sort((a, b) -> {
-                Double ai = a.getSeriesIndex();
-                Double bi = b.getSeriesIndex();
-                if (ai == null && bi == null) return a.getTitle().compareToIgnoreCase(b.getTitle());
-                if (ai == null) return 1;
-                if (bi == null) return -1;
-                int cmp = Double.compare(ai, bi);
-                if (cmp != 0) return cmp;
-                return a.getTitle().compareToIgnoreCase(b.getTitle());
-            });
-
-            return Response.ok(items).build();
+            };
+            return Response.ok(body, MediaType.APPLICATION_JSON).build();
         } catch (IllegalArgumentException e) {
             return Response.status(Response.Status.BAD_REQUEST)
                 .entity("Invalid series ID format")
@@ -611,18 +609,6 @@ public class SeriesController {
         }
     }
 
-    private static Double extractSeriesIndex(org.motpassants.domain.core.model.Book book, java.util.UUID seriesId) {
-        if (book == null || book.getSeries() == null || book.getSeries().isEmpty()) return null;
-        for (org.motpassants.domain.core.model.BookSeries bs : book.getSeries()) {
-            if (bs != null && bs.getSeries() != null && seriesId.equals(bs.getSeries().getId())) {
-                return bs.getSeriesIndex();
-            }
-        }
-        // fallback: if only one relation present, return its index
-        org.motpassants.domain.core.model.BookSeries first = book.getSeries().iterator().next();
-        return first != null ? first.getSeriesIndex() : null;
-    }
-    
     /**
      * Convert Series domain model to DTO.
      */
@@ -655,6 +641,10 @@ public class SeriesController {
             .sortName(series.getSortName())
             .bookCount(series.getTotalBooks())
             .hasPicture(series.getHasPicture())
+            .coverPlaceholder(series.getCoverPlaceholder() != null ? series.getCoverPlaceholder().dataUri() : null)
+            .coverColor(series.getCoverPlaceholder() != null ? series.getCoverPlaceholder().color() : null)
+            .pictureUrl(series.getCoverPlaceholder() != null && series.getCoverPlaceholder().version() != null
+                ? pictureUrl(series.getId(), series.getCoverPlaceholder().version()) : null)
             .build();
     }
 
@@ -2,9 +2,12 @@ package org.motpassants.infrastructure.adapter.in.rest;
 
 import org.motpassants.domain.core.model.Settings;
 import org.motpassants.domain.core.model.EntityCounts;
+import org.motpassants.domain.core.model.LibraryStatistics;
+import org.motpassants.domain.port.in.LibraryStatisticsUseCase;
 import org.motpassants.domain.port.in.SettingsUseCase;
 import org.motpassants.infrastructure.adapter.in.rest.dto.SettingsResponseDto;
 import org.motpassants.infrastructure.adapter.in.rest.dto.EntityCountsDto;
+import org.motpassants.infrastructure.adapter.in.rest.dto.LibraryStatisticsDto;
 import org.motpassants.infrastructure.adapter.in.rest.dto.FeatureFlagsDto;
 import org.motpassants.infrastructure.adapter.in.rest.dto.StorageConfigurationDto;
 
@@ -17,34 +20,63 @@ import org.eclipse.microprofile.openapi.annotations.tags.Tag;
 
 import jakarta.inject.Inject;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.Response;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
 /**
  * REST controller for settings operations.
  * Provides the adapter for incoming HTTP requests in the hexagonal architecture.
+ * Responses carry an ETag derived from their content, so the page-load call is usually a 304.
  */
 @Path("/v1/settings")
 @Tag(name = "Settings", description = "System settings and statistics")
 @Produces(MediaType.APPLICATION_JSON)
 public class SettingsController {
     
+    // Clients may keep a copy but must revalidate it; a match costs no database access
+    private static final String REVALIDATE = "no-cache";
+    
     private final SettingsUseCase settingsUseCase;
+    private final LibraryStatisticsUseCase libraryStatisticsUseCase;
     
     @Inject
-    public SettingsController(SettingsUseCase settingsUseCase) {
+    public SettingsController(SettingsUseCase settingsUseCase, LibraryStatisticsUseCase libraryStatisticsUseCase) {
         this.settingsUseCase = settingsUseCase;
+        this.libraryStatisticsUseCase = libraryStatisticsUseCase;
     }
     
     @GET
     @Operation(summary = "Get system settings", description = "Retrieve system settings including version, supported formats, and entity counts")
     @APIResponses(value = {
         @APIResponse(responseCode = "200", description = "Settings retrieved successfully",
-            content = @Content(schema = @Schema(implementation = SettingsResponseDto.class)))
+            content = @Content(schema = @Schema(implementation = SettingsResponseDto.class))),
+        @APIResponse(responseCode = "304", description = "Settings unchanged since the ETag sent in If-None-Match")
     })
-    public Response getSettings() {
+    public Response getSettings(@Context Request request) {
         try {
             Settings settings = settingsUseCase.getSystemSettings();
+            // Everything but the counts is fixed for a build, so the tag follows the returned values
+            EntityTag etag = etagOf(String.join("|",
+                settings.getVersion(),
+                String.valueOf(settings.getSupportedFormats()),
+                String.valueOf(settings.getEntityCounts()),
+                String.valueOf(settings.getFeatureFlags()),
+                String.valueOf(settings.getDefaultPageSize()),
+                String.valueOf(settings.getMaxPageSize()),
+                String.valueOf(settings.getStorageConfiguration())));
+            Response.ResponseBuilder notModified = request.evaluatePreconditions(etag);
+            if (notModified != null) {
+                return notModified.header(HttpHeaders.CACHE_CONTROL, REVALIDATE).build();
+            }
             
             // Convert domain models to DTOs
             EntityCounts entityCounts = settings.getEntityCounts();
@@ -80,7 +112,40 @@ public class SettingsController {
                 storageConfigurationDto
             );
             
-            return Response.ok(response).build();
+            return Response.ok(response).tag(etag).header(HttpHeaders.CACHE_CONTROL, REVALIDATE).build();
+            
+        } catch (Exception e) {
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                .entity("Internal server error: " + e.getMessage())
+                .build();
+        }
+    }
+    
+    @GET
+    @Path("/statistics")
+    @Operation(summary = "Get library statistics", description = "Retrieve book, series and author counts, total file size, and book counts per format and per language")
+    @APIResponses(value = {
+        @APIResponse(responseCode = "200", description = "Statistics retrieved successfully",
+            content = @Content(schema = @Schema(implementation = LibraryStatisticsDto.class))),
+        @APIResponse(responseCode = "304", description = "Statistics unchanged since the ETag sent in If-None-Match")
+    })
+    public Response getStatistics(@Context Request request) {
+        try {
+            LibraryStatistics statistics = libraryStatisticsUseCase.getStatistics();
+            EntityTag etag = etagOf(statistics.toString());
+            Response.ResponseBuilder notModified = request.evaluatePreconditions(etag);
+            if (notModified != null) {
+                return notModified.header(HttpHeaders.CACHE_CONTROL, REVALIDATE).build();
+            }
+            LibraryStatisticsDto response = new LibraryStatisticsDto(
+                statistics.books(),
+                statistics.series(),
+                statistics.authors(),
+                statistics.totalBytes(),
+                statistics.formats(),
+                statistics.languages()
+            );
+            return Response.ok(response).tag(etag).header(HttpHeaders.CACHE_CONTROL, REVALIDATE).build();
             
         } catch (Exception e) {
             return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
@@ -88,4 +153,16 @@ public class SettingsController {
                 .build();
         }
     }
+    
+    /**
+     * Strong ETag over a canonical text form of the response values.
+     */
+    static EntityTag etagOf(String content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content.getBytes(StandardCharsets.UTF_8));
+            return new EntityTag(HexFormat.of().formatHex(digest, 0, 8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
 }
\ No newline at end of file
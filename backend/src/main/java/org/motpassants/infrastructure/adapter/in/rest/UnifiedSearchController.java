@@ -4,12 +4,14 @@ import org.motpassants.domain.core.model.UnifiedSearchResult;
 import org.motpassants.domain.core.model.Book;
 import org.motpassants.domain.core.model.Author;
 import org.motpassants.domain.core.model.Series;
+import org.motpassants.domain.port.in.TypeaheadUseCase;
 import org.motpassants.domain.port.in.UnifiedSearchUseCase;
 import org.motpassants.infrastructure.adapter.in.rest.dto.UnifiedSearchResultDto;
 import org.motpassants.infrastructure.adapter.in.rest.dto.UnifiedSearchRequestDto;
 import org.motpassants.infrastructure.adapter.in.rest.dto.BookResponseDto;
 import org.motpassants.infrastructure.adapter.in.rest.dto.AuthorResponseDto;
 import org.motpassants.infrastructure.adapter.in.rest.dto.SeriesResponseDto;
+import org.motpassants.infrastructure.adapter.in.rest.dto.TypeaheadSuggestionDto;
 
 import org.eclipse.microprofile.openapi.annotations.Operation;
 import org.eclipse.microprofile.openapi.annotations.media.Content;
@@ -40,10 +42,12 @@ import java.util.stream.Collectors;
 public class UnifiedSearchController {
     
     private final UnifiedSearchUseCase unifiedSearchUseCase;
+    private final TypeaheadUseCase typeaheadUseCase;
     
     @Inject
-    public UnifiedSearchController(UnifiedSearchUseCase unifiedSearchUseCase) {
+    public UnifiedSearchController(UnifiedSearchUseCase unifiedSearchUseCase, TypeaheadUseCase typeaheadUseCase) {
         this.unifiedSearchUseCase = unifiedSearchUseCase;
+        this.typeaheadUseCase = typeaheadUseCase;
     }
     
     @GET
@@ -111,6 +115,9 @@ public class UnifiedSearchController {
             UnifiedSearchResultDto responseDto = new UnifiedSearchResultDto(
                 bookDtos, authorDtos, seriesDtos, query, searchTime, limit
             );
+            responseDto.setPartial(result.isPartial());
+            responseDto.setIncompleteTypes(result.getIncompleteTypes());
+            responseDto.setLatencyMillis(result.getLatencyMillis());
             
             return Response.ok(responseDto).build();
             
@@ -121,6 +128,54 @@ public class UnifiedSearchController {
         }
     }
     
+    @GET
+    @Path("/suggest")
+    @Operation(summary = "Search-as-you-type suggestions",
+        description = "Prefix matches on book titles, author names and series names, served from an in-memory index")
+    @APIResponses(value = {
+        @APIResponse(responseCode = "200", description = "Suggestions retrieved successfully",
+            content = @Content(schema = @Schema(implementation = TypeaheadSuggestionDto.class))),
+        @APIResponse(responseCode = "400", description = "Invalid entity type")
+    })
+    public Response suggest(
+            @Parameter(description = "Text typed so far", required = true)
+            @QueryParam("q") String query,
+            @Parameter(description = "Maximum number of suggestions per entity type (max 25)", example = "8")
+            @DefaultValue("8") @QueryParam("limit") int limit,
+            @Parameter(description = "Entity types to include (comma-separated)", example = "books,authors")
+            @QueryParam("types") String types) {
+        try {
+            if (query == null || query.isBlank()) {
+                return Response.ok(List.of()).build();
+            }
+            
+            List<String> entityTypes = null;
+            if (types != null && !types.trim().isEmpty()) {
+                entityTypes = Arrays.stream(types.split(","))
+                    .map(String::trim)
+                    .filter(type -> !type.isEmpty())
+                    .collect(Collectors.toList());
+                List<String> validTypes = Arrays.asList("books", "authors", "series");
+                for (String type : entityTypes) {
+                    if (!validTypes.contains(type)) {
+                        return Response.status(Response.Status.BAD_REQUEST)
+                            .entity(Map.of("message", "Invalid entity type: " + type + ". Valid types are: books, authors, series"))
+                            .build();
+                    }
+                }
+            }
+            
+            List<TypeaheadSuggestionDto> suggestions = typeaheadUseCase.suggest(query, limit, entityTypes).stream()
+                .map(s -> new TypeaheadSuggestionDto(s.type(), s.id(), s.label()))
+                .collect(Collectors.toList());
+            return Response.ok(suggestions).build();
+        } catch (Exception e) {
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                .entity("Internal server error: " + e.getMessage())
+                .build();
+        }
+    }
+    
     @POST
     @Operation(summary = "Unified search (POST)", description = "Search across books, authors, and series using POST request")
     @APIResponses(value = {
@@ -178,6 +233,9 @@ public class UnifiedSearchController {
             UnifiedSearchResultDto responseDto = new UnifiedSearchResultDto(
                 bookDtos, authorDtos, seriesDtos, request.getQ(), searchTime, limit
             );
+            responseDto.setPartial(result.isPartial());
+            responseDto.setIncompleteTypes(result.getIncompleteTypes());
+            responseDto.setLatencyMillis(result.getLatencyMillis());
             
             return Response.ok(responseDto).build();
             
@@ -231,6 +289,10 @@ public class UnifiedSearchController {
                 .createdAt(author.getCreatedAt())
                 .updatedAt(author.getUpdatedAt())
                 .hasPicture(author.getHasPicture())
+                .coverPlaceholder(author.getCoverPlaceholder() != null ? author.getCoverPlaceholder().dataUri() : null)
+                .coverColor(author.getCoverPlaceholder() != null ? author.getCoverPlaceholder().color() : null)
+                .pictureUrl(author.getCoverPlaceholder() != null && author.getCoverPlaceholder().version() != null
+                    ? AuthorController.pictureUrl(author.getId(), author.getCoverPlaceholder().version()) : null)
                 .build();
     }
     
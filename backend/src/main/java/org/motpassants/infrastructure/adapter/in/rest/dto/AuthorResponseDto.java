@@ -46,6 +46,15 @@ public class AuthorResponseDto {
     @JsonProperty("hasPicture")
     private Boolean hasPicture;
 
+    @JsonProperty("coverPlaceholder")
+    private String coverPlaceholder;
+
+    @JsonProperty("coverColor")
+    private String coverColor;
+
+    @JsonProperty("pictureUrl")
+    private String pictureUrl;
+
     // Default constructor
     public AuthorResponseDto() {}
 
@@ -64,6 +73,9 @@ public class AuthorResponseDto {
         public Builder createdAt(OffsetDateTime createdAt) { dto.createdAt = createdAt; return this; }
         public Builder updatedAt(OffsetDateTime updatedAt) { dto.updatedAt = updatedAt; return this; }
         public Builder hasPicture(Boolean hasPicture) { dto.hasPicture = hasPicture; return this; }
+        public Builder coverPlaceholder(String coverPlaceholder) { dto.coverPlaceholder = coverPlaceholder; return this; }
+        public Builder coverColor(String coverColor) { dto.coverColor = coverColor; return this; }
+        public Builder pictureUrl(String pictureUrl) { dto.pictureUrl = pictureUrl; return this; }
         public AuthorResponseDto build() { return dto; }
     }
 
@@ -150,6 +162,12 @@ public class AuthorResponseDto {
     
     public Boolean getHasPicture() { return hasPicture; }
     public void setHasPicture(Boolean hasPicture) { this.hasPicture = hasPicture; }
+    public String getCoverPlaceholder() { return coverPlaceholder; }
+    public void setCoverPlaceholder(String coverPlaceholder) { this.coverPlaceholder = coverPlaceholder; }
+    public String getCoverColor() { return coverColor; }
+    public void setCoverColor(String coverColor) { this.coverColor = coverColor; }
+    public String getPictureUrl() { return pictureUrl; }
+    public void setPictureUrl(String pictureUrl) { this.pictureUrl = pictureUrl; }
 
     @Override
     public String toString() {
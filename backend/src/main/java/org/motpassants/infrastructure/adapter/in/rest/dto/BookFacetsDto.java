@@ -0,0 +1,15 @@
+package org.motpassants.infrastructure.adapter.in.rest.dto;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for facet counts over the books matching a criteria search.
+ */
+public record BookFacetsDto(
+    List<FacetCountDto> languages,
+    List<FacetCountDto> publishers,
+    List<FacetCountDto> decades,
+    List<FacetCountDto> formats,
+    List<FacetCountDto> series,
+    List<FacetCountDto> tags
+) {}
@@ -16,6 +16,12 @@ public class BookListItemDto {
     private String titleSort;
     @Schema(description = "Whether a cover is available")
     private Boolean hasCover;
+    @Schema(description = "Tiny inline JPEG (data URI) to show while the cover loads")
+    private String coverPlaceholder;
+    @Schema(description = "Dominant cover color as #rrggbb")
+    private String coverColor;
+    @Schema(description = "Content-versioned cover URL, cacheable forever; null until the cover is processed")
+    private String coverUrl;
     @Schema(description = "Publication date (YYYY-MM-DD)")
     private LocalDate publicationDate;
     @Schema(description = "Creation timestamp (for paging info only)")
@@ -28,6 +34,9 @@ public class BookListItemDto {
         public Builder title(String title) { dto.title = title; return this; }
         public Builder titleSort(String titleSort) { dto.titleSort = titleSort; return this; }
         public Builder hasCover(Boolean hasCover) { dto.hasCover = hasCover; return this; }
+        public Builder coverPlaceholder(String coverPlaceholder) { dto.coverPlaceholder = coverPlaceholder; return this; }
+        public Builder coverColor(String coverColor) { dto.coverColor = coverColor; return this; }
+        public Builder coverUrl(String coverUrl) { dto.coverUrl = coverUrl; return this; }
         public Builder publicationDate(LocalDate publicationDate) { dto.publicationDate = publicationDate; return this; }
         public Builder createdAt(OffsetDateTime createdAt) { dto.createdAt = createdAt; return this; }
         public BookListItemDto build() { return dto; }
@@ -41,6 +50,12 @@ public class BookListItemDto {
     public void setTitleSort(String titleSort) { this.titleSort = titleSort; }
     public Boolean getHasCover() { return hasCover; }
     public void setHasCover(Boolean hasCover) { this.hasCover = hasCover; }
+    public String getCoverPlaceholder() { return coverPlaceholder; }
+    public void setCoverPlaceholder(String coverPlaceholder) { this.coverPlaceholder = coverPlaceholder; }
+    public String getCoverColor() { return coverColor; }
+    public void setCoverColor(String coverColor) { this.coverColor = coverColor; }
+    public String getCoverUrl() { return coverUrl; }
+    public void setCoverUrl(String coverUrl) { this.coverUrl = coverUrl; }
     public LocalDate getPublicationDate() { return publicationDate; }
     public void setPublicationDate(LocalDate publicationDate) { this.publicationDate = publicationDate; }
     public OffsetDateTime getCreatedAt() { return createdAt; }
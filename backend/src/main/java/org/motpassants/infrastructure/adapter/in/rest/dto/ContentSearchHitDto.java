@@ -0,0 +1,16 @@
+package org.motpassants.infrastructure.adapter.in.rest.dto;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Data Transfer Object for a match inside the text of a book.
+ * The locator follows the Readium locator model (href, type, locations, text)
+ * so a reader can open the publication at the match.
+ */
+public record ContentSearchHitDto(
+    UUID bookId,
+    String bookTitle,
+    int chapterIndex,
+    Map<String, Object> locator
+) {}
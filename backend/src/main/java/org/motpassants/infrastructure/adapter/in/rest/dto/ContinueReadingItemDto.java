@@ -0,0 +1,89 @@
+package org.motpassants.infrastructure.adapter.in.rest.dto;
+
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Lightweight DTO for the "continue reading" shelf.
+ * Contains the book listing fields, including cover placeholder and versioned cover URL, plus the latest reading position.
+ */
+@Schema(description = "Started book with its latest reading position")
+public class ContinueReadingItemDto {
+    @Schema(description = "Book ID")
+    private UUID id;
+
+    @Schema(description = "Book title")
+    private String title;
+
+    @Schema(description = "Sortable title")
+    private String titleSort;
+
+    @Schema(description = "Has local cover available")
+    private Boolean hasCover;
+
+    @Schema(description = "Tiny inline JPEG (data URI) to show while the cover loads")
+    private String coverPlaceholder;
+
+    @Schema(description = "Dominant cover color as #rrggbb")
+    private String coverColor;
+
+    @Schema(description = "Content-versioned cover URL, cacheable forever; null until the cover is processed")
+    private String coverUrl;
+
+    @Schema(description = "Publication date (YYYY-MM-DD)")
+    private LocalDate publicationDate;
+
+    @Schema(description = "Reading progress percentage (0-100)")
+    private Double progress;
+
+    @Schema(description = "Current page when known")
+    private Integer currentPage;
+
+    @Schema(description = "Last time the book was read")
+    private LocalDateTime lastReadAt;
+
+    public ContinueReadingItemDto() {}
+
+    public static Builder builder() { return new Builder(); }
+    public static class Builder {
+        private final ContinueReadingItemDto dto = new ContinueReadingItemDto();
+        public Builder id(UUID id) { dto.id = id; return this; }
+        public Builder title(String title) { dto.title = title; return this; }
+        public Builder titleSort(String titleSort) { dto.titleSort = titleSort; return this; }
+        public Builder hasCover(Boolean hasCover) { dto.hasCover = hasCover; return this; }
+        public Builder coverPlaceholder(String coverPlaceholder) { dto.coverPlaceholder = coverPlaceholder; return this; }
+        public Builder coverColor(String coverColor) { dto.coverColor = coverColor; return this; }
+        public Builder coverUrl(String coverUrl) { dto.coverUrl = coverUrl; return this; }
+        public Builder publicationDate(LocalDate publicationDate) { dto.publicationDate = publicationDate; return this; }
+        public Builder progress(Double progress) { dto.progress = progress; return this; }
+        public Builder currentPage(Integer currentPage) { dto.currentPage = currentPage; return this; }
+        public Builder lastReadAt(LocalDateTime lastReadAt) { dto.lastReadAt = lastReadAt; return this; }
+        public ContinueReadingItemDto build() { return dto; }
+    }
+
+    public UUID getId() { return id; }
+    public void setId(UUID id) { this.id = id; }
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+    public String getTitleSort() { return titleSort; }
+    public void setTitleSort(String titleSort) { this.titleSort = titleSort; }
+    public Boolean getHasCover() { return hasCover; }
+    public void setHasCover(Boolean hasCover) { this.hasCover = hasCover; }
+    public String getCoverPlaceholder() { return coverPlaceholder; }
+    public void setCoverPlaceholder(String coverPlaceholder) { this.coverPlaceholder = coverPlaceholder; }
+    public String getCoverColor() { return coverColor; }
+    public void setCoverColor(String coverColor) { this.coverColor = coverColor; }
+    public String getCoverUrl() { return coverUrl; }
+    public void setCoverUrl(String coverUrl) { this.coverUrl = coverUrl; }
+    public LocalDate getPublicationDate() { return publicationDate; }
+    public void setPublicationDate(LocalDate publicationDate) { this.publicationDate = publicationDate; }
+    public Double getProgress() { return progress; }
+    public void setProgress(Double progress) { this.progress = progress; }
+    public Integer getCurrentPage() { return currentPage; }
+    public void setCurrentPage(Integer currentPage) { this.currentPage = currentPage; }
+    public LocalDateTime getLastReadAt() { return lastReadAt; }
+    public void setLastReadAt(LocalDateTime lastReadAt) { this.lastReadAt = lastReadAt; }
+}
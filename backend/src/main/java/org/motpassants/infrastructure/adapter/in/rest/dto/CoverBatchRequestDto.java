@@ -0,0 +1,22 @@
+package org.motpassants.infrastructure.adapter.in.rest.dto;
+
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Covers requested at once by a grid page")
+public class CoverBatchRequestDto {
+    @Schema(description = "Book IDs, at most 100")
+    private List<String> ids;
+    @Schema(description = "Display width in pixels; picks the smallest variant covering it")
+    private Integer size;
+    @Schema(description = "ETags of covers the client already holds; matching covers are left out")
+    private List<String> knownEtags;
+
+    public List<String> getIds() { return ids; }
+    public void setIds(List<String> ids) { this.ids = ids; }
+    public Integer getSize() { return size; }
+    public void setSize(Integer size) { this.size = size; }
+    public List<String> getKnownEtags() { return knownEtags; }
+    public void setKnownEtags(List<String> knownEtags) { this.knownEtags = knownEtags; }
+}
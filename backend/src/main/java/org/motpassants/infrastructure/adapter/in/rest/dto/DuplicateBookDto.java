@@ -0,0 +1,15 @@
+package org.motpassants.infrastructure.adapter.in.rest.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Data Transfer Object for a book within a probable duplicate cluster.
+ */
+public record DuplicateBookDto(
+    UUID id,
+    String title,
+    List<String> authors,
+    String isbn,
+    String path
+) {}
@@ -0,0 +1,12 @@
+package org.motpassants.infrastructure.adapter.in.rest.dto;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for books that are probably the same work,
+ * with the lowest estimated similarity between them.
+ */
+public record DuplicateClusterDto(
+    double similarity,
+    List<DuplicateBookDto> books
+) {}
@@ -0,0 +1,10 @@
+package org.motpassants.infrastructure.adapter.in.rest.dto;
+
+/**
+ * Data Transfer Object for the number of matching books sharing one facet value.
+ */
+public record FacetCountDto(
+    String value,
+    String label,
+    long count
+) {}
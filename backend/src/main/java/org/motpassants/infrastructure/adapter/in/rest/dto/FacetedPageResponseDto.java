@@ -0,0 +1,32 @@
+package org.motpassants.infrastructure.adapter.in.rest.dto;
+
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * Paginated response that also carries facet counts over all matching items.
+ * 
+ * @param <T> the type of content in the page
+ */
+@Schema(description = "Paginated response with facet counts")
+public class FacetedPageResponseDto<T> extends PageResponseDto<T> {
+
+    @Schema(description = "Counts per facet value over all matching items, not just this page")
+    private BookFacetsDto facets;
+
+    public FacetedPageResponseDto() {}
+
+    public FacetedPageResponseDto(List<T> content, String nextCursor, int limit, boolean hasNext, Long totalElements, BookFacetsDto facets) {
+        super(content, nextCursor, null, limit, hasNext, false, totalElements);
+        this.facets = facets;
+    }
+
+    public BookFacetsDto getFacets() {
+        return facets;
+    }
+
+    public void setFacets(BookFacetsDto facets) {
+        this.facets = facets;
+    }
+}
@@ -0,0 +1,16 @@
+package org.motpassants.infrastructure.adapter.in.rest.dto;
+
+import java.util.Map;
+
+/**
+ * Data Transfer Object for library statistics.
+ * Formats are keyed by file extension and languages by language code.
+ */
+public record LibraryStatisticsDto(
+    long books,
+    long series,
+    long authors,
+    long totalBytes,
+    Map<String, Long> formats,
+    Map<String, Long> languages
+) {}
@@ -13,6 +13,9 @@ public class SeriesListItemDto {
     private String sortName;
     private int bookCount; // alias for totalBooks
     private Boolean hasPicture; // to decide if an image should be requested
+    private String coverPlaceholder; // tiny inline JPEG shown while the picture loads
+    private String coverColor; // dominant picture color, #rrggbb
+    private String pictureUrl; // content-versioned picture URL, cacheable forever
 
     public SeriesListItemDto() {}
 
@@ -24,6 +27,9 @@ public class SeriesListItemDto {
         public Builder sortName(String sortName) { dto.sortName = sortName; return this; }
         public Builder bookCount(int bookCount) { dto.bookCount = bookCount; return this; }
         public Builder hasPicture(Boolean hasPicture) { dto.hasPicture = hasPicture; return this; }
+        public Builder coverPlaceholder(String coverPlaceholder) { dto.coverPlaceholder = coverPlaceholder; return this; }
+        public Builder coverColor(String coverColor) { dto.coverColor = coverColor; return this; }
+        public Builder pictureUrl(String pictureUrl) { dto.pictureUrl = pictureUrl; return this; }
         public SeriesListItemDto build() { return dto; }
     }
 
@@ -41,4 +47,10 @@ public class SeriesListItemDto {
 
     public Boolean getHasPicture() { return hasPicture; }
     public void setHasPicture(Boolean hasPicture) { this.hasPicture = hasPicture; }
+    public String getCoverPlaceholder() { return coverPlaceholder; }
+    public void setCoverPlaceholder(String coverPlaceholder) { this.coverPlaceholder = coverPlaceholder; }
+    public String getCoverColor() { return coverColor; }
+    public void setCoverColor(String coverColor) { this.coverColor = coverColor; }
+    public String getPictureUrl() { return pictureUrl; }
+    public void setPictureUrl(String pictureUrl) { this.pictureUrl = pictureUrl; }
 }
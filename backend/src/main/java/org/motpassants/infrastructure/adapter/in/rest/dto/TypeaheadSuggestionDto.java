@@ -0,0 +1,12 @@
+package org.motpassants.infrastructure.adapter.in.rest.dto;
+
+import java.util.UUID;
+
+/**
+ * Data Transfer Object for a search-as-you-type suggestion.
+ */
+public record TypeaheadSuggestionDto(
+    String type,
+    UUID id,
+    String label
+) {}
@@ -1,6 +1,7 @@
 package org.motpassants.infrastructure.adapter.in.rest.dto;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * Data Transfer Object for unified search results.
@@ -14,6 +15,9 @@ public class UnifiedSearchResultDto {
     private String query;
     private Long searchTime; // Search time in milliseconds
     private PaginationInfoDto pagination;
+    private boolean partial; // True when some entity types are missing because they failed or ran late
+    private List<String> incompleteTypes;
+    private Map<String, Long> latencyMillis; // Per entity type
     
     // Default constructor
     public UnifiedSearchResultDto() {}
@@ -91,6 +95,30 @@ public class UnifiedSearchResultDto {
         this.pagination = pagination;
     }
     
+    public boolean isPartial() {
+        return partial;
+    }
+    
+    public void setPartial(boolean partial) {
+        this.partial = partial;
+    }
+    
+    public List<String> getIncompleteTypes() {
+        return incompleteTypes;
+    }
+    
+    public void setIncompleteTypes(List<String> incompleteTypes) {
+        this.incompleteTypes = incompleteTypes;
+    }
+    
+    public Map<String, Long> getLatencyMillis() {
+        return latencyMillis;
+    }
+    
+    public void setLatencyMillis(Map<String, Long> latencyMillis) {
+        this.latencyMillis = latencyMillis;
+    }
+    
     @Override
     public String toString() {
         return "UnifiedSearchResultDto{" +
@@ -100,6 +128,7 @@ public class UnifiedSearchResultDto {
                 ", series=" + (series != null ? series.size() : 0) +
                 ", query='" + query + '\'' +
                 ", searchTime=" + searchTime +
+                ", partial=" + partial +
                 '}';
     }
 }
\ No newline at end of file
@@ -38,6 +38,36 @@ public class ConfigurationPortAdapter implements ConfigurationPort {
         return new SecurityConfigImpl(config.security());
     }
     
+    @Override
+    public ReadingProgressConfig getReadingProgressConfig() {
+        return new ReadingProgressConfigImpl(config.readingProgress());
+    }
+    
+    @Override
+    public SearchConfig getSearchConfig() {
+        return new SearchConfigImpl(config.search());
+    }
+    
+    @Override
+    public ContentIndexConfig getContentIndexConfig() {
+        return new ContentIndexConfigImpl(config.contentIndex());
+    }
+    
+    @Override
+    public DuplicatesConfig getDuplicatesConfig() {
+        return new DuplicatesConfigImpl(config.duplicates());
+    }
+    
+    @Override
+    public SimilarBooksConfig getSimilarBooksConfig() {
+        return new SimilarBooksConfigImpl(config.similarBooks());
+    }
+    
+    @Override
+    public StatisticsConfig getStatisticsConfig() {
+        return new StatisticsConfigImpl(config.statistics());
+    }
+    
     private static class StorageConfigImpl implements StorageConfig {
         private final LibrarieConfigProperties.Storage storage;
         
@@ -116,4 +146,177 @@ public class ConfigurationPortAdapter implements ConfigurationPort {
             return security.maxRequestSize();
         }
     }
-}
\ No newline at end of file
+    
+    private static class ReadingProgressConfigImpl implements ReadingProgressConfig {
+        private final LibrarieConfigProperties.ReadingProgress readingProgress;
+        
+        public ReadingProgressConfigImpl(LibrarieConfigProperties.ReadingProgress readingProgress) {
+            this.readingProgress = readingProgress;
+        }
+        
+        @Override
+        public boolean isWriteBehindEnabled() {
+            return readingProgress.writeBehindEnabled();
+        }
+        
+        @Override
+        public long getFlushIntervalMillis() {
+            return readingProgress.flushIntervalMillis();
+        }
+        
+        @Override
+        public int getMaxPendingEntries() {
+            return readingProgress.maxPendingEntries();
+        }
+    }
+    
+    private static class SearchConfigImpl implements SearchConfig {
+        private final LibrarieConfigProperties.Search search;
+        
+        public SearchConfigImpl(LibrarieConfigProperties.Search search) {
+            this.search = search;
+        }
+        
+        @Override
+        public long getDeadlineMillis() {
+            return search.deadlineMillis();
+        }
+        
+        @Override
+        public long getBooksTimeoutMillis() {
+            return search.booksTimeoutMillis();
+        }
+        
+        @Override
+        public long getAuthorsTimeoutMillis() {
+            return search.authorsTimeoutMillis();
+        }
+        
+        @Override
+        public long getSeriesTimeoutMillis() {
+            return search.seriesTimeoutMillis();
+        }
+        
+        @Override
+        public long getCacheTtlMillis() {
+            return search.cacheTtlMillis();
+        }
+        
+        @Override
+        public int getCacheMaxEntries() {
+            return search.cacheMaxEntries();
+        }
+    }
+    
+    private static class ContentIndexConfigImpl implements ContentIndexConfig {
+        private final LibrarieConfigProperties.ContentIndex contentIndex;
+        
+        public ContentIndexConfigImpl(LibrarieConfigProperties.ContentIndex contentIndex) {
+            this.contentIndex = contentIndex;
+        }
+        
+        @Override
+        public boolean isEnabled() {
+            return contentIndex.enabled();
+        }
+        
+        @Override
+        public long getIntervalSeconds() {
+            return contentIndex.intervalSeconds();
+        }
+        
+        @Override
+        public int getBatchSize() {
+            return contentIndex.batchSize();
+        }
+        
+        @Override
+        public long getPauseMillis() {
+            return contentIndex.pauseMillis();
+        }
+        
+        @Override
+        public int getMaxChapterChars() {
+            return contentIndex.maxChapterChars();
+        }
+    }
+    
+    private static class DuplicatesConfigImpl implements DuplicatesConfig {
+        private final LibrarieConfigProperties.Duplicates duplicates;
+        
+        public DuplicatesConfigImpl(LibrarieConfigProperties.Duplicates duplicates) {
+            this.duplicates = duplicates;
+        }
+        
+        @Override
+        public boolean isEnabled() {
+            return duplicates.enabled();
+        }
+        
+        @Override
+        public long getIntervalSeconds() {
+            return duplicates.intervalSeconds();
+        }
+        
+        @Override
+        public int getBatchSize() {
+            return duplicates.batchSize();
+        }
+        
+        @Override
+        public long getPauseMillis() {
+            return duplicates.pauseMillis();
+        }
+        
+        @Override
+        public double getSimilarityThreshold() {
+            return duplicates.similarityThreshold();
+        }
+    }
+    
+    private static class SimilarBooksConfigImpl implements SimilarBooksConfig {
+        private final LibrarieConfigProperties.SimilarBooks similarBooks;
+        
+        public SimilarBooksConfigImpl(LibrarieConfigProperties.SimilarBooks similarBooks) {
+            this.similarBooks = similarBooks;
+        }
+        
+        @Override
+        public boolean isEnabled() {
+            return similarBooks.enabled();
+        }
+        
+        @Override
+        public long getIntervalSeconds() {
+            return similarBooks.intervalSeconds();
+        }
+        
+        @Override
+        public int getNeighbors() {
+            return similarBooks.neighbors();
+        }
+        
+        @Override
+        public int getParallelism() {
+            return similarBooks.parallelism();
+        }
+    }
+    
+    private static class StatisticsConfigImpl implements StatisticsConfig {
+        private final LibrarieConfigProperties.Statistics statistics;
+        
+        public StatisticsConfigImpl(LibrarieConfigProperties.Statistics statistics) {
+            this.statistics = statistics;
+        }
+        
+        @Override
+        public long getMinAgeSeconds() {
+            return statistics.minAgeSeconds();
+        }
+        
+        @Override
+        public long getMaxAgeSeconds() {
+            return statistics.maxAgeSeconds();
+        }
+    }
+}
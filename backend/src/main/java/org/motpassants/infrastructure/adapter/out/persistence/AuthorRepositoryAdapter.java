@@ -9,6 +9,7 @@ import org.motpassants.domain.core.model.Author;
 import org.motpassants.domain.core.model.PageResult;
 import org.motpassants.domain.core.model.SortField;
 import org.motpassants.domain.port.out.AuthorRepositoryPort;
+import org.motpassants.infrastructure.security.InputSanitizationService;
 
 import java.sql.*;
 import java.time.OffsetDateTime;
@@ -23,6 +24,9 @@ public class AuthorRepositoryAdapter implements AuthorRepositoryPort {
     @Inject
     ObjectMapper objectMapper;
 
+    @Inject
+    InputSanitizationService sanitizer;
+
     @Override
     public Author save(Author author) {
         String sql = "INSERT INTO authors (id, name, sort_name, bio, birth_date, death_date, website_url, has_picture, metadata, created_at, updated_at) VALUES (?, ?, ?, CAST(? AS JSONB), ?, ?, ?, ?, CAST(? AS JSONB), ?, ?)";
@@ -70,7 +74,7 @@ public class AuthorRepositoryAdapter implements AuthorRepositoryPort {
 
     @Override
     public Optional<Author> findById(UUID id) {
-    String sql = "SELECT id, name, sort_name, bio, birth_date, death_date, website_url, has_picture, metadata, created_at, updated_at FROM authors WHERE id=?";
+    String sql = "SELECT id, name, sort_name, bio, birth_date, death_date, website_url, has_picture, cover_placeholder, cover_color, cover_version, metadata, created_at, updated_at FROM authors WHERE id=?";
         try (Connection conn = dataSource.getConnection(); PreparedStatement ps = conn.prepareStatement(sql)) {
             ps.setObject(1, id);
             try (ResultSet rs = ps.executeQuery()) {
@@ -84,7 +88,7 @@ public class AuthorRepositoryAdapter implements AuthorRepositoryPort {
 
     @Override
     public Optional<Author> findByName(String name) {
-    String sql = "SELECT id, name, sort_name, bio, birth_date, death_date, website_url, has_picture, metadata, created_at, updated_at FROM authors WHERE name=?";
+    String sql = "SELECT id, name, sort_name, bio, birth_date, death_date, website_url, has_picture, cover_placeholder, cover_color, cover_version, metadata, created_at, updated_at FROM authors WHERE name=?";
         try (Connection conn = dataSource.getConnection(); PreparedStatement ps = conn.prepareStatement(sql)) {
             ps.setString(1, name);
             try (ResultSet rs = ps.executeQuery()) {
@@ -131,7 +135,7 @@ public class AuthorRepositoryAdapter implements AuthorRepositoryPort {
 
     @Override
     public PageResult<Author> findAll(String cursor, int limit) {
-    String sql = "SELECT id, name, sort_name, bio, birth_date, death_date, website_url, has_picture, metadata, created_at, updated_at FROM authors ORDER BY created_at";
+    String sql = "SELECT id, name, sort_name, bio, birth_date, death_date, website_url, has_picture, cover_placeholder, cover_color, cover_version, metadata, created_at, updated_at FROM authors ORDER BY created_at";
         List<Author> list = new ArrayList<>();
         try (Connection conn = dataSource.getConnection(); PreparedStatement ps = conn.prepareStatement(sql)) {
             try (ResultSet rs = ps.executeQuery()) {
@@ -150,7 +154,7 @@ public class AuthorRepositoryAdapter implements AuthorRepositoryPort {
         // Handle timestamp fields (e.g., UPDATED_AT)
         if (sortCriteria.getField().isTimestampField()) {
             String sortColumn = sortCriteria.getField().getColumnName();
-            String baseSql = "SELECT id, name, sort_name, bio, birth_date, death_date, website_url, has_picture, metadata, created_at, updated_at FROM authors ";
+            String baseSql = "SELECT id, name, sort_name, bio, birth_date, death_date, website_url, has_picture, cover_placeholder, cover_color, cover_version, metadata, created_at, updated_at FROM authors ";
             String orderClause = " ORDER BY " + sortColumn + " " + sortCriteria.getDirection().getSqlKeyword() + ", created_at DESC, id DESC";
 
             // Parse cursor for timestamp sort: base64("<sortEpochMicros>|<createdAtMicros>|<uuid>")
@@ -250,7 +254,7 @@ public class AuthorRepositoryAdapter implements AuthorRepositoryPort {
 
         // Handle string sort field (SORT_NAME)
         if (sortCriteria.getField() == SortField.SORT_NAME) {
-            String baseSql = "SELECT id, name, sort_name, bio, birth_date, death_date, website_url, has_picture, metadata, created_at, updated_at FROM authors ";
+            String baseSql = "SELECT id, name, sort_name, bio, birth_date, death_date, website_url, has_picture, cover_placeholder, cover_color, cover_version, metadata, created_at, updated_at FROM authors ";
             String orderClause = " ORDER BY sort_name " + sortCriteria.getDirection().getSqlKeyword() + ", created_at DESC, id DESC";
 
             String cursorSortValue = null;
@@ -333,19 +337,92 @@ public class AuthorRepositoryAdapter implements AuthorRepositoryPort {
 
     @Override
     public PageResult<Author> searchByName(String query, String cursor, int limit) {
-    String sql = "SELECT id, name, sort_name, bio, birth_date, death_date, website_url, has_picture, metadata, created_at, updated_at FROM authors WHERE LOWER(name) LIKE ? OR LOWER(sort_name) LIKE ? ORDER BY created_at";
-        List<Author> list = new ArrayList<>();
-        String like = "%" + query.toLowerCase() + "%";
-        try (Connection conn = dataSource.getConnection(); PreparedStatement ps = conn.prepareStatement(sql)) {
-            ps.setString(1, like);
-            ps.setString(2, like);
-            try (ResultSet rs = ps.executeQuery()) {
-                while (rs.next()) list.add(map(rs));
+        // Relevance: exact name, name prefix, word prefix, then any other match; shorter names first.
+        // The relevance key is materialized so pages can continue from it with a keyset predicate.
+        String matches = "FROM authors WHERE name_norm LIKE ? OR sort_name_norm LIKE ?";
+        String ranked = "SELECT id, name, sort_name, bio, birth_date, death_date, website_url, has_picture, cover_placeholder, cover_color, cover_version, metadata, created_at, updated_at, " +
+                        "CASE WHEN name_norm = ? THEN 0 WHEN name_norm LIKE ? THEN 1 WHEN name_norm LIKE ? THEN 2 ELSE 3 END AS search_rank, " +
+                        "LENGTH(name) AS name_length, COALESCE(sort_name, '') AS sort_key " + matches;
+        int pageSize = Math.max(1, limit);
+        String q = sanitizer.normalizeForSearch(query);
+        String like = "%" + q + "%";
+
+        // Cursor: rank|name length|url-encoded sort key|id of the last author of the previous page
+        Integer cursorRank = null;
+        Integer cursorLength = null;
+        String cursorSortKey = null;
+        UUID cursorId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                String decoded = new String(java.util.Base64.getUrlDecoder().decode(cursor), java.nio.charset.StandardCharsets.UTF_8);
+                String[] parts = decoded.split("\\|", -1);
+                if (parts.length == 4) {
+                    cursorRank = Integer.parseInt(parts[0]);
+                    cursorLength = Integer.parseInt(parts[1]);
+                    cursorSortKey = java.net.URLDecoder.decode(parts[2], java.nio.charset.StandardCharsets.UTF_8);
+                    cursorId = UUID.fromString(parts[3]);
+                }
+            } catch (Exception ignore) {
+                // If cursor is invalid, start from the first page
+                cursorRank = null;
+            }
+        }
+        boolean afterCursor = cursorRank != null && cursorId != null;
+
+        String sql = "SELECT * FROM (" + ranked + ") ranked" +
+                     (afterCursor ? " WHERE (search_rank, name_length, sort_key, id) > (?, ?, ?, ?)" : "") +
+                     " ORDER BY search_rank, name_length, sort_key, id LIMIT ?";
+        List<Author> items = new ArrayList<>();
+        boolean hasNext = false;
+        int lastRank = 0;
+        int lastLength = 0;
+        String lastSortKey = "";
+        int totalCount = 0;
+        try (Connection conn = dataSource.getConnection()) {
+            try (PreparedStatement ps = conn.prepareStatement(sql)) {
+                int idx = 1;
+                ps.setString(idx++, q);
+                ps.setString(idx++, q + "%");
+                ps.setString(idx++, "% " + q + "%");
+                ps.setString(idx++, like);
+                ps.setString(idx++, like);
+                if (afterCursor) {
+                    ps.setInt(idx++, cursorRank);
+                    ps.setInt(idx++, cursorLength);
+                    ps.setString(idx++, cursorSortKey);
+                    ps.setObject(idx++, cursorId);
+                }
+                // One extra row tells whether another page follows
+                ps.setInt(idx, pageSize + 1);
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        if (items.size() == pageSize) {
+                            hasNext = true;
+                            break;
+                        }
+                        items.add(map(rs));
+                        lastRank = rs.getInt("search_rank");
+                        lastLength = rs.getInt("name_length");
+                        lastSortKey = rs.getString("sort_key");
+                    }
+                }
+            }
+            try (PreparedStatement cps = conn.prepareStatement("SELECT COUNT(*) " + matches)) {
+                cps.setString(1, like);
+                cps.setString(2, like);
+                try (ResultSet rs = cps.executeQuery()) { if (rs.next()) totalCount = rs.getInt(1); }
             }
         } catch (SQLException e) {
             throw new RuntimeException("DB error searching authors", e);
         }
-        return new PageResult<>(list, null, null, false, false, list.size());
+
+        String nextCursor = null;
+        if (hasNext) {
+            String raw = lastRank + "|" + lastLength + "|"
+                + java.net.URLEncoder.encode(lastSortKey, java.nio.charset.StandardCharsets.UTF_8) + "|" + items.get(pageSize - 1).getId();
+            nextCursor = java.util.Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(java.nio.charset.StandardCharsets.UTF_8));
+        }
+        return new PageResult<>(items, nextCursor, null, hasNext, false, totalCount);
     }
 
     @Override
@@ -358,6 +435,20 @@ public class AuthorRepositoryAdapter implements AuthorRepositoryPort {
         }
     }
 
+    @Override
+    public Map<UUID, String> findAllNames() {
+        String sql = "SELECT id, name FROM authors";
+        Map<UUID, String> names = new LinkedHashMap<>();
+        try (Connection conn = dataSource.getConnection(); PreparedStatement ps = conn.prepareStatement(sql)) {
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) names.put((UUID) rs.getObject("id"), rs.getString("name"));
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("DB error loading author names", e);
+        }
+        return names;
+    }
+
     private Author map(ResultSet rs) throws SQLException {
         UUID id = (UUID) rs.getObject("id");
         String name = rs.getString("name");
@@ -396,6 +487,7 @@ public class AuthorRepositoryAdapter implements AuthorRepositoryPort {
             updated != null ? updated.toInstant().atOffset(java.time.ZoneOffset.UTC) : null
         );
         a.setHasPicture(hasPicture);
+        a.setCoverPlaceholder(BookRepositoryAdapter.mapCoverPlaceholder(rs));
         return a;
     }
 
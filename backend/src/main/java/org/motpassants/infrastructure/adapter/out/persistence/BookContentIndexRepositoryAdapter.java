@@ -0,0 +1,195 @@
+package org.motpassants.infrastructure.adapter.out.persistence;
+
+import io.agroal.api.AgroalDataSource;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import org.motpassants.domain.core.model.Book;
+import org.motpassants.domain.core.model.BookContentChapter;
+import org.motpassants.domain.core.model.ContentSearchHit;
+import org.motpassants.domain.port.out.BookContentIndexPort;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Postgres full-text implementation of the book content index: one tsvector per chapter,
+ * searched through a GIN index, with ts_headline snippets computed for the returned hits only.
+ */
+@ApplicationScoped
+public class BookContentIndexRepositoryAdapter implements BookContentIndexPort {
+
+    // Markers placed around matched words by ts_headline; control characters never occur in indexed text
+    private static final String START_SEL = "\u0002";
+    private static final String STOP_SEL = "\u0003";
+    private static final String HEADLINE_OPTIONS =
+        "StartSel=" + START_SEL + ", StopSel=" + STOP_SEL + ", MinWords=12, MaxWords=30, ShortWord=2, MaxFragments=1";
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    @Inject
+    AgroalDataSource dataSource;
+
+    @Override
+    public List<Book> findBooksPendingContentIndex(int limit) {
+        String sql = "SELECT b.id, b.title, b.path FROM books b " +
+                     "LEFT JOIN book_content_index s ON s.book_id = b.id " +
+                     "WHERE LOWER(b.path) LIKE '%.epub' AND (s.book_id IS NULL OR s.indexed_at < b.updated_at) " +
+                     "ORDER BY b.created_at, b.id LIMIT ?";
+        List<Book> books = new ArrayList<>();
+        try (Connection conn = dataSource.getConnection(); PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setInt(1, Math.max(1, limit));
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    Book book = new Book();
+                    book.setId((UUID) rs.getObject("id"));
+                    book.setTitle(rs.getString("title"));
+                    book.setPath(rs.getString("path"));
+                    books.add(book);
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("DB error finding books pending content indexing", e);
+        }
+        return books;
+    }
+
+    @Override
+    @Transactional
+    public void replaceChapters(UUID bookId, List<BookContentChapter> chapters) {
+        String delete = "DELETE FROM book_content_chapters WHERE book_id = ?";
+        String insert = "INSERT INTO book_content_chapters (book_id, chapter_index, href, media_type, content, content_vector) " +
+                        "VALUES (?, ?, ?, ?, ?, to_tsvector('simple', ?))";
+        try (Connection conn = dataSource.getConnection()) {
+            try (PreparedStatement ps = conn.prepareStatement(delete)) {
+                ps.setObject(1, bookId);
+                ps.executeUpdate();
+            }
+            try (PreparedStatement ps = conn.prepareStatement(insert)) {
+                for (BookContentChapter chapter : chapters) {
+                    if (chapter.text() == null || chapter.text().isBlank()) continue;
+                    ps.setObject(1, bookId);
+                    ps.setInt(2, chapter.index());
+                    ps.setString(3, chapter.href());
+                    ps.setString(4, chapter.mediaType());
+                    ps.setString(5, chapter.text());
+                    ps.setString(6, chapter.text());
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+            }
+            upsertState(conn, bookId, chapters.size(), "INDEXED", null);
+        } catch (SQLException e) {
+            throw new RuntimeException("DB error indexing book content", e);
+        }
+    }
+
+    @Override
+    @Transactional
+    public void markSkipped(UUID bookId, String reason) {
+        markWithoutContent(bookId, "SKIPPED", reason);
+    }
+
+    @Override
+    @Transactional
+    public void markFailed(UUID bookId, String error) {
+        markWithoutContent(bookId, "FAILED", error);
+    }
+
+    private void markWithoutContent(UUID bookId, String status, String message) {
+        try (Connection conn = dataSource.getConnection()) {
+            try (PreparedStatement ps = conn.prepareStatement("DELETE FROM book_content_chapters WHERE book_id = ?")) {
+                ps.setObject(1, bookId);
+                ps.executeUpdate();
+            }
+            upsertState(conn, bookId, 0, status, message);
+        } catch (SQLException e) {
+            throw new RuntimeException("DB error recording book content index state", e);
+        }
+    }
+
+    private static void upsertState(Connection conn, UUID bookId, int chapterCount, String status, String error) throws SQLException {
+        String sql = "INSERT INTO book_content_index (book_id, chapter_count, status, error, indexed_at) VALUES (?, ?, ?, ?, NOW()) " +
+                     "ON CONFLICT (book_id) DO UPDATE SET chapter_count = EXCLUDED.chapter_count, status = EXCLUDED.status, " +
+                     "error = EXCLUDED.error, indexed_at = EXCLUDED.indexed_at";
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setObject(1, bookId);
+            ps.setInt(2, chapterCount);
+            ps.setString(3, status);
+            ps.setString(4, error != null && error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+            ps.executeUpdate();
+        }
+    }
+
+    @Override
+    public List<ContentSearchHit> search(String query, UUID bookId, int limit) {
+        // Rank and limit on the GIN-indexed vectors first; snippets are only built for the hits kept
+        String sql = "WITH q AS (SELECT websearch_to_tsquery('simple', ?) AS query), " +
+                     "hits AS (SELECT c.book_id, c.chapter_index, c.href, c.media_type, c.content, " +
+                     "ts_rank(c.content_vector, q.query) AS rank FROM book_content_chapters c, q " +
+                     "WHERE c.content_vector @@ q.query" + (bookId != null ? " AND c.book_id = ?" : "") +
+                     " ORDER BY rank DESC, c.book_id, c.chapter_index LIMIT ?) " +
+                     "SELECT h.book_id, b.title, h.chapter_index, s.chapter_count, h.href, h.media_type, " +
+                     "ts_headline('simple', h.content, q.query, ?) AS snippet " +
+                     "FROM hits h CROSS JOIN q JOIN books b ON b.id = h.book_id " +
+                     "LEFT JOIN book_content_index s ON s.book_id = h.book_id " +
+                     "ORDER BY h.rank DESC, h.book_id, h.chapter_index";
+        List<ContentSearchHit> hits = new ArrayList<>();
+        try (Connection conn = dataSource.getConnection(); PreparedStatement ps = conn.prepareStatement(sql)) {
+            int i = 1;
+            ps.setString(i++, query);
+            if (bookId != null) ps.setObject(i++, bookId);
+            ps.setInt(i++, Math.max(1, limit));
+            ps.setString(i, HEADLINE_OPTIONS);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    hits.add(toHit(rs));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("DB error searching book contents", e);
+        }
+        return hits;
+    }
+
+    static ContentSearchHit toHit(ResultSet rs) throws SQLException {
+        String snippet = rs.getString("snippet");
+        String before = snippet != null ? snippet : "";
+        String highlight = "";
+        String after = "";
+        int start = before.indexOf(START_SEL);
+        if (start >= 0) {
+            int stop = before.indexOf(STOP_SEL, start);
+            if (stop < 0) stop = before.length();
+            // Phrase words are marked one by one; keep adjacent marked words in a single highlight
+            int next = stop + STOP_SEL.length();
+            while (next < before.length()) {
+                int gap = next;
+                while (gap < before.length() && Character.isWhitespace(before.charAt(gap))) gap++;
+                if (!before.startsWith(START_SEL, gap)) break;
+                int nextStop = before.indexOf(STOP_SEL, gap);
+                if (nextStop < 0) break;
+                stop = nextStop;
+                next = stop + STOP_SEL.length();
+            }
+            highlight = stripMarkers(before.substring(start + START_SEL.length(), stop));
+            after = stop < before.length() ? before.substring(stop + STOP_SEL.length()) : "";
+            before = before.substring(0, start);
+        }
+        return new ContentSearchHit(
+            (UUID) rs.getObject("book_id"),
+            rs.getString("title"),
+            rs.getInt("chapter_index"),
+            rs.getInt("chapter_count"),
+            rs.getString("href"),
+            rs.getString("media_type"),
+            stripMarkers(before),
+            highlight,
+            stripMarkers(after));
+    }
+
+    private static String stripMarkers(String text) {
+        return text.replace(START_SEL, "").replace(STOP_SEL, "");
+    }
+}
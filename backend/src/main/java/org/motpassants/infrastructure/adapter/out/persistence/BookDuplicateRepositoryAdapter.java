@@ -0,0 +1,184 @@
+package org.motpassants.infrastructure.adapter.out.persistence;
+
+import io.agroal.api.AgroalDataSource;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import org.motpassants.domain.core.model.BookDuplicateSource;
+import org.motpassants.domain.core.model.BookSignature;
+import org.motpassants.domain.core.model.DuplicateCandidate;
+import org.motpassants.domain.port.out.BookDuplicatePort;
+
+import java.sql.*;
+import java.util.*;
+
+/**
+ * Postgres storage of MinHash signatures and their LSH band buckets.
+ * Candidate buckets come from one aggregate over the (band, bucket) primary key;
+ * a sequence-backed version on each signature tells callers when to run it again.
+ */
+@ApplicationScoped
+public class BookDuplicateRepositoryAdapter implements BookDuplicatePort {
+
+    private static final String AUTHOR_NAMES = "SELECT a.%s FROM book_original_works bow " +
+        "JOIN original_work_authors owa ON owa.original_work_id = bow.original_work_id " +
+        "JOIN authors a ON a.id = owa.author_id WHERE bow.book_id = b.id";
+
+    @Inject
+    AgroalDataSource dataSource;
+
+    @Override
+    public List<BookDuplicateSource> findBooksPendingSignature(int limit) {
+        String sql = "SELECT b.id, b.title_norm, b.isbn, b.updated_at, ARRAY(" + AUTHOR_NAMES.formatted("name_norm") + ") AS authors " +
+                     "FROM books b LEFT JOIN book_minhash m ON m.book_id = b.id " +
+                     "WHERE m.book_id IS NULL OR m.source_updated_at IS DISTINCT FROM b.updated_at ORDER BY b.id LIMIT ?";
+        List<BookDuplicateSource> sources = new ArrayList<>();
+        try (Connection conn = dataSource.getConnection(); PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setInt(1, Math.max(1, limit));
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    Timestamp updated = rs.getTimestamp("updated_at");
+                    sources.add(new BookDuplicateSource(
+                        (UUID) rs.getObject("id"),
+                        rs.getString("title_norm"),
+                        stringList(rs.getArray("authors")),
+                        rs.getString("isbn"),
+                        updated == null ? null : updated.toInstant().atOffset(java.time.ZoneOffset.UTC)));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("DB error finding books pending duplicate signatures", e);
+        }
+        return sources;
+    }
+
+    @Override
+    @Transactional
+    public void saveSignatures(List<BookSignature> signatures) {
+        if (signatures.isEmpty()) {
+            return;
+        }
+        String deleteBands = "DELETE FROM book_minhash_bands WHERE book_id = ANY(?)";
+        String upsert = "INSERT INTO book_minhash (book_id, signature, source_updated_at, computed_at, version) " +
+                        "VALUES (?, ?, ?, NOW(), nextval('book_minhash_version_seq')) " +
+                        "ON CONFLICT (book_id) DO UPDATE SET signature = EXCLUDED.signature, source_updated_at = EXCLUDED.source_updated_at, " +
+                        "computed_at = EXCLUDED.computed_at, version = EXCLUDED.version";
+        String insertBand = "INSERT INTO book_minhash_bands (band, bucket, book_id) VALUES (?, ?, ?) ON CONFLICT DO NOTHING";
+        try (Connection conn = dataSource.getConnection()) {
+            try (PreparedStatement ps = conn.prepareStatement(deleteBands)) {
+                ps.setArray(1, conn.createArrayOf("uuid", signatures.stream().map(BookSignature::bookId).toArray()));
+                ps.executeUpdate();
+            }
+            try (PreparedStatement sig = conn.prepareStatement(upsert); PreparedStatement band = conn.prepareStatement(insertBand)) {
+                for (BookSignature signature : signatures) {
+                    sig.setObject(1, signature.bookId());
+                    sig.setArray(2, conn.createArrayOf("integer", Arrays.stream(signature.values()).boxed().toArray()));
+                    if (signature.sourceUpdatedAt() != null) {
+                        sig.setTimestamp(3, Timestamp.from(signature.sourceUpdatedAt().toInstant()));
+                    } else {
+                        sig.setNull(3, Types.TIMESTAMP_WITH_TIMEZONE);
+                    }
+                    sig.addBatch();
+                    long[] buckets = signature.bandBuckets();
+                    for (int i = 0; i < buckets.length; i++) {
+                        band.setShort(1, (short) i);
+                        band.setLong(2, buckets[i]);
+                        band.setObject(3, signature.bookId());
+                        band.addBatch();
+                    }
+                }
+                sig.executeBatch();
+                band.executeBatch();
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("DB error saving duplicate signatures", e);
+        }
+    }
+
+    @Override
+    public long findSignatureVersion() {
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement ps = conn.prepareStatement("SELECT COALESCE(MAX(version), 0) FROM book_minhash");
+             ResultSet rs = ps.executeQuery()) {
+            return rs.next() ? rs.getLong(1) : 0L;
+        } catch (SQLException e) {
+            throw new RuntimeException("DB error reading duplicate signature version", e);
+        }
+    }
+
+    @Override
+    public List<List<UUID>> findCandidateBuckets(int maxBucketSize) {
+        String sql = "SELECT array_agg(book_id ORDER BY book_id) AS ids FROM book_minhash_bands " +
+                     "GROUP BY band, bucket HAVING COUNT(*) BETWEEN 2 AND ?";
+        List<List<UUID>> buckets = new ArrayList<>();
+        try (Connection conn = dataSource.getConnection(); PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setInt(1, Math.max(2, maxBucketSize));
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    buckets.add(List.of((UUID[]) rs.getArray("ids").getArray()));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("DB error finding duplicate candidate buckets", e);
+        }
+        return buckets;
+    }
+
+    @Override
+    public Map<UUID, int[]> findSignatures(Collection<UUID> bookIds) {
+        Map<UUID, int[]> signatures = new HashMap<>();
+        if (bookIds.isEmpty()) {
+            return signatures;
+        }
+        String sql = "SELECT book_id, signature FROM book_minhash WHERE book_id = ANY(?)";
+        try (Connection conn = dataSource.getConnection(); PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setArray(1, conn.createArrayOf("uuid", bookIds.toArray()));
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    Integer[] values = (Integer[]) rs.getArray("signature").getArray();
+                    signatures.put((UUID) rs.getObject("book_id"), Arrays.stream(values).mapToInt(Integer::intValue).toArray());
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("DB error loading duplicate signatures", e);
+        }
+        return signatures;
+    }
+
+    @Override
+    public List<DuplicateCandidate> findCandidates(Collection<UUID> bookIds) {
+        List<DuplicateCandidate> candidates = new ArrayList<>();
+        if (bookIds.isEmpty()) {
+            return candidates;
+        }
+        String sql = "SELECT b.id, b.title, b.isbn, b.path, ARRAY(" + AUTHOR_NAMES.formatted("name") + " ORDER BY a.name) AS authors " +
+                     "FROM books b WHERE b.id = ANY(?)";
+        try (Connection conn = dataSource.getConnection(); PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setArray(1, conn.createArrayOf("uuid", bookIds.toArray()));
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    candidates.add(new DuplicateCandidate(
+                        (UUID) rs.getObject("id"),
+                        rs.getString("title"),
+                        stringList(rs.getArray("authors")),
+                        rs.getString("isbn"),
+                        rs.getString("path")));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("DB error loading duplicate candidates", e);
+        }
+        return candidates;
+    }
+
+    private static List<String> stringList(Array array) throws SQLException {
+        if (array == null) {
+            return List.of();
+        }
+        List<String> values = new ArrayList<>();
+        for (Object value : (Object[]) array.getArray()) {
+            if (value != null) values.add(value.toString());
+        }
+        return values;
+    }
+}
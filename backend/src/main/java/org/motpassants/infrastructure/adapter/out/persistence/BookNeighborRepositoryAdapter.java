@@ -0,0 +1,195 @@
+package org.motpassants.infrastructure.adapter.out.persistence;
+
+import io.agroal.api.AgroalDataSource;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import org.motpassants.domain.core.model.BookFeatures;
+import org.motpassants.domain.core.model.BookNeighbor;
+import org.motpassants.domain.port.out.BookNeighborPort;
+
+import java.sql.*;
+import java.util.*;
+
+/**
+ * Postgres storage of the precomputed similar books table and of the feature hashes it was computed from.
+ */
+@ApplicationScoped
+public class BookNeighborRepositoryAdapter implements BookNeighborPort {
+
+    @Inject
+    AgroalDataSource dataSource;
+
+    // Features in a fixed order with their hash, per book; books without features get an empty array
+    private static final String FEATURES = "SELECT b.id, " +
+        "COALESCE(ARRAY_AGG(k.feature ORDER BY k.feature) FILTER (WHERE k.feature IS NOT NULL), '{}') AS features, " +
+        "HASHTEXTEXTENDED(COALESCE(STRING_AGG(k.feature, E'\\n' ORDER BY k.feature), ''), 0) AS features_hash " +
+        "FROM books b LEFT JOIN book_feature_keys k ON k.book_id = b.id ";
+
+    @Override
+    public int countBooks() {
+        try (Connection conn = dataSource.getConnection(); PreparedStatement ps = conn.prepareStatement("SELECT COUNT(*) FROM books");
+             ResultSet rs = ps.executeQuery()) {
+            return rs.next() ? rs.getInt(1) : 0;
+        } catch (SQLException e) {
+            throw new RuntimeException("DB error counting books", e);
+        }
+    }
+
+    @Override
+    public List<BookFeatures> loadBookFeatures() {
+        return queryFeatures(FEATURES + "GROUP BY b.id", null);
+    }
+
+    @Override
+    public List<BookFeatures> loadBookFeatures(Collection<UUID> bookIds) {
+        if (bookIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return queryFeatures(FEATURES + "WHERE b.id = ANY(?) GROUP BY b.id", bookIds);
+    }
+
+    @Override
+    public List<BookFeatures> loadChangedBookFeatures() {
+        String sql = "SELECT f.* FROM (" + FEATURES + "GROUP BY b.id) f " +
+                     "LEFT JOIN book_neighbor_state s ON s.book_id = f.id " +
+                     "WHERE s.book_id IS NULL OR s.features_hash <> f.features_hash";
+        return queryFeatures(sql, null);
+    }
+
+    @Override
+    public Map<String, Integer> countBooksPerFeature(Collection<String> features) {
+        Map<String, Integer> counts = new HashMap<>();
+        if (features.isEmpty()) {
+            return counts;
+        }
+        String sql = "SELECT feature, COUNT(*) AS books FROM book_feature_keys WHERE feature = ANY(?) GROUP BY feature";
+        try (Connection conn = dataSource.getConnection(); PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setArray(1, conn.createArrayOf("text", features.toArray()));
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) counts.put(rs.getString("feature"), rs.getInt("books"));
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("DB error counting books per feature", e);
+        }
+        return counts;
+    }
+
+    @Override
+    public Set<UUID> findBooksSharing(Collection<String> features, int maxBooksPerFeature) {
+        Set<UUID> books = new HashSet<>();
+        if (features.isEmpty()) {
+            return books;
+        }
+        String sql = "SELECT DISTINCT k.book_id FROM book_feature_keys k WHERE k.feature IN (" +
+                     "SELECT feature FROM book_feature_keys WHERE feature = ANY(?) GROUP BY feature HAVING COUNT(*) <= ?)";
+        try (Connection conn = dataSource.getConnection(); PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setArray(1, conn.createArrayOf("text", features.toArray()));
+            ps.setInt(2, maxBooksPerFeature);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) books.add((UUID) rs.getObject("book_id"));
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("DB error finding books sharing features", e);
+        }
+        return books;
+    }
+
+    @Override
+    public Set<UUID> findBooksListing(Collection<UUID> neighborIds) {
+        Set<UUID> books = new HashSet<>();
+        if (neighborIds.isEmpty()) {
+            return books;
+        }
+        String sql = "SELECT DISTINCT book_id FROM book_neighbors WHERE neighbor_id = ANY(?)";
+        try (Connection conn = dataSource.getConnection(); PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setArray(1, conn.createArrayOf("uuid", neighborIds.toArray()));
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) books.add((UUID) rs.getObject("book_id"));
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("DB error finding books listing neighbors", e);
+        }
+        return books;
+    }
+
+    @Override
+    public Set<UUID> findBooksListingDeletedBooks() {
+        // Deleting a book nulls the neighbor of the rows naming it
+        Set<UUID> books = new HashSet<>();
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement ps = conn.prepareStatement("SELECT DISTINCT book_id FROM book_neighbors WHERE neighbor_id IS NULL");
+             ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) books.add((UUID) rs.getObject("book_id"));
+        } catch (SQLException e) {
+            throw new RuntimeException("DB error finding books listing deleted books", e);
+        }
+        return books;
+    }
+
+    @Override
+    @Transactional
+    public void replaceNeighbors(Map<UUID, List<BookNeighbor>> neighbors, Map<UUID, Long> featureHashes) {
+        if (neighbors.isEmpty()) {
+            return;
+        }
+        String delete = "DELETE FROM book_neighbors WHERE book_id = ANY(?)";
+        // Books deleted since the features were loaded are skipped rather than failing the batch
+        String insert = "INSERT INTO book_neighbors (book_id, rank, neighbor_id, score) " +
+                        "SELECT ?, ?, ?, ? WHERE EXISTS (SELECT 1 FROM books WHERE id = ?) AND EXISTS (SELECT 1 FROM books WHERE id = ?)";
+        String upsertState = "INSERT INTO book_neighbor_state (book_id, features_hash, computed_at) " +
+                             "SELECT ?, ?, NOW() WHERE EXISTS (SELECT 1 FROM books WHERE id = ?) " +
+                             "ON CONFLICT (book_id) DO UPDATE SET features_hash = EXCLUDED.features_hash, computed_at = EXCLUDED.computed_at";
+        try (Connection conn = dataSource.getConnection()) {
+            try (PreparedStatement ps = conn.prepareStatement(delete)) {
+                ps.setArray(1, conn.createArrayOf("uuid", neighbors.keySet().toArray()));
+                ps.executeUpdate();
+            }
+            try (PreparedStatement ps = conn.prepareStatement(insert); PreparedStatement state = conn.prepareStatement(upsertState)) {
+                for (Map.Entry<UUID, List<BookNeighbor>> entry : neighbors.entrySet()) {
+                    UUID bookId = entry.getKey();
+                    short rank = 0;
+                    for (BookNeighbor neighbor : entry.getValue()) {
+                        ps.setObject(1, bookId);
+                        ps.setShort(2, rank++);
+                        ps.setObject(3, neighbor.neighborId());
+                        ps.setFloat(4, (float) neighbor.score());
+                        ps.setObject(5, bookId);
+                        ps.setObject(6, neighbor.neighborId());
+                        ps.addBatch();
+                    }
+                    Long hash = featureHashes.get(bookId);
+                    if (hash != null) {
+                        state.setObject(1, bookId);
+                        state.setLong(2, hash);
+                        state.setObject(3, bookId);
+                        state.addBatch();
+                    }
+                }
+                ps.executeBatch();
+                state.executeBatch();
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("DB error saving similar books", e);
+        }
+    }
+
+    private List<BookFeatures> queryFeatures(String sql, Collection<UUID> bookIds) {
+        List<BookFeatures> books = new ArrayList<>();
+        try (Connection conn = dataSource.getConnection(); PreparedStatement ps = conn.prepareStatement(sql)) {
+            if (bookIds != null) {
+                ps.setArray(1, conn.createArrayOf("uuid", bookIds.toArray()));
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    Array array = rs.getArray("features");
+                    List<String> features = array == null ? List.of() : List.of((String[]) array.getArray());
+                    books.add(new BookFeatures((UUID) rs.getObject("id"), features, rs.getLong("features_hash")));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("DB error loading book features", e);
+        }
+        return books;
+    }
+}
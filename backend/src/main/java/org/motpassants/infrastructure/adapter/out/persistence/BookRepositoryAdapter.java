@@ -4,15 +4,25 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import io.agroal.api.AgroalDataSource;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
 import org.motpassants.domain.core.model.Book;
+import org.motpassants.domain.core.model.BookFacets;
+import org.motpassants.domain.core.model.BookQuery;
 import org.motpassants.domain.core.model.BookSearchCriteria;
 import org.motpassants.domain.core.model.BookSortCriteria;
+import org.motpassants.domain.core.model.CoverPlaceholder;
+import org.motpassants.domain.core.model.FacetCount;
 import org.motpassants.domain.core.model.PageResult;
+import org.motpassants.domain.core.model.SeriesBookEntry;
+import org.motpassants.domain.core.model.SortDirection;
+import org.motpassants.domain.core.model.SortField;
 import org.motpassants.domain.port.out.BookRepository;
+import org.motpassants.infrastructure.security.InputSanitizationService;
 
 import java.sql.*;
 import java.time.OffsetDateTime;
 import java.util.*;
+import java.util.function.Consumer;
 
 @ApplicationScoped
 public class BookRepositoryAdapter implements BookRepository {
@@ -23,6 +33,34 @@ public class BookRepositoryAdapter implements BookRepository {
     @Inject
     ObjectMapper objectMapper;
 
+    @Inject
+    InputSanitizationService sanitizer;
+
+    // Values returned per facet; the long tail is left out
+    private static final int MAX_FACET_VALUES = 50;
+    // Order of criteria search results
+    private static final BookSortCriteria CRITERIA_ORDER = new BookSortCriteria(SortField.TITLE_SORT, SortDirection.ASC);
+
+    // Conditions over books aliased b, shared by criteria and structured queries; each takes one parameter
+    private static final String AUTHOR_MATCH = "EXISTS (SELECT 1 FROM book_original_works bow " +
+        "JOIN original_work_authors owa ON owa.original_work_id = bow.original_work_id " +
+        "JOIN authors a ON a.id = owa.author_id WHERE bow.book_id = b.id AND a.name_norm LIKE ?)";
+    private static final String SERIES_MATCH = "EXISTS (SELECT 1 FROM book_series bs JOIN series s ON s.id = bs.series_id " +
+        "WHERE bs.book_id = b.id AND s.name_norm LIKE ?)";
+    private static final String PUBLISHER_MATCH = "EXISTS (SELECT 1 FROM publishers p WHERE p.id = b.publisher_id AND p.name_norm LIKE ?)";
+    private static final String FORMAT_MATCH = "EXISTS (SELECT 1 FROM formats f WHERE f.book_id = b.id AND LOWER(f.format_type) = ?)";
+    private static final String TAG_MATCH = "EXISTS (SELECT 1 FROM book_tags bt JOIN tags t ON t.id = bt.tag_id " +
+        "WHERE bt.book_id = b.id AND t.name_norm = ?)";
+    private static final Map<BookQuery.Field, String> FIELD_CONDITIONS = new EnumMap<>(Map.of(
+        BookQuery.Field.TITLE, "b.title_norm LIKE ?",
+        BookQuery.Field.AUTHOR, AUTHOR_MATCH,
+        BookQuery.Field.SERIES, SERIES_MATCH,
+        BookQuery.Field.PUBLISHER, PUBLISHER_MATCH,
+        BookQuery.Field.TAG, TAG_MATCH,
+        BookQuery.Field.LANGUAGE, "LOWER(b.language_code) = ?",
+        BookQuery.Field.FORMAT, FORMAT_MATCH,
+        BookQuery.Field.ISBN, "b.isbn_norm LIKE ?"));
+
     @Override
     public PageResult<Book> findAll(String cursor, int limit, BookSortCriteria sortCriteria) {
         // Validate sort criteria
@@ -35,77 +73,16 @@ public class BookRepositoryAdapter implements BookRepository {
         // For updated_at/publication_date: epochMicros of the sort field
         // For title_sort: the actual string value (URL-encoded)
         
-        String baseSql = "SELECT id, title, title_sort, has_cover, created_at, updated_at, publication_date, language_code " +
+        String baseSql = "SELECT id, title, title_sort, has_cover, created_at, updated_at, publication_date, language_code, cover_placeholder, cover_color, cover_version " +
             "FROM books ";
 
-        // Build ORDER BY clause with stable tiebreaker
-        String orderClause = " ORDER BY " + sortCriteria.toSqlOrderClause() + ", created_at DESC, id DESC";
+        String orderClause = orderByClause(sortCriteria);
 
-        // Parse cursor based on sort field type
-        Object cursorSortValue = null;
-        java.sql.Timestamp cursorTimestamp = null;
-        UUID cursorUuid = null;
-        
-        if (cursor != null && !cursor.isBlank()) {
-            try {
-                String decoded = new String(java.util.Base64.getUrlDecoder().decode(cursor));
-                String[] parts = decoded.split("\\|");
-                if (parts.length == 3) {
-                    // Parse sort value based on field type
-                    if (sortCriteria.getField().isTimestampField()) {
-                        // Parse timestamp for date/time fields
-                        long epochNumber = Long.parseLong(parts[0]);
-                        if (epochNumber >= 1_000_000_000_000_000L) {
-                            long seconds = epochNumber / 1_000_000L;
-                            long microsRemainder = epochNumber % 1_000_000L;
-                            long nanos = microsRemainder * 1_000L;
-                            cursorSortValue = java.sql.Timestamp.from(java.time.Instant.ofEpochSecond(seconds, nanos));
-                        } else {
-                            cursorSortValue = new java.sql.Timestamp(epochNumber);
-                        }
-                    } else {
-                        // Parse string value (URL-decoded) for text fields
-                        cursorSortValue = java.net.URLDecoder.decode(parts[0], "UTF-8");
-                    }
-                    
-                    // Parse created_at tiebreaker timestamp
-                    long createdAtEpoch = Long.parseLong(parts[1]);
-                    if (createdAtEpoch >= 1_000_000_000_000_000L) {
-                        long seconds = createdAtEpoch / 1_000_000L;
-                        long microsRemainder = createdAtEpoch % 1_000_000L;
-                        long nanos = microsRemainder * 1_000L;
-                        cursorTimestamp = java.sql.Timestamp.from(java.time.Instant.ofEpochSecond(seconds, nanos));
-                    } else {
-                        cursorTimestamp = new java.sql.Timestamp(createdAtEpoch);
-                    }
-                    
-                    cursorUuid = java.util.UUID.fromString(parts[2]);
-                }
-            } catch (Exception ignore) {
-                // If cursor is invalid, treat as no cursor
-                cursorSortValue = null;
-                cursorTimestamp = null;
-                cursorUuid = null;
-            }
-        }
+        Object[] position = decodeCursor(cursor, sortCriteria);
 
         StringBuilder sql = new StringBuilder(baseSql);
-        if (cursorSortValue != null && cursorTimestamp != null && cursorUuid != null) {
-            // Build WHERE clause based on sort direction and field
-            String sortColumn = sortCriteria.getField().getColumnName();
-            boolean isDesc = sortCriteria.getDirection().getSqlKeyword().equals("DESC");
-            
-            if (isDesc) {
-                // For DESC ordering: fetch rows with sort value < cursor OR (sort value = cursor AND created_at < cursor) OR (sort value = cursor AND created_at = cursor AND id < cursor)
-                sql.append("WHERE (").append(sortColumn).append(" < ? OR ")
-                   .append("(").append(sortColumn).append(" = ? AND created_at < ?) OR ")
-                   .append("(").append(sortColumn).append(" = ? AND created_at = ? AND id < ?))");
-            } else {
-                // For ASC ordering: fetch rows with sort value > cursor OR (sort value = cursor AND created_at < cursor) OR (sort value = cursor AND created_at = cursor AND id < cursor)
-                sql.append("WHERE (").append(sortColumn).append(" > ? OR ")
-                   .append("(").append(sortColumn).append(" = ? AND created_at < ?) OR ")
-                   .append("(").append(sortColumn).append(" = ? AND created_at = ? AND id < ?))");
-            }
+        if (position != null) {
+            sql.append("WHERE ").append(keysetCondition(sortCriteria));
         }
         sql.append(orderClause).append(" LIMIT ").append(Math.max(1, limit + 1)); // fetch one extra to know hasNext
 
@@ -122,14 +99,14 @@ public class BookRepositoryAdapter implements BookRepository {
 
             try (PreparedStatement ps = conn.prepareStatement(sql.toString())) {
                 int idx = 1;
-                if (cursorSortValue != null && cursorTimestamp != null && cursorUuid != null) {
+                if (position != null) {
                     // Bind parameters for WHERE clause (6 total: sortValue x3, timestamp x2, uuid x1)
-                    ps.setObject(idx++, cursorSortValue);
-                    ps.setObject(idx++, cursorSortValue);
-                    ps.setTimestamp(idx++, cursorTimestamp);
-                    ps.setObject(idx++, cursorSortValue);
-                    ps.setTimestamp(idx++, cursorTimestamp);
-                    ps.setObject(idx++, cursorUuid);
+                    ps.setObject(idx++, position[0]);
+                    ps.setObject(idx++, position[0]);
+                    ps.setTimestamp(idx++, (Timestamp) position[1]);
+                    ps.setObject(idx++, position[0]);
+                    ps.setTimestamp(idx++, (Timestamp) position[1]);
+                    ps.setObject(idx++, position[2]);
                 }
 
                 try (ResultSet rs = ps.executeQuery()) {
@@ -146,55 +123,7 @@ public class BookRepositoryAdapter implements BookRepository {
                 Book lastOfPage = items.get(limit - 1);
                 items = new ArrayList<>(items.subList(0, limit));
                 
-                // Build nextCursor based on sort field
-                long sortValueEpoch = 0L;
-                String sortValueStr = "";
-                
-                if (sortCriteria.getField().isTimestampField()) {
-                    if (sortCriteria.getField().getColumnName().equals("updated_at")) {
-                        java.time.OffsetDateTime updatedAt = lastOfPage.getUpdatedAt();
-                        if (updatedAt != null) {
-                            long seconds = updatedAt.toInstant().getEpochSecond();
-                            long nanos = updatedAt.toInstant().getNano();
-                            sortValueEpoch = seconds * 1_000_000L + (nanos / 1_000L);
-                        }
-                    } else if (sortCriteria.getField().getColumnName().equals("publication_date")) {
-                        java.time.LocalDate pubDate = lastOfPage.getPublicationDate();
-                        if (pubDate != null) {
-                            long seconds = pubDate.atStartOfDay(java.time.ZoneOffset.UTC).toInstant().getEpochSecond();
-                            sortValueEpoch = seconds * 1_000_000L;
-                        }
-                    }
-                } else {
-                    // Handle string fields
-                    if (sortCriteria.getField().getColumnName().equals("title_sort")) {
-                        sortValueStr = lastOfPage.getTitleSort() != null ? lastOfPage.getTitleSort() : "";
-                    }
-                }
-                
-                // Get created_at for tiebreaker
-                java.time.OffsetDateTime createdAt = lastOfPage.getCreatedAt();
-                long createdAtMicros = 0L;
-                if (createdAt != null) {
-                    long seconds = createdAt.toInstant().getEpochSecond();
-                    long nanos = createdAt.toInstant().getNano();
-                    createdAtMicros = seconds * 1_000_000L + (nanos / 1_000L);
-                }
-                
-                UUID id = lastOfPage.getId();
-                String raw;
-                if (!sortCriteria.getField().isTimestampField()) {
-                    // URL-encode string values
-                    try {
-                        sortValueStr = java.net.URLEncoder.encode(sortValueStr, "UTF-8");
-                    } catch (Exception e) {
-                        sortValueStr = "";
-                    }
-                    raw = sortValueStr + "|" + createdAtMicros + "|" + id;
-                } else {
-                    raw = sortValueEpoch + "|" + createdAtMicros + "|" + id;
-                }
-                nextCursor = java.util.Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes());
+                nextCursor = encodeCursor(lastOfPage, sortCriteria);
             } else if (!items.isEmpty()) {
                 // No more pages
                 hasNext = false;
@@ -208,6 +137,123 @@ public class BookRepositoryAdapter implements BookRepository {
         return new PageResult<>(items, nextCursor, null, hasNext, false, totalCount);
     }
 
+    /**
+     * ORDER BY clause of findAll, with created_at and id as stable tiebreakers.
+     */
+    static String orderByClause(BookSortCriteria sortCriteria) {
+        return " ORDER BY " + sortCriteria.toSqlOrderClause() + ", created_at DESC, id DESC";
+    }
+
+    /**
+     * Condition selecting the books after a decoded cursor position in {@link #orderByClause} order.
+     * Takes six parameters: sort value, sort value, created_at, sort value, created_at, id.
+     */
+    static String keysetCondition(BookSortCriteria sortCriteria) {
+        String sortColumn = sortCriteria.getField().getColumnName();
+        // Past the cursor on the sort value, then on the created_at DESC and id DESC tiebreakers
+        String comparison = sortCriteria.getDirection() == SortDirection.DESC ? " < ?" : " > ?";
+        return "(" + sortColumn + comparison + " OR "
+            + "(" + sortColumn + " = ? AND created_at < ?) OR "
+            + "(" + sortColumn + " = ? AND created_at = ? AND id < ?))";
+    }
+
+    /**
+     * Decode a findAll cursor, base64("<sortValue>|<epochMicros>|<uuid>"), for the given sort.
+     * Timestamp sort values are epoch micros (or millis in older cursors), text values are URL-encoded.
+     * An array rather than a holder type: every class of this package must be an outbound port adapter.
+     *
+     * @return {sort value, created_at Timestamp, id UUID}, or null when the cursor is missing or invalid
+     */
+    static Object[] decodeCursor(String cursor, BookSortCriteria sortCriteria) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String decoded = new String(java.util.Base64.getUrlDecoder().decode(cursor));
+            String[] parts = decoded.split("\\|");
+            if (parts.length != 3) {
+                return null;
+            }
+            // created_at tells the unit of the whole cursor: a sort value such as a
+            // publication date before 2001 is below 10^15 in micros as well
+            long createdAtEpoch = Long.parseLong(parts[1]);
+            boolean micros = createdAtEpoch >= 1_000_000_000_000_000L;
+            // Parse sort value based on field type
+            Object sortValue = sortCriteria.getField().isTimestampField()
+                ? timestampOfEpoch(Long.parseLong(parts[0]), micros)
+                : java.net.URLDecoder.decode(parts[0], "UTF-8");
+            Timestamp createdAt = timestampOfEpoch(createdAtEpoch, micros);
+            return new Object[] {sortValue, createdAt, java.util.UUID.fromString(parts[2])};
+        } catch (Exception ignore) {
+            // If cursor is invalid, treat as no cursor
+            return null;
+        }
+    }
+
+    /**
+     * Encode the findAll cursor pointing after the given book for the given sort.
+     */
+    static String encodeCursor(Book lastOfPage, BookSortCriteria sortCriteria) {
+        long sortValueEpoch = 0L;
+        String sortValueStr = "";
+        
+        if (sortCriteria.getField().isTimestampField()) {
+            if (sortCriteria.getField().getColumnName().equals("updated_at")) {
+                java.time.OffsetDateTime updatedAt = lastOfPage.getUpdatedAt();
+                if (updatedAt != null) {
+                    long seconds = updatedAt.toInstant().getEpochSecond();
+                    long nanos = updatedAt.toInstant().getNano();
+                    sortValueEpoch = seconds * 1_000_000L + (nanos / 1_000L);
+                }
+            } else if (sortCriteria.getField().getColumnName().equals("publication_date")) {
+                java.time.LocalDate pubDate = lastOfPage.getPublicationDate();
+                if (pubDate != null) {
+                    long seconds = pubDate.atStartOfDay(java.time.ZoneOffset.UTC).toInstant().getEpochSecond();
+                    sortValueEpoch = seconds * 1_000_000L;
+                }
+            }
+        } else {
+            // Handle string fields
+            if (sortCriteria.getField().getColumnName().equals("title_sort")) {
+                sortValueStr = lastOfPage.getTitleSort() != null ? lastOfPage.getTitleSort() : "";
+            }
+        }
+        
+        // Get created_at for tiebreaker
+        java.time.OffsetDateTime createdAt = lastOfPage.getCreatedAt();
+        long createdAtMicros = 0L;
+        if (createdAt != null) {
+            long seconds = createdAt.toInstant().getEpochSecond();
+            long nanos = createdAt.toInstant().getNano();
+            createdAtMicros = seconds * 1_000_000L + (nanos / 1_000L);
+        }
+        
+        UUID id = lastOfPage.getId();
+        String raw;
+        if (!sortCriteria.getField().isTimestampField()) {
+            // URL-encode string values
+            try {
+                sortValueStr = java.net.URLEncoder.encode(sortValueStr, "UTF-8");
+            } catch (Exception e) {
+                sortValueStr = "";
+            }
+            raw = sortValueStr + "|" + createdAtMicros + "|" + id;
+        } else {
+            raw = sortValueEpoch + "|" + createdAtMicros + "|" + id;
+        }
+        return java.util.Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes());
+    }
+
+    // Cursors hold epoch micros; older cursors hold millis
+    private static Timestamp timestampOfEpoch(long epochNumber, boolean micros) {
+        if (micros) {
+            long seconds = Math.floorDiv(epochNumber, 1_000_000L);
+            long nanos = Math.floorMod(epochNumber, 1_000_000L) * 1_000L;
+            return Timestamp.from(java.time.Instant.ofEpochSecond(seconds, nanos));
+        }
+        return new Timestamp(epochNumber);
+    }
+
     @Override
     public Optional<Book> findById(UUID id) {
         String sql = "SELECT id, title, title_sort, isbn, path, file_size, file_hash, has_cover, created_at, updated_at, publication_date, language_code, publisher_id, metadata, search_vector FROM books WHERE id = ?";
@@ -349,6 +395,34 @@ public class BookRepositoryAdapter implements BookRepository {
         return items;
     }
 
+    @Override
+    @Transactional
+    public void forEachBookInSeries(UUID seriesId, Consumer<SeriesBookEntry> consumer) {
+        // Served by idx_book_series_series_index; the transaction lets the driver fetch rows in chunks
+        String sql = "SELECT b.id, b.title, b.has_cover, bs.series_index, b.publication_date " +
+                     "FROM book_series bs JOIN books b ON b.id = bs.book_id " +
+                     "WHERE bs.series_id = ? " +
+                     "ORDER BY bs.series_index NULLS LAST, b.title_sort, b.id";
+        try (Connection conn = dataSource.getConnection(); PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setObject(1, seriesId);
+            ps.setFetchSize(200);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    java.math.BigDecimal index = rs.getBigDecimal("series_index");
+                    java.sql.Date published = rs.getDate("publication_date");
+                    consumer.accept(new SeriesBookEntry(
+                        (UUID) rs.getObject("id"),
+                        rs.getString("title"),
+                        rs.getBoolean("has_cover"),
+                        index != null ? index.doubleValue() : null,
+                        published != null ? published.toLocalDate() : null));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("DB error streaming books by series", e);
+        }
+    }
+
     @Override
     public Optional<Book> findByPath(String path) {
     String sql = "SELECT id, title, title_sort, isbn, path, file_size, file_hash, has_cover, created_at, updated_at, publication_date, language_code, publisher_id, metadata, search_vector FROM books WHERE path = ?";
@@ -479,23 +553,69 @@ public class BookRepositoryAdapter implements BookRepository {
         return 0;
     }
 
+    @Override
+    public Map<UUID, String> findAllTitles() {
+        String sql = "SELECT id, title FROM books";
+        Map<UUID, String> titles = new LinkedHashMap<>();
+        try (Connection conn = dataSource.getConnection(); PreparedStatement ps = conn.prepareStatement(sql)) {
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) titles.put((UUID) rs.getObject("id"), rs.getString("title"));
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("DB error loading book titles", e);
+        }
+        return titles;
+    }
+
     @Override
     public PageResult<Book> search(BookSearchCriteria criteria) {
-        // Minimal parity: same as in-memory, filter by title contains
-        List<Book> list = findByCriteria(criteria);
-        return new PageResult<>(list, null, null, false, false, list.size());
+        int limit = criteria != null && criteria.getLimit() > 0 ? Math.min(criteria.getLimit(), 100) : 20;
+        List<Object> params = new ArrayList<>();
+        String where = criteriaWhere(criteria, params);
+        // Same cursor format and keyset as findAll, in title order
+        Object[] position = decodeCursor(criteria != null ? criteria.getCursor() : null, CRITERIA_ORDER);
+        if (position != null) {
+            where += (where.isEmpty() ? " WHERE " : " AND ") + keysetCondition(CRITERIA_ORDER);
+            params.addAll(List.of(position[0], position[0], position[1], position[0], position[1], position[2]));
+        }
+        String sql = "SELECT b.id, b.title, b.title_sort, b.has_cover, b.created_at, b.updated_at, b.publication_date, b.language_code, b.cover_placeholder, b.cover_color, b.cover_version " +
+                     "FROM books b" + where + orderByClause(CRITERIA_ORDER) + " LIMIT ?";
+        params.add(limit + 1); // one extra row tells whether another page follows
+        List<Book> items = new ArrayList<>();
+        try (Connection conn = dataSource.getConnection(); PreparedStatement ps = conn.prepareStatement(sql)) {
+            bindParams(ps, params);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) items.add(mapRowToBookLight(rs));
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("DB error searching books by criteria", e);
+        }
+        if (items.size() <= limit) {
+            return new PageResult<>(items, null, null, false, false, -1);
+        }
+        items = new ArrayList<>(items.subList(0, limit));
+        return new PageResult<>(items, encodeCursor(items.get(limit - 1), CRITERIA_ORDER), null, true, false, -1);
     }
 
     @Override
-    public List<Book> findByTitleOrAuthorContaining(String query) {
-    String sql = "SELECT id, title, title_sort, has_cover, created_at, updated_at, publication_date, language_code " +
-             "FROM books WHERE LOWER(title) LIKE ? OR LOWER(path) LIKE ? OR LOWER(isbn) LIKE ? ORDER BY created_at";
+    public List<Book> searchByTitle(String query, int limit) {
+        // Relevance: exact title, title prefix, word prefix, then any other match; shorter titles first
+        String sql = "SELECT id, title, title_sort, has_cover, created_at, updated_at, publication_date, language_code, cover_placeholder, cover_color, cover_version " +
+                     "FROM books WHERE title_norm LIKE ? OR path_norm LIKE ? OR isbn_norm LIKE ? " +
+                     "ORDER BY CASE WHEN title_norm = ? THEN 0 WHEN title_norm LIKE ? THEN 1 " +
+                     "WHEN title_norm LIKE ? THEN 2 ELSE 3 END, LENGTH(title), title_sort, id LIMIT ?";
         List<Book> items = new ArrayList<>();
-        String like = "%" + query.toLowerCase() + "%";
+        // Every column is matched with the normalized term, the form search caches key on
+        String q = sanitizer.normalizeForSearch(query);
+        String like = "%" + q + "%";
         try (Connection conn = dataSource.getConnection(); PreparedStatement ps = conn.prepareStatement(sql)) {
             ps.setString(1, like);
             ps.setString(2, like);
             ps.setString(3, like);
+            ps.setString(4, q);
+            ps.setString(5, q + "%");
+            ps.setString(6, "% " + q + "%");
+            ps.setInt(7, Math.max(1, limit));
             try (ResultSet rs = ps.executeQuery()) {
                 while (rs.next()) items.add(mapRowToBookLight(rs));
             }
@@ -507,12 +627,243 @@ public class BookRepositoryAdapter implements BookRepository {
 
     @Override
     public List<Book> findByCriteria(BookSearchCriteria criteria) {
-        // Minimal: title contains
-        if (criteria != null && criteria.getTitle() != null && !criteria.getTitle().trim().isEmpty()) {
-            return findByTitleOrAuthorContaining(criteria.getTitle().trim());
+        return search(criteria).getItems();
+    }
+
+    @Override
+    public BookFacets countFacets(BookSearchCriteria criteria) {
+        // One pass over the matching books: every facet contributes (facet, value, book) rows,
+        // counted per value with DISTINCT so books with several formats or tags count once
+        List<Object> params = new ArrayList<>();
+        String sql = "WITH matched AS (SELECT b.id, b.language_code, b.publisher_id, b.publication_date FROM books b" +
+            criteriaWhere(criteria, params) + "), " +
+            "facet_rows AS (" +
+            "SELECT 'total' AS facet, '' AS value, NULL AS label, m.id FROM matched m " +
+            "UNION ALL SELECT 'language', m.language_code, l.name, m.id FROM matched m " +
+            "LEFT JOIN languages l ON l.code = m.language_code WHERE m.language_code IS NOT NULL " +
+            "UNION ALL SELECT 'publisher', p.name, p.name, m.id FROM matched m JOIN publishers p ON p.id = m.publisher_id " +
+            "UNION ALL SELECT 'decade', CAST((CAST(EXTRACT(YEAR FROM m.publication_date) AS INTEGER) / 10) * 10 AS TEXT), NULL, m.id " +
+            "FROM matched m WHERE m.publication_date IS NOT NULL " +
+            "UNION ALL SELECT 'format', LOWER(f.format_type), NULL, m.id FROM matched m JOIN formats f ON f.book_id = m.id " +
+            "UNION ALL SELECT 'series', s.name, s.name, m.id FROM matched m " +
+            "JOIN book_series bs ON bs.book_id = m.id JOIN series s ON s.id = bs.series_id " +
+            "UNION ALL SELECT 'tag', t.name, t.name, m.id FROM matched m " +
+            "JOIN book_tags bt ON bt.book_id = m.id JOIN tags t ON t.id = bt.tag_id), " +
+            "counted AS (SELECT facet, value, MAX(label) AS label, COUNT(DISTINCT id) AS n FROM facet_rows GROUP BY facet, value) " +
+            "SELECT facet, value, label, n FROM (" +
+            "SELECT c.facet, c.value, c.label, c.n, ROW_NUMBER() OVER (PARTITION BY c.facet ORDER BY c.n DESC, c.value) AS rn " +
+            "FROM counted c) ranked WHERE rn <= ? ORDER BY facet, n DESC, value";
+        params.add(MAX_FACET_VALUES);
+
+        long total = 0;
+        Map<String, List<FacetCount>> facets = new HashMap<>();
+        try (Connection conn = dataSource.getConnection(); PreparedStatement ps = conn.prepareStatement(sql)) {
+            bindParams(ps, params);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    String facet = rs.getString("facet");
+                    if ("total".equals(facet)) {
+                        total = rs.getLong("n");
+                        continue;
+                    }
+                    String value = rs.getString("value");
+                    String label = rs.getString("label");
+                    facets.computeIfAbsent(facet, k -> new ArrayList<>())
+                        .add(new FacetCount(value, label != null ? label : value, rs.getLong("n")));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("DB error counting book facets", e);
+        }
+        return new BookFacets(total,
+            facets.getOrDefault("language", List.of()),
+            facets.getOrDefault("publisher", List.of()),
+            facets.getOrDefault("decade", List.of()),
+            facets.getOrDefault("format", List.of()),
+            facets.getOrDefault("series", List.of()),
+            facets.getOrDefault("tag", List.of()));
+    }
+
+    /**
+     * WHERE clause over books aliased {@code b} for the filters set in the criteria,
+     * shared by the result and facet queries so both see the same books.
+     */
+    private String criteriaWhere(BookSearchCriteria criteria, List<Object> params) {
+        if (criteria == null) {
+            return "";
+        }
+        List<String> conditions = new ArrayList<>();
+        String query = normalizedOrNull(criteria.getQuery());
+        if (query != null) {
+            conditions.add("(b.title_norm LIKE ? OR b.path_norm LIKE ? OR b.isbn_norm LIKE ?)");
+            params.add("%" + query + "%");
+            params.add("%" + query + "%");
+            params.add("%" + query + "%");
+        }
+        String title = normalizedOrNull(criteria.getTitle());
+        if (title != null) {
+            conditions.add("b.title_norm LIKE ?");
+            params.add("%" + title + "%");
+        }
+        String author = normalizedOrNull(criteria.getAuthor());
+        if (author != null) {
+            conditions.add(AUTHOR_MATCH);
+            params.add("%" + author + "%");
+        }
+        String series = normalizedOrNull(criteria.getSeries());
+        if (series != null) {
+            conditions.add(SERIES_MATCH);
+            params.add("%" + series + "%");
+        }
+        String language = lowerOrNull(criteria.getLanguage());
+        if (language != null) {
+            conditions.add("LOWER(b.language_code) = ?");
+            params.add(language);
+        }
+        String publisher = normalizedOrNull(criteria.getPublisher());
+        if (publisher != null) {
+            conditions.add(PUBLISHER_MATCH);
+            params.add("%" + publisher + "%");
+        }
+        String format = lowerOrNull(criteria.getFormat());
+        if (format != null) {
+            conditions.add(FORMAT_MATCH);
+            params.add(format);
+        }
+        if (criteria.getDecade() != null) {
+            int decade = Math.floorDiv(criteria.getDecade(), 10) * 10;
+            conditions.add(yearCondition(decade, decade + 9, params));
+        }
+        String tag = normalizedOrNull(criteria.getTag());
+        if (tag != null) {
+            conditions.add(TAG_MATCH);
+            params.add(tag);
+        }
+        return conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions);
+    }
+
+    @Override
+    public PageResult<Book> findByQuery(BookQuery query, String cursor, int limit) {
+        int pageSize = Math.max(1, limit);
+        List<Object> params = new ArrayList<>();
+        // One extra row tells whether another page follows
+        String sql = compileQuery(query, decodeCursor(cursor, CRITERIA_ORDER), pageSize + 1, params);
+        List<Book> items = new ArrayList<>();
+        try (Connection conn = dataSource.getConnection(); PreparedStatement ps = conn.prepareStatement(sql)) {
+            bindParams(ps, params);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) items.add(mapRowToBookLight(rs));
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("DB error searching books by query", e);
+        }
+        if (items.size() <= pageSize) {
+            return new PageResult<>(items, null, null, false, false, -1);
+        }
+        items = new ArrayList<>(items.subList(0, pageSize));
+        return new PageResult<>(items, encodeCursor(items.get(pageSize - 1), CRITERIA_ORDER), null, true, false, -1);
+    }
+
+    @Override
+    public List<Book> findSimilarBooks(UUID bookId, int limit) {
+        String sql = "SELECT b.id, b.title, b.title_sort, b.has_cover, b.created_at, b.updated_at, b.publication_date, b.language_code, b.cover_placeholder, b.cover_color, b.cover_version " +
+                     "FROM book_neighbors n JOIN books b ON b.id = n.neighbor_id WHERE n.book_id = ? ORDER BY n.rank LIMIT ?";
+        List<Book> items = new ArrayList<>();
+        try (Connection conn = dataSource.getConnection(); PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setObject(1, bookId);
+            ps.setInt(2, Math.max(1, limit));
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) items.add(mapRowToBookLight(rs));
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("DB error loading similar books", e);
+        }
+        return items;
+    }
+
+    /**
+     * Compile a structured query to a single parameterized statement. Each clause maps to a
+     * predicate an index can serve: trigram indexes on the *_norm columns for text, the title
+     * tsvector for phrases, and btree indexes for language, format, tag and year.
+     * Results are in criteria search order, after the decoded cursor position when one is given.
+     */
+    String compileQuery(BookQuery query, Object[] position, int limit, List<Object> params) {
+        List<String> conditions = new ArrayList<>();
+        for (BookQuery.Clause clause : query.clauses()) {
+            String condition = switch (clause) {
+                case BookQuery.Term term -> termCondition(term, params);
+                case BookQuery.YearRange range -> yearCondition(range.from(), range.to(), params);
+            };
+            conditions.add(clause.negated() ? negate(condition) : condition);
+        }
+        if (position != null) {
+            conditions.add(keysetCondition(CRITERIA_ORDER));
+            params.addAll(List.of(position[0], position[0], position[1], position[0], position[1], position[2]));
+        }
+        params.add(limit);
+        return "SELECT b.id, b.title, b.title_sort, b.has_cover, b.created_at, b.updated_at, b.publication_date, b.language_code, b.cover_placeholder, b.cover_color, b.cover_version " +
+               "FROM books b" + (conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions)) +
+               orderByClause(CRITERIA_ORDER) + " LIMIT ?";
+    }
+
+    private String termCondition(BookQuery.Term term, List<Object> params) {
+        String value = term.value().trim();
+        String normalized = sanitizer.normalizeForSearch(value);
+        String lower = value.toLowerCase();
+        BookQuery.Field field = term.field();
+        if (field == BookQuery.Field.TEXT) {
+            // Title, path or ISBN, as plain search always matched; one table, so a bitmap OR of index scans
+            params.add(term.phrase() ? normalized : "%" + normalized + "%");
+            params.add("%" + normalized + "%");
+            params.add("%" + normalized + "%");
+            return "(" + (term.phrase() ? "b.title_vector @@ phraseto_tsquery('simple', ?)" : "b.title_norm LIKE ?") +
+                " OR b.path_norm LIKE ? OR b.isbn_norm LIKE ?)";
+        }
+        // Codes and tag names match exactly, ISBNs and names by containment
+        if (field == BookQuery.Field.TAG) {
+            params.add(normalized);
+        } else if (field == BookQuery.Field.LANGUAGE || field == BookQuery.Field.FORMAT) {
+            params.add(lower);
+        } else {
+            params.add("%" + normalized + "%");
+        }
+        return FIELD_CONDITIONS.get(field);
+    }
+
+    /**
+     * Publication date within the inclusive years, as a half-open date range on the indexed column.
+     */
+    private static String yearCondition(Integer from, Integer to, List<Object> params) {
+        List<String> bounds = new ArrayList<>();
+        if (from != null) {
+            bounds.add("b.publication_date >= ?");
+            params.add(java.sql.Date.valueOf(java.time.LocalDate.of(from, 1, 1)));
+        }
+        if (to != null) {
+            bounds.add("b.publication_date < ?");
+            params.add(java.sql.Date.valueOf(java.time.LocalDate.of(to + 1, 1, 1)));
+        }
+        return bounds.isEmpty() ? "b.publication_date IS NOT NULL" : String.join(" AND ", bounds);
+    }
+
+    private static String negate(String condition) {
+        // NOT EXISTS plans as an anti-join; column predicates are NULL for missing values,
+        // which a negated term should keep
+        return condition.startsWith("EXISTS") ? "NOT " + condition : "(" + condition + ") IS NOT TRUE";
+    }
+
+    private static String lowerOrNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim().toLowerCase();
+    }
+
+    private String normalizedOrNull(String value) {
+        return value == null || value.isBlank() ? null : sanitizer.normalizeForSearch(value);
+    }
+
+    private static void bindParams(PreparedStatement ps, List<Object> params) throws SQLException {
+        for (int i = 0; i < params.size(); i++) {
+            ps.setObject(i + 1, params.get(i));
         }
-        // Fallback to all
-    return findAll(null, 0).getItems();
     }
 
     @Override
@@ -533,7 +884,7 @@ public class BookRepositoryAdapter implements BookRepository {
         }
     }
 
-    private Book mapRowToBook(ResultSet rs) throws SQLException {
+    Book mapRowToBook(ResultSet rs) throws SQLException {
         Book b = new Book();
         b.setId((UUID) rs.getObject("id"));
         b.setTitle(rs.getString("title"));
@@ -566,7 +917,7 @@ public class BookRepositoryAdapter implements BookRepository {
     }
 
     // Light-weight row mapper for list/search endpoints
-    private Book mapRowToBookLight(ResultSet rs) throws SQLException {
+    static Book mapRowToBookLight(ResultSet rs) throws SQLException {
         Book b = new Book();
         b.setId((UUID) rs.getObject("id"));
         b.setTitle(rs.getString("title"));
@@ -576,9 +927,17 @@ public class BookRepositoryAdapter implements BookRepository {
         Timestamp updated = rs.getTimestamp("updated_at"); if (updated != null) b.setUpdatedAt(updated.toInstant().atOffset(java.time.ZoneOffset.UTC));
         java.sql.Date pub = rs.getDate("publication_date"); if (pub != null) b.setPublicationDate(pub.toLocalDate());
         b.setLanguage(rs.getString("language_code"));
+        b.setCoverPlaceholder(mapCoverPlaceholder(rs));
         return b;
     }
 
+    static CoverPlaceholder mapCoverPlaceholder(ResultSet rs) throws SQLException {
+        String dataUri = rs.getString("cover_placeholder");
+        String color = rs.getString("cover_color");
+        String version = rs.getString("cover_version");
+        return dataUri == null && color == null && version == null ? null : new CoverPlaceholder(dataUri, color, version);
+    }
+
     private void hydratePublisher(Connection conn, Book b) {
         if (b.getPublisher() != null) return; // already set
         String sql = "SELECT p.id, p.name FROM publishers p WHERE p.id = (SELECT publisher_id FROM books WHERE id = ? AND publisher_id IS NOT NULL)";
@@ -0,0 +1,109 @@
+package org.motpassants.infrastructure.adapter.out.persistence;
+
+import io.agroal.api.AgroalDataSource;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.motpassants.domain.core.model.CoverPlaceholder;
+import org.motpassants.domain.port.out.CoverPlaceholderPort;
+
+import java.sql.*;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Writes cover placeholders next to the rows they belong to, so list queries read them for free.
+ * updated_at is left alone: a placeholder is derived from the image, not an edit of the entity.
+ */
+@ApplicationScoped
+public class CoverPlaceholderRepositoryAdapter implements CoverPlaceholderPort {
+
+    @Inject
+    AgroalDataSource dataSource;
+
+    @Override
+    public void saveBookPlaceholder(UUID bookId, CoverPlaceholder placeholder) {
+        save("UPDATE books SET cover_placeholder = ?, cover_color = ?, cover_version = ?, cover_missing = FALSE WHERE id = ?", bookId, placeholder);
+    }
+
+    @Override
+    public void saveSeriesPlaceholder(UUID seriesId, CoverPlaceholder placeholder) {
+        save("UPDATE series SET cover_placeholder = ?, cover_color = ?, cover_version = ?, cover_missing = FALSE WHERE id = ?", seriesId, placeholder);
+    }
+
+    @Override
+    public void saveAuthorPlaceholder(UUID authorId, CoverPlaceholder placeholder) {
+        save("UPDATE authors SET cover_placeholder = ?, cover_color = ?, cover_version = ?, cover_missing = FALSE WHERE id = ?", authorId, placeholder);
+    }
+
+    @Override
+    public Set<UUID> findBookIdsWithoutPlaceholder() {
+        return findIdsWithoutPlaceholder("books");
+    }
+
+    @Override
+    public Set<UUID> findSeriesIdsWithoutPlaceholder() {
+        return findIdsWithoutPlaceholder("series");
+    }
+
+    @Override
+    public Set<UUID> findAuthorIdsWithoutPlaceholder() {
+        return findIdsWithoutPlaceholder("authors");
+    }
+
+    @Override
+    public void markBooksWithoutCover(Collection<UUID> bookIds) {
+        markMissing("books", bookIds);
+    }
+
+    @Override
+    public void markSeriesWithoutCover(Collection<UUID> seriesIds) {
+        markMissing("series", seriesIds);
+    }
+
+    @Override
+    public void markAuthorsWithoutPicture(Collection<UUID> authorIds) {
+        markMissing("authors", authorIds);
+    }
+
+    private Set<UUID> findIdsWithoutPlaceholder(String table) {
+        String sql = "SELECT id FROM " + table + " WHERE (cover_placeholder IS NULL OR cover_version IS NULL) AND NOT cover_missing";
+        Set<UUID> ids = new HashSet<>();
+        try (Connection conn = dataSource.getConnection(); PreparedStatement ps = conn.prepareStatement(sql);
+             ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                ids.add((UUID) rs.getObject(1));
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("DB error loading ids without cover placeholder", e);
+        }
+        return ids;
+    }
+
+    private void markMissing(String table, Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        // A placeholder saved since the scan wins
+        String sql = "UPDATE " + table + " SET cover_missing = TRUE WHERE id = ANY(?) AND cover_placeholder IS NULL";
+        try (Connection conn = dataSource.getConnection(); PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setArray(1, conn.createArrayOf("uuid", ids.toArray()));
+            ps.executeUpdate();
+        } catch (SQLException e) {
+            throw new RuntimeException("DB error marking missing cover images", e);
+        }
+    }
+
+    private void save(String sql, UUID id, CoverPlaceholder placeholder) {
+        try (Connection conn = dataSource.getConnection(); PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setString(1, placeholder != null ? placeholder.dataUri() : null);
+            ps.setString(2, placeholder != null ? placeholder.color() : null);
+            ps.setString(3, placeholder != null ? placeholder.version() : null);
+            ps.setObject(4, id);
+            ps.executeUpdate();
+        } catch (SQLException e) {
+            throw new RuntimeException("DB error saving cover placeholder", e);
+        }
+    }
+}
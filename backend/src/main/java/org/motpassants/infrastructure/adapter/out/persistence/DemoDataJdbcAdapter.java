@@ -8,6 +8,7 @@ import org.motpassants.domain.port.out.ConfigurationPort;
 import org.motpassants.domain.port.out.DemoDataPort;
 import org.motpassants.domain.port.out.LoggingPort;
 import org.motpassants.domain.port.out.SecureFileProcessingPort;
+import org.motpassants.infrastructure.media.ImageHydrationService;
 
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
@@ -15,13 +16,9 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardOpenOption;
 import java.time.LocalDate;
-import java.net.URI;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
-import java.time.Duration;
 import java.util.*;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Infrastructure DemoData adapter: reads CSV files from the data folder and inserts rows via repository ports.
@@ -33,6 +30,7 @@ public class DemoDataJdbcAdapter implements DemoDataPort {
     @Inject LoggingPort log;
     @Inject javax.sql.DataSource dataSource;
     @Inject UserTransaction utx;
+    @Inject ImageHydrationService imageHydrationService;
 
     @Override
     @Transactional(Transactional.TxType.NEVER)
@@ -60,9 +58,12 @@ public class DemoDataJdbcAdapter implements DemoDataPort {
     // Defer image downloads until after we commit DB batches (tuple: [url, folder, subFolder, id])
     private void processDownloads(List<Object[]> tasks) {
         if (tasks == null || tasks.isEmpty()) return;
+        // Downloads run concurrently on the shared image client; wait for the batch before moving on
+        List<CompletableFuture<Boolean>> downloads = new ArrayList<>();
         for (Object[] t : tasks) {
-            try { downloadImageToAssets((String) t[0], (String) t[1], (String) t[2], (UUID) t[3]); } catch (Exception ignored) {}
+            try { downloads.add(downloadImageToAssets((String) t[0], (String) t[1], (String) t[2], (UUID) t[3])); } catch (Exception ignored) {}
         }
+        CompletableFuture.allOf(downloads.toArray(CompletableFuture[]::new)).join();
         tasks.clear();
     }
 
@@ -463,52 +464,23 @@ public class DemoDataJdbcAdapter implements DemoDataPort {
         } catch (Exception ignored) {}
     }
 
-    private void downloadImageToAssets(String url, String folder, String subFolder, UUID id) {
+    private CompletableFuture<Boolean> downloadImageToAssets(String url, String folder, String subFolder, UUID id) {
         try {
-            if (url == null || url.isBlank() || id == null) return;
+            if (url == null || url.isBlank() || id == null) return CompletableFuture.completedFuture(false);
             String baseDir = configurationPort.getStorageConfig().getBaseDir();
             Path base = secureFileProcessingPort.sanitizePath(baseDir, ".");
             Path targetDir = base.resolve(folder).resolve(subFolder);
             try { Files.createDirectories(targetDir); } catch (Exception ignored) {}
             Path target = targetDir.resolve(id.toString());
-            // If the file already exists and has content, do not fetch again
+            // Remove a zero-length placeholder if any, so it gets fetched again
             try {
-                if (Files.exists(target)) {
-                    long size = Files.size(target);
-                    if (size > 0) return; // asset already present
-                    // Remove zero-length placeholder if any
-                    try { Files.deleteIfExists(target); } catch (Exception ignored) {}
-                }
+                if (Files.exists(target) && Files.size(target) == 0) Files.deleteIfExists(target);
             } catch (Exception ignored) {}
-
-            // Try to download the image bytes
-            try {
-                if (url.startsWith("http://") || url.startsWith("https://")) {
-                    final int MAX_IMAGE_BYTES = 5_000_000; // 5 MB safety limit
-                    HttpClient client = HttpClient.newBuilder()
-                            .connectTimeout(Duration.ofSeconds(5))
-                            .followRedirects(HttpClient.Redirect.NORMAL)
-                            .build();
-                    HttpRequest req = HttpRequest.newBuilder()
-                            .uri(URI.create(url))
-                            .timeout(Duration.ofSeconds(10))
-                            .header("User-Agent", "Librarie-DemoSeed/1.0")
-                            .header("Accept", "image/avif,image/webp,image/apng,image/*,*/*;q=0.8")
-                            .GET()
-                            .build();
-                    HttpResponse<byte[]> resp = client.send(req, HttpResponse.BodyHandlers.ofByteArray());
-                    int sc = resp.statusCode();
-                    String ct = resp.headers().firstValue("content-type").orElse("").toLowerCase();
-                    if (sc >= 200 && sc < 300 && (ct.startsWith("image/") || ct.isEmpty())) {
-                        byte[] bytes = resp.body();
-                        if (bytes != null && bytes.length > 0 && bytes.length <= MAX_IMAGE_BYTES) {
-                            Files.write(target, bytes, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
-                        }
-                    }
-                }
-            } catch (Exception ignored) { /* fall through to placeholder */ }
-            // Do not create empty files when there is no content; leave absent if download failed
-        } catch (Exception ignored) {}
+            // Nothing is written when the download fails; the asset is simply left absent
+            return imageHydrationService.hydrate(url, target);
+        } catch (Exception ignored) {
+            return CompletableFuture.completedFuture(false);
+        }
     }
 
     private void ensureDemoBookFileExists(String relativePath) {
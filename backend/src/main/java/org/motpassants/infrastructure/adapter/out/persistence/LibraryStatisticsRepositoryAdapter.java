@@ -0,0 +1,70 @@
+package org.motpassants.infrastructure.adapter.out.persistence;
+
+import io.agroal.api.AgroalDataSource;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.motpassants.domain.core.model.LibraryStatistics;
+import org.motpassants.domain.port.out.LibraryStatisticsPort;
+
+import java.sql.*;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Computes library statistics in one query: the books table is scanned once with grouping sets
+ * for the totals, per-format and per-language figures, and series and authors are counted.
+ * Formats come from the extension of the stored book file.
+ */
+@ApplicationScoped
+public class LibraryStatisticsRepositoryAdapter implements LibraryStatisticsPort {
+
+    // Uncorrelated subqueries run once; the other rows carry zeros for them
+    private static final String SQL = """
+            SELECT CASE WHEN GROUPING(format) = 0 THEN 'format'
+                        WHEN GROUPING(language_code) = 0 THEN 'language'
+                        ELSE 'total' END AS kind,
+                   CASE WHEN GROUPING(format) = 0 THEN format ELSE language_code END AS name,
+                   COUNT(*) AS books,
+                   COALESCE(SUM(file_size), 0) AS bytes,
+                   CASE WHEN GROUPING(format, language_code) = 3 THEN (SELECT COUNT(*) FROM series) ELSE 0 END AS series,
+                   CASE WHEN GROUPING(format, language_code) = 3 THEN (SELECT COUNT(*) FROM authors) ELSE 0 END AS authors
+            FROM (SELECT LOWER(SUBSTRING(path FROM '\\.([A-Za-z0-9]+)$')) AS format, language_code, file_size FROM books) b
+            GROUP BY GROUPING SETS ((), (format), (language_code))
+            """;
+
+    @Inject
+    AgroalDataSource dataSource;
+
+    @Override
+    public LibraryStatistics loadStatistics() {
+        long books = 0;
+        long series = 0;
+        long authors = 0;
+        long bytes = 0;
+        Map<String, Long> formats = new TreeMap<>();
+        Map<String, Long> languages = new TreeMap<>();
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement ps = conn.prepareStatement(SQL);
+             ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                String kind = rs.getString("kind");
+                String name = rs.getString("name");
+                if ("total".equals(kind)) {
+                    books = rs.getLong("books");
+                    bytes = rs.getLong("bytes");
+                    series = rs.getLong("series");
+                    authors = rs.getLong("authors");
+                } else if (name != null && "format".equals(kind)) {
+                    formats.put(name, rs.getLong("books"));
+                } else if (name != null) {
+                    languages.put(name, rs.getLong("books"));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("DB error computing library statistics", e);
+        }
+        return new LibraryStatistics(books, series, authors, bytes,
+            Collections.unmodifiableMap(formats), Collections.unmodifiableMap(languages));
+    }
+}
@@ -3,6 +3,7 @@ package org.motpassants.infrastructure.adapter.out.persistence;
 import io.agroal.api.AgroalDataSource;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
+import org.motpassants.domain.core.model.ContinueReadingItem;
 import org.motpassants.domain.core.model.ReadingProgress;
 import org.motpassants.domain.port.out.ReadingProgressRepository;
 
@@ -16,79 +17,112 @@ public class ReadingProgressRepositoryAdapter implements ReadingProgressReposito
     @Inject
     AgroalDataSource dataSource;
 
-    @Override
-    public ReadingProgress save(ReadingProgress readingProgress) {
-        if (readingProgress.getId() == null) {
-            return insert(readingProgress);
-        } else {
-            return update(readingProgress);
-        }
-    }
+    private static final String SELECT_COLUMNS =
+        "id, book_id, user_id, device_id, progress_cfi, progress_percent, progress_locator, last_read_at, created_at, updated_at";
 
-    private ReadingProgress insert(ReadingProgress readingProgress) {
-    String sql = """
+    // Last write wins on last_read_at: a stale update from a slower device never overwrites a newer position.
+    // A missing locator keeps the stored one.
+    private static final String UPSERT_SQL = """
         INSERT INTO reading_progress (id, book_id, user_id, device_id, progress_cfi, progress_percent, progress_locator, last_read_at, created_at, updated_at)
         VALUES (?, ?, ?, ?, ?, ?, ?::jsonb, ?, ?, ?)
+        ON CONFLICT (book_id, user_id, device_id) DO UPDATE
+        SET progress_cfi = EXCLUDED.progress_cfi,
+            progress_percent = EXCLUDED.progress_percent,
+            progress_locator = COALESCE(EXCLUDED.progress_locator, reading_progress.progress_locator),
+            last_read_at = EXCLUDED.last_read_at,
+            updated_at = EXCLUDED.updated_at
+        WHERE reading_progress.last_read_at <= EXCLUDED.last_read_at
         """;
 
+    @Override
+    public ReadingProgress save(ReadingProgress readingProgress) {
+        String sql = UPSERT_SQL + " RETURNING " + SELECT_COLUMNS;
+
         try (Connection conn = dataSource.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
 
-            UUID id = UUID.randomUUID();
-            readingProgress.setId(id);
-
-            stmt.setObject(1, id);
-            stmt.setObject(2, readingProgress.getBookId());
-            stmt.setObject(3, readingProgress.getUserId());
-            stmt.setString(4, "web-reader"); // Default device ID for web reader
-            stmt.setString(5, buildCfi(readingProgress)); // Convert pages to CFI-like format
-            stmt.setBigDecimal(6, java.math.BigDecimal.valueOf(
-                readingProgress.getProgress() != null ? readingProgress.getProgress() * 100 : 0.0));
-            // Optional locator JSON string from domain
-            String locator = readingProgress.getProgressLocator();
-            stmt.setString(7, locator);
-
-            stmt.setTimestamp(8, readingProgress.getLastReadAt() != null ? 
-                Timestamp.valueOf(readingProgress.getLastReadAt()) : Timestamp.valueOf(LocalDateTime.now()));
-            stmt.setTimestamp(9, readingProgress.getCreatedAt() != null ? 
-                Timestamp.valueOf(readingProgress.getCreatedAt()) : Timestamp.valueOf(LocalDateTime.now()));
-            stmt.setTimestamp(10, readingProgress.getUpdatedAt() != null ? 
-                Timestamp.valueOf(readingProgress.getUpdatedAt()) : Timestamp.valueOf(LocalDateTime.now()));
+            bindUpsert(stmt, readingProgress, LocalDateTime.now());
 
-            stmt.executeUpdate();
-            return readingProgress;
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    ReadingProgress saved = mapResultSetToReadingProgress(rs);
+                    // total pages is not persisted; keep the caller's value
+                    saved.setTotalPages(readingProgress.getTotalPages());
+                    return saved;
+                }
+            }
+        } catch (SQLException e) {
+            if (isRowError(e)) {
+                throw new IllegalArgumentException("Reading progress cannot be stored: " + e.getMessage(), e);
+            }
+            throw new RuntimeException("Failed to upsert reading progress", e);
+        }
+
+        // No row returned: a newer position is already stored, return it unchanged
+        return findByKey(readingProgress.getUserId(), readingProgress.getBookId(), deviceIdOf(readingProgress))
+            .orElseThrow(() -> new IllegalStateException("Reading progress vanished during upsert"));
+    }
+
+    @Override
+    public void saveAll(Collection<ReadingProgress> readingProgresses) {
+        if (readingProgresses == null || readingProgresses.isEmpty()) {
+            return;
+        }
+
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(UPSERT_SQL)) {
+
+            LocalDateTime now = LocalDateTime.now();
+            for (ReadingProgress readingProgress : readingProgresses) {
+                bindUpsert(stmt, readingProgress, now);
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
 
         } catch (SQLException e) {
-            throw new RuntimeException("Failed to insert reading progress", e);
+            throw new RuntimeException("Failed to batch upsert reading progress", e);
         }
     }
 
-    private ReadingProgress update(ReadingProgress readingProgress) {
-    String sql = """
-        UPDATE reading_progress 
-        SET progress_cfi = ?, progress_percent = ?, progress_locator = ?::jsonb, last_read_at = ?, updated_at = ?
-        WHERE id = ?
-        """;
+    // Data (22) and integrity constraint (23) errors, e.g. the book was deleted: retrying the row cannot succeed
+    private static boolean isRowError(SQLException e) {
+        String state = e.getSQLState();
+        return state != null && (state.startsWith("22") || state.startsWith("23"));
+    }
+
+    private void bindUpsert(PreparedStatement stmt, ReadingProgress readingProgress, LocalDateTime now) throws SQLException {
+        if (readingProgress.getId() == null) {
+            readingProgress.setId(UUID.randomUUID());
+        }
+        stmt.setObject(1, readingProgress.getId());
+        stmt.setObject(2, readingProgress.getBookId());
+        stmt.setObject(3, readingProgress.getUserId());
+        stmt.setString(4, deviceIdOf(readingProgress));
+        stmt.setString(5, buildCfi(readingProgress));
+        stmt.setBigDecimal(6, java.math.BigDecimal.valueOf(
+            readingProgress.getProgress() != null ? readingProgress.getProgress() * 100 : 0.0));
+        stmt.setString(7, readingProgress.getProgressLocator());
+        stmt.setTimestamp(8, Timestamp.valueOf(readingProgress.getLastReadAt() != null ? readingProgress.getLastReadAt() : now));
+        stmt.setTimestamp(9, Timestamp.valueOf(readingProgress.getCreatedAt() != null ? readingProgress.getCreatedAt() : now));
+        stmt.setTimestamp(10, Timestamp.valueOf(readingProgress.getUpdatedAt() != null ? readingProgress.getUpdatedAt() : now));
+    }
+
+    private Optional<ReadingProgress> findByKey(UUID userId, UUID bookId, String deviceId) {
+        String sql = "SELECT " + SELECT_COLUMNS + " FROM reading_progress WHERE user_id = ? AND book_id = ? AND device_id = ?";
 
         try (Connection conn = dataSource.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
 
-            stmt.setString(1, buildCfi(readingProgress));
-            stmt.setBigDecimal(2, java.math.BigDecimal.valueOf(
-                readingProgress.getProgress() != null ? readingProgress.getProgress() * 100 : 0.0));
-            String locator = readingProgress.getProgressLocator();
-            stmt.setString(3, locator);
-
-            stmt.setTimestamp(4, readingProgress.getLastReadAt() != null ? 
-                Timestamp.valueOf(readingProgress.getLastReadAt()) : Timestamp.valueOf(LocalDateTime.now()));
-            stmt.setTimestamp(5, Timestamp.valueOf(LocalDateTime.now()));
-            stmt.setObject(6, readingProgress.getId());
+            stmt.setObject(1, userId);
+            stmt.setObject(2, bookId);
+            stmt.setString(3, deviceId);
 
-            stmt.executeUpdate();
-            return readingProgress;
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? Optional.of(mapResultSetToReadingProgress(rs)) : Optional.empty();
+            }
 
         } catch (SQLException e) {
-            throw new RuntimeException("Failed to update reading progress", e);
+            throw new RuntimeException("Failed to find reading progress", e);
         }
     }
 
@@ -147,6 +181,76 @@ public class ReadingProgressRepositoryAdapter implements ReadingProgressReposito
         }
     }
 
+    @Override
+    public List<ContinueReadingItem> findContinueReading(UUID userId, int limit) {
+        // Walks idx_reading_progress_user_recent in order and stops after LIMIT rows
+        String sql = """
+                SELECT rp.progress_percent, rp.progress_cfi, rp.last_read_at,
+                       b.id, b.title, b.title_sort, b.has_cover, b.created_at, b.updated_at, b.publication_date, b.language_code, b.cover_placeholder, b.cover_color, b.cover_version
+                FROM reading_progress rp
+                JOIN books b ON b.id = rp.book_id
+                WHERE rp.user_id = ? AND rp.device_id = 'web-reader' AND rp.progress_percent < 100
+                ORDER BY rp.last_read_at DESC
+                LIMIT ?
+                """;
+
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setObject(1, userId);
+            stmt.setInt(2, limit);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                List<ContinueReadingItem> results = new ArrayList<>();
+                while (rs.next()) {
+                    ReadingProgress position = new ReadingProgress();
+                    parseCfi(rs.getString("progress_cfi"), position);
+                    java.math.BigDecimal percent = rs.getBigDecimal("progress_percent");
+                    Timestamp lastReadAt = rs.getTimestamp("last_read_at");
+                    results.add(new ContinueReadingItem(
+                        BookRepositoryAdapter.mapRowToBookLight(rs),
+                        percent != null ? percent.doubleValue() / 100.0 : 0.0,
+                        position.getCurrentPage(),
+                        lastReadAt != null ? lastReadAt.toLocalDateTime() : null));
+                }
+                return results;
+            }
+
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to load continue reading shelf", e);
+        }
+    }
+
+    @Override
+    public List<UUID> findRecentlyReadBookIds(int limit) {
+        // Walks idx_reading_progress_last_read from the newest entry; a few rows per book are enough to fill the limit
+        String sql = """
+                SELECT book_id
+                FROM (SELECT book_id, last_read_at FROM reading_progress ORDER BY last_read_at DESC LIMIT ?) recent
+                GROUP BY book_id
+                ORDER BY MAX(last_read_at) DESC
+                LIMIT ?
+                """;
+
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, limit * 4);
+            stmt.setInt(2, limit);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                List<UUID> results = new ArrayList<>();
+                while (rs.next()) {
+                    results.add((UUID) rs.getObject("book_id"));
+                }
+                return results;
+            }
+
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to load recently read books", e);
+        }
+    }
+
     @Override
     public void deleteByUserIdAndBookId(UUID userId, UUID bookId) {
         String sql = "DELETE FROM reading_progress WHERE user_id = ? AND book_id = ? AND device_id = 'web-reader'";
@@ -188,6 +292,7 @@ public class ReadingProgressRepositoryAdapter implements ReadingProgressReposito
         progress.setId((UUID) rs.getObject("id"));
         progress.setBookId((UUID) rs.getObject("book_id"));
         progress.setUserId((UUID) rs.getObject("user_id"));
+        progress.setDeviceId(rs.getString("device_id"));
         
         // Convert progress_percent (0-100) to progress (0.0-1.0)
         java.math.BigDecimal percent = rs.getBigDecimal("progress_percent");
@@ -225,6 +330,11 @@ public class ReadingProgressRepositoryAdapter implements ReadingProgressReposito
         return progress;
     }
 
+    private String deviceIdOf(ReadingProgress progress) {
+        String deviceId = progress.getDeviceId();
+        return (deviceId == null || deviceId.isBlank()) ? ReadingProgress.DEFAULT_DEVICE_ID : deviceId;
+    }
+
     private String buildCfi(ReadingProgress progress) {
         // Build a simple CFI-like string from page information
         if (progress.getCurrentPage() != null) {
@@ -7,6 +7,7 @@ import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import org.motpassants.domain.core.model.Series;
 import org.motpassants.domain.port.out.SeriesRepositoryPort;
+import org.motpassants.infrastructure.security.InputSanitizationService;
 
 import java.sql.*;
 import java.time.OffsetDateTime;
@@ -21,9 +22,12 @@ public class SeriesRepositoryAdapter implements SeriesRepositoryPort {
     @Inject
     ObjectMapper objectMapper;
 
+    @Inject
+    InputSanitizationService sanitizer;
+
     @Override
     public List<Series> findAll(int offset, int limit) {
-        String sql = "SELECT id, name, book_count, has_picture, created_at FROM series ORDER BY name OFFSET ? LIMIT ?";
+        String sql = "SELECT id, name, book_count, has_picture, cover_placeholder, cover_color, cover_version, created_at FROM series ORDER BY name OFFSET ? LIMIT ?";
         List<Series> list = new ArrayList<>();
         try (Connection conn = dataSource.getConnection(); PreparedStatement ps = conn.prepareStatement(sql)) {
             ps.setInt(1, Math.max(0, offset));
@@ -39,7 +43,7 @@ public class SeriesRepositoryAdapter implements SeriesRepositoryPort {
 
     @Override
     public org.motpassants.domain.core.model.PageResult<Series> findAll(String cursor, int limit) {
-        String baseSql = "SELECT id, name, book_count, has_picture, created_at, sort_name FROM series ";
+        String baseSql = "SELECT id, name, book_count, has_picture, cover_placeholder, cover_color, cover_version, created_at, sort_name FROM series ";
         String orderClause = " ORDER BY created_at DESC, id DESC";
 
         java.sql.Timestamp cursorTimestamp = null;
@@ -131,7 +135,7 @@ public class SeriesRepositoryAdapter implements SeriesRepositoryPort {
         // Handle timestamp fields (e.g., UPDATED_AT)
         if (sortCriteria.getField().isTimestampField()) {
             String sortColumn = sortCriteria.getField().getColumnName();
-            String baseSql = "SELECT id, name, sort_name, description, book_count, has_picture, metadata, created_at, updated_at FROM series ";
+            String baseSql = "SELECT id, name, sort_name, description, book_count, has_picture, cover_placeholder, cover_color, cover_version, metadata, created_at, updated_at FROM series ";
             String orderClause = " ORDER BY " + sortColumn + " " + sortCriteria.getDirection().getSqlKeyword() + ", created_at DESC, id DESC";
 
             // Parse cursor: expected format for timestamp sort: base64("<epochMicros>|<createdAtMicros>|<uuid>")
@@ -240,7 +244,7 @@ public class SeriesRepositoryAdapter implements SeriesRepositoryPort {
         // Handle string sort field (SORT_NAME)
         if (sortCriteria.getField() == org.motpassants.domain.core.model.SortField.SORT_NAME) {
             // Use the full projection because we call map(rs) which expects description, metadata and updated_at fields
-            String baseSql = "SELECT id, name, sort_name, description, book_count, has_picture, metadata, created_at, updated_at FROM series ";
+            String baseSql = "SELECT id, name, sort_name, description, book_count, has_picture, cover_placeholder, cover_color, cover_version, metadata, created_at, updated_at FROM series ";
             String orderClause = " ORDER BY sort_name " + sortCriteria.getDirection().getSqlKeyword() + ", created_at DESC, id DESC";
 
             String cursorSortValue = null;
@@ -340,9 +344,23 @@ public class SeriesRepositoryAdapter implements SeriesRepositoryPort {
         }
     }
 
+    @Override
+    public Map<UUID, String> findAllNames() {
+        String sql = "SELECT id, name FROM series";
+        Map<UUID, String> names = new LinkedHashMap<>();
+        try (Connection conn = dataSource.getConnection(); PreparedStatement ps = conn.prepareStatement(sql)) {
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) names.put((UUID) rs.getObject("id"), rs.getString("name"));
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("DB error loading series names", e);
+        }
+        return names;
+    }
+
     @Override
     public Optional<Series> findById(UUID id) {
-        String sql = "SELECT id, name, sort_name, description, book_count, has_picture, metadata, created_at, updated_at FROM series WHERE id=?";
+        String sql = "SELECT id, name, sort_name, description, book_count, has_picture, cover_placeholder, cover_color, cover_version, metadata, created_at, updated_at FROM series WHERE id=?";
         try (Connection conn = dataSource.getConnection(); PreparedStatement ps = conn.prepareStatement(sql)) {
             ps.setObject(1, id);
             try (ResultSet rs = ps.executeQuery()) {
@@ -412,9 +430,9 @@ public class SeriesRepositoryAdapter implements SeriesRepositoryPort {
 
     @Override
     public List<Series> searchByName(String query) {
-        String sql = "SELECT id, name, sort_name, description, book_count, has_picture, metadata, created_at, updated_at FROM series WHERE LOWER(name) LIKE ? OR LOWER(sort_name) LIKE ? ORDER BY name";
+        String sql = "SELECT id, name, sort_name, description, book_count, has_picture, cover_placeholder, cover_color, cover_version, metadata, created_at, updated_at FROM series WHERE name_norm LIKE ? OR sort_name_norm LIKE ? ORDER BY name";
         List<Series> list = new ArrayList<>();
-        String like = "%" + query.toLowerCase() + "%";
+        String like = "%" + sanitizer.normalizeForSearch(query) + "%";
         try (Connection conn = dataSource.getConnection(); PreparedStatement ps = conn.prepareStatement(sql)) {
             ps.setString(1, like);
             ps.setString(2, like);
@@ -427,6 +445,32 @@ public class SeriesRepositoryAdapter implements SeriesRepositoryPort {
         return list;
     }
 
+    @Override
+    public List<Series> searchByName(String query, int limit) {
+        // Relevance: exact name, name prefix, word prefix, then any other match; shorter names first
+        String sql = "SELECT id, name, book_count, has_picture, cover_placeholder, cover_color, cover_version, created_at FROM series " +
+                     "WHERE name_norm LIKE ? OR sort_name_norm LIKE ? " +
+                     "ORDER BY CASE WHEN name_norm = ? THEN 0 WHEN name_norm LIKE ? THEN 1 " +
+                     "WHEN name_norm LIKE ? THEN 2 ELSE 3 END, LENGTH(name), name, id LIMIT ?";
+        List<Series> list = new ArrayList<>();
+        String q = sanitizer.normalizeForSearch(query);
+        String like = "%" + q + "%";
+        try (Connection conn = dataSource.getConnection(); PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setString(1, like);
+            ps.setString(2, like);
+            ps.setString(3, q);
+            ps.setString(4, q + "%");
+            ps.setString(5, "% " + q + "%");
+            ps.setInt(6, Math.max(1, limit));
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) list.add(mapLite(rs));
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("DB error searching series", e);
+        }
+        return list;
+    }
+
     @Override
     public boolean existsByName(String name) {
         String sql = "SELECT 1 FROM series WHERE LOWER(name)=LOWER(?)";
@@ -475,6 +519,7 @@ public class SeriesRepositoryAdapter implements SeriesRepositoryPort {
         s.setDescription(description);
         s.setImagePath(imagePath);
         s.setHasPicture(hasPicture);
+        s.setCoverPlaceholder(BookRepositoryAdapter.mapCoverPlaceholder(rs));
         s.setBookCount(bookCount);
         s.setMetadata(meta);
         s.setCreatedAt(created != null ? created.toInstant().atOffset(java.time.ZoneOffset.UTC) : null);
@@ -493,6 +538,7 @@ public class SeriesRepositoryAdapter implements SeriesRepositoryPort {
         s.setId(id);
         s.setName(name);
         s.setHasPicture(hasPicture);
+        s.setCoverPlaceholder(BookRepositoryAdapter.mapCoverPlaceholder(rs));
         s.setBookCount(bookCount);
         s.setCreatedAt(created != null ? created.toInstant().atOffset(java.time.ZoneOffset.UTC) : null);
         return s;
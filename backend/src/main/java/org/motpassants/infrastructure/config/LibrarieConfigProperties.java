@@ -24,6 +24,56 @@ public interface LibrarieConfigProperties {
      */
     Security security();
     
+    /**
+     * Reading progress configuration.
+     */
+    ReadingProgress readingProgress();
+    
+    /**
+     * Unified search configuration.
+     */
+    Search search();
+    
+    /**
+     * Book content indexing configuration.
+     */
+    ContentIndex contentIndex();
+    
+    /**
+     * Near-duplicate book detection configuration.
+     */
+    Duplicates duplicates();
+    
+    /**
+     * Similar books ("more like this") configuration.
+     */
+    SimilarBooks similarBooks();
+    
+    /**
+     * Remote image URL validation configuration.
+     */
+    ImageValidation imageValidation();
+    
+    /**
+     * Remote image download configuration.
+     */
+    ImageHydration imageHydration();
+    
+    /**
+     * Cover thumbnail configuration.
+     */
+    Thumbnails thumbnails();
+    
+    /**
+     * Startup cache warming configuration.
+     */
+    Warmup warmup();
+    
+    /**
+     * Library statistics configuration.
+     */
+    Statistics statistics();
+    
     interface Storage {
         /**
          * Base directory for file storage.
@@ -95,4 +145,280 @@ public interface LibrarieConfigProperties {
         @WithDefault("10485760") // 10MB
         long maxRequestSize();
     }
-}
\ No newline at end of file
+    
+    interface ReadingProgress {
+        /**
+         * Whether progress updates are coalesced in memory and flushed in batches.
+         */
+        @WithDefault("true")
+        boolean writeBehindEnabled();
+        
+        /**
+         * Interval between batched flushes (in milliseconds).
+         */
+        @WithDefault("5000")
+        long flushIntervalMillis();
+        
+        /**
+         * Number of pending entries that triggers an early flush.
+         */
+        @WithDefault("1000")
+        int maxPendingEntries();
+        
+        /**
+         * Maximum queued events per live progress subscriber; older events are dropped first.
+         */
+        @WithDefault("16")
+        int subscriberQueueSize();
+        
+        /**
+         * Whether progress events are relayed between nodes through Postgres LISTEN/NOTIFY.
+         */
+        @WithDefault("false")
+        boolean clusterRelayEnabled();
+    }
+    
+    interface Search {
+        /**
+         * Overall time budget for a unified search (in milliseconds).
+         * Entity types that have not answered by then are left out and the result is flagged as partial.
+         */
+        @WithDefault("1500")
+        long deadlineMillis();
+        
+        /**
+         * Time budget for the book lookup (in milliseconds).
+         */
+        @WithDefault("1200")
+        long booksTimeoutMillis();
+        
+        /**
+         * Time budget for the author lookup (in milliseconds).
+         */
+        @WithDefault("800")
+        long authorsTimeoutMillis();
+        
+        /**
+         * Time budget for the series lookup (in milliseconds).
+         */
+        @WithDefault("800")
+        long seriesTimeoutMillis();
+        
+        /**
+         * How long a search result may be served from cache (in milliseconds); 0 disables caching.
+         * Cached results are also dropped as soon as the library changes.
+         */
+        @WithDefault("10000")
+        long cacheTtlMillis();
+        
+        /**
+         * Maximum number of cached search results per cache.
+         */
+        @WithDefault("500")
+        int cacheMaxEntries();
+    }
+    
+    interface ContentIndex {
+        /**
+         * Whether the text of EPUB files is indexed in the background for content search.
+         */
+        @WithDefault("true")
+        boolean enabled();
+        
+        /**
+         * Delay between two indexing passes (in seconds).
+         */
+        @WithDefault("60")
+        long intervalSeconds();
+        
+        /**
+         * Maximum number of books indexed per pass.
+         */
+        @WithDefault("10")
+        int batchSize();
+        
+        /**
+         * Pause between two books within a pass (in milliseconds), to leave I/O and database to requests.
+         */
+        @WithDefault("500")
+        long pauseMillis();
+        
+        /**
+         * Maximum number of characters kept per chapter.
+         */
+        @WithDefault("200000")
+        int maxChapterChars();
+    }
+    
+    interface Duplicates {
+        /**
+         * Whether MinHash signatures are computed in the background for duplicate detection.
+         */
+        @WithDefault("true")
+        boolean enabled();
+        
+        /**
+         * Delay between two signature passes (in seconds).
+         */
+        @WithDefault("300")
+        long intervalSeconds();
+        
+        /**
+         * Number of books signed per batch; a pass runs batches until no book is left.
+         */
+        @WithDefault("500")
+        int batchSize();
+        
+        /**
+         * Pause between two batches within a pass (in milliseconds).
+         */
+        @WithDefault("200")
+        long pauseMillis();
+        
+        /**
+         * Minimum estimated Jaccard similarity for two books to be reported as duplicates.
+         */
+        @WithDefault("0.8")
+        double similarityThreshold();
+    }
+    
+    interface SimilarBooks {
+        /**
+         * Whether the similar books table is kept up to date in the background.
+         */
+        @WithDefault("true")
+        boolean enabled();
+        
+        /**
+         * Delay between two checks for library changes (in seconds).
+         */
+        @WithDefault("120")
+        long intervalSeconds();
+        
+        /**
+         * Number of neighbors stored per book.
+         */
+        @WithDefault("20")
+        int neighbors();
+        
+        /**
+         * Number of threads computing neighbors during a pass.
+         */
+        @WithDefault("2")
+        int parallelism();
+    }
+    
+    interface ImageValidation {
+        /**
+         * Maximum number of remote image checks in flight at once.
+         */
+        @WithDefault("4")
+        int maxConcurrent();
+        
+        /**
+         * How long a reachable image URL is trusted before being checked again (in seconds).
+         */
+        @WithDefault("86400")
+        long reachableTtlSeconds();
+        
+        /**
+         * How long a broken image URL is remembered as broken (in seconds).
+         */
+        @WithDefault("3600")
+        long brokenTtlSeconds();
+        
+        /**
+         * Maximum number of URLs whose state is kept in memory.
+         */
+        @WithDefault("10000")
+        int maxEntries();
+    }
+    
+    interface ImageHydration {
+        /**
+         * Maximum number of image downloads running at once; further downloads wait in a queue.
+         */
+        @WithDefault("8")
+        int maxInFlight();
+        
+        /**
+         * Largest image accepted from a remote host (in bytes).
+         */
+        @WithDefault("5000000")
+        int maxImageBytes();
+        
+        /**
+         * Consecutive failures after which downloads from a host are paused.
+         */
+        @WithDefault("5")
+        int breakerFailureThreshold();
+        
+        /**
+         * How long downloads from a failing host are paused before one is tried again (in seconds).
+         */
+        @WithDefault("60")
+        long breakerOpenSeconds();
+    }
+    
+    interface Thumbnails {
+        /**
+         * Whether 160/320/640 px wide cover variants are generated.
+         */
+        @WithDefault("true")
+        boolean enabled();
+        
+        /**
+         * Number of threads generating variants.
+         */
+        @WithDefault("2")
+        int workers();
+    }
+    
+    interface Warmup {
+        /**
+         * Whether covers, recently read books and their publications are preloaded after startup.
+         */
+        @WithDefault("true")
+        boolean enabled();
+        
+        /**
+         * Delay between startup and the start of warming (in seconds).
+         */
+        @WithDefault("10")
+        long delaySeconds();
+        
+        /**
+         * Number of pages of the default book list whose covers are preloaded.
+         */
+        @WithDefault("5")
+        int pages();
+        
+        /**
+         * Number of most recently read books whose cover and publication are preloaded.
+         */
+        @WithDefault("50")
+        int recentBooks();
+        
+        /**
+         * Maximum number of books warmed per second; 0 removes the limit.
+         */
+        @WithDefault("20")
+        int ratePerSecond();
+    }
+    
+    interface Statistics {
+        /**
+         * Shortest time cached statistics are served before being computed again (in seconds),
+         * even if the library changed meanwhile; limits recomputation during imports.
+         */
+        @WithDefault("30")
+        long minAgeSeconds();
+        
+        /**
+         * Longest cached statistics are served without being computed again (in seconds).
+         * Changes made through this node are picked up at once; this bounds staleness for other writers.
+         */
+        @WithDefault("300")
+        long maxAgeSeconds();
+    }
+}
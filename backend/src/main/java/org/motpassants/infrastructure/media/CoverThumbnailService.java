@@ -0,0 +1,346 @@
+package org.motpassants.infrastructure.media;
+
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.jboss.logging.Logger;
+import org.motpassants.domain.core.model.CoverPlaceholder;
+import org.motpassants.domain.port.out.CoverPlaceholderPort;
+import org.motpassants.infrastructure.config.LibrarieConfigProperties;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Fixed-width JPEG variants of cover images, stored next to the original as {@code <name>-<width>}.
+ * Variants are generated off the request path on a small bounded pool: right after an image is
+ * downloaded, or the first time a variant is asked for and missing or older than its original.
+ * An original narrower than a variant is copied as is rather than enlarged.
+ * The same pass stores a placeholder for books, series and authors: a 16 px wide JPEG data URI
+ * and the dominant color, which list endpoints return inline, and the content version used in
+ * the image's immutable URL. Images stored before placeholders
+ * existed are caught up once at startup.
+ */
+@ApplicationScoped
+public class CoverThumbnailService {
+
+    private static final Logger LOG = Logger.getLogger(CoverThumbnailService.class);
+    static final int[] WIDTHS = {160, 320, 640};
+    private static final int MAX_QUEUED = 500;
+    private static final float JPEG_QUALITY = 0.82f;
+    static final int PLACEHOLDER_WIDTH = 16;
+    private static final float PLACEHOLDER_QUALITY = 0.6f;
+
+    private final LibrarieConfigProperties config;
+    private final CoverPlaceholderPort placeholderPort;
+    private final Set<Path> pending = ConcurrentHashMap.newKeySet();
+    private final ThreadPoolExecutor executor;
+
+    @Inject
+    public CoverThumbnailService(LibrarieConfigProperties config, CoverPlaceholderPort placeholderPort) {
+        this.config = config;
+        this.placeholderPort = placeholderPort;
+        int workers = Math.max(1, config.thumbnails().workers());
+        executor = new ThreadPoolExecutor(workers, workers, 30, TimeUnit.SECONDS, new ArrayBlockingQueue<>(MAX_QUEUED), r -> {
+            Thread t = new Thread(r, "cover-thumbnails");
+            t.setDaemon(true);
+            t.setPriority(Thread.MIN_PRIORITY);
+            return t;
+        });
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    void onStart(@Observes StartupEvent event) {
+        if (!config.thumbnails().enabled()) {
+            return;
+        }
+        Thread backfill = new Thread(this::backfillQuietly, "cover-placeholders");
+        backfill.setDaemon(true);
+        backfill.setPriority(Thread.MIN_PRIORITY);
+        backfill.start();
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Smallest variant width covering a requested width, or 0 when only the original is large enough.
+     */
+    public static int variantWidth(int requested) {
+        for (int width : WIDTHS) {
+            if (requested <= width) return width;
+        }
+        return 0;
+    }
+
+    public static Path variantPath(Path original, int width) {
+        return original.resolveSibling(original.getFileName() + "-" + width);
+    }
+
+    /**
+     * Whether a variant exists and was generated from the current original.
+     */
+    public boolean isFresh(Path original, int width) {
+        Path variant = variantPath(original, width);
+        try {
+            return Files.isRegularFile(variant)
+                && Files.getLastModifiedTime(variant).compareTo(Files.getLastModifiedTime(original)) >= 0;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Queue the generation of all variants of an image; does nothing if it is already queued,
+     * if thumbnails are disabled or if the queue is full (a later request queues it again).
+     * Never touches the file system, so it can be called from the event loop.
+     */
+    public void scheduleVariants(Path original) {
+        if (!config.thumbnails().enabled()) {
+            return;
+        }
+        Path key = original.toAbsolutePath().normalize();
+        if (!pending.add(key)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    if (Files.isRegularFile(key)) {
+                        generateVariants(key);
+                    }
+                } catch (Exception e) {
+                    LOG.debugf("Thumbnail generation failed for %s: %s", key, e.getMessage());
+                } finally {
+                    pending.remove(key);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            pending.remove(key);
+        }
+    }
+
+    /**
+     * Write every variant of an image and, for a book, series or author image, its placeholder.
+     *
+     * @return false when the original cannot be decoded
+     */
+    boolean generateVariants(Path original) throws IOException {
+        byte[] bytes = Files.readAllBytes(original);
+        BufferedImage source = ImageIO.read(new ByteArrayInputStream(bytes));
+        if (source == null) {
+            return false;
+        }
+        savePlaceholder(original, placeholder(source, ImageCachingService.contentVersion(bytes)));
+        for (int width : WIDTHS) {
+            Path variant = variantPath(original, width);
+            Path temp = Files.createTempFile(original.getParent(), variant.getFileName().toString(), ".part");
+            try {
+                if (source.getWidth() <= width) {
+                    Files.copy(original, temp, StandardCopyOption.REPLACE_EXISTING);
+                } else {
+                    writeJpeg(scale(source, width), temp.toFile(), JPEG_QUALITY);
+                }
+                moveIntoPlace(temp, variant);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Generate variants and placeholders for every stored image whose owner has no placeholder yet.
+     * Owners without a file, or with one that cannot be decoded, are marked so later startups skip them.
+     *
+     * @return the number of images processed
+     */
+    int backfillPlaceholders(Path baseDir) {
+        return backfill(baseDir.resolve("books").resolve("covers"),
+                placeholderPort.findBookIdsWithoutPlaceholder(), placeholderPort::markBooksWithoutCover)
+            + backfill(baseDir.resolve("series").resolve("covers"),
+                placeholderPort.findSeriesIdsWithoutPlaceholder(), placeholderPort::markSeriesWithoutCover)
+            + backfill(baseDir.resolve("authors").resolve("pictures"),
+                placeholderPort.findAuthorIdsWithoutPlaceholder(), placeholderPort::markAuthorsWithoutPicture);
+    }
+
+    private int backfill(Path dir, Set<UUID> missing, Consumer<Collection<UUID>> markWithoutImage) {
+        int processed = 0;
+        List<UUID> withoutImage = new ArrayList<>();
+        for (UUID id : missing) {
+            if (Thread.currentThread().isInterrupted() || executor.isShutdown()) {
+                break;
+            }
+            Path original = dir.resolve(id.toString());
+            try {
+                if (Files.isRegularFile(original) && generateVariants(original)) {
+                    processed++;
+                } else {
+                    withoutImage.add(id);
+                }
+            } catch (IOException e) {
+                // Possibly transient, so not marked; the next startup tries again
+                LOG.debugf("Placeholder backfill failed for %s: %s", original, e.getMessage());
+            }
+        }
+        if (!withoutImage.isEmpty()) {
+            markWithoutImage.accept(withoutImage);
+        }
+        return processed;
+    }
+
+    private void backfillQuietly() {
+        try {
+            int processed = backfillPlaceholders(Paths.get(config.storage().baseDir()));
+            if (processed > 0) {
+                LOG.infof("Computed cover placeholders for %d stored images", processed);
+            }
+        } catch (Exception e) {
+            LOG.warn("Cover placeholder backfill failed", e);
+        }
+    }
+
+    /**
+     * A 16 px wide inline JPEG of the image and its dominant color.
+     */
+    static CoverPlaceholder placeholder(BufferedImage source, String version) throws IOException {
+        BufferedImage tiny = scale(source, Math.min(PLACEHOLDER_WIDTH, source.getWidth()));
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        writeJpeg(tiny, bytes, PLACEHOLDER_QUALITY);
+        String dataUri = "data:image/jpeg;base64," + Base64.getEncoder().encodeToString(bytes.toByteArray());
+        return new CoverPlaceholder(dataUri, dominantColor(tiny), version);
+    }
+
+    /**
+     * Average color of the most populated bucket, with channels quantized to 4 bits:
+     * unlike a plain average, a cover mostly blue with red lettering comes out blue, not purple.
+     */
+    static String dominantColor(BufferedImage image) {
+        int[] counts = new int[4096];
+        long[][] sums = new long[4096][3];
+        for (int y = 0; y < image.getHeight(); y++) {
+            for (int x = 0; x < image.getWidth(); x++) {
+                int rgb = image.getRGB(x, y);
+                int r = (rgb >> 16) & 0xFF;
+                int g = (rgb >> 8) & 0xFF;
+                int b = rgb & 0xFF;
+                int bucket = (r >> 4) << 8 | (g >> 4) << 4 | (b >> 4);
+                counts[bucket]++;
+                sums[bucket][0] += r;
+                sums[bucket][1] += g;
+                sums[bucket][2] += b;
+            }
+        }
+        int best = 0;
+        for (int i = 1; i < counts.length; i++) {
+            if (counts[i] > counts[best]) best = i;
+        }
+        int n = Math.max(1, counts[best]);
+        return String.format("#%02x%02x%02x", sums[best][0] / n, sums[best][1] / n, sums[best][2] / n);
+    }
+
+    private void savePlaceholder(Path original, CoverPlaceholder placeholder) {
+        Path dir = original.getParent();
+        if (dir == null || dir.getParent() == null || dir.getParent().getFileName() == null) {
+            return;
+        }
+        UUID id;
+        try {
+            id = UUID.fromString(original.getFileName().toString());
+        } catch (IllegalArgumentException e) {
+            return;
+        }
+        String owner = dir.getParent().getFileName().toString();
+        String kind = dir.getFileName().toString();
+        try {
+            if ("books".equals(owner) && "covers".equals(kind)) {
+                placeholderPort.saveBookPlaceholder(id, placeholder);
+            } else if ("series".equals(owner) && "covers".equals(kind)) {
+                placeholderPort.saveSeriesPlaceholder(id, placeholder);
+            } else if ("authors".equals(owner) && "pictures".equals(kind)) {
+                placeholderPort.saveAuthorPlaceholder(id, placeholder);
+            }
+        } catch (RuntimeException e) {
+            // The variants are still good; the next backfill retries the placeholder
+            LOG.debugf("Saving cover placeholder failed for %s: %s", original, e.getMessage());
+        }
+    }
+
+    private static BufferedImage scale(BufferedImage source, int width) {
+        int height = Math.max(1, (int) Math.round((double) source.getHeight() * width / source.getWidth()));
+        BufferedImage current = source;
+        int w = source.getWidth();
+        int h = source.getHeight();
+        // Halve step by step: a single bilinear pass from a large image skips pixels and aliases
+        do {
+            w = Math.max(width, w / 2);
+            h = Math.max(height, h / 2);
+            BufferedImage step = new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = step.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                // JPEG has no alpha; transparent covers go on white
+                g.setColor(Color.WHITE);
+                g.fillRect(0, 0, w, h);
+                g.drawImage(current, 0, 0, w, h, null);
+            } finally {
+                g.dispose();
+            }
+            current = step;
+        } while (w > width);
+        return current;
+    }
+
+    private static void writeJpeg(BufferedImage image, Object target, float quality) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(target)) {
+            writer.setOutput(out);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(quality);
+            param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    private static void moveIntoPlace(Path temp, Path target) throws IOException {
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
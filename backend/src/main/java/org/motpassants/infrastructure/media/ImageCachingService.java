@@ -1,30 +1,34 @@
 package org.motpassants.infrastructure.media;
 
+import io.smallrye.mutiny.Uni;
+import io.vertx.mutiny.core.Vertx;
+import io.vertx.mutiny.core.file.FileProps;
+import io.vertx.mutiny.core.file.FileSystem;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.core.EntityTag;
 import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
 import org.jboss.logging.Logger;
+import org.jboss.resteasy.reactive.PathPart;
 import org.motpassants.domain.port.out.SecureFileProcessingPort;
 import org.motpassants.infrastructure.config.LibrarieConfigProperties;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.net.URI;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
+import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.StandardOpenOption;
 import java.security.MessageDigest;
-import java.time.Duration;
 import java.util.Date;
-import java.util.Optional;
+import java.util.List;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.function.Function;
 
 /**
  * Service for caching and serving images with security validation.
@@ -34,23 +38,35 @@ import java.util.regex.Pattern;
 public class ImageCachingService {
     
     private static final Logger LOG = Logger.getLogger(ImageCachingService.class);
-    private static final Pattern OG_IMAGE_PATTERN = Pattern.compile(
-        "<meta\\s+(?:property|name)\\s*=\\s*\\\"og:image\\\"\\s+content\\s*=\\s*\\\"([^\\\"]+)\\\"",
-        Pattern.CASE_INSENSITIVE
-    );
     
     // Cache duration for static assets (1 day in seconds)
     private static final int CACHE_MAX_AGE_SECONDS = 86400;
+    // Versioned URLs change with the content, so their responses never need revalidating
+    private static final String IMMUTABLE_CACHE_CONTROL = "public, max-age=31536000, immutable";
+    // A versioned URL answered with the original while its variant is generated
+    private static final int PENDING_VARIANT_MAX_AGE_SECONDS = 300;
+    private static final int VERSION_LENGTH = 16;
+    private static final int MAX_VERSION_ENTRIES = 50_000;
     
     private final LibrarieConfigProperties config;
     private final SecureFileProcessingPort secureFileProcessingPort;
+    private final ImageHydrationService hydrationService;
+    private final CoverThumbnailService thumbnailService;
+    private final Vertx vertx;
     private final ConcurrentMap<String, byte[]> imageCache = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Path, FileVersion> versions = new ConcurrentHashMap<>();
     
     @Inject
     public ImageCachingService(LibrarieConfigProperties config, 
-                              SecureFileProcessingPort secureFileProcessingPort) {
+                              SecureFileProcessingPort secureFileProcessingPort,
+                              ImageHydrationService hydrationService,
+                              CoverThumbnailService thumbnailService,
+                              Vertx vertx) {
         this.config = config;
         this.secureFileProcessingPort = secureFileProcessingPort;
+        this.hydrationService = hydrationService;
+        this.thumbnailService = thumbnailService;
+        this.vertx = vertx;
     }
     
     /**
@@ -105,8 +121,9 @@ public class ImageCachingService {
     /**
      * Serve image using a local-first strategy with strong ETag/Last-Modified and optional remote hydration.
      * If a local file exists at baseDir/folder/subFolder/id, it is served with conditional GET support.
-     * If not and a remoteUrl is provided, the service attempts to resolve the image (supports og:image from HTML),
-     * stores it locally, and serves it. If all fails, returns the provided fallback SVG (image/svg+xml).
+     * If not and a remoteUrl is provided, a download into that file is started (supports og:image from HTML)
+     * without waiting for it: the fallback SVG (image/svg+xml), or a 404 without one, is answered at once
+     * and marked for revalidation, so the next request finds the downloaded file.
      */
     public Response serveLocalFirstStrongETag(
             Request httpRequest,
@@ -122,6 +139,10 @@ public class ImageCachingService {
             try { Files.createDirectories(targetDir); } catch (Exception ignored) {}
             Path localFile = targetDir.resolve(id);
 
+            // Populate from remote if URL provided; concurrent requests for the same file share one download
+            boolean hydrating = remoteUrl != null && !Files.isRegularFile(localFile) && startHydration(remoteUrl, localFile);
+            String fallbackCacheControl = hydrating ? "no-cache" : "public, max-age=" + CACHE_MAX_AGE_SECONDS;
+
             // Serve from disk with Last-Modified and strong ETag
             if (Files.exists(localFile) && Files.isRegularFile(localFile)) {
                 var ft = Files.getLastModifiedTime(localFile);
@@ -137,10 +158,9 @@ public class ImageCachingService {
                         .build();
                 }
 
-                byte[] bytes = Files.readAllBytes(localFile);
-                String mime = Files.probeContentType(localFile);
-                if (mime == null || !mime.startsWith("image/")) mime = "image/jpeg";
-                EntityTag strong = new EntityTag(sha256Hex(bytes));
+                // The ETag is cached per file version; the bytes themselves are sent with sendFile
+                long size = Files.size(localFile);
+                EntityTag strong = new EntityTag(etag(localFile));
 
                 Response.ResponseBuilder pre = httpRequest.evaluatePreconditions(lastMod, strong);
                 if (pre != null) {
@@ -153,7 +173,7 @@ public class ImageCachingService {
                         .build();
                 }
                 LOG.debug("Serving local file with caching headers: " + localFile);
-                return Response.ok(bytes, mime)
+                return Response.ok(new PathPart(localFile, 0, size), mimeOf(localFile))
                     .tag(strong)
                     .lastModified(lastMod)
                     .header(jakarta.ws.rs.core.HttpHeaders.CACHE_CONTROL, "public, max-age=" + CACHE_MAX_AGE_SECONDS)
@@ -161,47 +181,10 @@ public class ImageCachingService {
                     .build();
             }
 
-            // Populate from remote if URL provided
-            if (remoteUrl != null && (remoteUrl.startsWith("http://") || remoteUrl.startsWith("https://"))) {
-                Optional<ImageData> img = resolveImage(remoteUrl);
-                if (img.isPresent()) {
-                    byte[] bytes = img.get().bytes;
-                    String contentType = img.get().contentType != null && img.get().contentType.toLowerCase().startsWith("image/")
-                        ? img.get().contentType
-                        : "image/jpeg";
-                    try {
-                        Files.write(localFile, bytes, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
-                    } catch (Exception e) {
-                        LOG.debug("Failed writing hydrated image locally: " + localFile + ", " + e.getMessage());
-                    }
-                    var ft = Files.getLastModifiedTime(localFile);
-                    Date lastMod = new Date(ft.toMillis());
-                    EntityTag strong = new EntityTag(sha256Hex(bytes));
-                    // Evaluate preconditions (rare on first fetch, but safe)
-                    Response.ResponseBuilder pre = httpRequest.evaluatePreconditions(lastMod, strong);
-                    if (pre != null) {
-                        LOG.debug("Returning 304 Not Modified for hydrated image (ETag match)");
-                        return pre
-                            .tag(strong)
-                            .lastModified(lastMod)
-                            .header(jakarta.ws.rs.core.HttpHeaders.CACHE_CONTROL, "public, max-age=" + CACHE_MAX_AGE_SECONDS)
-                            .header(jakarta.ws.rs.core.HttpHeaders.VARY, "Accept-Encoding")
-                            .build();
-                    }
-                    LOG.debug("Serving newly hydrated image with caching headers");
-                    return Response.ok(bytes, contentType)
-                        .tag(strong)
-                        .lastModified(lastMod)
-                        .header(jakarta.ws.rs.core.HttpHeaders.CACHE_CONTROL, "public, max-age=" + CACHE_MAX_AGE_SECONDS)
-                        .header(jakarta.ws.rs.core.HttpHeaders.VARY, "Accept-Encoding")
-                        .build();
-                }
-            }
-
             // If no fallback requested, return 404 to let frontend render its own placeholder
             if (fallbackSvg == null) {
                 return Response.status(Response.Status.NOT_FOUND)
-                    .header(jakarta.ws.rs.core.HttpHeaders.CACHE_CONTROL, "public, max-age=" + CACHE_MAX_AGE_SECONDS)
+                    .header(jakarta.ws.rs.core.HttpHeaders.CACHE_CONTROL, fallbackCacheControl)
                     .header(jakarta.ws.rs.core.HttpHeaders.VARY, "Accept-Encoding")
                     .build();
             }
@@ -214,14 +197,14 @@ public class ImageCachingService {
                 LOG.debug("Returning 304 Not Modified for fallback SVG (ETag match)");
                 return pre
                     .tag(strong)
-                    .header(jakarta.ws.rs.core.HttpHeaders.CACHE_CONTROL, "public, max-age=" + CACHE_MAX_AGE_SECONDS)
+                    .header(jakarta.ws.rs.core.HttpHeaders.CACHE_CONTROL, fallbackCacheControl)
                     .header(jakarta.ws.rs.core.HttpHeaders.VARY, "Accept-Encoding")
                     .build();
             }
             LOG.debug("Serving fallback SVG with caching headers");
             return Response.ok(svg, "image/svg+xml")
                 .tag(strong)
-                .header(jakarta.ws.rs.core.HttpHeaders.CACHE_CONTROL, "public, max-age=" + CACHE_MAX_AGE_SECONDS)
+                .header(jakarta.ws.rs.core.HttpHeaders.CACHE_CONTROL, fallbackCacheControl)
                 .header(jakarta.ws.rs.core.HttpHeaders.VARY, "Accept-Encoding")
                 .build();
         } catch (Exception e) {
@@ -231,42 +214,266 @@ public class ImageCachingService {
         }
     }
 
-    private Optional<ImageData> resolveImage(String url) throws Exception {
-        HttpClient client = HttpClient.newBuilder()
-            .connectTimeout(Duration.ofSeconds(5))
-            .followRedirects(HttpClient.Redirect.NORMAL)
-            .build();
+    /**
+     * Version of image content as used in versioned URLs: the start of its SHA-256 (the strong ETag).
+     */
+    public static String contentVersion(byte[] bytes) {
+        return versionOfEtag(sha256Hex(bytes));
+    }
 
-        HttpResponse<byte[]> resp = fetch(client, url);
-        String contentType = resp.headers().firstValue("content-type").orElse("").toLowerCase();
-        if (contentType.startsWith("image/")) {
-            return Optional.of(new ImageData(resp.body(), contentType));
+    /**
+     * Version of the local image at baseDir/folder/subFolder/id, or null when there is none.
+     */
+    public String localVersion(Path storageBaseDir, String folder, String subFolder, String id) {
+        try {
+            Path safeBase = secureFileProcessingPort.sanitizePath(storageBaseDir.toString(), ".");
+            Path file = safeBase.resolve(folder).resolve(subFolder).resolve(id);
+            return Files.isRegularFile(file) ? versionOfEtag(etag(file)) : null;
+        } catch (IOException | SecurityException e) {
+            return null;
         }
-        if (contentType.contains("text/html")) {
-            String html = new String(resp.body());
-            Matcher m = OG_IMAGE_PATTERN.matcher(html);
-            if (m.find()) {
-                String ogImage = m.group(1);
-                if (ogImage.startsWith("//")) ogImage = "https:" + ogImage;
-                HttpResponse<byte[]> imgResp = fetch(client, ogImage);
-                String imgType = imgResp.headers().firstValue("content-type").orElse("image/jpeg");
-                if (imgType.toLowerCase().startsWith("image/")) {
-                    return Optional.of(new ImageData(imgResp.body(), imgType));
+    }
+
+    /**
+     * Load the ETags of the local image at baseDir/folder/subFolder/id and of its fresh variants,
+     * reading the files once so the first requests find them in memory and in the OS page cache.
+     * Missing or stale variants are scheduled for generation.
+     *
+     * @return whether a local image was found
+     */
+    public boolean warm(Path storageBaseDir, String folder, String subFolder, String id) {
+        try {
+            Path safeBase = secureFileProcessingPort.sanitizePath(storageBaseDir.toString(), ".");
+            Path file = safeBase.resolve(folder).resolve(subFolder).resolve(id);
+            if (!Files.isRegularFile(file)) {
+                return false;
+            }
+            etag(file);
+            boolean stale = false;
+            for (int width : CoverThumbnailService.WIDTHS) {
+                if (thumbnailService.isFresh(file, width)) {
+                    etag(CoverThumbnailService.variantPath(file, width));
+                } else {
+                    stale = true;
                 }
             }
+            if (stale) {
+                thumbnailService.scheduleVariants(file);
+            }
+            return true;
+        } catch (IOException | SecurityException e) {
+            return false;
         }
-        return Optional.empty();
     }
 
-    private HttpResponse<byte[]> fetch(HttpClient client, String url) throws Exception {
-        HttpRequest req = HttpRequest.newBuilder(URI.create(url))
-            .timeout(Duration.ofSeconds(10))
-            .header("User-Agent", "Librarie/1.0 (+https://localhost)")
-            .header("Accept", "image/avif,image/webp,image/apng,image/*,*/*;q=0.8")
-            .header("Accept-Encoding", "gzip, deflate, br")
-            .GET()
+    /**
+     * Redirect to the versioned URL of an image; never cached, as the target changes with the image.
+     */
+    public static Response versionRedirect(String location) {
+        return Response.status(Response.Status.FOUND)
+            .location(URI.create(location))
+            .header(jakarta.ws.rs.core.HttpHeaders.CACHE_CONTROL, "no-cache")
             .build();
-        return client.send(req, HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    /**
+     * Serve an image at a versioned URL without blocking: file metadata comes from async stats,
+     * preconditions are evaluated against the cached ETag, and the file is sent with zero-copy
+     * sendFile rather than read into memory. Meant to be returned from an endpoint running on the
+     * event loop; files are only read, once per change, to compute their ETag.
+     * When the version is the one of the original at baseDir/folder/subFolder/id, the original
+     * (or its variant of the given width, when fresh) is served as immutable for a year;
+     * otherwise the request is redirected to the URL of the current version.
+     *
+     * @param variantWidth a thumbnail width, or 0 for the original
+     * @param urlOf        builds the versioned URL for a version
+     */
+    public Uni<Response> serveVersioned(
+            String ifNoneMatch,
+            Path storageBaseDir,
+            String folder,
+            String subFolder,
+            String id,
+            int variantWidth,
+            String version,
+            Function<String, String> urlOf) {
+        Path safeBase = secureFileProcessingPort.sanitizePath(storageBaseDir.toString(), ".");
+        Path original = safeBase.resolve(folder).resolve(subFolder).resolve(id);
+        FileSystem fs = vertx.fileSystem();
+        return fs.props(original.toString())
+            .onFailure().recoverWithNull()
+            .onItem().transformToUni(originalProps -> {
+                if (originalProps == null || !originalProps.isRegularFile()) {
+                    return Uni.createFrom().item(Response.status(Response.Status.NOT_FOUND)
+                        .header(jakarta.ws.rs.core.HttpHeaders.CACHE_CONTROL, "no-cache")
+                        .build());
+                }
+                return etag(original, originalProps).onItem().transformToUni(originalEtag -> {
+                    String current = versionOfEtag(originalEtag);
+                    if (!current.equals(version)) {
+                        return Uni.createFrom().item(versionRedirect(urlOf.apply(current)));
+                    }
+                    if (variantWidth <= 0) {
+                        return Uni.createFrom().item(sendFile(ifNoneMatch, original, originalProps.size(), originalEtag, IMMUTABLE_CACHE_CONTROL));
+                    }
+                    Path variant = CoverThumbnailService.variantPath(original, variantWidth);
+                    return fs.props(variant.toString())
+                        .onFailure().recoverWithNull()
+                        .onItem().transformToUni(variantProps -> {
+                            if (variantProps == null || variantProps.lastModifiedTime() < originalProps.lastModifiedTime()) {
+                                // Answer with the original for now, cached briefly, while the variant is generated
+                                thumbnailService.scheduleVariants(original);
+                                return Uni.createFrom().item(sendFile(ifNoneMatch, original, originalProps.size(), originalEtag,
+                                    "public, max-age=" + PENDING_VARIANT_MAX_AGE_SECONDS));
+                            }
+                            return etag(variant, variantProps).map(variantEtag ->
+                                sendFile(ifNoneMatch, variant, variantProps.size(), variantEtag, IMMUTABLE_CACHE_CONTROL));
+                        });
+                });
+            })
+            .onFailure().recoverWithItem(e -> Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                .entity("Internal server error: " + e.getMessage())
+                .build());
+    }
+
+    private static Response sendFile(String ifNoneMatch, Path file, long size, String etag, String cacheControl) {
+        EntityTag strong = new EntityTag(etag);
+        if (matches(ifNoneMatch, etag)) {
+            return Response.notModified(strong)
+                .header(jakarta.ws.rs.core.HttpHeaders.CACHE_CONTROL, cacheControl)
+                .header(jakarta.ws.rs.core.HttpHeaders.VARY, "Accept-Encoding")
+                .build();
+        }
+        return Response.ok(new PathPart(file, 0, size), mimeOf(file))
+            .tag(strong)
+            .header(jakarta.ws.rs.core.HttpHeaders.CACHE_CONTROL, cacheControl)
+            .header(jakarta.ws.rs.core.HttpHeaders.VARY, "Accept-Encoding")
+            .build();
+    }
+
+    /**
+     * Whether an If-None-Match header lists the given strong ETag (weak comparison, as for GET).
+     */
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) return true;
+            if (tag.startsWith("W/")) tag = tag.substring(2);
+            if (tag.length() >= 2 && tag.startsWith("\"") && tag.endsWith("\"")) tag = tag.substring(1, tag.length() - 1);
+            if (tag.equals(etag)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Type from the file name only, so serving never has to open the file; stored images have
+     * no extension and are sent as JPEG, which browsers sniff past for other formats.
+     */
+    private static String mimeOf(Path file) {
+        String mime = URLConnection.guessContentTypeFromName(file.getFileName().toString());
+        return mime != null && mime.startsWith("image/") ? mime : "image/jpeg";
+    }
+
+    /**
+     * Strong ETag of a file, read and hashed again only when its size or modification time changed.
+     */
+    private Uni<String> etag(Path file, FileProps props) {
+        FileVersion known = versions.get(file);
+        if (known != null && known.modified() == props.lastModifiedTime() && known.size() == props.size()) {
+            return Uni.createFrom().item(known.etag());
+        }
+        return vertx.fileSystem().readFile(file.toString())
+            .map(buffer -> remember(file, props.lastModifiedTime(), props.size(), sha256Hex(buffer.getBytes())));
+    }
+
+    /**
+     * Blocking counterpart of {@link #etag(Path, FileProps)}.
+     */
+    private String etag(Path file) throws IOException {
+        long modified = Files.getLastModifiedTime(file).toMillis();
+        long size = Files.size(file);
+        FileVersion known = versions.get(file);
+        if (known != null && known.modified() == modified && known.size() == size) {
+            return known.etag();
+        }
+        return remember(file, modified, size, sha256Hex(Files.readAllBytes(file)));
+    }
+
+    private String remember(Path file, long modified, long size, String etag) {
+        if (versions.size() >= MAX_VERSION_ENTRIES) {
+            versions.clear();
+        }
+        versions.put(file, new FileVersion(modified, size, etag));
+        return etag;
+    }
+
+    private static String versionOfEtag(String etag) {
+        return etag.length() > VERSION_LENGTH ? etag.substring(0, VERSION_LENGTH) : etag;
+    }
+
+    private record FileVersion(long modified, long size, String etag) {}
+
+    /**
+     * A local image sent in a batch, reported under the given id.
+     */
+    public record BatchImage(String id, Path file) {}
+
+    /**
+     * Stream several local images as one multipart/mixed body, in order and flushing after each part.
+     * Each part carries the image id as Content-ID and its strong ETag; images whose ETag is in
+     * knownEtags (unquoted) and images with no file are left out. ETags come from the per-file
+     * version cache, so a known image is neither read nor hashed again.
+     */
+    public StreamingOutput streamBatch(List<BatchImage> images, Set<String> knownEtags, String boundary) {
+        return output -> {
+            for (BatchImage image : images) {
+                if (!Files.isRegularFile(image.file())) {
+                    continue;
+                }
+                String etag;
+                byte[] bytes;
+                try {
+                    // The cached ETag decides; only images the client lacks are read
+                    etag = etag(image.file());
+                    if (knownEtags.contains(etag)) {
+                        continue;
+                    }
+                    bytes = Files.readAllBytes(image.file());
+                } catch (IOException e) {
+                    LOG.debug("Skipping unreadable image in batch: " + image.file());
+                    continue;
+                }
+                writeAscii(output, "--" + boundary + "\r\n"
+                    + "Content-Type: " + mimeOf(image.file()) + "\r\n"
+                    + "Content-ID: <" + image.id() + ">\r\n"
+                    + "ETag: \"" + etag + "\"\r\n"
+                    + "Content-Length: " + bytes.length + "\r\n\r\n");
+                output.write(bytes);
+                writeAscii(output, "\r\n");
+                output.flush();
+            }
+            writeAscii(output, "--" + boundary + "--\r\n");
+        };
+    }
+
+    private static void writeAscii(OutputStream output, String text) throws IOException {
+        output.write(text.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Start downloading a remote image in the background, or join the download already running.
+     *
+     * @return whether it is still running; a finished one has either created the file or failed
+     */
+    private boolean startHydration(String remoteUrl, Path localFile) {
+        if (hydrationService.hydrate(remoteUrl, localFile).isDone()) {
+            return false;
+        }
+        LOG.debug("Remote image still downloading, serving fallback for now: " + remoteUrl);
+        return true;
     }
 
     private static String sha256Hex(byte[] data) {
@@ -283,8 +490,6 @@ public class ImageCachingService {
         }
     }
 
-    private record ImageData(byte[] bytes, String contentType) {}
-
     /**
      * Gets the MIME type for an image file.
      */
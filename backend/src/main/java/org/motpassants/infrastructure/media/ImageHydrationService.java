@@ -0,0 +1,272 @@
+package org.motpassants.infrastructure.media;
+
+import io.quarkus.runtime.ShutdownEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.jboss.logging.Logger;
+import org.motpassants.infrastructure.config.LibrarieConfigProperties;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Downloads remote images (covers, series pictures) into local storage.
+ * All downloads share one asynchronous HTTP client. Concurrent requests for the same target file
+ * join a single download, a bounded number of downloads run at once (the rest wait in a queue),
+ * and a host failing repeatedly is skipped for a while. Files are written to a temporary file
+ * next to the target and moved into place, so readers never see a partial image; their thumbnail
+ * variants are then generated in the background.
+ */
+@ApplicationScoped
+public class ImageHydrationService {
+
+    private static final Logger LOG = Logger.getLogger(ImageHydrationService.class);
+    private static final Pattern OG_IMAGE_PATTERN = Pattern.compile(
+        "<meta\\s+(?:property|name)\\s*=\\s*\\\"og:image\\\"\\s+content\\s*=\\s*\\\"([^\\\"]+)\\\"",
+        Pattern.CASE_INSENSITIVE
+    );
+    private static final int MAX_QUEUED = 1000;
+
+    private final LibrarieConfigProperties config;
+    private final CoverThumbnailService thumbnails;
+    private final Map<Path, CompletableFuture<Boolean>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, Breaker> breakers = new ConcurrentHashMap<>();
+    private final Queue<Download> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+
+    private final ExecutorService executor;
+    private final HttpClient client;
+    private final Semaphore permits;
+
+    @Inject
+    public ImageHydrationService(LibrarieConfigProperties config, CoverThumbnailService thumbnails) {
+        this.config = config;
+        this.thumbnails = thumbnails;
+        executor = Executors.newFixedThreadPool(2, r -> {
+            Thread t = new Thread(r, "image-http");
+            t.setDaemon(true);
+            return t;
+        });
+        client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .executor(executor)
+            .build();
+        permits = new Semaphore(Math.max(1, config.imageHydration().maxInFlight()));
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        executor.shutdownNow();
+    }
+
+    /**
+     * The HTTP client shared by all remote image traffic.
+     */
+    HttpClient client() {
+        return client;
+    }
+
+    /**
+     * Download an image into a local file unless it is already there.
+     * HTML pages are followed to their og:image.
+     *
+     * @param url remote image or page URL
+     * @param target local file to create
+     * @return completes with true when the target file exists afterwards; never completes exceptionally
+     */
+    public CompletableFuture<Boolean> hydrate(String url, Path target) {
+        if (Files.isRegularFile(target)) {
+            return CompletableFuture.completedFuture(true);
+        }
+        if (url == null || !(url.startsWith("http://") || url.startsWith("https://"))) {
+            return CompletableFuture.completedFuture(false);
+        }
+        Path key = target.toAbsolutePath().normalize();
+        CompletableFuture<Boolean> created = new CompletableFuture<>();
+        CompletableFuture<Boolean> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            return existing;
+        }
+        created.whenComplete((ok, error) -> inFlight.remove(key, created));
+        if (queued.incrementAndGet() > MAX_QUEUED) {
+            queued.decrementAndGet();
+            created.complete(false);
+            return created;
+        }
+        queue.add(new Download(url, key, created));
+        drain();
+        return created;
+    }
+
+    private void drain() {
+        while (permits.tryAcquire()) {
+            Download task = queue.poll();
+            if (task == null) {
+                permits.release();
+                // A task queued between the poll and the release would otherwise wait for the next completion
+                if (queue.isEmpty()) return;
+                continue;
+            }
+            queued.decrementAndGet();
+            try {
+                download(task.url(), task.target()).whenComplete((ok, error) -> {
+                    permits.release();
+                    task.created().complete(error == null && Boolean.TRUE.equals(ok));
+                    drain();
+                });
+            } catch (RuntimeException e) {
+                permits.release();
+                // Completing also removes the in-flight entry, so a later request can try again
+                task.created().complete(false);
+                LOG.debug("Image download could not start", e);
+            }
+        }
+    }
+
+    private CompletableFuture<Boolean> download(String url, Path target) {
+        String host;
+        try {
+            host = URI.create(url).getHost();
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.completedFuture(false);
+        }
+        Breaker breaker = host == null ? null : breakers.computeIfAbsent(host.toLowerCase(Locale.ROOT), h -> new Breaker());
+        if (breaker != null && !breaker.allow()) {
+            LOG.debugf("Skipping image download, host %s is failing: %s", host, url);
+            return CompletableFuture.completedFuture(false);
+        }
+        return fetch(url)
+            .thenCompose(response -> {
+                String contentType = response.headers().firstValue("content-type").orElse("").toLowerCase(Locale.ROOT);
+                if (contentType.contains("text/html") && response.body() != null) {
+                    Matcher m = OG_IMAGE_PATTERN.matcher(new String(response.body(), StandardCharsets.UTF_8));
+                    if (m.find()) {
+                        String ogImage = m.group(1);
+                        if (ogImage.startsWith("//")) ogImage = "https:" + ogImage;
+                        return fetch(ogImage);
+                    }
+                }
+                return CompletableFuture.completedFuture(response);
+            })
+            .handle((response, error) -> {
+                if (error != null) {
+                    // Network failures count against the host
+                    if (breaker != null) breaker.failure();
+                    LOG.debugf("Image download failed for %s: %s", url, error.getMessage());
+                    return false;
+                }
+                if (breaker != null) {
+                    // A plain 404 only means this image is missing; any other error status counts against the host
+                    int status = response.statusCode();
+                    if ((status >= 200 && status < 300) || status == 404) {
+                        breaker.success();
+                    } else {
+                        breaker.failure();
+                        LOG.debugf("Image download failed for %s: HTTP %d", url, status);
+                    }
+                }
+                if (!isImage(response) || !write(target, response.body())) {
+                    return false;
+                }
+                thumbnails.scheduleVariants(target);
+                return true;
+            });
+    }
+
+    private CompletableFuture<HttpResponse<byte[]>> fetch(String url) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+            .timeout(Duration.ofSeconds(10))
+            .header("User-Agent", "Librarie/1.0 (+https://localhost)")
+            .header("Accept", "image/avif,image/webp,image/apng,image/*,*/*;q=0.8")
+            .GET()
+            .build();
+        return client.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private boolean isImage(HttpResponse<byte[]> response) {
+        int status = response.statusCode();
+        String contentType = response.headers().firstValue("content-type").orElse("").toLowerCase(Locale.ROOT);
+        byte[] body = response.body();
+        return status >= 200 && status < 300
+            && (contentType.startsWith("image/") || contentType.isEmpty())
+            && body != null && body.length > 0 && body.length <= config.imageHydration().maxImageBytes();
+    }
+
+    private static boolean write(Path target, byte[] bytes) {
+        Path temp = null;
+        try {
+            Files.createDirectories(target.getParent());
+            temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".part");
+            Files.write(temp, bytes);
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return true;
+        } catch (IOException e) {
+            LOG.debugf("Failed writing hydrated image %s: %s", target, e.getMessage());
+            if (temp != null) {
+                try { Files.deleteIfExists(temp); } catch (IOException ignored) {}
+            }
+            return false;
+        }
+    }
+
+    private record Download(String url, Path target, CompletableFuture<Boolean> created) {}
+
+    /**
+     * Consecutive failure counter for one host; once open, lets a single trial through after the cool-down.
+     */
+    private final class Breaker {
+        private int failures;
+        private long openUntil;
+
+        synchronized boolean allow() {
+            if (failures < config.imageHydration().breakerFailureThreshold()) {
+                return true;
+            }
+            long now = System.currentTimeMillis();
+            if (now < openUntil) {
+                return false;
+            }
+            // Half-open: this trial decides, the others keep waiting
+            openUntil = now + 1000L * config.imageHydration().breakerOpenSeconds();
+            return true;
+        }
+
+        synchronized void failure() {
+            failures++;
+            if (failures >= config.imageHydration().breakerFailureThreshold()) {
+                openUntil = System.currentTimeMillis() + 1000L * config.imageHydration().breakerOpenSeconds();
+            }
+        }
+
+        synchronized void success() {
+            failures = 0;
+            openUntil = 0;
+        }
+    }
+}
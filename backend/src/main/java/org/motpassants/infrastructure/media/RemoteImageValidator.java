@@ -0,0 +1,175 @@
+package org.motpassants.infrastructure.media;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.jboss.logging.Logger;
+import org.motpassants.infrastructure.config.LibrarieConfigProperties;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Background validation of remote image URLs (series pictures) with a result cache.
+ * Callers get the last known state immediately; unknown or expired URLs are queued and checked
+ * with the HTTP client shared by image downloads, a bounded number at a time. Broken URLs are
+ * cached too, for a shorter time, so a dead host is not hit again on every request.
+ */
+@ApplicationScoped
+public class RemoteImageValidator {
+
+    private static final Logger LOG = Logger.getLogger(RemoteImageValidator.class);
+    static final int MAX_QUEUED = 1000;
+
+    public enum Status { UNKNOWN, REACHABLE, BROKEN }
+
+    private record Result(Status status, long checkedAt) {}
+
+    private final LibrarieConfigProperties config;
+    private final Map<String, Result> results = new ConcurrentHashMap<>();
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+    private final Queue<String> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+
+    private final HttpClient client;
+    private final Semaphore permits;
+    private final LongSupplier clock;
+
+    @Inject
+    public RemoteImageValidator(LibrarieConfigProperties config, ImageHydrationService hydrationService) {
+        this(config, hydrationService.client(), System::currentTimeMillis);
+    }
+
+    RemoteImageValidator(LibrarieConfigProperties config, HttpClient client, LongSupplier clock) {
+        this.config = config;
+        this.client = client;
+        this.clock = clock;
+        this.permits = new Semaphore(Math.max(1, config.imageValidation().maxConcurrent()));
+    }
+
+    /**
+     * Last known state of a remote image URL, without waiting on the network.
+     * URLs never checked, or whose result has expired, are queued for a background check;
+     * an expired result is still returned until the new one is in.
+     */
+    public Status status(String url) {
+        if (url == null || url.isBlank()) {
+            return Status.BROKEN;
+        }
+        Result result = results.get(url);
+        if (result != null && clock.getAsLong() - result.checkedAt() < ttlMillis(result.status())) {
+            return result.status();
+        }
+        schedule(url);
+        return result != null ? result.status() : Status.UNKNOWN;
+    }
+
+    private void schedule(String url) {
+        if (!pending.add(url)) {
+            return;
+        }
+        if (queued.incrementAndGet() > MAX_QUEUED) {
+            // Drop rather than grow without bound; a later request queues it again
+            queued.decrementAndGet();
+            pending.remove(url);
+            return;
+        }
+        queue.add(url);
+        drain();
+    }
+
+    private void drain() {
+        while (permits.tryAcquire()) {
+            String url = queue.poll();
+            if (url == null) {
+                permits.release();
+                // An URL queued between the poll and the release would otherwise wait for the next one
+                if (queue.isEmpty()) return;
+                continue;
+            }
+            queued.decrementAndGet();
+            check(url).whenComplete((status, error) -> {
+                record(url, error != null ? Status.BROKEN : status);
+                pending.remove(url);
+                permits.release();
+                drain();
+            });
+        }
+    }
+
+    private CompletableFuture<Status> check(String url) {
+        HttpRequest head;
+        HttpRequest get;
+        try {
+            head = HttpRequest.newBuilder(URI.create(url))
+                .timeout(Duration.ofSeconds(6))
+                .method("HEAD", HttpRequest.BodyPublishers.noBody())
+                .header("User-Agent", "Librarie/1.0")
+                .build();
+            get = HttpRequest.newBuilder(URI.create(url))
+                .timeout(Duration.ofSeconds(8))
+                .header("User-Agent", "Librarie/1.0")
+                .header("Accept", "image/avif,image/webp,image/apng,image/*,*/*;q=0.8")
+                .GET()
+                .build();
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.completedFuture(Status.BROKEN);
+        }
+        // Some hosts reject HEAD; only fall back to a full GET when it does not confirm an image
+        return client.sendAsync(head, HttpResponse.BodyHandlers.discarding())
+            .handle((response, error) -> error == null && isImage(response))
+            .thenCompose(ok -> ok
+                ? CompletableFuture.completedFuture(Status.REACHABLE)
+                : client.sendAsync(get, HttpResponse.BodyHandlers.ofByteArray())
+                    .thenApply(response -> isImage(response) && response.body() != null && response.body().length > 0
+                        ? Status.REACHABLE : Status.BROKEN));
+    }
+
+    private static boolean isImage(HttpResponse<?> response) {
+        int status = response.statusCode();
+        String contentType = response.headers().firstValue("content-type").orElse("").toLowerCase();
+        return status >= 200 && status < 300 && contentType.startsWith("image/");
+    }
+
+    private void record(String url, Status status) {
+        results.put(url, new Result(status, clock.getAsLong()));
+        if (status == Status.BROKEN) {
+            LOG.debugf("Remote image unreachable: %s", url);
+        }
+        int maxEntries = Math.max(1, config.imageValidation().maxEntries());
+        if (results.size() > maxEntries) {
+            prune(maxEntries);
+        }
+    }
+
+    private synchronized void prune(int maxEntries) {
+        long now = clock.getAsLong();
+        results.entrySet().removeIf(e -> now - e.getValue().checkedAt() >= ttlMillis(e.getValue().status()));
+        if (results.size() > maxEntries) {
+            List<Map.Entry<String, Result>> oldest = new ArrayList<>(results.entrySet());
+            oldest.sort(Comparator.comparingLong(e -> e.getValue().checkedAt()));
+            for (int i = 0; i < oldest.size() - maxEntries * 9 / 10; i++) {
+                results.remove(oldest.get(i).getKey());
+            }
+        }
+    }
+
+    private long ttlMillis(Status status) {
+        LibrarieConfigProperties.ImageValidation settings = config.imageValidation();
+        return 1000L * (status == Status.REACHABLE ? settings.reachableTtlSeconds() : settings.brokenTtlSeconds());
+    }
+}
@@ -0,0 +1,239 @@
+package org.motpassants.infrastructure.readium;
+
+import org.motpassants.domain.core.model.Book;
+import org.motpassants.domain.core.model.BookContentChapter;
+import org.motpassants.domain.port.out.BookContentExtractorPort;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PushbackReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Extracts the plain text of EPUB spine documents for content indexing.
+ * Each XHTML document is streamed through a small tag-skipping scanner rather than parsed
+ * into a DOM, so memory stays bounded by the kept text; it also tolerates the undeclared
+ * entities and loose markup that strict XML parsers reject.
+ */
+@ApplicationScoped
+public class EpubContentExtractor implements BookContentExtractorPort {
+
+    // Elements whose text is not part of the reading content
+    private static final Set<String> SKIPPED_ELEMENTS = Set.of("head", "script", "style", "svg", "math");
+    // Elements that separate words even without surrounding whitespace
+    private static final Set<String> BLOCK_ELEMENTS = Set.of(
+        "p", "div", "br", "hr", "li", "ul", "ol", "dd", "dt", "tr", "td", "th", "table",
+        "h1", "h2", "h3", "h4", "h5", "h6", "section", "article", "aside", "blockquote",
+        "pre", "figure", "figcaption", "header", "footer", "nav", "body");
+
+    private final EpubPublicationService epubService;
+
+    @Inject
+    public EpubContentExtractor(EpubPublicationService epubService) {
+        this.epubService = epubService;
+    }
+
+    @Override
+    public Optional<List<BookContentChapter>> extractChapters(Book book, int maxCharsPerChapter) {
+        Optional<EpubPublicationService.PublicationInfo> publication = epubService.openPublication(book);
+        if (publication.isEmpty()) {
+            return Optional.empty();
+        }
+        EpubPublicationService.PublicationInfo pub = publication.get();
+        List<BookContentChapter> chapters = new ArrayList<>();
+        try (ZipFile zip = new ZipFile(pub.getEpubFile().toFile())) {
+            List<String> spine = pub.getSpineResourceHrefs();
+            for (int index = 0; index < spine.size(); index++) {
+                String href = spine.get(index);
+                String zipPath = epubService.buildZipPath(pub.getOpfDir(), href);
+                String mediaType = pub.getManifestHrefToMediaType().getOrDefault(href, epubService.guessContentType(href));
+                ZipEntry entry = zip.getEntry(zipPath);
+                String text = "";
+                if (entry != null && isMarkup(mediaType)) {
+                    try (Reader reader = new BufferedReader(new InputStreamReader(zip.getInputStream(entry), StandardCharsets.UTF_8))) {
+                        text = extractText(reader, maxCharsPerChapter);
+                    }
+                }
+                chapters.add(new BookContentChapter(index, zipPath, mediaType, text));
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot read EPUB content: " + e.getMessage(), e);
+        }
+        return Optional.of(chapters);
+    }
+
+    private static boolean isMarkup(String mediaType) {
+        return mediaType != null && (mediaType.contains("html") || mediaType.contains("xml"));
+    }
+
+    /**
+     * Stream markup to plain text: tags are dropped, skipped elements lose their text,
+     * entities are decoded, whitespace is collapsed and the result is cut at {@code maxChars}.
+     */
+    static String extractText(Reader source, int maxChars) throws IOException {
+        PushbackReader reader = new PushbackReader(source, 1);
+        StringBuilder out = new StringBuilder();
+        String skipping = null;
+        int depth = 0;
+        boolean pendingSpace = false;
+        int c;
+        while (out.length() < maxChars && (c = reader.read()) != -1) {
+            if (c == '<') {
+                Tag tag = readTag(reader);
+                if (tag == null) break;
+                if (skipping != null) {
+                    if (tag.name().equals(skipping)) {
+                        if (tag.closing()) depth--;
+                        else if (!tag.selfClosing()) depth++;
+                        if (depth == 0) skipping = null;
+                    }
+                    continue;
+                }
+                if (!tag.closing() && !tag.selfClosing() && SKIPPED_ELEMENTS.contains(tag.name())) {
+                    skipping = tag.name();
+                    depth = 1;
+                } else if (BLOCK_ELEMENTS.contains(tag.name())) {
+                    pendingSpace = true;
+                }
+                continue;
+            }
+            if (skipping != null) {
+                continue;
+            }
+            String decoded = c == '&' ? readEntity(reader) : String.valueOf((char) c);
+            for (int i = 0; i < decoded.length(); i++) {
+                char ch = decoded.charAt(i);
+                if (Character.isWhitespace(ch) || Character.isSpaceChar(ch)) {
+                    pendingSpace = true;
+                } else if (!Character.isISOControl(ch)) {
+                    if (pendingSpace && out.length() > 0) out.append(' ');
+                    pendingSpace = false;
+                    out.append(ch);
+                }
+            }
+        }
+        return out.length() > maxChars ? out.substring(0, maxChars) : out.toString();
+    }
+
+    private record Tag(String name, boolean closing, boolean selfClosing) {}
+
+    /**
+     * Read a tag after its '<' up to and including '>'.
+     * Comments, CDATA, doctype and processing instructions come back with an empty name.
+     */
+    private static Tag readTag(Reader reader) throws IOException {
+        StringBuilder name = new StringBuilder();
+        boolean closing = false;
+        boolean inName = true;
+        int previous = -1;
+        int c = reader.read();
+        if (c == '!') {
+            return skipDeclaration(reader) ? new Tag("", false, false) : null;
+        }
+        if (c == '/') {
+            closing = true;
+            c = reader.read();
+        }
+        while (c != -1 && c != '>') {
+            if (inName) {
+                if (Character.isLetterOrDigit(c) || c == ':' || c == '-' || c == '_') {
+                    name.append((char) c);
+                } else {
+                    inName = false;
+                }
+            }
+            previous = c;
+            c = reader.read();
+        }
+        if (c == -1) {
+            return null;
+        }
+        String tagName = name.toString().toLowerCase(Locale.ROOT);
+        int colon = tagName.indexOf(':');
+        if (colon >= 0) tagName = tagName.substring(colon + 1);
+        return new Tag(tagName, closing, previous == '/');
+    }
+
+    private static boolean skipDeclaration(Reader reader) throws IOException {
+        // Comments end with "-->", CDATA with "]]>", doctype with the first '>'
+        int first = reader.read();
+        int second = first == -1 ? -1 : reader.read();
+        if (first == '-' && second == '-') {
+            return skipUntil(reader, "-->");
+        }
+        if (first == '[') {
+            return skipUntil(reader, "]]>");
+        }
+        if (first == '>' || second == '>') {
+            return true;
+        }
+        return skipUntil(reader, ">");
+    }
+
+    private static boolean skipUntil(Reader reader, String end) throws IOException {
+        int matched = 0;
+        int c;
+        while ((c = reader.read()) != -1) {
+            if (c == end.charAt(matched)) {
+                matched++;
+                if (matched == end.length()) return true;
+            } else {
+                matched = c == end.charAt(0) ? 1 : 0;
+            }
+        }
+        return false;
+    }
+
+    private static String readEntity(PushbackReader reader) throws IOException {
+        StringBuilder name = new StringBuilder();
+        int c;
+        while (name.length() < 10 && (c = reader.read()) != -1) {
+            if (c == ';') {
+                return decodeEntity(name.toString());
+            }
+            if (!Character.isLetterOrDigit(c) && c != '#') {
+                // Not an entity: keep the text as written and leave the next character to the caller
+                reader.unread(c);
+                return "&" + name;
+            }
+            name.append((char) c);
+        }
+        return "&" + name;
+    }
+
+    private static String decodeEntity(String name) {
+        if (name.startsWith("#")) {
+            try {
+                int codePoint = name.length() > 1 && (name.charAt(1) == 'x' || name.charAt(1) == 'X')
+                    ? Integer.parseInt(name.substring(2), 16)
+                    : Integer.parseInt(name.substring(1));
+                return Character.isValidCodePoint(codePoint) ? new String(Character.toChars(codePoint)) : " ";
+            } catch (NumberFormatException e) {
+                return " ";
+            }
+        }
+        return switch (name) {
+            case "amp" -> "&";
+            case "lt" -> "<";
+            case "gt" -> ">";
+            case "quot" -> "\"";
+            case "apos", "rsquo", "lsquo" -> "'";
+            case "ldquo", "rdquo", "laquo", "raquo" -> "\"";
+            case "mdash", "ndash" -> "-";
+            case "hellip" -> "...";
+            default -> " ";
+        };
+    }
+}
@@ -26,11 +26,20 @@ import org.w3c.dom.NodeList;
 /**
  * Minimal EPUB parser to expose publication info (spine/resources) for Readium-style web serving.
  * Note: lightweight, no external deps, supports EPUB2/3 OPF basics.
+ * Parsed publications are kept in a small LRU cache, checked against the file's size and modification time.
  */
 @ApplicationScoped
 public class EpubPublicationService {
 
+    private static final int MAX_CACHED_PUBLICATIONS = 256;
+
     private final LibrarieConfigProperties config;
+    private final Map<Path, CachedPublication> publications = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Path, CachedPublication> eldest) {
+            return size() > MAX_CACHED_PUBLICATIONS;
+        }
+    };
 
     @Inject
     public EpubPublicationService(LibrarieConfigProperties config) {
@@ -49,6 +58,15 @@ public class EpubPublicationService {
             if (!epubPath.startsWith(basePath) || !Files.exists(epubPath)) {
                 return Optional.empty();
             }
+            long modified = Files.getLastModifiedTime(epubPath).toMillis();
+            long size = Files.size(epubPath);
+            CachedPublication cached;
+            synchronized (publications) {
+                cached = publications.get(epubPath);
+            }
+            if (cached != null && cached.modified() == modified && cached.size() == size) {
+                return Optional.of(cached.info());
+            }
 
             try (ZipFile zip = new ZipFile(epubPath.toFile())) {
                 String opfPath = locateOpfPath(zip);
@@ -67,6 +85,9 @@ public class EpubPublicationService {
                 info.setManifestIdToHref(opf.idToHref);
                 info.setManifestIdToProperties(opf.idToProperties);
                 info.setNcxId(opf.ncxId);
+                synchronized (publications) {
+                    publications.put(epubPath, new CachedPublication(modified, size, info));
+                }
                 return Optional.of(info);
             }
         } catch (Exception e) {
@@ -222,6 +243,8 @@ public class EpubPublicationService {
         return "application/octet-stream";
     }
 
+    private record CachedPublication(long modified, long size, PublicationInfo info) {}
+
     private static class OpfData {
         String title;
         String language;
@@ -0,0 +1,322 @@
+package org.motpassants.infrastructure.realtime;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.agroal.api.AgroalDataSource;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.jboss.logging.Logger;
+import org.motpassants.domain.core.model.ReadingProgress;
+import org.motpassants.domain.port.out.ReadingProgressNotificationPort;
+import org.motpassants.infrastructure.config.LibrarieConfigProperties;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayDeque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+
+/**
+ * In-memory fan-out of reading progress changes to live subscribers (SSE clients).
+ * Each subscriber has a small bounded queue drained one event at a time, so a slow client
+ * only loses its own oldest events and never blocks the writer. Queued events for the same
+ * book are superseded by newer ones.
+ * When the cluster relay is enabled, events are also sent through Postgres NOTIFY and
+ * delivered to the subscribers connected to other nodes.
+ */
+@ApplicationScoped
+public class ReadingProgressBroadcaster implements ReadingProgressNotificationPort {
+
+    private static final Logger LOG = Logger.getLogger(ReadingProgressBroadcaster.class);
+    private static final String CHANNEL = "reading_progress";
+    // Postgres rejects NOTIFY payloads of 8000 bytes or more
+    private static final int MAX_NOTIFY_PAYLOAD_BYTES = 7900;
+    private static final long HEARTBEAT_SECONDS = 20;
+
+    private final LibrarieConfigProperties config;
+    private final AgroalDataSource dataSource;
+    private final ObjectMapper objectMapper;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<UUID, Set<Subscription>> subscribers = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService heartbeat;
+    private ExecutorService relayExecutor;
+    private Thread listenerThread;
+    private volatile boolean running;
+
+    @Inject
+    public ReadingProgressBroadcaster(LibrarieConfigProperties config, AgroalDataSource dataSource, ObjectMapper objectMapper) {
+        this.config = config;
+        this.dataSource = dataSource;
+        this.objectMapper = objectMapper;
+    }
+
+    void onStart(@Observes StartupEvent event) {
+        running = true;
+        heartbeat = Executors.newSingleThreadScheduledExecutor(r -> daemon(r, "progress-sse-heartbeat"));
+        heartbeat.scheduleAtFixedRate(this::sendHeartbeats, HEARTBEAT_SECONDS, HEARTBEAT_SECONDS, TimeUnit.SECONDS);
+        if (config.readingProgress().clusterRelayEnabled()) {
+            relayExecutor = Executors.newSingleThreadExecutor(r -> daemon(r, "progress-notify"));
+            listenerThread = daemon(this::listenLoop, "progress-listen");
+            listenerThread.start();
+            LOG.infof("Reading progress cluster relay enabled on channel %s (node %s)", CHANNEL, nodeId);
+        }
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        running = false;
+        if (heartbeat != null) heartbeat.shutdownNow();
+        if (relayExecutor != null) relayExecutor.shutdown();
+        if (listenerThread != null) listenerThread.interrupt();
+        subscribers.values().forEach(set -> set.forEach(Subscription::close));
+    }
+
+    /**
+     * Register a live subscriber for a user's progress events.
+     * A failed send, including the heartbeat to a client that went away, closes the subscription.
+     *
+     * @param userId the user whose progress changes are pushed
+     * @param sender sends one named event with a JSON payload
+     * @return the subscription
+     */
+    @Override
+    public Subscription subscribe(UUID userId, BiFunction<String, String, CompletionStage<?>> sender) {
+        Subscription subscription = new Subscription(userId, sender, Math.max(1, config.readingProgress().subscriberQueueSize()));
+        subscribers.computeIfAbsent(userId, k -> ConcurrentHashMap.newKeySet()).add(subscription);
+        return subscription;
+    }
+
+    public int subscriberCount() {
+        return subscribers.values().stream().mapToInt(Set::size).sum();
+    }
+
+    int subscribedUserCount() {
+        return subscribers.size();
+    }
+
+    @Override
+    public void publish(ReadingProgress readingProgress) {
+        if (readingProgress == null || readingProgress.getUserId() == null) {
+            return;
+        }
+        Map<String, Object> payload = toPayload(readingProgress);
+        String json = writeJson(payload);
+        if (json == null) {
+            return;
+        }
+        deliverLocal(readingProgress.getUserId(), readingProgress.getBookId(), json);
+        if (relayExecutor != null && running) {
+            try {
+                relayExecutor.execute(() -> notifyCluster(readingProgress.getUserId(), payload));
+            } catch (Exception e) {
+                LOG.debugf("Progress relay rejected: %s", e.getMessage());
+            }
+        }
+    }
+
+    private void deliverLocal(UUID userId, UUID bookId, String json) {
+        Set<Subscription> targets = subscribers.get(userId);
+        if (targets == null || targets.isEmpty()) {
+            return;
+        }
+        for (Subscription subscription : targets) {
+            subscription.offer(bookId, "progress", json);
+        }
+    }
+
+    private Map<String, Object> toPayload(ReadingProgress readingProgress) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("bookId", readingProgress.getBookId());
+        payload.put("deviceId", readingProgress.getDeviceId());
+        payload.put("progress", readingProgress.getProgress() != null ? readingProgress.getProgress() * 100 : 0.0);
+        payload.put("currentPage", readingProgress.getCurrentPage() != null ? readingProgress.getCurrentPage() : 0);
+        payload.put("totalPages", readingProgress.getTotalPages() != null ? readingProgress.getTotalPages() : 0);
+        payload.put("isCompleted", Boolean.TRUE.equals(readingProgress.getIsCompleted()));
+        payload.put("lastReadAt", readingProgress.getLastReadAt() != null ? readingProgress.getLastReadAt().toString() : null);
+        if (readingProgress.getProgressLocator() != null) {
+            payload.put("locator", readingProgress.getProgressLocator());
+        }
+        return payload;
+    }
+
+    private String writeJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (Exception e) {
+            LOG.warnf("Could not serialize progress event: %s", e.getMessage());
+            return null;
+        }
+    }
+
+    private void notifyCluster(UUID userId, Map<String, Object> event) {
+        Map<String, Object> envelope = new LinkedHashMap<>();
+        envelope.put("origin", nodeId);
+        envelope.put("userId", userId);
+        envelope.put("event", event);
+        String payload = writeJson(envelope);
+        if (payload != null && payload.getBytes(StandardCharsets.UTF_8).length > MAX_NOTIFY_PAYLOAD_BYTES) {
+            // Large locators do not fit in a notification; remote clients refetch the position instead
+            Map<String, Object> trimmed = new LinkedHashMap<>(event);
+            trimmed.remove("locator");
+            envelope.put("event", trimmed);
+            payload = writeJson(envelope);
+        }
+        if (payload == null) {
+            return;
+        }
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement ps = conn.prepareStatement("SELECT pg_notify(?, ?)")) {
+            ps.setString(1, CHANNEL);
+            ps.setString(2, payload);
+            ps.execute();
+        } catch (SQLException e) {
+            LOG.warnf("Progress NOTIFY failed: %s", e.getMessage());
+        }
+    }
+
+    private void listenLoop() {
+        while (running) {
+            try (Connection conn = dataSource.getConnection();
+                 Statement stmt = conn.createStatement()) {
+                stmt.execute("LISTEN " + CHANNEL);
+                PGConnection pg = conn.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pg.getNotifications(5000);
+                    if (notifications == null) continue;
+                    for (PGNotification notification : notifications) {
+                        handleRemote(notification.getParameter());
+                    }
+                }
+            } catch (Exception e) {
+                if (!running) return;
+                LOG.warnf("Progress LISTEN connection lost (%s); reconnecting", e.getMessage());
+                try {
+                    Thread.sleep(5000);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void handleRemote(String payload) {
+        try {
+            JsonNode envelope = objectMapper.readTree(payload);
+            if (nodeId.equals(envelope.path("origin").asText())) {
+                return; // already delivered locally
+            }
+            UUID userId = UUID.fromString(envelope.path("userId").asText());
+            JsonNode event = envelope.path("event");
+            String bookId = event.path("bookId").asText(null);
+            deliverLocal(userId, bookId != null ? UUID.fromString(bookId) : null, objectMapper.writeValueAsString(event));
+        } catch (Exception e) {
+            LOG.debugf("Ignoring malformed progress notification: %s", e.getMessage());
+        }
+    }
+
+    private void sendHeartbeats() {
+        for (Set<Subscription> set : subscribers.values()) {
+            for (Subscription subscription : set) {
+                subscription.offer(null, "ping", "{}");
+            }
+        }
+    }
+
+    private static Thread daemon(Runnable r, String name) {
+        Thread t = new Thread(r, name);
+        t.setDaemon(true);
+        return t;
+    }
+
+    private record Event(UUID bookId, String name, String data) {}
+
+    /**
+     * A live subscriber with a bounded queue and at most one send in flight.
+     */
+    public final class Subscription implements AutoCloseable {
+        private final UUID userId;
+        private final BiFunction<String, String, CompletionStage<?>> sender;
+        private final int capacity;
+        private final ArrayDeque<Event> queue = new ArrayDeque<>();
+        private boolean sending;
+        private boolean closed;
+
+        private Subscription(UUID userId, BiFunction<String, String, CompletionStage<?>> sender, int capacity) {
+            this.userId = userId;
+            this.sender = sender;
+            this.capacity = capacity;
+        }
+
+        void offer(UUID bookId, String name, String data) {
+            synchronized (this) {
+                if (closed) return;
+                if (bookId != null) {
+                    queue.removeIf(e -> Objects.equals(e.bookId(), bookId));
+                }
+                if (queue.size() >= capacity) {
+                    queue.pollFirst();
+                }
+                queue.addLast(new Event(bookId, name, data));
+                if (sending) return;
+                sending = true;
+            }
+            pump();
+        }
+
+        private void pump() {
+            Event next;
+            synchronized (this) {
+                next = closed ? null : queue.pollFirst();
+                if (next == null) {
+                    sending = false;
+                    return;
+                }
+            }
+            CompletionStage<?> stage;
+            try {
+                stage = sender.apply(next.name(), next.data());
+            } catch (Exception e) {
+                stage = CompletableFuture.failedFuture(e);
+            }
+            stage.whenComplete((ignored, error) -> {
+                if (error != null) {
+                    close();
+                } else {
+                    pump();
+                }
+            });
+        }
+
+        @Override
+        public void close() {
+            synchronized (this) {
+                closed = true;
+                queue.clear();
+            }
+            subscribers.computeIfPresent(userId, (id, set) -> {
+                set.remove(this);
+                return set.isEmpty() ? null : set;
+            });
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package org.motpassants.infrastructure.security;
 
 import jakarta.enterprise.context.ApplicationScoped;
+import org.motpassants.domain.core.model.SearchText;
+
 import java.util.regex.Pattern;
 
 /**
@@ -65,4 +67,14 @@ public class InputSanitizationService {
                    .replaceAll("on\\w+\\s*=\\s*[\"'][^\"']*[\"']", "")
                    .replaceAll("javascript:", "");
     }
-}
\ No newline at end of file
+    
+    /**
+     * Normalizes a search term the same way as the generated *_norm columns
+     * (librarie_normalize in the database: unaccent, then lower case),
+     * so that "eluard", "Éluard" and "ÉLUARD" all match "Paul Éluard".
+     * Control characters and surrounding whitespace are removed.
+     */
+    public String normalizeForSearch(String input) {
+        return SearchText.normalize(input);
+    }
+}
@@ -0,0 +1,159 @@
+package org.motpassants.infrastructure.warmup;
+
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.jboss.logging.Logger;
+import org.motpassants.domain.core.model.Book;
+import org.motpassants.domain.core.model.BookSortCriteria;
+import org.motpassants.domain.core.model.PageResult;
+import org.motpassants.domain.port.in.BookUseCase;
+import org.motpassants.domain.port.in.ReadingProgressUseCase;
+import org.motpassants.infrastructure.config.LibrarieConfigProperties;
+import org.motpassants.infrastructure.media.ImageCachingService;
+import org.motpassants.infrastructure.readium.EpubPublicationService;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Preloads what the first requests after a deploy ask for: the covers of the first pages of the
+ * default book list, and the covers and parsed publications of the most recently read books.
+ * Runs once on a single low-priority thread, after a delay and at a bounded rate, so it never
+ * holds up readiness nor competes much with real traffic; the queries also warm database buffers.
+ */
+@ApplicationScoped
+public class CacheWarmer {
+
+    private static final Logger LOG = Logger.getLogger(CacheWarmer.class);
+    // Same page size as the book list requests by default
+    static final int PAGE_SIZE = 20;
+
+    private final LibrarieConfigProperties config;
+    private final BookUseCase bookUseCase;
+    private final ReadingProgressUseCase readingProgressUseCase;
+    private final ImageCachingService imageCachingService;
+    private final EpubPublicationService epubService;
+
+    private Thread worker;
+    private volatile boolean stopping;
+
+    @Inject
+    public CacheWarmer(LibrarieConfigProperties config,
+                       BookUseCase bookUseCase,
+                       ReadingProgressUseCase readingProgressUseCase,
+                       ImageCachingService imageCachingService,
+                       EpubPublicationService epubService) {
+        this.config = config;
+        this.bookUseCase = bookUseCase;
+        this.readingProgressUseCase = readingProgressUseCase;
+        this.imageCachingService = imageCachingService;
+        this.epubService = epubService;
+    }
+
+    synchronized void onStart(@Observes StartupEvent event) {
+        if (!config.warmup().enabled() || worker != null) {
+            return;
+        }
+        stopping = false;
+        worker = new Thread(this::warmQuietly, "cache-warmer");
+        worker.setDaemon(true);
+        worker.setPriority(Thread.MIN_PRIORITY);
+        worker.start();
+    }
+
+    synchronized void onStop(@Observes ShutdownEvent event) {
+        stopping = true;
+        if (worker != null) {
+            worker.interrupt();
+            worker = null;
+        }
+    }
+
+    /**
+     * Warm the covers of the first list pages, then the covers and publications of recently read books.
+     *
+     * @return the number of books warmed
+     */
+    int warm() {
+        LibrarieConfigProperties.Warmup settings = config.warmup();
+        long interval = settings.ratePerSecond() > 0 ? 1000L / settings.ratePerSecond() : 0L;
+        Path baseDir = Paths.get(config.storage().baseDir());
+        Set<UUID> covered = new HashSet<>();
+        int warmed = 0;
+
+        String cursor = null;
+        for (int page = 0; page < settings.pages(); page++) {
+            PageResult<Book> result = bookUseCase.getAllBooks(cursor, PAGE_SIZE, BookSortCriteria.DEFAULT);
+            for (Book book : result.getItems()) {
+                if (!pause(interval)) {
+                    return warmed;
+                }
+                warmCover(baseDir, book);
+                covered.add(book.getId());
+                warmed++;
+            }
+            cursor = result.getNextCursor();
+            if (cursor == null) {
+                break;
+            }
+        }
+
+        for (UUID id : readingProgressUseCase.getRecentlyReadBookIds(settings.recentBooks())) {
+            if (!pause(interval)) {
+                return warmed;
+            }
+            Optional<Book> book = bookUseCase.getBookById(id);
+            if (book.isEmpty()) {
+                continue;
+            }
+            if (covered.add(id)) {
+                warmCover(baseDir, book.get());
+            }
+            epubService.openPublication(book.get());
+            warmed++;
+        }
+        return warmed;
+    }
+
+    private void warmCover(Path baseDir, Book book) {
+        if (!Boolean.FALSE.equals(book.getHasCover())) {
+            imageCachingService.warm(baseDir, "books", "covers", book.getId().toString());
+        }
+    }
+
+    private void warmQuietly() {
+        try {
+            if (!pause(config.warmup().delaySeconds() * 1000L)) {
+                return;
+            }
+            long started = System.currentTimeMillis();
+            int warmed = warm();
+            LOG.infof("Warmed caches for %d books in %d ms", warmed, System.currentTimeMillis() - started);
+        } catch (Throwable t) {
+            LOG.warn("Cache warming failed", t);
+        }
+    }
+
+    private boolean pause(long millis) {
+        if (stopping || Thread.currentThread().isInterrupted()) {
+            return false;
+        }
+        if (millis <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(millis);
+            return !stopping;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,8 @@
+-- Inline placeholders for covers and pictures, returned by list endpoints so grids can paint
+-- before the images arrive: a 16 px wide JPEG data URI (well under 1 KB) and the dominant color.
+ALTER TABLE books ADD COLUMN IF NOT EXISTS cover_placeholder TEXT;
+ALTER TABLE books ADD COLUMN IF NOT EXISTS cover_color VARCHAR(7);
+ALTER TABLE series ADD COLUMN IF NOT EXISTS cover_placeholder TEXT;
+ALTER TABLE series ADD COLUMN IF NOT EXISTS cover_color VARCHAR(7);
+ALTER TABLE authors ADD COLUMN IF NOT EXISTS cover_placeholder TEXT;
+ALTER TABLE authors ADD COLUMN IF NOT EXISTS cover_color VARCHAR(7);
@@ -0,0 +1,4 @@
+-- Content hash of the stored cover or picture, used to build versioned, immutable image URLs
+ALTER TABLE books ADD COLUMN IF NOT EXISTS cover_version VARCHAR(16);
+ALTER TABLE series ADD COLUMN IF NOT EXISTS cover_version VARCHAR(16);
+ALTER TABLE authors ADD COLUMN IF NOT EXISTS cover_version VARCHAR(16);
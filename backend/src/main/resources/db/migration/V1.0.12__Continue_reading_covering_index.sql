@@ -0,0 +1,8 @@
+-- The continue reading shelf also reads progress_cfi (current page); include it so the
+-- reading_progress side of the query is answered from the index alone.
+-- progress_cfi only ever holds a short page marker such as epubcfi(/6/42!).
+DROP INDEX IF EXISTS idx_reading_progress_user_recent;
+
+CREATE INDEX IF NOT EXISTS idx_reading_progress_user_recent
+    ON reading_progress (user_id, last_read_at DESC)
+    INCLUDE (book_id, progress_percent, device_id, progress_cfi);
@@ -0,0 +1,10 @@
+-- A signature is current while it was computed from the book's present updated_at.
+-- Comparing computed_at (database clock) with updated_at (application clock) could leave
+-- a book pending forever when the clocks disagree; an equality check cannot.
+ALTER TABLE book_minhash ADD COLUMN IF NOT EXISTS source_updated_at TIMESTAMPTZ;
+
+-- Every signature write takes a new version, so cached candidate buckets can be checked
+-- for changes with one index lookup instead of regrouping every band
+CREATE SEQUENCE IF NOT EXISTS book_minhash_version_seq;
+ALTER TABLE book_minhash ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT nextval('book_minhash_version_seq');
+CREATE INDEX IF NOT EXISTS idx_book_minhash_version ON book_minhash(version);
@@ -0,0 +1,22 @@
+-- Deleting a book used to cascade through the lists that named it, silently shortening them.
+-- Keeping the row with a null neighbor marks the list for a recompute instead; readers join
+-- on the neighbor and never see it.
+ALTER TABLE book_neighbors ALTER COLUMN neighbor_id DROP NOT NULL;
+ALTER TABLE book_neighbors DROP CONSTRAINT IF EXISTS book_neighbors_neighbor_id_fkey;
+ALTER TABLE book_neighbors ADD CONSTRAINT book_neighbors_neighbor_id_fkey
+    FOREIGN KEY (neighbor_id) REFERENCES books(id) ON DELETE SET NULL;
+
+-- One row per book and similarity feature, so a refresh can find changed books, feature
+-- frequencies and candidates in the database and load only the books it recomputes
+CREATE OR REPLACE VIEW book_feature_keys AS
+    SELECT bow.book_id, 'a:' || owa.author_id::text AS feature
+    FROM book_original_works bow
+    JOIN original_work_authors owa ON owa.original_work_id = bow.original_work_id
+    UNION
+    SELECT bs.book_id, 's:' || bs.series_id::text FROM book_series bs
+    UNION
+    SELECT bt.book_id, 't:' || bt.tag_id::text FROM book_tags bt
+    UNION
+    SELECT b.id, 'l:' || LOWER(b.language_code) FROM books b WHERE b.language_code IS NOT NULL
+    UNION
+    SELECT b.id, 'p:' || b.publisher_id::text FROM books b WHERE b.publisher_id IS NOT NULL;
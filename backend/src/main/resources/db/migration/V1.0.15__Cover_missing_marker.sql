@@ -0,0 +1,5 @@
+-- Set by the placeholder backfill when a row has no usable image, so later startups do not
+-- look for its file again; saving a placeholder clears it.
+ALTER TABLE books ADD COLUMN IF NOT EXISTS cover_missing BOOLEAN NOT NULL DEFAULT FALSE;
+ALTER TABLE series ADD COLUMN IF NOT EXISTS cover_missing BOOLEAN NOT NULL DEFAULT FALSE;
+ALTER TABLE authors ADD COLUMN IF NOT EXISTS cover_missing BOOLEAN NOT NULL DEFAULT FALSE;
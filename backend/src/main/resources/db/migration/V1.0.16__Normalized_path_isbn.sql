@@ -0,0 +1,12 @@
+-- Paths and ISBNs are matched with the same normalized term as titles, so queries the
+-- search caches treat as one ("Émile", "emile") also return the same books.
+-- Replaces the LOWER() indexes of V1.0.5.
+ALTER TABLE books ADD COLUMN IF NOT EXISTS path_norm TEXT
+    GENERATED ALWAYS AS (librarie_normalize(path)) STORED;
+ALTER TABLE books ADD COLUMN IF NOT EXISTS isbn_norm TEXT
+    GENERATED ALWAYS AS (librarie_normalize(isbn)) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_books_path_norm_trgm ON books USING gin (path_norm gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_books_isbn_norm_trgm ON books USING gin (isbn_norm gin_trgm_ops);
+DROP INDEX IF EXISTS idx_books_path_lower_trgm;
+DROP INDEX IF EXISTS idx_books_isbn_lower_trgm;
@@ -0,0 +1,5 @@
+-- The REST layer records reading progress for a fixed local reader until authentication is wired in.
+-- reading_progress.user_id references users(id), so the row must exist for progress upserts to succeed.
+INSERT INTO users (id, oidc_origin_name, oidc_subject, public_name)
+VALUES ('550e8400-e29b-41d4-a716-446655440000', 'local', 'default-reader', 'Default reader')
+ON CONFLICT DO NOTHING;
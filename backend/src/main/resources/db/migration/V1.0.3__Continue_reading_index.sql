@@ -0,0 +1,9 @@
+-- Covering index for the "continue reading" shelf: the most recent positions of a user
+-- are read in index order without sorting. device_id is included so the web-reader filter
+-- is answered from the index as well.
+CREATE INDEX IF NOT EXISTS idx_reading_progress_user_recent
+    ON reading_progress (user_id, last_read_at DESC)
+    INCLUDE (book_id, progress_percent, device_id);
+
+-- Superseded by the composite index above (same leading column)
+DROP INDEX IF EXISTS idx_reading_progress_user;
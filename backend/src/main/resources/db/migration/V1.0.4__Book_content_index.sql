@@ -0,0 +1,24 @@
+-- Full-text index over the text of EPUB spine documents, one row per chapter.
+-- The 'simple' configuration is used because books are in many languages:
+-- it lowercases without language-specific stemming or stop words.
+CREATE TABLE IF NOT EXISTS book_content_chapters (
+    book_id UUID NOT NULL REFERENCES books(id) ON DELETE CASCADE,
+    chapter_index INTEGER NOT NULL,
+    href TEXT NOT NULL,
+    media_type TEXT,
+    content TEXT NOT NULL,
+    content_vector TSVECTOR NOT NULL,
+    PRIMARY KEY (book_id, chapter_index)
+);
+
+CREATE INDEX IF NOT EXISTS idx_book_content_chapters_vector
+    ON book_content_chapters USING gin(content_vector);
+
+-- Indexing state per book; a book is (re)indexed when it has no row or was updated since
+CREATE TABLE IF NOT EXISTS book_content_index (
+    book_id UUID PRIMARY KEY REFERENCES books(id) ON DELETE CASCADE,
+    chapter_count INTEGER NOT NULL DEFAULT 0,
+    status TEXT NOT NULL CHECK (status IN ('INDEXED', 'SKIPPED', 'FAILED')),
+    error TEXT,
+    indexed_at TIMESTAMPTZ NOT NULL DEFAULT NOW()
+);
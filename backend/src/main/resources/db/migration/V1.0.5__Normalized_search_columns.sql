@@ -0,0 +1,40 @@
+-- Accent- and case-insensitive search on precomputed columns.
+-- Searches compare against *_norm columns with inputs normalized the same way by
+-- InputSanitizationService.normalizeForSearch, and trigram indexes serve the
+-- '%term%' and 'term%' patterns used by the repositories.
+CREATE EXTENSION IF NOT EXISTS unaccent WITH SCHEMA public;
+CREATE EXTENSION IF NOT EXISTS pg_trgm WITH SCHEMA public;
+
+-- unaccent() is only STABLE because it looks its dictionary up through search_path;
+-- pinning the dictionary makes the wrapper safe to declare IMMUTABLE for generated columns.
+CREATE OR REPLACE FUNCTION librarie_normalize(input TEXT) RETURNS TEXT
+    LANGUAGE sql IMMUTABLE STRICT PARALLEL SAFE
+AS $$ SELECT lower(public.unaccent('public.unaccent'::regdictionary, input)) $$;
+
+ALTER TABLE books ADD COLUMN IF NOT EXISTS title_norm TEXT
+    GENERATED ALWAYS AS (librarie_normalize(title)) STORED;
+ALTER TABLE authors ADD COLUMN IF NOT EXISTS name_norm TEXT
+    GENERATED ALWAYS AS (librarie_normalize(name)) STORED;
+ALTER TABLE authors ADD COLUMN IF NOT EXISTS sort_name_norm TEXT
+    GENERATED ALWAYS AS (librarie_normalize(sort_name)) STORED;
+ALTER TABLE series ADD COLUMN IF NOT EXISTS name_norm TEXT
+    GENERATED ALWAYS AS (librarie_normalize(name)) STORED;
+ALTER TABLE series ADD COLUMN IF NOT EXISTS sort_name_norm TEXT
+    GENERATED ALWAYS AS (librarie_normalize(sort_name)) STORED;
+ALTER TABLE publishers ADD COLUMN IF NOT EXISTS name_norm TEXT
+    GENERATED ALWAYS AS (librarie_normalize(name)) STORED;
+ALTER TABLE tags ADD COLUMN IF NOT EXISTS name_norm TEXT
+    GENERATED ALWAYS AS (librarie_normalize(name)) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_books_title_norm_trgm ON books USING gin (title_norm gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_authors_name_norm_trgm ON authors USING gin (name_norm gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_authors_sort_name_norm_trgm ON authors USING gin (sort_name_norm gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_series_name_norm_trgm ON series USING gin (name_norm gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_series_sort_name_norm_trgm ON series USING gin (sort_name_norm gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_publishers_name_norm_trgm ON publishers USING gin (name_norm gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_tags_name_norm ON tags (name_norm);
+
+-- Paths and ISBNs carry no accents but are searched in the same OR as titles;
+-- indexing them too keeps the whole condition answerable by a bitmap OR of index scans
+CREATE INDEX IF NOT EXISTS idx_books_path_lower_trgm ON books USING gin (LOWER(path) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_books_isbn_lower_trgm ON books USING gin (LOWER(isbn) gin_trgm_ops);
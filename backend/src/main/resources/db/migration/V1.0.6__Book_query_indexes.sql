@@ -0,0 +1,10 @@
+-- Indexes for the structured book search syntax (author:, lang:, year:, "phrase", ...).
+-- Quoted phrases match consecutive title words through a tsvector over the normalized title.
+ALTER TABLE books ADD COLUMN IF NOT EXISTS title_vector tsvector
+    GENERATED ALWAYS AS (to_tsvector('simple'::regconfig, librarie_normalize(title))) STORED;
+CREATE INDEX IF NOT EXISTS idx_books_title_vector ON books USING gin (title_vector);
+
+-- Language and format terms compare lowercased codes; year terms are date ranges
+CREATE INDEX IF NOT EXISTS idx_books_language_lower ON books (LOWER(language_code));
+CREATE INDEX IF NOT EXISTS idx_books_publication_date ON books (publication_date);
+CREATE INDEX IF NOT EXISTS idx_formats_type_lower_book ON formats (LOWER(format_type), book_id);
@@ -0,0 +1,17 @@
+-- MinHash signatures for near-duplicate detection.
+-- Each book has one signature and one LSH bucket per signature band; books sharing a
+-- (band, bucket) pair are the only ones compared when looking for duplicates.
+CREATE TABLE IF NOT EXISTS book_minhash (
+    book_id UUID PRIMARY KEY REFERENCES books(id) ON DELETE CASCADE,
+    signature INTEGER[] NOT NULL,
+    computed_at TIMESTAMPTZ NOT NULL DEFAULT NOW()
+);
+
+CREATE TABLE IF NOT EXISTS book_minhash_bands (
+    band SMALLINT NOT NULL,
+    bucket BIGINT NOT NULL,
+    book_id UUID NOT NULL REFERENCES books(id) ON DELETE CASCADE,
+    PRIMARY KEY (band, bucket, book_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_book_minhash_bands_book ON book_minhash_bands(book_id);
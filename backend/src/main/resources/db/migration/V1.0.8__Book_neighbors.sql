@@ -0,0 +1,19 @@
+-- Precomputed similar books, best first per book, so the details page reads one table
+-- instead of joining authors, series, tags, language and publisher at request time.
+CREATE TABLE IF NOT EXISTS book_neighbors (
+    book_id UUID NOT NULL REFERENCES books(id) ON DELETE CASCADE,
+    rank SMALLINT NOT NULL,
+    neighbor_id UUID NOT NULL REFERENCES books(id) ON DELETE CASCADE,
+    score REAL NOT NULL,
+    PRIMARY KEY (book_id, rank)
+);
+
+-- Finds the lists that mention a changed book
+CREATE INDEX IF NOT EXISTS idx_book_neighbors_neighbor ON book_neighbors(neighbor_id);
+
+-- Features each book had when its neighbors were computed; a different hash means a recompute
+CREATE TABLE IF NOT EXISTS book_neighbor_state (
+    book_id UUID PRIMARY KEY REFERENCES books(id) ON DELETE CASCADE,
+    features_hash BIGINT NOT NULL,
+    computed_at TIMESTAMPTZ NOT NULL DEFAULT NOW()
+);
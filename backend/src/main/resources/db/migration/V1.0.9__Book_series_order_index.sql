@@ -0,0 +1,4 @@
+-- Series page: all books of a series ordered by their index in one range scan
+CREATE INDEX IF NOT EXISTS idx_book_series_series_index ON book_series(series_id, series_index);
+-- Its leading column already serves lookups by series alone
+DROP INDEX IF EXISTS idx_book_series_series;
@@ -0,0 +1,130 @@
+package org.motpassants.application.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.motpassants.domain.core.model.Book;
+import org.motpassants.domain.core.model.BookContentChapter;
+import org.motpassants.domain.port.out.BookContentExtractorPort;
+import org.motpassants.domain.port.out.BookContentIndexPort;
+import org.motpassants.domain.port.out.ConfigurationPort;
+import org.motpassants.domain.port.out.LoggingPort;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for BookContentIndexService.
+ * Tests background indexing passes and content search input handling.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BookContentIndexService Unit Tests")
+class BookContentIndexServiceTest {
+
+    @Mock
+    private BookContentIndexPort indexPort;
+
+    @Mock
+    private BookContentExtractorPort extractorPort;
+
+    @Mock
+    private ConfigurationPort configurationPort;
+
+    @Mock
+    private LoggingPort log;
+
+    private BookContentIndexService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new BookContentIndexService(indexPort, extractorPort, configurationPort, log);
+    }
+
+    private void givenConfig(int batchSize) {
+        when(configurationPort.getContentIndexConfig()).thenReturn(new ConfigurationPort.ContentIndexConfig() {
+            @Override public boolean isEnabled() { return true; }
+            @Override public long getIntervalSeconds() { return 60L; }
+            @Override public int getBatchSize() { return batchSize; }
+            @Override public long getPauseMillis() { return 0L; }
+            @Override public int getMaxChapterChars() { return 1000; }
+        });
+    }
+
+    @Test
+    @DisplayName("Should index the chapters of pending books in one bounded batch")
+    void shouldIndexPendingBooks() {
+        givenConfig(5);
+        Book book = book();
+        List<BookContentChapter> chapters = List.of(
+            new BookContentChapter(0, "OEBPS/ch1.xhtml", "application/xhtml+xml", "Call me Ishmael."));
+        when(indexPort.findBooksPendingContentIndex(5)).thenReturn(List.of(book));
+        when(extractorPort.extractChapters(book, 1000)).thenReturn(Optional.of(chapters));
+
+        assertEquals(1, service.indexPending());
+
+        verify(indexPort).replaceChapters(book.getId(), chapters);
+        verify(indexPort, never()).markFailed(any(), anyString());
+    }
+
+    @Test
+    @DisplayName("Should mark books without readable content as skipped")
+    void shouldSkipUnreadableBooks() {
+        givenConfig(5);
+        Book book = book();
+        when(indexPort.findBooksPendingContentIndex(5)).thenReturn(List.of(book));
+        when(extractorPort.extractChapters(book, 1000)).thenReturn(Optional.empty());
+
+        service.indexPending();
+
+        verify(indexPort).markSkipped(eq(book.getId()), anyString());
+        verify(indexPort, never()).replaceChapters(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should record a failing book and carry on with the rest of the batch")
+    void shouldContinueAfterFailure() {
+        givenConfig(5);
+        Book broken = book();
+        Book fine = book();
+        when(indexPort.findBooksPendingContentIndex(5)).thenReturn(List.of(broken, fine));
+        when(extractorPort.extractChapters(broken, 1000)).thenThrow(new IllegalStateException("corrupt zip"));
+        when(extractorPort.extractChapters(fine, 1000)).thenReturn(Optional.of(List.of()));
+
+        assertEquals(2, service.indexPending());
+
+        verify(indexPort).markFailed(broken.getId(), "corrupt zip");
+        verify(indexPort).replaceChapters(fine.getId(), List.of());
+    }
+
+    @Test
+    @DisplayName("Should ignore blank queries and clamp the hit limit")
+    void shouldValidateSearchInput() {
+        UUID bookId = UUID.randomUUID();
+
+        assertTrue(service.searchContent("  ", null, 10).isEmpty());
+        service.searchContent(" whale ", bookId, 1000);
+        service.searchContent("whale", null, 0);
+
+        verify(indexPort).search("whale", bookId, 100);
+        verify(indexPort).search("whale", null, 20);
+        verify(indexPort, times(2)).search(anyString(), any(), anyInt());
+    }
+
+    private static Book book() {
+        Book book = new Book();
+        book.setId(UUID.randomUUID());
+        book.setTitle("Moby Dick");
+        book.setPath("books/moby-dick.epub");
+        return book;
+    }
+}
@@ -0,0 +1,180 @@
+package org.motpassants.application.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.motpassants.domain.core.model.BookDuplicateSource;
+import org.motpassants.domain.core.model.BookSignature;
+import org.motpassants.domain.core.model.DuplicateCandidate;
+import org.motpassants.domain.core.model.DuplicateCluster;
+import org.motpassants.domain.port.out.BookDuplicatePort;
+import org.motpassants.domain.port.out.ConfigurationPort;
+import org.motpassants.domain.port.out.LoggingPort;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for BookDuplicateService.
+ * Tests MinHash signing passes and LSH-based duplicate clustering.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BookDuplicateService Unit Tests")
+class BookDuplicateServiceTest {
+
+    @Mock
+    private BookDuplicatePort duplicatePort;
+
+    @Mock
+    private ConfigurationPort configurationPort;
+
+    @Mock
+    private LoggingPort log;
+
+    @Captor
+    private ArgumentCaptor<List<BookSignature>> saved;
+
+    private BookDuplicateService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new BookDuplicateService(duplicatePort, configurationPort, log);
+    }
+
+    private void givenConfig() {
+        when(configurationPort.getDuplicatesConfig()).thenReturn(new ConfigurationPort.DuplicatesConfig() {
+            @Override public boolean isEnabled() { return true; }
+            @Override public long getIntervalSeconds() { return 300L; }
+            @Override public int getBatchSize() { return 2; }
+            @Override public long getPauseMillis() { return 0L; }
+            @Override public double getSimilarityThreshold() { return 0.8; }
+        });
+    }
+
+    @Test
+    @DisplayName("Should estimate similarity from signatures, tolerating small title differences")
+    void shouldEstimateSimilarity() {
+        int[] dune = sign(source("dune", "frank herbert", "978-0441013593"));
+        int[] duneVariant = sign(source("dune.", "herbert, frank", "0441013597"));
+        int[] other = sign(source("the left hand of darkness", "ursula k le guin", null));
+
+        assertEquals(1.0, MinHasher.similarity(dune, dune));
+        assertTrue(MinHasher.similarity(dune, duneVariant) >= 0.8);
+        assertTrue(MinHasher.similarity(dune, other) < 0.2);
+        assertNull(MinHasher.signature(MinHasher.shingles(source("", null, null))));
+    }
+
+    @Test
+    @DisplayName("Should sign pending books batch by batch until none is left")
+    void shouldSignPendingBooksInBatches() {
+        givenConfig();
+        when(duplicatePort.findBooksPendingSignature(2))
+            .thenReturn(List.of(source("dune", "frank herbert", null), source("", null, null)))
+            .thenReturn(List.of(source("emma", "jane austen", null)));
+
+        assertEquals(3, service.signPending());
+
+        verify(duplicatePort, times(2)).saveSignatures(saved.capture());
+        BookSignature signed = saved.getAllValues().get(0).get(0);
+        assertEquals(MinHasher.NUM_HASHES, signed.values().length);
+        assertEquals(MinHasher.BANDS, signed.bandBuckets().length);
+        // A book without comparable text is recorded, but never lands in a bucket
+        assertEquals(0, saved.getAllValues().get(0).get(1).bandBuckets().length);
+        verify(duplicatePort, times(2)).findBooksPendingSignature(anyInt());
+    }
+
+    @Test
+    @DisplayName("Should version each signature with the update of the book it was computed from")
+    void shouldVersionSignaturesWithSourceUpdate() {
+        givenConfig();
+        OffsetDateTime updatedAt = OffsetDateTime.parse("2031-05-04T10:15:30.123456Z");
+        BookDuplicateSource dune = new BookDuplicateSource(UUID.randomUUID(), "dune", List.of("frank herbert"), null, updatedAt);
+        when(duplicatePort.findBooksPendingSignature(2)).thenReturn(List.of(dune));
+
+        assertEquals(1, service.signPending());
+
+        verify(duplicatePort).saveSignatures(saved.capture());
+        assertEquals(updatedAt, saved.getValue().get(0).sourceUpdatedAt());
+    }
+
+    @Test
+    @DisplayName("Should regroup candidate buckets only when the signatures changed")
+    void shouldCacheCandidateBucketsPerSignatureVersion() {
+        givenConfig();
+        when(duplicatePort.findSignatureVersion()).thenReturn(7L, 7L, 8L);
+        when(duplicatePort.findCandidateBuckets(BookDuplicateService.MAX_BUCKET_SIZE)).thenReturn(List.of());
+
+        service.findDuplicateClusters(10);
+        service.findDuplicateClusters(10);
+        verify(duplicatePort, times(1)).findCandidateBuckets(anyInt());
+
+        service.findDuplicateClusters(10);
+        verify(duplicatePort, times(2)).findCandidateBuckets(anyInt());
+    }
+
+    @Test
+    @DisplayName("Should cluster books sharing a bucket only when their signatures are similar enough")
+    void shouldClusterSimilarBooks() {
+        givenConfig();
+        BookDuplicateSource dune = source("dune", "frank herbert", "9780441013593");
+        BookDuplicateSource duneCopy = source("dune", "frank herbert", "0441013597");
+        BookDuplicateSource duneVariant = source("dune.", "herbert frank", "978-0441013593");
+        BookDuplicateSource emma = source("emma", "jane austen", null);
+        Map<UUID, int[]> signatures = new HashMap<>();
+        for (BookDuplicateSource s : List.of(dune, duneCopy, duneVariant, emma)) {
+            signatures.put(s.bookId(), sign(s));
+        }
+        when(duplicatePort.findCandidateBuckets(BookDuplicateService.MAX_BUCKET_SIZE)).thenReturn(List.of(
+            List.of(dune.bookId(), duneCopy.bookId()),
+            List.of(dune.bookId(), duneCopy.bookId()),
+            List.of(duneCopy.bookId(), duneVariant.bookId(), emma.bookId())));
+        when(duplicatePort.findSignatures(any())).thenAnswer(i -> signatures);
+        when(duplicatePort.findCandidates(any())).thenAnswer(i -> {
+            List<DuplicateCandidate> candidates = new ArrayList<>();
+            for (UUID id : i.<Collection<UUID>>getArgument(0)) {
+                candidates.add(new DuplicateCandidate(id, "Dune", List.of("Frank Herbert"), null, id + ".epub"));
+            }
+            return candidates;
+        });
+
+        List<DuplicateCluster> clusters = service.findDuplicateClusters(10);
+
+        assertEquals(1, clusters.size());
+        assertEquals(3, clusters.get(0).books().size());
+        assertTrue(clusters.get(0).similarity() >= 0.8);
+        assertTrue(clusters.get(0).books().stream().noneMatch(b -> b.bookId().equals(emma.bookId())));
+    }
+
+    @Test
+    @DisplayName("Should skip loading signatures when no bucket is shared")
+    void shouldReturnNothingWithoutCandidates() {
+        givenConfig();
+        when(duplicatePort.findCandidateBuckets(anyInt())).thenReturn(List.of());
+
+        assertTrue(service.findDuplicateClusters(0).isEmpty());
+        verify(duplicatePort, never()).findSignatures(any());
+    }
+
+    private static int[] sign(BookDuplicateSource source) {
+        return MinHasher.signature(MinHasher.shingles(source));
+    }
+
+    private static BookDuplicateSource source(String title, String author, String isbn) {
+        return new BookDuplicateSource(UUID.randomUUID(), title, author == null ? List.of() : List.of(author), isbn, OffsetDateTime.now());
+    }
+}
@@ -0,0 +1,189 @@
+package org.motpassants.application.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.motpassants.domain.core.model.BookFeatures;
+import org.motpassants.domain.core.model.BookNeighbor;
+import org.motpassants.domain.port.in.LibraryVersionUseCase;
+import org.motpassants.domain.port.out.BookNeighborPort;
+import org.motpassants.domain.port.out.ConfigurationPort;
+import org.motpassants.domain.port.out.LoggingPort;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for BookNeighborService.
+ * Tests neighbor ranking and the incremental refresh of the similar books table, including after deletes.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BookNeighborService Unit Tests")
+class BookNeighborServiceTest {
+
+    @Mock
+    private BookNeighborPort neighborPort;
+
+    @Mock
+    private LibraryVersionUseCase libraryVersionUseCase;
+
+    @Mock
+    private ConfigurationPort configurationPort;
+
+    @Mock
+    private LoggingPort log;
+
+    @Captor
+    private ArgumentCaptor<Map<UUID, List<BookNeighbor>>> saved;
+
+    @Captor
+    private ArgumentCaptor<Map<UUID, Long>> hashes;
+
+    private BookNeighborService service;
+
+    private final UUID a = UUID.randomUUID();
+    private final UUID b = UUID.randomUUID();
+    private final UUID c = UUID.randomUUID();
+    private final UUID d = UUID.randomUUID();
+    private final UUID e = UUID.randomUUID();
+    private final UUID f = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        service = new BookNeighborService(neighborPort, libraryVersionUseCase, configurationPort, log);
+    }
+
+    private void givenConfig() {
+        when(configurationPort.getSimilarBooksConfig()).thenReturn(new ConfigurationPort.SimilarBooksConfig() {
+            @Override public boolean isEnabled() { return true; }
+            @Override public long getIntervalSeconds() { return 120L; }
+            @Override public int getNeighbors() { return 3; }
+            @Override public int getParallelism() { return 2; }
+        });
+    }
+
+    @Test
+    @DisplayName("Should rank books sharing an author and a series above books sharing only the author")
+    void shouldRankNeighborsBySharedFeatures() {
+        givenConfig();
+        when(libraryVersionUseCase.getLibraryVersion()).thenReturn(1L);
+        when(neighborPort.loadChangedBookFeatures()).thenReturn(library());
+        when(neighborPort.countBooks()).thenReturn(6);
+        when(neighborPort.loadBookFeatures()).thenReturn(library());
+
+        assertEquals(6, service.refresh());
+
+        verify(neighborPort).replaceNeighbors(saved.capture(), any());
+        List<BookNeighbor> ofA = saved.getValue().get(a);
+        assertEquals(List.of(b, c), ofA.stream().map(BookNeighbor::neighborId).toList());
+        assertEquals(1.0, ofA.get(0).score(), 1e-9);
+        assertTrue(ofA.get(1).score() < ofA.get(0).score());
+        // Nothing in common with anyone
+        assertTrue(saved.getValue().get(d).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should skip a pass when the library has not changed")
+    void shouldSkipUnchangedLibrary() {
+        givenConfig();
+        when(libraryVersionUseCase.getLibraryVersion()).thenReturn(1L);
+        when(neighborPort.loadChangedBookFeatures()).thenReturn(library());
+        when(neighborPort.countBooks()).thenReturn(6);
+        when(neighborPort.loadBookFeatures()).thenReturn(library());
+
+        service.refresh();
+
+        assertEquals(0, service.refresh());
+        verify(neighborPort, times(1)).loadChangedBookFeatures();
+    }
+
+    @Test
+    @DisplayName("Should record the pass when no book changed")
+    void shouldRecordPassWithoutChanges() {
+        givenConfig();
+        when(libraryVersionUseCase.getLibraryVersion()).thenReturn(1L);
+
+        assertEquals(0, service.refresh());
+        assertEquals(0, service.refresh());
+
+        verify(neighborPort, times(1)).loadChangedBookFeatures();
+        verify(neighborPort, never()).countBooks();
+        verify(neighborPort, never()).replaceNeighbors(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should only load and recompute changed books, books sharing their features and books listing them")
+    void shouldRecomputeAffectedBooksOnly() {
+        givenConfig();
+        when(libraryVersionUseCase.getLibraryVersion()).thenReturn(2L);
+        BookFeatures changedD = book(d, 42L, "a:2", "t:9");
+        when(neighborPort.loadChangedBookFeatures()).thenReturn(List.of(changedD));
+        when(neighborPort.countBooks()).thenReturn(6);
+        when(neighborPort.findBooksSharing(Set.of("a:2", "t:9"), BookNeighborService.MAX_CANDIDATE_POSTINGS)).thenReturn(Set.of(d));
+        when(neighborPort.findBooksListing(List.of(d))).thenReturn(Set.of(e));
+        when(neighborPort.loadBookFeatures(List.of(e))).thenReturn(List.of(library().get(4)));
+        // Candidates of d and e
+        when(neighborPort.findBooksSharing(Set.of("a:2", "t:9", "a:3", "t:1"), BookNeighborService.MAX_CANDIDATE_POSTINGS))
+            .thenReturn(Set.of(d, e, f));
+        when(neighborPort.loadBookFeatures(List.of(f))).thenReturn(List.of(library().get(5)));
+        when(neighborPort.countBooksPerFeature(Set.of("a:2", "t:9", "a:3", "t:1", "a:4")))
+            .thenReturn(Map.of("a:2", 1, "t:9", 1, "a:3", 1, "t:1", 2, "a:4", 1));
+
+        assertEquals(2, service.refresh());
+
+        verify(neighborPort).replaceNeighbors(saved.capture(), hashes.capture());
+        assertEquals(Set.of(d, e), saved.getValue().keySet());
+        assertTrue(saved.getValue().get(d).isEmpty());
+        assertEquals(List.of(f), saved.getValue().get(e).stream().map(BookNeighbor::neighborId).toList());
+        assertEquals(Map.of(d, 42L, e, 5L), hashes.getValue());
+        verify(neighborPort, never()).loadBookFeatures();
+    }
+
+    @Test
+    @DisplayName("Should recompute the lists that named a deleted book")
+    void shouldRecomputeListsNamingDeletedBooks() {
+        givenConfig();
+        when(libraryVersionUseCase.getLibraryVersion()).thenReturn(3L);
+        // b was deleted: a listed it and nothing else changed
+        when(neighborPort.findBooksListingDeletedBooks()).thenReturn(Set.of(a));
+        when(neighborPort.countBooks()).thenReturn(5);
+        when(neighborPort.loadBookFeatures(List.of(a))).thenReturn(List.of(library().get(0)));
+        when(neighborPort.findBooksSharing(Set.of("a:1", "s:1", "l:en"), BookNeighborService.MAX_CANDIDATE_POSTINGS))
+            .thenReturn(Set.of(a, c));
+        when(neighborPort.loadBookFeatures(List.of(c))).thenReturn(List.of(library().get(2)));
+        when(neighborPort.countBooksPerFeature(Set.of("a:1", "s:1", "l:en", "l:fr")))
+            .thenReturn(Map.of("a:1", 2, "s:1", 1, "l:en", 1, "l:fr", 1));
+
+        assertEquals(1, service.refresh());
+
+        verify(neighborPort).replaceNeighbors(saved.capture(), any());
+        assertEquals(Set.of(a), saved.getValue().keySet());
+        assertEquals(List.of(c), saved.getValue().get(a).stream().map(BookNeighbor::neighborId).toList());
+        verify(neighborPort, never()).loadBookFeatures();
+    }
+
+    private List<BookFeatures> library() {
+        return List.of(
+            book(a, 1L, "a:1", "s:1", "l:en"),
+            book(b, 2L, "a:1", "s:1", "l:en"),
+            book(c, 3L, "a:1", "l:fr"),
+            book(d, 4L, "a:2"),
+            book(e, 5L, "a:3", "t:1"),
+            book(f, 6L, "a:4", "t:1"));
+    }
+
+    private static BookFeatures book(UUID id, long hash, String... features) {
+        return new BookFeatures(id, List.of(features), hash);
+    }
+}
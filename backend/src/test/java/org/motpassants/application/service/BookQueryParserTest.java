@@ -0,0 +1,86 @@
+package org.motpassants.application.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.motpassants.domain.core.model.BookQuery;
+import org.motpassants.domain.core.model.BookQuery.Field;
+import org.motpassants.domain.core.model.BookQuery.Term;
+import org.motpassants.domain.core.model.BookQuery.YearRange;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for BookQueryParser.
+ * Tests the structured search syntax and its error messages.
+ */
+@DisplayName("BookQueryParser Unit Tests")
+class BookQueryParserTest {
+
+    @Test
+    @DisplayName("Should parse field terms, year comparisons and phrases")
+    void shouldParseFullQuery() {
+        BookQuery query = BookQueryParser.parse("author:herbert series:dune lang:fr year:>1970 format:epub \"exact phrase\"");
+
+        assertEquals(List.of(
+            new Term(Field.AUTHOR, "herbert", false, false),
+            new Term(Field.SERIES, "dune", false, false),
+            new Term(Field.LANGUAGE, "fr", false, false),
+            new YearRange(1971, null, false),
+            new Term(Field.FORMAT, "epub", false, false),
+            new Term(Field.TEXT, "exact phrase", true, false)
+        ), query.clauses());
+        assertFalse(query.isPlainText());
+    }
+
+    @Test
+    @DisplayName("Should accept quoted values, negation and case-insensitive field names")
+    void shouldParseQuotedAndNegatedTerms() {
+        BookQuery query = BookQueryParser.parse("Author:\"Frank Herbert\"  -tag:horror -\"god emperor\"");
+
+        assertEquals(List.of(
+            new Term(Field.AUTHOR, "Frank Herbert", true, false),
+            new Term(Field.TAG, "horror", false, true),
+            new Term(Field.TEXT, "god emperor", true, true)
+        ), query.clauses());
+    }
+
+    @Test
+    @DisplayName("Should parse every year form")
+    void shouldParseYearForms() {
+        assertEquals(new YearRange(1965, 1965, false), BookQueryParser.parse("year:1965").clauses().get(0));
+        assertEquals(new YearRange(1965, null, false), BookQueryParser.parse("year:>=1965").clauses().get(0));
+        assertEquals(new YearRange(null, 1979, false), BookQueryParser.parse("year:<1980").clauses().get(0));
+        assertEquals(new YearRange(null, 1980, false), BookQueryParser.parse("year:<=1980").clauses().get(0));
+        assertEquals(new YearRange(1970, 1979, false), BookQueryParser.parse("year:1970..1979").clauses().get(0));
+        assertEquals(new YearRange(1970, null, true), BookQueryParser.parse("-year:1970..").clauses().get(0));
+    }
+
+    @Test
+    @DisplayName("Should keep plain words and unknown prefixes as free text")
+    void shouldKeepPlainText() {
+        BookQuery query = BookQueryParser.parse("re:zero Dune: messiah");
+
+        assertEquals(List.of(
+            new Term(Field.TEXT, "re:zero", false, false),
+            new Term(Field.TEXT, "Dune:", false, false),
+            new Term(Field.TEXT, "messiah", false, false)
+        ), query.clauses());
+        assertTrue(query.isPlainText());
+        assertTrue(BookQueryParser.parse("   ").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should reject invalid years, missing values and overly long queries")
+    void shouldRejectInvalidQueries() {
+        assertThrows(IllegalArgumentException.class, () -> BookQueryParser.parse("year:>nineteen"));
+        assertThrows(IllegalArgumentException.class, () -> BookQueryParser.parse("year:1980..1970"));
+        assertThrows(IllegalArgumentException.class, () -> BookQueryParser.parse("year:.."));
+        IllegalArgumentException missing = assertThrows(IllegalArgumentException.class,
+            () -> BookQueryParser.parse("dune author:"));
+        assertEquals("Missing value for search field 'author'", missing.getMessage());
+        assertThrows(IllegalArgumentException.class,
+            () -> BookQueryParser.parse("w ".repeat(BookQueryParser.MAX_CLAUSES + 1)));
+    }
+}
@@ -8,16 +8,20 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.motpassants.domain.core.model.*;
 import org.motpassants.domain.port.out.BookRepository;
+import org.motpassants.domain.port.out.ConfigurationPort;
 
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
@@ -31,11 +35,22 @@ class BookServiceTest {
     @Mock
     private BookRepository bookRepository;
 
+    @Mock
+    private TypeaheadService typeaheadService;
+
+    @Mock
+    private ConfigurationPort configurationPort;
+
+    @Mock
+    private ConfigurationPort.SearchConfig searchConfig;
+
     private BookService bookService;
 
     @BeforeEach
     void setUp() {
-        bookService = new BookService(bookRepository);
+        // Unstubbed cache TTL is 0, so search result caching is off in these tests
+        when(configurationPort.getSearchConfig()).thenReturn(searchConfig);
+        bookService = new BookService(bookRepository, typeaheadService, new LibraryVersionService(configurationPort));
     }
 
     @Test
@@ -203,6 +218,131 @@ class BookServiceTest {
         verify(bookRepository).count();
     }
 
+    @Test
+    @DisplayName("Should push the search limit down to the repository")
+    void shouldPushSearchLimitToRepository() {
+        when(bookRepository.searchByTitle("dune", 100)).thenReturn(List.of(createTestBook(UUID.randomUUID())));
+
+        List<Book> result = bookService.searchBooks("  dune ", 500);
+
+        assertEquals(1, result.size());
+        verify(bookRepository).searchByTitle("dune", 100);
+        verify(bookRepository, never()).findByQuery(any(), any(), anyInt());
+        assertTrue(bookService.searchBooks("   ", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should answer plain text and field terms through the same structured query")
+    void shouldRouteAllQueriesThroughQuerySearch() {
+        when(bookRepository.findByQuery(any(BookQuery.class), isNull(), eq(20)))
+            .thenReturn(new PageResult<>(List.of(createTestBook(UUID.randomUUID())), null, null, false, false, -1))
+            .thenReturn(new PageResult<>(List.of(), null, null, false, false, -1));
+
+        PageResult<Book> structured = bookService.searchBooks("dune author:herbert year:>1970", null, 0);
+        assertEquals(1, structured.getItems().size());
+        assertFalse(structured.hasNext());
+        assertTrue(bookService.searchBooks(" dune messiah ", null, 20).isEmpty());
+
+        // Free text keeps the same meaning whether or not field terms are present
+        verify(bookRepository).findByQuery(new BookQuery(List.of(
+            new BookQuery.Term(BookQuery.Field.TEXT, "dune", false, false),
+            new BookQuery.Term(BookQuery.Field.AUTHOR, "herbert", false, false),
+            new BookQuery.YearRange(1971, null, false))), null, 20);
+        verify(bookRepository).findByQuery(new BookQuery(List.of(
+            new BookQuery.Term(BookQuery.Field.TEXT, "dune", false, false),
+            new BookQuery.Term(BookQuery.Field.TEXT, "messiah", false, false))), null, 20);
+        assertThrows(IllegalArgumentException.class, () -> bookService.searchBooks("year:soon", null, 20));
+    }
+
+    @Test
+    @DisplayName("Should page query results with the repository cursor")
+    void shouldPageQueryResults() {
+        BookQuery english = new BookQuery(List.of(new BookQuery.Term(BookQuery.Field.LANGUAGE, "en", false, false)));
+        when(bookRepository.findByQuery(english, null, 100))
+            .thenReturn(new PageResult<>(List.of(createTestBook(UUID.randomUUID())), "next", null, true, false, -1));
+        when(bookRepository.findByQuery(english, "next", 100))
+            .thenReturn(new PageResult<>(List.of(createTestBook(UUID.randomUUID())), null, null, false, false, -1));
+
+        PageResult<Book> first = bookService.searchBooks("lang:en", null, 500);
+        assertTrue(first.hasNext());
+        assertEquals("next", first.getNextCursor());
+
+        PageResult<Book> second = bookService.searchBooks("lang:en", first.getNextCursor(), 500);
+        assertFalse(second.hasNext());
+        assertNull(second.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("Should pass series books through to the consumer in repository order")
+    void shouldStreamSeriesBooks() {
+        UUID seriesId = UUID.randomUUID();
+        SeriesBookEntry first = new SeriesBookEntry(UUID.randomUUID(), "Volume 1", true, 1.0, null);
+        SeriesBookEntry unnumbered = new SeriesBookEntry(UUID.randomUUID(), "Side story", false, null, null);
+        doAnswer(invocation -> {
+            Consumer<SeriesBookEntry> consumer = invocation.getArgument(1);
+            consumer.accept(first);
+            consumer.accept(unnumbered);
+            return null;
+        }).when(bookRepository).forEachBookInSeries(eq(seriesId), any());
+
+        List<SeriesBookEntry> received = new ArrayList<>();
+        bookService.forEachBookInSeries(seriesId, received::add);
+
+        assertEquals(List.of(first, unnumbered), received);
+        assertThrows(IllegalArgumentException.class, () -> bookService.forEachBookInSeries(null, received::add));
+    }
+
+    @Test
+    @DisplayName("Should clamp the number of similar books")
+    void shouldClampSimilarBooksLimit() {
+        UUID bookId = UUID.randomUUID();
+        when(bookRepository.findSimilarBooks(eq(bookId), anyInt())).thenReturn(List.of());
+
+        bookService.getSimilarBooks(bookId, 0);
+        bookService.getSimilarBooks(bookId, 500);
+
+        verify(bookRepository).findSimilarBooks(bookId, 10);
+        verify(bookRepository).findSimilarBooks(bookId, 50);
+        assertThrows(IllegalArgumentException.class, () -> bookService.getSimilarBooks(null, 10));
+    }
+
+    @Test
+    @DisplayName("Should cache facet counts per filter signature, ignoring paging")
+    void shouldCacheFacetsPerFilterSignature() {
+        when(searchConfig.getCacheTtlMillis()).thenReturn(60_000L);
+        when(searchConfig.getCacheMaxEntries()).thenReturn(10);
+        LibraryVersionService libraryVersionService = new LibraryVersionService(configurationPort);
+        BookService cachingService = new BookService(bookRepository, typeaheadService, libraryVersionService);
+        BookFacets facets = new BookFacets(3, List.of(new FacetCount("fr", "French", 3)),
+            List.of(), List.of(), List.of(), List.of(), List.of());
+        when(bookRepository.countFacets(any(BookSearchCriteria.class))).thenReturn(facets);
+
+        BookSearchCriteria firstPage = new BookSearchCriteria();
+        firstPage.setLanguage("FR");
+        BookSearchCriteria secondPage = new BookSearchCriteria();
+        secondPage.setLanguage("fr ");
+        secondPage.setCursor("abc");
+        BookSearchCriteria otherFilter = new BookSearchCriteria();
+        otherFilter.setLanguage("fr");
+        otherFilter.setDecade(1990);
+
+        assertSame(facets, cachingService.getFacets(firstPage));
+        assertSame(facets, cachingService.getFacets(secondPage));
+        cachingService.getFacets(otherFilter);
+        verify(bookRepository, times(2)).countFacets(any(BookSearchCriteria.class));
+
+        libraryVersionService.bump();
+        cachingService.getFacets(firstPage);
+        verify(bookRepository, times(3)).countFacets(any(BookSearchCriteria.class));
+    }
+
+    @Test
+    @DisplayName("Should reject null criteria for facets")
+    void shouldRejectNullCriteriaForFacets() {
+        assertThrows(IllegalArgumentException.class, () -> bookService.getFacets(null));
+        verify(bookRepository, never()).countFacets(any());
+    }
+
     private Book createTestBook(UUID id) {
         Book book = new Book();
         book.setId(id);
@@ -0,0 +1,123 @@
+package org.motpassants.application.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.motpassants.domain.core.model.LibraryStatistics;
+import org.motpassants.domain.port.in.LibraryVersionUseCase;
+import org.motpassants.domain.port.out.ConfigurationPort;
+import org.motpassants.domain.port.out.LibraryStatisticsPort;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for LibraryStatisticsService.
+ * Tests when cached statistics are served and when they are computed again.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("LibraryStatisticsService Unit Tests")
+class LibraryStatisticsServiceTest {
+
+    @Mock
+    private LibraryStatisticsPort statisticsPort;
+
+    @Mock
+    private LibraryVersionUseCase libraryVersionUseCase;
+
+    @Mock
+    private ConfigurationPort configurationPort;
+
+    private final AtomicLong now = new AtomicLong(1_000_000L);
+    private LibraryStatisticsService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new LibraryStatisticsService(statisticsPort, libraryVersionUseCase, configurationPort, now::get);
+    }
+
+    private void givenConfig() {
+        when(configurationPort.getStatisticsConfig()).thenReturn(new ConfigurationPort.StatisticsConfig() {
+            @Override
+            public long getMinAgeSeconds() {
+                return 10L;
+            }
+
+            @Override
+            public long getMaxAgeSeconds() {
+                return 60L;
+            }
+        });
+    }
+
+    @Test
+    @DisplayName("Should compute statistics once while the library is unchanged")
+    void shouldServeCachedStatistics() {
+        givenConfig();
+        when(libraryVersionUseCase.getLibraryVersion()).thenReturn(7L);
+        LibraryStatistics statistics = statistics(3L);
+        when(statisticsPort.loadStatistics()).thenReturn(statistics);
+
+        assertSame(statistics, service.getStatistics());
+        now.addAndGet(59_000L);
+        assertSame(statistics, service.getStatistics());
+
+        verify(statisticsPort, times(1)).loadStatistics();
+    }
+
+    @Test
+    @DisplayName("Should compute statistics again after a library change")
+    void shouldReloadAfterLibraryChange() {
+        givenConfig();
+        when(libraryVersionUseCase.getLibraryVersion()).thenReturn(7L, 8L);
+        when(statisticsPort.loadStatistics()).thenReturn(statistics(3L), statistics(4L));
+
+        assertEquals(3L, service.getStatistics().books());
+        now.addAndGet(10_000L);
+        assertEquals(4L, service.getStatistics().books());
+
+        verify(statisticsPort, times(2)).loadStatistics();
+    }
+
+    @Test
+    @DisplayName("Should compute statistics at most once per minimum age while the library keeps changing")
+    void shouldRateLimitReloadsDuringImport() {
+        givenConfig();
+        AtomicLong version = new AtomicLong(7L);
+        when(libraryVersionUseCase.getLibraryVersion()).thenAnswer(invocation -> version.incrementAndGet());
+        when(statisticsPort.loadStatistics()).thenReturn(statistics(3L), statistics(9L));
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(3L, service.getStatistics().books());
+            now.addAndGet(1_000L);
+        }
+        now.addAndGet(5_000L);
+
+        assertEquals(9L, service.getStatistics().books());
+        verify(statisticsPort, times(2)).loadStatistics();
+    }
+
+    @Test
+    @DisplayName("Should compute statistics again once they are older than the maximum age")
+    void shouldReloadAfterMaxAge() {
+        givenConfig();
+        when(libraryVersionUseCase.getLibraryVersion()).thenReturn(7L);
+        when(statisticsPort.loadStatistics()).thenReturn(statistics(3L), statistics(5L));
+
+        service.getStatistics();
+        now.addAndGet(60_000L);
+
+        assertEquals(5L, service.getStatistics().books());
+        verify(statisticsPort, times(2)).loadStatistics();
+    }
+
+    private static LibraryStatistics statistics(long books) {
+        return new LibraryStatistics(books, 1L, 2L, 1024L, Map.of("epub", books), Map.of("en", books));
+    }
+}
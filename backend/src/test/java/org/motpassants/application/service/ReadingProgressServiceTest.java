@@ -0,0 +1,289 @@
+package org.motpassants.application.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.motpassants.domain.core.model.ReadingProgress;
+import org.motpassants.domain.port.out.ConfigurationPort;
+import org.motpassants.domain.port.out.LoggingPort;
+import org.motpassants.domain.port.out.ReadingProgressNotificationPort;
+import org.motpassants.domain.port.out.ReadingProgressRepository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ReadingProgressService.
+ * Tests write-behind coalescing of progress updates, failed flushes, change notifications and live streams.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReadingProgressService Unit Tests")
+class ReadingProgressServiceTest {
+
+    @Mock
+    private ReadingProgressRepository readingProgressRepository;
+
+    @Mock
+    private ConfigurationPort configurationPort;
+
+    @Mock
+    private ReadingProgressNotificationPort notificationPort;
+
+    @Mock
+    private LoggingPort log;
+
+    private ReadingProgressService readingProgressService;
+
+    private final UUID userId = UUID.randomUUID();
+    private final UUID bookId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        when(configurationPort.getReadingProgressConfig()).thenReturn(new ConfigurationPort.ReadingProgressConfig() {
+            @Override public boolean isWriteBehindEnabled() { return true; }
+            @Override public long getFlushIntervalMillis() { return 60_000L; }
+            @Override public int getMaxPendingEntries() { return 1000; }
+        });
+        readingProgressService = new ReadingProgressService(readingProgressRepository, configurationPort, notificationPort, log);
+    }
+
+    @Test
+    @DisplayName("Should coalesce repeated updates into a single batched write")
+    @SuppressWarnings("unchecked")
+    void shouldCoalesceRepeatedUpdates() {
+        when(readingProgressRepository.findByUserIdAndBookId(userId, bookId)).thenReturn(Optional.empty());
+
+        readingProgressService.updateReadingProgress(userId, bookId, 0.10, 10, 100, null);
+        readingProgressService.updateReadingProgress(userId, bookId, 0.20, 20, 100, null);
+        readingProgressService.updateReadingProgress(userId, bookId, 0.30, 30, 100, "{\"href\":\"ch3.xhtml\"}");
+
+        verify(readingProgressRepository, times(1)).findByUserIdAndBookId(userId, bookId);
+        verify(readingProgressRepository, never()).save(any());
+
+        assertEquals(1, readingProgressService.flushPendingProgress());
+
+        ArgumentCaptor<Collection<ReadingProgress>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(readingProgressRepository, times(1)).saveAll(captor.capture());
+        List<ReadingProgress> written = new ArrayList<>(captor.getValue());
+        assertEquals(1, written.size());
+        assertEquals(0.30, written.get(0).getProgress());
+        assertEquals(30, written.get(0).getCurrentPage());
+        assertEquals("{\"href\":\"ch3.xhtml\"}", written.get(0).getProgressLocator());
+
+        // Nothing left to flush
+        assertEquals(0, readingProgressService.flushPendingProgress());
+        verifyNoMoreInteractions(readingProgressRepository);
+    }
+
+    @Test
+    @DisplayName("Should serve reads from the buffer before flushing")
+    void shouldServeReadsFromBuffer() {
+        when(readingProgressRepository.findByUserIdAndBookId(userId, bookId)).thenReturn(Optional.empty());
+
+        readingProgressService.updateReadingProgress(userId, bookId, 0.42, 42, 100, null);
+
+        Optional<ReadingProgress> progress = readingProgressService.getReadingProgress(userId, bookId);
+        assertTrue(progress.isPresent());
+        assertEquals(0.42, progress.get().getProgress());
+        verify(readingProgressRepository, times(1)).findByUserIdAndBookId(userId, bookId);
+    }
+
+    @Test
+    @DisplayName("Should drop buffered updates when progress is deleted")
+    void shouldDropBufferedUpdatesOnDelete() {
+        when(readingProgressRepository.findByUserIdAndBookId(userId, bookId)).thenReturn(Optional.empty());
+
+        readingProgressService.updateReadingProgress(userId, bookId, 0.50, 50, 100, null);
+        readingProgressService.deleteReadingProgress(userId, bookId);
+
+        assertEquals(0, readingProgressService.flushPendingProgress());
+        verify(readingProgressRepository).deleteByUserIdAndBookId(userId, bookId);
+        verify(readingProgressRepository, never()).saveAll(any());
+    }
+
+    @Test
+    @DisplayName("Should keep entries pending when the database is unavailable")
+    void shouldKeepEntriesWhenFlushFails() {
+        when(readingProgressRepository.findByUserIdAndBookId(userId, bookId)).thenReturn(Optional.empty());
+        doThrow(new RuntimeException("db down")).doNothing().when(readingProgressRepository).saveAll(any());
+        when(readingProgressRepository.save(any())).thenThrow(new RuntimeException("db down"));
+
+        readingProgressService.updateReadingProgress(userId, bookId, 0.75, 75, 100, null);
+
+        assertEquals(0, readingProgressService.flushPendingProgress());
+        assertEquals(1, readingProgressService.flushPendingProgress());
+    }
+
+    @Test
+    @DisplayName("Should isolate and drop an entry the database rejects for good")
+    void shouldDropRejectedEntry() {
+        UUID otherBookId = UUID.randomUUID();
+        UUID slowBookId = UUID.randomUUID();
+        when(readingProgressRepository.findByUserIdAndBookId(any(), any())).thenReturn(Optional.empty());
+        doThrow(new RuntimeException("fk violation")).when(readingProgressRepository).saveAll(any());
+        when(readingProgressRepository.save(any())).thenAnswer(invocation -> {
+            ReadingProgress progress = invocation.getArgument(0);
+            if (progress.getBookId().equals(otherBookId)) {
+                throw new IllegalArgumentException("fk violation");
+            }
+            if (progress.getBookId().equals(slowBookId)) {
+                throw new RuntimeException("lock timeout");
+            }
+            return progress;
+        });
+
+        readingProgressService.updateReadingProgress(userId, bookId, 0.10, 10, 100, null);
+        readingProgressService.updateReadingProgress(userId, otherBookId, 0.20, 20, 100, null);
+        readingProgressService.updateReadingProgress(userId, slowBookId, 0.30, 30, 100, null);
+
+        // The healthy entry is written despite the failing batch and the rejected one is dropped
+        assertEquals(1, readingProgressService.flushPendingProgress());
+        assertTrue(readingProgressService.getReadingProgress(userId, otherBookId).isEmpty());
+
+        // Any other failure keeps the entry, however often it happens
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, readingProgressService.flushPendingProgress());
+        }
+        assertEquals(0.30, readingProgressService.getReadingProgress(userId, slowBookId).orElseThrow().getProgress());
+    }
+
+    @Test
+    @DisplayName("Should keep every entry through a database outage and back off")
+    void shouldKeepEntriesThroughOutage() {
+        UUID otherBookId = UUID.randomUUID();
+        AtomicLong now = new AtomicLong(1_000_000L);
+        ReadingProgressWriteBehindBuffer buffer =
+            new ReadingProgressWriteBehindBuffer(readingProgressRepository, log, 5_000L, 1000, now::get);
+        doThrow(new RuntimeException("connection refused")).when(readingProgressRepository).saveAll(any());
+        when(readingProgressRepository.save(any())).thenThrow(new RuntimeException("connection refused"));
+
+        buffer.update(progress(bookId), p -> { p.setProgress(0.10); return p; });
+        buffer.update(progress(otherBookId), p -> { p.setProgress(0.20); return p; });
+
+        // Explicit flushes always try; none of them may lose an entry
+        for (int i = 0; i < 10; i++) {
+            assertEquals(0, buffer.flush());
+        }
+        assertEquals(2, buffer.pendingCount());
+        verify(readingProgressRepository, times(10)).saveAll(any());
+
+        // Scheduled flushes wait a doubling delay after each outage
+        clearInvocations(readingProgressRepository);
+        now.addAndGet(5_000L * 1024);
+        buffer.flushWhenDue();
+        verify(readingProgressRepository, times(1)).saveAll(any());
+        now.addAndGet(ReadingProgressWriteBehindBuffer.MAX_BACKOFF_MILLIS - 1);
+        buffer.flushWhenDue();
+        verify(readingProgressRepository, times(1)).saveAll(any());
+        assertEquals(2, buffer.pendingCount());
+
+        // Once the database is back everything is written and the backoff ends
+        doNothing().when(readingProgressRepository).saveAll(any());
+        now.addAndGet(1);
+        buffer.flushWhenDue();
+        verify(readingProgressRepository, times(2)).saveAll(any());
+        assertEquals(0, buffer.pendingCount());
+        buffer.update(progress(bookId), p -> { p.setProgress(0.50); return p; });
+        buffer.flushWhenDue();
+        verify(readingProgressRepository, times(3)).saveAll(any());
+    }
+
+    @Test
+    @DisplayName("Should flush the user's buffered positions before loading the continue reading shelf")
+    void shouldFlushBeforeContinueReading() {
+        when(readingProgressRepository.findByUserIdAndBookId(userId, bookId)).thenReturn(Optional.empty());
+        when(readingProgressRepository.findContinueReading(userId, 50)).thenReturn(List.of());
+
+        readingProgressService.updateReadingProgress(userId, bookId, 0.30, 30, 100, null);
+        readingProgressService.getContinueReading(userId, 500);
+
+        var inOrder = inOrder(readingProgressRepository);
+        inOrder.verify(readingProgressRepository).saveAll(any());
+        inOrder.verify(readingProgressRepository).findContinueReading(userId, 50);
+    }
+
+    @Test
+    @DisplayName("Should leave other users' buffered positions pending when loading the continue reading shelf")
+    @SuppressWarnings("unchecked")
+    void shouldFlushOnlyRequestingUserBeforeContinueReading() {
+        UUID otherUserId = UUID.randomUUID();
+        when(readingProgressRepository.findByUserIdAndBookId(any(), eq(bookId))).thenReturn(Optional.empty());
+        when(readingProgressRepository.findContinueReading(userId, 12)).thenReturn(List.of());
+
+        readingProgressService.updateReadingProgress(userId, bookId, 0.30, 30, 100, null);
+        readingProgressService.updateReadingProgress(otherUserId, bookId, 0.50, 50, 100, null);
+        readingProgressService.getContinueReading(userId, 12);
+
+        ArgumentCaptor<Collection<ReadingProgress>> batch = ArgumentCaptor.forClass(Collection.class);
+        verify(readingProgressRepository).saveAll(batch.capture());
+        assertEquals(List.of(userId), batch.getValue().stream().map(ReadingProgress::getUserId).toList());
+        // The other user's position is still pending
+        assertEquals(1, readingProgressService.flushPendingProgress());
+    }
+
+    @Test
+    @DisplayName("Should publish every accepted update, even before it is flushed")
+    void shouldPublishAcceptedUpdates() {
+        when(readingProgressRepository.findByUserIdAndBookId(userId, bookId)).thenReturn(Optional.empty());
+
+        readingProgressService.updateReadingProgress(userId, bookId, 0.25, 25, 100, null);
+        readingProgressService.updateReadingProgress(userId, bookId, 0.26, 26, 100, null);
+
+        ArgumentCaptor<ReadingProgress> captor = ArgumentCaptor.forClass(ReadingProgress.class);
+        verify(notificationPort, times(2)).publish(captor.capture());
+        assertEquals(26, captor.getValue().getCurrentPage());
+        assertEquals(bookId, captor.getValue().getBookId());
+        verify(readingProgressRepository, never()).saveAll(any());
+    }
+
+    @Test
+    @DisplayName("Should not fail the update when publishing fails")
+    void shouldIgnorePublishFailures() {
+        when(readingProgressRepository.findByUserIdAndBookId(userId, bookId)).thenReturn(Optional.empty());
+        doThrow(new RuntimeException("no subscribers")).when(notificationPort).publish(any());
+
+        ReadingProgress result = readingProgressService.updateReadingProgress(userId, bookId, 0.40, 40, 100, null);
+
+        assertEquals(40, result.getCurrentPage());
+    }
+
+    @Test
+    @DisplayName("Should subscribe live progress streams through the notification port")
+    void shouldStreamThroughNotificationPort() {
+        BiFunction<String, String, CompletionStage<?>> sender = (name, data) -> CompletableFuture.completedFuture(null);
+
+        readingProgressService.streamReadingProgress(userId, sender);
+
+        verify(notificationPort).subscribe(userId, sender);
+        assertThrows(IllegalArgumentException.class, () -> readingProgressService.streamReadingProgress(null, sender));
+    }
+
+    private ReadingProgress progress(UUID book) {
+        ReadingProgress progress = new ReadingProgress();
+        progress.setUserId(userId);
+        progress.setBookId(book);
+        return progress;
+    }
+
+    @Test
+    @DisplayName("Should reject progress outside 0..1")
+    void shouldRejectInvalidProgress() {
+        assertThrows(IllegalArgumentException.class,
+            () -> readingProgressService.updateReadingProgress(userId, bookId, 1.5, null, null, null));
+    }
+}
@@ -7,11 +7,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.motpassants.domain.core.model.*;
-import org.motpassants.domain.port.out.AuthorRepositoryPort;
-import org.motpassants.domain.port.out.BookRepository;
-import org.motpassants.domain.port.out.SeriesRepositoryPort;
+import org.motpassants.domain.port.in.LibraryStatisticsUseCase;
 
-import java.util.Arrays;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -25,28 +23,26 @@ import static org.mockito.Mockito.*;
 class SettingsServiceTest {
 
     @Mock
-    private BookRepository bookRepository;
-
-    @Mock
-    private AuthorRepositoryPort authorRepository;
-
-    @Mock
-    private SeriesRepositoryPort seriesRepository;
+    private LibraryStatisticsUseCase libraryStatisticsUseCase;
 
     private SettingsService settingsService;
 
     @BeforeEach
     void setUp() {
-        settingsService = new SettingsService(bookRepository, authorRepository, seriesRepository);
+        settingsService = new SettingsService(libraryStatisticsUseCase);
+    }
+
+    private void givenStatistics(long books, long series, long authors) {
+        when(libraryStatisticsUseCase.getStatistics()).thenReturn(new LibraryStatistics(
+            books, series, authors, 0L, Map.of(), Map.of()));
     }
 
     @Test
     @DisplayName("Should create system settings with entity counts")
     void shouldCreateSystemSettingsWithEntityCounts() {
-        // Mock repository counts
-        when(bookRepository.count()).thenReturn(100L);
-        when(seriesRepository.count()).thenReturn(20L);
-        when(authorRepository.count()).thenReturn(50L);
+        // Mock library statistics
+        when(libraryStatisticsUseCase.getStatistics()).thenReturn(new LibraryStatistics(
+            100L, 20L, 50L, 123_456L, Map.of("epub", 90L, "pdf", 10L), Map.of("en", 70L, "fr", 25L, "de", 5L)));
 
         Settings settings = settingsService.getSystemSettings();
 
@@ -58,23 +54,19 @@ class SettingsServiceTest {
         assertEquals(20L, entityCounts.series());
         assertEquals(50L, entityCounts.authors());
         assertEquals(0L, entityCounts.publishers()); // Not implemented yet
-        assertEquals(0L, entityCounts.languages());  // Not implemented yet
-        assertEquals(0L, entityCounts.formats());    // Not implemented yet
+        assertEquals(3L, entityCounts.languages());
+        assertEquals(2L, entityCounts.formats());
         assertEquals(0L, entityCounts.tags());       // Not implemented yet
 
-        // Verify repository calls
-        verify(bookRepository).count();
-        verify(seriesRepository).count();
-        verify(authorRepository).count();
+        // Verify statistics call
+        verify(libraryStatisticsUseCase).getStatistics();
     }
 
     @Test
     @DisplayName("Should create settings with proper application metadata")
     void shouldCreateSettingsWithProperApplicationMetadata() {
-        // Mock repository counts
-        when(bookRepository.count()).thenReturn(0L);
-        when(seriesRepository.count()).thenReturn(0L);
-        when(authorRepository.count()).thenReturn(0L);
+        // Mock library statistics
+        givenStatistics(0L, 0L, 0L);
 
         Settings settings = settingsService.getSystemSettings();
 
@@ -88,10 +80,8 @@ class SettingsServiceTest {
     @Test
     @DisplayName("Should create settings with feature flags")
     void shouldCreateSettingsWithFeatureFlags() {
-        // Mock repository counts
-        when(bookRepository.count()).thenReturn(0L);
-        when(seriesRepository.count()).thenReturn(0L);
-        when(authorRepository.count()).thenReturn(0L);
+        // Mock library statistics
+        givenStatistics(0L, 0L, 0L);
 
         Settings settings = settingsService.getSystemSettings();
 
@@ -107,10 +97,8 @@ class SettingsServiceTest {
     @Test
     @DisplayName("Should create settings with storage configuration")
     void shouldCreateSettingsWithStorageConfiguration() {
-        // Mock repository counts
-        when(bookRepository.count()).thenReturn(0L);
-        when(seriesRepository.count()).thenReturn(0L);
-        when(authorRepository.count()).thenReturn(0L);
+        // Mock library statistics
+        givenStatistics(0L, 0L, 0L);
 
         Settings settings = settingsService.getSystemSettings();
 
@@ -131,10 +119,8 @@ class SettingsServiceTest {
     @Test
     @DisplayName("Should create settings with supported formats")
     void shouldCreateSettingsWithSupportedFormats() {
-        // Mock repository counts
-        when(bookRepository.count()).thenReturn(0L);
-        when(seriesRepository.count()).thenReturn(0L);
-        when(authorRepository.count()).thenReturn(0L);
+        // Mock library statistics
+        givenStatistics(0L, 0L, 0L);
 
         Settings settings = settingsService.getSystemSettings();
 
@@ -157,25 +143,22 @@ class SettingsServiceTest {
     @Test
     @DisplayName("Should handle repository errors gracefully")
     void shouldHandleRepositoryErrorsGracefully() {
-        // Mock repository to throw exception
-        when(bookRepository.count()).thenThrow(new RuntimeException("Database error"));
+        // Mock statistics to throw exception
+        when(libraryStatisticsUseCase.getStatistics()).thenThrow(new RuntimeException("Database error"));
 
         // Should throw the exception (not handle it silently)
         assertThrows(RuntimeException.class, () -> {
             settingsService.getSystemSettings();
         });
         
-        verify(bookRepository).count();
-        // Other repositories should not be called after the first failure
+        verify(libraryStatisticsUseCase).getStatistics();
     }
 
     @Test
     @DisplayName("Should create consistent settings across multiple calls")
     void shouldCreateConsistentSettingsAcrossMultipleCalls() {
-        // Mock repository counts
-        when(bookRepository.count()).thenReturn(42L);
-        when(seriesRepository.count()).thenReturn(10L);
-        when(authorRepository.count()).thenReturn(25L);
+        // Mock library statistics
+        givenStatistics(42L, 10L, 25L);
 
         Settings settings1 = settingsService.getSystemSettings();
         Settings settings2 = settingsService.getSystemSettings();
@@ -189,9 +172,7 @@ class SettingsServiceTest {
         assertEquals(settings1.getFeatureFlags(), settings2.getFeatureFlags());
         assertEquals(settings1.getStorageConfiguration(), settings2.getStorageConfiguration());
 
-        // Repository methods should be called for each invocation
-        verify(bookRepository, times(2)).count();
-        verify(seriesRepository, times(2)).count();
-        verify(authorRepository, times(2)).count();
+        // Statistics are asked for on each invocation; caching is up to the statistics service
+        verify(libraryStatisticsUseCase, times(2)).getStatistics();
     }
 }
\ No newline at end of file
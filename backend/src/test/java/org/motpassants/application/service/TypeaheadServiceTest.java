@@ -0,0 +1,119 @@
+package org.motpassants.application.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.motpassants.domain.core.model.TypeaheadSuggestion;
+import org.motpassants.domain.port.out.AuthorRepositoryPort;
+import org.motpassants.domain.port.out.BookRepository;
+import org.motpassants.domain.port.out.LoggingPort;
+import org.motpassants.domain.port.out.SeriesRepositoryPort;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for TypeaheadService.
+ * Tests prefix matching, ranking and incremental index maintenance.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TypeaheadService Unit Tests")
+class TypeaheadServiceTest {
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private AuthorRepositoryPort authorRepository;
+
+    @Mock
+    private SeriesRepositoryPort seriesRepository;
+
+    @Mock
+    private LoggingPort log;
+
+    private TypeaheadService typeaheadService;
+
+    private final UUID dune = UUID.randomUUID();
+    private final UUID childrenOfDune = UUID.randomUUID();
+    private final UUID ecume = UUID.randomUUID();
+    private final UUID eluard = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        Map<UUID, String> titles = new LinkedHashMap<>();
+        titles.put(childrenOfDune, "Children of Dune");
+        titles.put(dune, "Dune");
+        titles.put(ecume, "L'Écume des jours");
+        when(bookRepository.findAllTitles()).thenReturn(titles);
+        when(authorRepository.findAllNames()).thenReturn(Map.of(eluard, "Paul Éluard"));
+        when(seriesRepository.findAllNames()).thenReturn(Map.of());
+        typeaheadService = new TypeaheadService(bookRepository, authorRepository, seriesRepository, log);
+        typeaheadService.rebuild();
+    }
+
+    @Test
+    @DisplayName("Should rank exact and leading matches before later-word matches")
+    void shouldRankLeadingMatchesFirst() {
+        List<TypeaheadSuggestion> suggestions = typeaheadService.suggest("dun", 10, List.of("books"));
+
+        assertEquals(List.of(dune, childrenOfDune), suggestions.stream().map(TypeaheadSuggestion::id).toList());
+        assertEquals("books", suggestions.get(0).type());
+    }
+
+    @Test
+    @DisplayName("Should match regardless of case, accents and punctuation")
+    void shouldFoldAccentsAndCase() {
+        assertEquals(ecume, typeaheadService.suggest("l ecume", 5, List.of("books")).get(0).id());
+        assertEquals(ecume, typeaheadService.suggest("ÉCUME DES", 5, List.of("books")).get(0).id());
+        assertEquals(eluard, typeaheadService.suggest("eluard", 5, null).get(0).id());
+    }
+
+    @Test
+    @DisplayName("Should reflect creates, renames and deletes without reloading")
+    void shouldApplyIncrementalChanges() {
+        UUID messiah = UUID.randomUUID();
+        typeaheadService.indexBook(messiah, "Dune Messiah");
+        assertTrue(ids(typeaheadService.suggest("dune m", 5, List.of("books"))).contains(messiah));
+
+        typeaheadService.indexBook(dune, "Dune (édition intégrale)");
+        assertEquals("Dune (édition intégrale)", typeaheadService.suggest("dune edition", 5, List.of("books")).get(0).label());
+
+        typeaheadService.removeBook(childrenOfDune);
+        assertFalse(ids(typeaheadService.suggest("dune", 10, List.of("books"))).contains(childrenOfDune));
+
+        verify(bookRepository, times(1)).findAllTitles();
+    }
+
+    @Test
+    @DisplayName("Should stay correct after many updates force a compaction")
+    void shouldStayCorrectAfterCompaction() {
+        for (int i = 0; i < 2000; i++) {
+            typeaheadService.indexBook(UUID.randomUUID(), "Volume " + i + " of the archive");
+        }
+        typeaheadService.indexBook(dune, "Dune Revisited");
+
+        assertEquals(1, typeaheadService.suggest("volume 1999", 5, List.of("books")).size());
+        assertEquals(List.of(dune), ids(typeaheadService.suggest("dune rev", 5, List.of("books"))));
+        assertEquals(5, typeaheadService.suggest("archive", 5, List.of("books")).size());
+    }
+
+    @Test
+    @DisplayName("Should return nothing for blank input")
+    void shouldIgnoreBlankInput() {
+        assertTrue(typeaheadService.suggest("  ", 5, null).isEmpty());
+        assertTrue(typeaheadService.suggest("'-", 5, null).isEmpty());
+    }
+
+    private static List<UUID> ids(List<TypeaheadSuggestion> suggestions) {
+        return suggestions.stream().map(TypeaheadSuggestion::id).toList();
+    }
+}
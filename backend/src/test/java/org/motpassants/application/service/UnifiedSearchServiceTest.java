@@ -0,0 +1,201 @@
+package org.motpassants.application.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.motpassants.domain.core.model.Author;
+import org.motpassants.domain.core.model.Book;
+import org.motpassants.domain.core.model.PageResult;
+import org.motpassants.domain.core.model.Series;
+import org.motpassants.domain.core.model.UnifiedSearchResult;
+import org.motpassants.domain.port.in.AuthorUseCase;
+import org.motpassants.domain.port.in.BookUseCase;
+import org.motpassants.domain.port.in.SeriesUseCase;
+import org.motpassants.domain.port.out.ConfigurationPort;
+import org.motpassants.domain.port.out.LoggingPort;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for UnifiedSearchService.
+ * Tests concurrent fan-out, time budgets and partial results.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UnifiedSearchService Unit Tests")
+class UnifiedSearchServiceTest {
+
+    @Mock
+    private BookUseCase bookUseCase;
+
+    @Mock
+    private AuthorUseCase authorUseCase;
+
+    @Mock
+    private SeriesUseCase seriesUseCase;
+
+    @Mock
+    private ConfigurationPort configurationPort;
+
+    @Mock
+    private LoggingPort log;
+
+    private LibraryVersionService libraryVersionService;
+
+    private UnifiedSearchService unifiedSearchService;
+
+    @BeforeEach
+    void setUp() {
+        when(configurationPort.getSearchConfig()).thenReturn(new ConfigurationPort.SearchConfig() {
+            @Override public long getDeadlineMillis() { return 1000L; }
+            @Override public long getBooksTimeoutMillis() { return 800L; }
+            @Override public long getAuthorsTimeoutMillis() { return 200L; }
+            @Override public long getSeriesTimeoutMillis() { return 800L; }
+            @Override public long getCacheTtlMillis() { return 60_000L; }
+            @Override public int getCacheMaxEntries() { return 10; }
+        });
+        libraryVersionService = new LibraryVersionService(configurationPort);
+        unifiedSearchService = new UnifiedSearchService(bookUseCase, authorUseCase, seriesUseCase,
+            configurationPort, libraryVersionService, log);
+    }
+
+    @Test
+    @DisplayName("Should run lookups concurrently so latency is the slowest one, not the sum")
+    void shouldRunLookupsConcurrently() {
+        when(bookUseCase.searchBooks(eq("dune"), anyInt())).thenAnswer(i -> { Thread.sleep(150); return List.of(new Book()); });
+        when(authorUseCase.searchAuthors(eq("dune"), isNull(), anyInt()))
+            .thenAnswer(i -> { Thread.sleep(150); return new PageResult<>(List.<Author>of(), null, null, false, false, 0); });
+        when(seriesUseCase.searchSeries(eq("dune"), anyInt())).thenAnswer(i -> { Thread.sleep(150); return List.<Series>of(); });
+
+        long start = System.nanoTime();
+        UnifiedSearchResult result = unifiedSearchService.unifiedSearch("dune", 10, null);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertFalse(result.isPartial());
+        assertEquals(1, result.getBooks().size());
+        assertTrue(elapsedMillis < 400, "Expected concurrent lookups but took " + elapsedMillis + " ms");
+        assertEquals(List.of("books", "authors", "series"), List.copyOf(result.getLatencyMillis().keySet()));
+    }
+
+    @Test
+    @DisplayName("Should return the other types flagged as partial when one exceeds its timeout")
+    void shouldReturnPartialResultsOnTimeout() {
+        when(bookUseCase.searchBooks(eq("dune"), anyInt())).thenReturn(List.of(new Book()));
+        when(authorUseCase.searchAuthors(eq("dune"), isNull(), anyInt()))
+            .thenAnswer(i -> { Thread.sleep(2000); return new PageResult<>(List.<Author>of(), null, null, false, false, 0); });
+        when(seriesUseCase.searchSeries(eq("dune"), anyInt())).thenReturn(List.of(new Series()));
+
+        long start = System.nanoTime();
+        UnifiedSearchResult result = unifiedSearchService.unifiedSearch("dune", 10, null);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(result.isPartial());
+        assertEquals(List.of("authors"), result.getIncompleteTypes());
+        assertEquals(1, result.getBooks().size());
+        assertEquals(1, result.getSeries().size());
+        assertTrue(result.getAuthors().isEmpty());
+        assertTrue(elapsedMillis < 1000, "The slow lookup should have been abandoned, took " + elapsedMillis + " ms");
+    }
+
+    @Test
+    @DisplayName("Should flag a failing lookup instead of hiding it")
+    void shouldFlagFailedLookup() {
+        when(bookUseCase.searchBooks(eq("dune"), anyInt())).thenThrow(new RuntimeException("db down"));
+
+        UnifiedSearchResult result = unifiedSearchService.unifiedSearch("dune", 10, List.of("books"));
+
+        assertTrue(result.isPartial());
+        assertEquals(List.of("books"), result.getIncompleteTypes());
+        verify(log).warn(contains("db down"));
+        verifyNoInteractions(authorUseCase, seriesUseCase);
+    }
+
+    @Test
+    @DisplayName("Should cap results at the requested limit")
+    void shouldCapResultsAtLimit() {
+        when(bookUseCase.searchBooks(anyString(), anyInt())).thenReturn(List.of(new Book(), new Book(), new Book()));
+
+        UnifiedSearchResult result = unifiedSearchService.unifiedSearch("  dune ", 2, List.of("books"));
+
+        assertEquals(2, result.getBooks().size());
+        verify(bookUseCase).searchBooks("dune", 2);
+    }
+
+    @Test
+    @DisplayName("Should serve a repeated query from cache regardless of case and spacing")
+    void shouldCacheRepeatedQueries() {
+        when(bookUseCase.searchBooks(anyString(), anyInt())).thenReturn(List.of(new Book()));
+
+        UnifiedSearchResult first = unifiedSearchService.unifiedSearch("Dune", 10, List.of("books"));
+        UnifiedSearchResult second = unifiedSearchService.unifiedSearch("  dune ", 10, List.of("books"));
+
+        assertEquals(first.getTotalResults(), second.getTotalResults());
+        verify(bookUseCase, times(1)).searchBooks(anyString(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should hand out independent copies of cached results, without the original latencies")
+    void shouldServeCopiesFromCache() {
+        Book book = new Book();
+        book.setTitle("Dune");
+        when(bookUseCase.searchBooks(anyString(), anyInt())).thenReturn(List.of(book));
+
+        UnifiedSearchResult first = unifiedSearchService.unifiedSearch("dune", 10, List.of("books"));
+        assertTrue(first.getLatencyMillis().containsKey("books"));
+        first.getBooks().get(0).setTitle("Changed by the first caller");
+        first.setPartial(true);
+
+        UnifiedSearchResult second = unifiedSearchService.unifiedSearch("dune", 10, List.of("books"));
+        second.getBooks().get(0).setTitle("Changed by the second caller");
+        UnifiedSearchResult third = unifiedSearchService.unifiedSearch("dune", 10, List.of("books"));
+
+        assertNotSame(second, third);
+        assertEquals("Dune", third.getBooks().get(0).getTitle());
+        assertFalse(third.isPartial());
+        assertTrue(third.getLatencyMillis().isEmpty());
+        verify(bookUseCase, times(1)).searchBooks(anyString(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should share cache entries between accented and unaccented spellings")
+    void shouldFoldAccentsInCacheKey() {
+        when(authorUseCase.searchAuthors(anyString(), isNull(), anyInt()))
+            .thenReturn(new PageResult<>(List.<Author>of(), null, null, false, false, 0));
+
+        unifiedSearchService.unifiedSearch("Éluard", 10, List.of("authors"));
+        unifiedSearchService.unifiedSearch("eluard", 10, List.of("authors"));
+
+        verify(authorUseCase, times(1)).searchAuthors(anyString(), isNull(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should search again once the library has changed")
+    void shouldInvalidateCacheOnLibraryChange() {
+        when(bookUseCase.searchBooks(anyString(), anyInt())).thenReturn(List.of(new Book()));
+
+        unifiedSearchService.unifiedSearch("dune", 10, List.of("books"));
+        libraryVersionService.bump();
+        unifiedSearchService.unifiedSearch("dune", 10, List.of("books"));
+
+        verify(bookUseCase, times(2)).searchBooks(anyString(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should not cache partial results")
+    void shouldNotCachePartialResults() {
+        when(bookUseCase.searchBooks(eq("dune"), anyInt())).thenThrow(new RuntimeException("db down"));
+
+        unifiedSearchService.unifiedSearch("dune", 10, List.of("books"));
+        unifiedSearchService.unifiedSearch("dune", 10, List.of("books"));
+
+        verify(bookUseCase, times(2)).searchBooks(eq("dune"), anyInt());
+    }
+}
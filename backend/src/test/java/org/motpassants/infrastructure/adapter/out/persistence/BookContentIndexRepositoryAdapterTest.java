@@ -0,0 +1,134 @@
+package org.motpassants.infrastructure.adapter.out.persistence;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.motpassants.domain.core.model.ContentSearchHit;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for BookContentIndexRepositoryAdapter.
+ * Tests splitting of ts_headline snippets into the text before, inside and after the highlight.
+ */
+@DisplayName("BookContentIndexRepositoryAdapter Unit Tests")
+class BookContentIndexRepositoryAdapterTest {
+
+    // Same markers as the adapter passes to ts_headline
+    private static final String START = "\u0002";
+    private static final String STOP = "\u0003";
+
+    @Test
+    @DisplayName("Should split a snippet around a single highlighted word")
+    void shouldSplitAroundHighlight() throws SQLException {
+        ContentSearchHit hit = hit("the old " + START + "lighthouse" + STOP + " keeper slept");
+
+        assertEquals("the old ", hit.before());
+        assertEquals("lighthouse", hit.highlight());
+        assertEquals(" keeper slept", hit.after());
+    }
+
+    @Test
+    @DisplayName("Should handle a highlight at the very start of the snippet")
+    void shouldHandleHighlightAtStart() throws SQLException {
+        ContentSearchHit hit = hit(START + "Lighthouse" + STOP + " keepers never sleep");
+
+        assertEquals("", hit.before());
+        assertEquals("Lighthouse", hit.highlight());
+        assertEquals(" keepers never sleep", hit.after());
+    }
+
+    @Test
+    @DisplayName("Should handle a highlight at the very end of the snippet")
+    void shouldHandleHighlightAtEnd() throws SQLException {
+        ContentSearchHit hit = hit("they climbed the " + START + "lighthouse" + STOP);
+
+        assertEquals("they climbed the ", hit.before());
+        assertEquals("lighthouse", hit.highlight());
+        assertEquals("", hit.after());
+    }
+
+    @Test
+    @DisplayName("Should highlight up to the end when the stop marker is missing")
+    void shouldHandleMissingStopMarker() throws SQLException {
+        ContentSearchHit hit = hit("up the " + START + "lighthouse stairs");
+
+        assertEquals("up the ", hit.before());
+        assertEquals("lighthouse stairs", hit.highlight());
+        assertEquals("", hit.after());
+    }
+
+    @Test
+    @DisplayName("Should merge adjacent highlighted words and strip later markers")
+    void shouldMergeAdjacentHighlights() throws SQLException {
+        ContentSearchHit hit = hit("a " + START + "storm" + STOP + " " + START + "warning" + STOP
+            + " was issued, then another " + START + "storm" + STOP + ".");
+
+        assertEquals("a ", hit.before());
+        assertEquals("storm warning", hit.highlight());
+        assertEquals(" was issued, then another storm.", hit.after());
+    }
+
+    @Test
+    @DisplayName("Should keep multibyte characters intact around the highlight")
+    void shouldKeepMultibyteText() throws SQLException {
+        ContentSearchHit hit = hit("東京の" + START + "夜景" + STOP + "と 📚 café");
+
+        assertEquals("東京の", hit.before());
+        assertEquals("夜景", hit.highlight());
+        assertEquals("と 📚 café", hit.after());
+
+        ContentSearchHit emoji = hit("📚" + START + "naïve" + STOP + "📚");
+        assertEquals("📚", emoji.before());
+        assertEquals("naïve", emoji.highlight());
+        assertEquals("📚", emoji.after());
+    }
+
+    @Test
+    @DisplayName("Should return the whole snippet as context when nothing is highlighted")
+    void shouldHandleSnippetWithoutHighlight() throws SQLException {
+        assertEquals("plain text", hit("plain text").before());
+        assertEquals("", hit("plain text").highlight());
+
+        ContentSearchHit empty = hit(null);
+        assertEquals("", empty.before());
+        assertEquals("", empty.highlight());
+        assertEquals("", empty.after());
+    }
+
+    @Test
+    @DisplayName("Should map the chapter columns")
+    void shouldMapChapterColumns() throws SQLException {
+        UUID bookId = UUID.randomUUID();
+        ResultSet rs = row(bookId, "x");
+
+        ContentSearchHit hit = BookContentIndexRepositoryAdapter.toHit(rs);
+
+        assertEquals(bookId, hit.bookId());
+        assertEquals("Sample", hit.bookTitle());
+        assertEquals(2, hit.chapterIndex());
+        assertEquals(7, hit.chapterCount());
+        assertEquals("OEBPS/ch3.xhtml", hit.href());
+        assertEquals("application/xhtml+xml", hit.mediaType());
+    }
+
+    private ContentSearchHit hit(String snippet) throws SQLException {
+        return BookContentIndexRepositoryAdapter.toHit(row(UUID.randomUUID(), snippet));
+    }
+
+    private ResultSet row(UUID bookId, String snippet) throws SQLException {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getString("snippet")).thenReturn(snippet);
+        when(rs.getObject("book_id")).thenReturn(bookId);
+        when(rs.getString("title")).thenReturn("Sample");
+        when(rs.getInt("chapter_index")).thenReturn(2);
+        when(rs.getInt("chapter_count")).thenReturn(7);
+        when(rs.getString("href")).thenReturn("OEBPS/ch3.xhtml");
+        when(rs.getString("media_type")).thenReturn("application/xhtml+xml");
+        return rs;
+    }
+}
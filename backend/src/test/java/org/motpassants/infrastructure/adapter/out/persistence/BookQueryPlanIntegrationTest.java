@@ -0,0 +1,109 @@
+package org.motpassants.infrastructure.adapter.out.persistence;
+
+import io.agroal.api.AgroalDataSource;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.motpassants.domain.core.model.BookQuery;
+import org.motpassants.domain.core.model.BookQuery.Field;
+import org.motpassants.domain.core.model.BookQuery.Term;
+import org.motpassants.domain.core.model.BookQuery.YearRange;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for the SQL compiled from structured book queries.
+ * Each query is run through EXPLAIN with sequential scans disabled: a plan that still scans
+ * the books table has no index to use, which is what these tests guard against.
+ */
+@QuarkusTest
+@DisplayName("Book Query Plan Integration Tests")
+public class BookQueryPlanIntegrationTest {
+
+    @Inject
+    BookRepositoryAdapter bookRepository;
+
+    @Inject
+    AgroalDataSource dataSource;
+
+    @Test
+    @DisplayName("Should match titles, ISBNs and free text through trigram indexes")
+    void shouldUseTrigramIndexesForText() throws SQLException {
+        assertPlanUses(query(new Term(Field.TITLE, "dune", false, false)), "idx_books_title_norm_trgm");
+        assertPlanUses(query(new Term(Field.ISBN, "978-2", false, false)), "idx_books_isbn_norm_trgm");
+        String plan = assertPlanUses(query(new Term(Field.TEXT, "dune", false, false)), "idx_books_title_norm_trgm");
+        assertTrue(plan.contains("idx_books_path_norm_trgm"), plan);
+        assertTrue(plan.contains("idx_books_isbn_norm_trgm"), plan);
+    }
+
+    @Test
+    @DisplayName("Should match phrases through the title full-text index")
+    void shouldUseFullTextIndexForPhrases() throws SQLException {
+        assertPlanUses(query(new Term(Field.TEXT, "desert planet", true, false)), "idx_books_title_vector");
+    }
+
+    @Test
+    @DisplayName("Should filter language, format, tag and year through btree indexes")
+    void shouldUseBtreeIndexesForFilters() throws SQLException {
+        assertPlanUses(query(new Term(Field.LANGUAGE, "fr", false, false)), "idx_books_language_lower");
+        assertPlanUses(query(new Term(Field.FORMAT, "epub", false, false)), "idx_formats_type_lower_book");
+        assertPlanUses(query(new Term(Field.TAG, "science fiction", false, false)), "idx_tags_name_norm");
+        assertPlanUses(query(new YearRange(1971, null, false)), "idx_books_publication_date");
+    }
+
+    @Test
+    @DisplayName("Should run a combined query as one statement")
+    void shouldRunCombinedQuery() throws SQLException {
+        BookQuery combined = query(
+            new Term(Field.AUTHOR, "herbert", false, false),
+            new Term(Field.SERIES, "dune", false, false),
+            new Term(Field.LANGUAGE, "en", false, false),
+            new YearRange(1960, 1990, false),
+            new Term(Field.FORMAT, "epub", false, false),
+            new Term(Field.TAG, "horror", false, true));
+
+        assertPlanUses(combined, "idx_books_language_lower");
+        assertNotNull(bookRepository.findByQuery(combined, null, 10));
+    }
+
+    private static BookQuery query(BookQuery.Clause... clauses) {
+        return new BookQuery(List.of(clauses));
+    }
+
+    private String assertPlanUses(BookQuery query, String index) throws SQLException {
+        String plan = explain(query);
+        assertFalse(plan.contains("Seq Scan on books"), plan);
+        assertTrue(plan.contains(index), "Expected " + index + " in plan:\n" + plan);
+        return plan;
+    }
+
+    private String explain(BookQuery query) throws SQLException {
+        List<Object> params = new ArrayList<>();
+        String sql = bookRepository.compileQuery(query, null, 20, params);
+        StringBuilder plan = new StringBuilder();
+        try (Connection conn = dataSource.getConnection(); Statement st = conn.createStatement()) {
+            // The test library is tiny; without this the planner rightly prefers scanning it
+            st.execute("SET enable_seqscan = off");
+            try (PreparedStatement ps = conn.prepareStatement("EXPLAIN " + sql)) {
+                for (int i = 0; i < params.size(); i++) {
+                    ps.setObject(i + 1, params.get(i));
+                }
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) plan.append(rs.getString(1)).append('\n');
+                }
+            } finally {
+                st.execute("RESET enable_seqscan");
+            }
+        }
+        return plan.toString();
+    }
+}
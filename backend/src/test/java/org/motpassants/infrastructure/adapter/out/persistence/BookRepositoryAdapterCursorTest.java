@@ -0,0 +1,146 @@
+package org.motpassants.infrastructure.adapter.out.persistence;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.motpassants.domain.core.model.Book;
+import org.motpassants.domain.core.model.BookSortCriteria;
+import org.motpassants.domain.core.model.SortDirection;
+import org.motpassants.domain.core.model.SortField;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the findAll cursors of BookRepositoryAdapter.
+ * Tests encoding and decoding for each sort key, cursors holding millis from before the switch
+ * to micros, invalid cursors and the tiebreakers of the sort order.
+ */
+@DisplayName("BookRepositoryAdapter Cursor Unit Tests")
+class BookRepositoryAdapterCursorTest {
+
+    private static final UUID ID = UUID.fromString("3f2b6c1e-8d4a-4f7e-9a51-0c2d7e6b8f90");
+    // Microsecond precision, as stored by PostgreSQL
+    private static final OffsetDateTime CREATED_AT = OffsetDateTime.parse("2024-03-05T10:15:30.123456+01:00");
+    private static final OffsetDateTime UPDATED_AT = OffsetDateTime.parse("2025-11-20T08:00:00.000001Z");
+
+    @Test
+    @DisplayName("Should round-trip an updated_at cursor to the microsecond")
+    void shouldRoundTripUpdatedAt() {
+        BookSortCriteria sort = new BookSortCriteria(SortField.UPDATED_AT, SortDirection.DESC);
+
+        Object[] position = roundTrip(book("Dune", null), sort);
+
+        assertEquals(Timestamp.from(UPDATED_AT.toInstant()), position[0]);
+        assertTiebreakers(position);
+    }
+
+    @Test
+    @DisplayName("Should round-trip a title_sort cursor with accents and separators")
+    void shouldRoundTripTitleSort() {
+        BookSortCriteria sort = new BookSortCriteria(SortField.TITLE_SORT, SortDirection.ASC);
+
+        for (String title : new String[] {"Étranger, L'", "Pile | Face", "東京 100% café", ""}) {
+            Object[] position = roundTrip(book(title, null), sort);
+
+            assertEquals(title, position[0]);
+            assertTiebreakers(position);
+        }
+        assertEquals("", roundTrip(book(null, null), sort)[0]);
+    }
+
+    @Test
+    @DisplayName("Should round-trip a publication_date cursor, including dates before 1970 and 2001")
+    void shouldRoundTripPublicationDate() {
+        BookSortCriteria sort = new BookSortCriteria(SortField.PUBLICATION_DATE, SortDirection.DESC);
+
+        for (String date : new String[] {"2021-06-15", "1999-12-31", "1965-08-01", "1862-04-03"}) {
+            Object[] position = roundTrip(book("Dune", LocalDate.parse(date)), sort);
+
+            assertEquals(LocalDate.parse(date).atStartOfDay(ZoneOffset.UTC).toInstant(),
+                ((Timestamp) position[0]).toInstant(), date);
+            assertTiebreakers(position);
+        }
+    }
+
+    @Test
+    @DisplayName("Should decode cursors holding epoch millis")
+    void shouldDecodeMillisecondCursors() {
+        long createdAtMillis = CREATED_AT.toInstant().toEpochMilli();
+
+        Object[] updated = BookRepositoryAdapter.decodeCursor(
+            cursor(UPDATED_AT.toInstant().toEpochMilli() + "|" + createdAtMillis + "|" + ID),
+            new BookSortCriteria(SortField.UPDATED_AT, SortDirection.DESC));
+        assertEquals(new Timestamp(UPDATED_AT.toInstant().toEpochMilli()), updated[0]);
+        assertEquals(new Timestamp(createdAtMillis), updated[1]);
+        assertEquals(ID, updated[2]);
+
+        long publishedMillis = Instant.parse("1965-08-01T00:00:00Z").toEpochMilli();
+        Object[] published = BookRepositoryAdapter.decodeCursor(
+            cursor(publishedMillis + "|" + createdAtMillis + "|" + ID),
+            new BookSortCriteria(SortField.PUBLICATION_DATE, SortDirection.ASC));
+        assertEquals(new Timestamp(publishedMillis), published[0]);
+        assertEquals(new Timestamp(createdAtMillis), published[1]);
+
+        Object[] titled = BookRepositoryAdapter.decodeCursor(
+            cursor("Dune%2C+Messiah|" + createdAtMillis + "|" + ID),
+            new BookSortCriteria(SortField.TITLE_SORT, SortDirection.ASC));
+        assertEquals("Dune, Messiah", titled[0]);
+        assertEquals(new Timestamp(createdAtMillis), titled[1]);
+    }
+
+    @Test
+    @DisplayName("Should treat missing and invalid cursors as no cursor")
+    void shouldRejectInvalidCursors() {
+        BookSortCriteria sort = new BookSortCriteria(SortField.UPDATED_AT, SortDirection.DESC);
+
+        assertNull(BookRepositoryAdapter.decodeCursor(null, sort));
+        assertNull(BookRepositoryAdapter.decodeCursor("  ", sort));
+        assertNull(BookRepositoryAdapter.decodeCursor("not base64!", sort));
+        assertNull(BookRepositoryAdapter.decodeCursor(cursor("1|2"), sort));
+        assertNull(BookRepositoryAdapter.decodeCursor(cursor("abc|1700000000000|" + ID), sort));
+        assertNull(BookRepositoryAdapter.decodeCursor(cursor("1|1700000000000|not-a-uuid"), sort));
+    }
+
+    @Test
+    @DisplayName("Should order by the sort key, then created_at and id")
+    void shouldAddTiebreakersToOrder() {
+        assertEquals(" ORDER BY title_sort ASC, created_at DESC, id DESC",
+            BookRepositoryAdapter.orderByClause(new BookSortCriteria(SortField.TITLE_SORT, SortDirection.ASC)));
+        assertEquals(" ORDER BY updated_at DESC, created_at DESC, id DESC",
+            BookRepositoryAdapter.orderByClause(new BookSortCriteria(SortField.UPDATED_AT, SortDirection.DESC)));
+    }
+
+    private static Object[] roundTrip(Book book, BookSortCriteria sort) {
+        String cursor = BookRepositoryAdapter.encodeCursor(book, sort);
+        assertFalse(cursor.contains("="), "cursor should not be padded");
+
+        Object[] position = BookRepositoryAdapter.decodeCursor(cursor, sort);
+        assertNotNull(position, cursor);
+        return position;
+    }
+
+    private static void assertTiebreakers(Object[] position) {
+        assertEquals(Timestamp.from(CREATED_AT.toInstant()), position[1]);
+        assertEquals(ID, position[2]);
+    }
+
+    private static Book book(String titleSort, LocalDate publicationDate) {
+        Book book = Book.builder().id(ID).titleSort(titleSort).build();
+        book.setCreatedAt(CREATED_AT);
+        book.setUpdatedAt(UPDATED_AT);
+        book.setPublicationDate(publicationDate);
+        return book;
+    }
+
+    private static String cursor(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
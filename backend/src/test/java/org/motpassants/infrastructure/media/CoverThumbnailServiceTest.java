@@ -0,0 +1,175 @@
+package org.motpassants.infrastructure.media;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.motpassants.domain.core.model.CoverPlaceholder;
+import org.motpassants.domain.port.out.CoverPlaceholderPort;
+import org.motpassants.infrastructure.config.LibrarieConfigProperties;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for CoverThumbnailService.
+ * Tests variant selection, generated sizes, staleness against the original, placeholders and their backfill.
+ */
+@DisplayName("CoverThumbnailService Unit Tests")
+class CoverThumbnailServiceTest {
+
+    @TempDir
+    Path covers;
+
+    private CoverPlaceholderPort placeholderPort;
+    private CoverThumbnailService service;
+
+    @BeforeEach
+    void setUp() {
+        LibrarieConfigProperties config = mock(LibrarieConfigProperties.class);
+        LibrarieConfigProperties.Thumbnails settings = mock(LibrarieConfigProperties.Thumbnails.class);
+        when(config.thumbnails()).thenReturn(settings);
+        when(settings.workers()).thenReturn(1);
+        placeholderPort = mock(CoverPlaceholderPort.class);
+        service = new CoverThumbnailService(config, placeholderPort);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.onStop(null);
+    }
+
+    @Test
+    @DisplayName("Should pick the smallest variant covering the requested width")
+    void shouldPickVariantWidth() {
+        assertEquals(160, CoverThumbnailService.variantWidth(120));
+        assertEquals(320, CoverThumbnailService.variantWidth(161));
+        assertEquals(640, CoverThumbnailService.variantWidth(640));
+        assertEquals(0, CoverThumbnailService.variantWidth(1200));
+    }
+
+    @Test
+    @DisplayName("Should scale large covers keeping their ratio and copy covers smaller than a variant")
+    void shouldGenerateVariants() throws IOException {
+        Path cover = covers.resolve("book");
+        ImageIO.write(new BufferedImage(400, 600, BufferedImage.TYPE_INT_ARGB), "png", cover.toFile());
+
+        assertTrue(service.generateVariants(cover));
+
+        assertSize(CoverThumbnailService.variantPath(cover, 160), 160, 240);
+        assertSize(CoverThumbnailService.variantPath(cover, 320), 320, 480);
+        assertArrayEquals(Files.readAllBytes(cover), Files.readAllBytes(CoverThumbnailService.variantPath(cover, 640)));
+        assertTrue(service.isFresh(cover, 320));
+        try (var files = Files.list(covers)) {
+            assertEquals(4, files.count());
+        }
+    }
+
+    @Test
+    @DisplayName("Should treat variants older than their original as stale and skip undecodable files")
+    void shouldDetectStaleVariants() throws IOException {
+        Path cover = covers.resolve("book");
+        ImageIO.write(new BufferedImage(800, 1200, BufferedImage.TYPE_INT_RGB), "jpg", cover.toFile());
+        service.generateVariants(cover);
+
+        Files.setLastModifiedTime(cover, FileTime.fromMillis(System.currentTimeMillis() + 60_000));
+
+        assertFalse(service.isFresh(cover, 160));
+        Path broken = covers.resolve("broken");
+        Files.writeString(broken, "not an image");
+        assertFalse(service.generateVariants(broken));
+    }
+
+    @Test
+    @DisplayName("Should store a tiny placeholder with the dominant color and content version for a book cover")
+    void shouldStorePlaceholder() throws IOException {
+        UUID bookId = UUID.randomUUID();
+        Path cover = Files.createDirectories(covers.resolve("books").resolve("covers")).resolve(bookId.toString());
+        BufferedImage image = new BufferedImage(300, 450, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        g.setColor(new Color(0x20, 0x40, 0xA0));
+        g.fillRect(0, 0, 300, 450);
+        g.setColor(Color.RED);
+        g.fillRect(0, 0, 300, 100);
+        g.dispose();
+        ImageIO.write(image, "png", cover.toFile());
+
+        assertTrue(service.generateVariants(cover));
+
+        ArgumentCaptor<CoverPlaceholder> saved = ArgumentCaptor.forClass(CoverPlaceholder.class);
+        verify(placeholderPort).saveBookPlaceholder(eq(bookId), saved.capture());
+        assertEquals("#2040a0", saved.getValue().color());
+        assertEquals(ImageCachingService.contentVersion(Files.readAllBytes(cover)), saved.getValue().version());
+        String prefix = "data:image/jpeg;base64,";
+        assertTrue(saved.getValue().dataUri().startsWith(prefix));
+        byte[] jpeg = Base64.getDecoder().decode(saved.getValue().dataUri().substring(prefix.length()));
+        assertTrue(jpeg.length < 1024);
+        BufferedImage tiny = ImageIO.read(new ByteArrayInputStream(jpeg));
+        assertEquals(CoverThumbnailService.PLACEHOLDER_WIDTH, tiny.getWidth());
+        assertEquals(24, tiny.getHeight());
+    }
+
+    @Test
+    @DisplayName("Should backfill placeholders only for stored images of owners lacking one")
+    void shouldBackfillMissingPlaceholders() throws IOException {
+        UUID seriesId = UUID.randomUUID();
+        UUID authorId = UUID.randomUUID();
+        UUID done = UUID.randomUUID();
+        Path series = Files.createDirectories(covers.resolve("series").resolve("covers"));
+        Path authors = Files.createDirectories(covers.resolve("authors").resolve("pictures"));
+        ImageIO.write(new BufferedImage(40, 40, BufferedImage.TYPE_INT_RGB), "png", series.resolve(seriesId.toString()).toFile());
+        ImageIO.write(new BufferedImage(40, 40, BufferedImage.TYPE_INT_RGB), "png", authors.resolve(done.toString()).toFile());
+        when(placeholderPort.findSeriesIdsWithoutPlaceholder()).thenReturn(Set.of(seriesId));
+        when(placeholderPort.findAuthorIdsWithoutPlaceholder()).thenReturn(Set.of(authorId));
+
+        assertEquals(1, service.backfillPlaceholders(covers));
+
+        verify(placeholderPort).saveSeriesPlaceholder(eq(seriesId), any());
+        verify(placeholderPort, never()).saveAuthorPlaceholder(any(), any());
+        assertFalse(Files.exists(CoverThumbnailService.variantPath(authors.resolve(done.toString()), 160)));
+    }
+
+    @Test
+    @DisplayName("Should look up each owner in its own directory and mark owners without a usable image")
+    void shouldMarkOwnersWithoutImage() throws IOException {
+        UUID bookId = UUID.randomUUID();
+        UUID brokenBookId = UUID.randomUUID();
+        UUID seriesId = UUID.randomUUID();
+        Path books = Files.createDirectories(covers.resolve("books").resolve("covers"));
+        Files.writeString(books.resolve(brokenBookId.toString()), "not an image");
+        // An image under another owner's directory does not count
+        Path authors = Files.createDirectories(covers.resolve("authors").resolve("pictures"));
+        ImageIO.write(new BufferedImage(40, 40, BufferedImage.TYPE_INT_RGB), "png", authors.resolve(seriesId.toString()).toFile());
+        when(placeholderPort.findBookIdsWithoutPlaceholder()).thenReturn(Set.of(bookId, brokenBookId));
+        when(placeholderPort.findSeriesIdsWithoutPlaceholder()).thenReturn(Set.of(seriesId));
+
+        assertEquals(0, service.backfillPlaceholders(covers));
+
+        verify(placeholderPort).markBooksWithoutCover(argThat(ids -> Set.copyOf(ids).equals(Set.of(bookId, brokenBookId))));
+        verify(placeholderPort).markSeriesWithoutCover(List.of(seriesId));
+        verify(placeholderPort, never()).markAuthorsWithoutPicture(any());
+        verify(placeholderPort, never()).saveAuthorPlaceholder(any(), any());
+    }
+
+    private static void assertSize(Path image, int width, int height) throws IOException {
+        BufferedImage read = ImageIO.read(image.toFile());
+        assertEquals(width, read.getWidth());
+        assertEquals(height, read.getHeight());
+    }
+}
@@ -0,0 +1,144 @@
+package org.motpassants.infrastructure.media;
+
+import io.vertx.mutiny.core.Vertx;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Request;
+import jakarta.ws.rs.core.Response;
+import org.jboss.resteasy.reactive.PathPart;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.motpassants.domain.port.out.SecureFileProcessingPort;
+import org.motpassants.infrastructure.config.LibrarieConfigProperties;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ImageCachingService.
+ * Tests non-blocking serving of versioned images: version checks, variants, preconditions and sendFile entities,
+ * and that the legacy path does not wait for remote downloads.
+ */
+@DisplayName("ImageCachingService Unit Tests")
+class ImageCachingServiceTest {
+
+    private static final String ID = "0f8fad5b-d9cb-469f-a165-70867728950e";
+
+    @TempDir
+    Path storage;
+
+    private Vertx vertx;
+    private CoverThumbnailService thumbnails;
+    private ImageHydrationService hydration;
+    private ImageCachingService service;
+    private Path cover;
+    private String version;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        vertx = Vertx.vertx();
+        thumbnails = mock(CoverThumbnailService.class);
+        hydration = mock(ImageHydrationService.class);
+        SecureFileProcessingPort files = mock(SecureFileProcessingPort.class);
+        when(files.sanitizePath(anyString(), anyString())).thenAnswer(i -> Path.of(i.<String>getArgument(0)));
+        service = new ImageCachingService(mock(LibrarieConfigProperties.class), files, hydration, thumbnails, vertx);
+        cover = Files.createDirectories(storage.resolve("books").resolve("covers")).resolve(ID);
+        byte[] bytes = "cover bytes".getBytes();
+        Files.write(cover, bytes);
+        version = ImageCachingService.contentVersion(bytes);
+    }
+
+    @AfterEach
+    void tearDown() {
+        vertx.closeAndAwait();
+    }
+
+    @Test
+    @DisplayName("Should send the current version as an immutable file region and answer 304 to its ETag")
+    void shouldServeCurrentVersion() {
+        Response response = serve(null, 0, version);
+
+        assertEquals(200, response.getStatus());
+        assertTrue(response.getHeaderString(HttpHeaders.CACHE_CONTROL).contains("immutable"));
+        PathPart part = assertInstanceOf(PathPart.class, response.getEntity());
+        assertEquals(cover, part.file);
+        assertEquals(11, part.count);
+
+        String etag = response.getEntityTag().getValue();
+        assertEquals(304, serve("W/\"other\", \"" + etag + "\"", 0, version).getStatus());
+        verifyNoInteractions(thumbnails);
+    }
+
+    @Test
+    @DisplayName("Should redirect an outdated version and 404 without a stored image")
+    void shouldRedirectOutdatedVersion() throws IOException {
+        Response redirect = serve(null, 0, "0000000000000000");
+        assertEquals(302, redirect.getStatus());
+        assertEquals("/covers/" + version, redirect.getLocation().toString());
+        assertEquals("no-cache", redirect.getHeaderString(HttpHeaders.CACHE_CONTROL));
+
+        Files.delete(cover);
+        assertEquals(404, serve(null, 0, version).getStatus());
+    }
+
+    @Test
+    @DisplayName("Should serve a fresh variant, and the original briefly cached while a stale one is regenerated")
+    void shouldServeVariants() throws IOException {
+        Path variant = CoverThumbnailService.variantPath(cover, 160);
+        Response pending = serve(null, 160, version);
+        assertEquals(cover, ((PathPart) pending.getEntity()).file);
+        assertFalse(pending.getHeaderString(HttpHeaders.CACHE_CONTROL).contains("immutable"));
+        verify(thumbnails).scheduleVariants(cover);
+
+        Files.writeString(variant, "small");
+        Files.setLastModifiedTime(variant, FileTime.fromMillis(Files.getLastModifiedTime(cover).toMillis() + 1000));
+        Response fresh = serve(null, 160, version);
+        assertEquals(variant, ((PathPart) fresh.getEntity()).file);
+        assertTrue(fresh.getHeaderString(HttpHeaders.CACHE_CONTROL).contains("immutable"));
+        verify(thumbnails, times(1)).scheduleVariants(any());
+    }
+
+    @Test
+    @DisplayName("Should answer with an uncached fallback at once while a remote image downloads")
+    void shouldNotWaitForRemoteImages() throws IOException {
+        CompletableFuture<Boolean> download = new CompletableFuture<>();
+        Path target = storage.resolve("series").resolve("covers").resolve(ID);
+        when(hydration.hydrate("https://images.example.org/a.jpg", target)).thenReturn(download);
+        byte[] svg = "<svg/>".getBytes();
+
+        Response pending = assertTimeoutPreemptively(Duration.ofSeconds(2), () -> serveLegacy(svg));
+        assertEquals(200, pending.getStatus());
+        assertEquals("image/svg+xml", pending.getMediaType().toString());
+        assertEquals("no-cache", pending.getHeaderString(HttpHeaders.CACHE_CONTROL));
+        assertEquals(404, serveLegacy(null).getStatus());
+
+        Files.writeString(target, "downloaded");
+        download.complete(true);
+        Response served = serveLegacy(svg);
+        assertEquals(target, ((PathPart) served.getEntity()).file);
+        verify(hydration, times(2)).hydrate(any(), any());
+    }
+
+    private Response serveLegacy(byte[] fallbackSvg) {
+        return service.serveLocalFirstStrongETag(mock(Request.class), storage, "series", "covers", ID,
+            "https://images.example.org/a.jpg", fallbackSvg);
+    }
+
+    private Response serve(String ifNoneMatch, int width, String requested) {
+        Function<String, String> urlOf = current -> "/covers/" + current;
+        return service.serveVersioned(ifNoneMatch, storage, "books", "covers", ID, width, requested, urlOf)
+            .await().indefinitely();
+    }
+}
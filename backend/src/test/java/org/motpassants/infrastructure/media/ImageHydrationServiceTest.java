@@ -0,0 +1,157 @@
+package org.motpassants.infrastructure.media;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.motpassants.infrastructure.config.LibrarieConfigProperties;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ImageHydrationService against a local HTTP server.
+ * Tests single-flight downloads, atomic writes and the per-host circuit breaker.
+ */
+@DisplayName("ImageHydrationService Unit Tests")
+class ImageHydrationServiceTest {
+
+    private static final byte[] IMAGE = new byte[] {(byte) 0x89, 'P', 'N', 'G', 1, 2, 3, 4};
+
+    @TempDir
+    Path storage;
+
+    private HttpServer server;
+    private final AtomicInteger imageRequests = new AtomicInteger();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private CoverThumbnailService thumbnails;
+    private ImageHydrationService service;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/cover.png", exchange -> {
+            imageRequests.incrementAndGet();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.getResponseHeaders().add("Content-Type", "image/png");
+            exchange.sendResponseHeaders(200, IMAGE.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(IMAGE);
+            }
+        });
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+
+        LibrarieConfigProperties config = mock(LibrarieConfigProperties.class);
+        LibrarieConfigProperties.ImageHydration settings = mock(LibrarieConfigProperties.ImageHydration.class);
+        lenient().when(config.imageHydration()).thenReturn(settings);
+        lenient().when(settings.maxInFlight()).thenReturn(2);
+        lenient().when(settings.maxImageBytes()).thenReturn(1_000_000);
+        lenient().when(settings.breakerFailureThreshold()).thenReturn(2);
+        lenient().when(settings.breakerOpenSeconds()).thenReturn(60L);
+        thumbnails = mock(CoverThumbnailService.class);
+        service = new ImageHydrationService(config, thumbnails);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+        service.onStop(null);
+    }
+
+    @Test
+    @DisplayName("Should download a file once for concurrent requests and move it into place whole")
+    void shouldDownloadOnceForConcurrentRequests() throws Exception {
+        Path target = storage.resolve("books").resolve("covers").resolve("id-1");
+        String url = "http://127.0.0.1:" + server.getAddress().getPort() + "/cover.png";
+
+        List<CompletableFuture<Boolean>> requests = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            requests.add(service.hydrate(url, target));
+        }
+        release.countDown();
+
+        for (CompletableFuture<Boolean> request : requests) {
+            assertTrue(request.get(10, TimeUnit.SECONDS));
+        }
+        assertEquals(1, imageRequests.get());
+        assertArrayEquals(IMAGE, Files.readAllBytes(target));
+        verify(thumbnails).scheduleVariants(target);
+        try (var files = Files.list(target.getParent())) {
+            assertEquals(List.of(target), files.toList());
+        }
+        // Already on disk: no new download
+        assertTrue(service.hydrate(url, target).get(1, TimeUnit.SECONDS));
+        assertEquals(1, imageRequests.get());
+    }
+
+    @Test
+    @DisplayName("Should stop contacting a host after repeated failures")
+    void shouldOpenBreakerForFailingHost() throws Exception {
+        AtomicInteger brokenRequests = new AtomicInteger();
+        // Hangs up without answering, which the client sees as a network failure
+        server.createContext("/broken.png", exchange -> {
+            brokenRequests.incrementAndGet();
+            exchange.close();
+        });
+        String url = "http://127.0.0.1:" + server.getAddress().getPort() + "/broken.png";
+
+        for (int i = 0; i < 2; i++) {
+            assertFalse(service.hydrate(url, storage.resolve("a" + i)).get(10, TimeUnit.SECONDS));
+        }
+        // The client may retry a failed GET by itself; only count what reaches the host from here on
+        int beforeOpen = brokenRequests.get();
+        assertFalse(service.hydrate(url, storage.resolve("b")).get(10, TimeUnit.SECONDS));
+
+        assertTrue(beforeOpen >= 2);
+        assertEquals(beforeOpen, brokenRequests.get());
+        assertFalse(Files.exists(storage.resolve("b")));
+    }
+
+    @Test
+    @DisplayName("Should stop contacting a host answering with server errors, but not one answering 404")
+    void shouldCountServerErrorsAgainstHost() throws Exception {
+        AtomicInteger unavailableRequests = new AtomicInteger();
+        AtomicInteger missingRequests = new AtomicInteger();
+        server.createContext("/unavailable.png", exchange -> {
+            unavailableRequests.incrementAndGet();
+            exchange.sendResponseHeaders(503, -1);
+            exchange.close();
+        });
+        server.createContext("/missing.png", exchange -> {
+            missingRequests.incrementAndGet();
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+        });
+        String base = "http://127.0.0.1:" + server.getAddress().getPort();
+
+        for (int i = 0; i < 3; i++) {
+            assertFalse(service.hydrate(base + "/missing.png", storage.resolve("m" + i)).get(10, TimeUnit.SECONDS));
+        }
+        assertEquals(3, missingRequests.get());
+
+        for (int i = 0; i < 3; i++) {
+            assertFalse(service.hydrate(base + "/unavailable.png", storage.resolve("u" + i)).get(10, TimeUnit.SECONDS));
+        }
+        assertEquals(2, unavailableRequests.get());
+    }
+}
@@ -0,0 +1,220 @@
+package org.motpassants.infrastructure.media;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.motpassants.infrastructure.config.LibrarieConfigProperties;
+import org.motpassants.infrastructure.media.RemoteImageValidator.Status;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for RemoteImageValidator against a local HTTP server.
+ * Tests result expiry, caching of broken URLs, the bound on queued checks and single checks of a URL.
+ */
+@DisplayName("RemoteImageValidator Unit Tests")
+class RemoteImageValidatorTest {
+
+    private static final long REACHABLE_TTL_SECONDS = 600;
+    private static final long BROKEN_TTL_SECONDS = 60;
+
+    private HttpServer server;
+    private final Map<String, AtomicInteger> requests = new ConcurrentHashMap<>();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final AtomicLong now = new AtomicLong(1_000_000L);
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            String path = exchange.getRequestURI().getPath();
+            requests.computeIfAbsent(path, p -> new AtomicInteger()).incrementAndGet();
+            if (path.startsWith("/slow/")) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (path.startsWith("/missing/")) {
+                exchange.sendResponseHeaders(404, -1);
+                exchange.close();
+                return;
+            }
+            exchange.getResponseHeaders().add("Content-Type", "image/png");
+            boolean head = "HEAD".equals(exchange.getRequestMethod());
+            exchange.sendResponseHeaders(200, head ? -1 : 4);
+            try (OutputStream out = exchange.getResponseBody()) {
+                if (!head) out.write(new byte[] {1, 2, 3, 4});
+            }
+        });
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        server.stop(0);
+    }
+
+    @Test
+    @DisplayName("Should trust a reachable URL until its result expires, then check it again")
+    void shouldRecheckAfterTtlExpires() {
+        RemoteImageValidator validator = validator(4);
+        String url = url("/covers/a.png");
+
+        assertEquals(Status.UNKNOWN, validator.status(url));
+        await(() -> validator.status(url) == Status.REACHABLE);
+        assertEquals(1, requests("/covers/a.png"));
+
+        now.addAndGet(REACHABLE_TTL_SECONDS * 1000 - 1);
+        assertEquals(Status.REACHABLE, validator.status(url));
+        assertEquals(1, requests("/covers/a.png"));
+
+        // Expired: the old result is still served while the check runs
+        now.addAndGet(1);
+        assertEquals(Status.REACHABLE, validator.status(url));
+        await(() -> requests("/covers/a.png") == 2);
+    }
+
+    @Test
+    @DisplayName("Should remember broken URLs for the shorter broken TTL")
+    void shouldCacheBrokenUrls() {
+        RemoteImageValidator validator = validator(4);
+        String url = url("/missing/b.png");
+
+        assertEquals(Status.UNKNOWN, validator.status(url));
+        await(() -> validator.status(url) == Status.BROKEN);
+        // HEAD, then the GET fallback
+        assertEquals(2, requests("/missing/b.png"));
+
+        now.addAndGet(BROKEN_TTL_SECONDS * 1000 - 1);
+        assertEquals(Status.BROKEN, validator.status(url));
+        assertEquals(2, requests("/missing/b.png"));
+
+        now.addAndGet(1);
+        assertEquals(Status.BROKEN, validator.status(url));
+        await(() -> requests("/missing/b.png") == 4);
+    }
+
+    @Test
+    @DisplayName("Should report blank and malformed URLs as broken without a request")
+    void shouldRejectMalformedUrls() {
+        RemoteImageValidator validator = validator(4);
+
+        assertEquals(Status.BROKEN, validator.status(null));
+        assertEquals(Status.BROKEN, validator.status("  "));
+        assertEquals(Status.UNKNOWN, validator.status("http://bad host/x.png"));
+        await(() -> validator.status("http://bad host/x.png") == Status.BROKEN);
+        assertTrue(requests.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should check a URL once when many requests ask for it at the same time")
+    void shouldCheckConcurrentRequestsOnce() throws Exception {
+        RemoteImageValidator validator = validator(4);
+        String url = url("/slow/c.png");
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Status>> statuses = new ArrayList<>();
+            for (int i = 0; i < 32; i++) {
+                statuses.add(callers.submit(() -> {
+                    start.await();
+                    return validator.status(url);
+                }));
+            }
+            start.countDown();
+            for (Future<Status> status : statuses) {
+                assertEquals(Status.UNKNOWN, status.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+
+        release.countDown();
+        await(() -> validator.status(url) == Status.REACHABLE);
+        assertEquals(1, requests("/slow/c.png"));
+    }
+
+    @Test
+    @DisplayName("Should drop checks beyond the queue bound and accept them again later")
+    void shouldBoundQueuedChecks() {
+        RemoteImageValidator validator = validator(1);
+        // Holds the only permit, so everything after it queues
+        validator.status(url("/slow/first.png"));
+        await(() -> requests("/slow/first.png") == 1);
+        int extra = 5;
+        for (int i = 0; i < RemoteImageValidator.MAX_QUEUED + extra; i++) {
+            assertEquals(Status.UNKNOWN, validator.status(url("/queued/" + i + ".png")));
+        }
+
+        release.countDown();
+        String lastQueued = url("/queued/" + (RemoteImageValidator.MAX_QUEUED - 1) + ".png");
+        await(() -> validator.status(lastQueued) == Status.REACHABLE);
+        String dropped = url("/queued/" + RemoteImageValidator.MAX_QUEUED + ".png");
+        assertEquals(0, requests("/queued/" + RemoteImageValidator.MAX_QUEUED + ".png"));
+
+        // Asking again queues the dropped URL
+        assertEquals(Status.UNKNOWN, validator.status(dropped));
+        await(() -> validator.status(dropped) == Status.REACHABLE);
+        for (int i = RemoteImageValidator.MAX_QUEUED + 1; i < RemoteImageValidator.MAX_QUEUED + extra; i++) {
+            assertEquals(0, requests("/queued/" + i + ".png"));
+        }
+    }
+
+    private RemoteImageValidator validator(int maxConcurrent) {
+        LibrarieConfigProperties config = mock(LibrarieConfigProperties.class);
+        LibrarieConfigProperties.ImageValidation settings = mock(LibrarieConfigProperties.ImageValidation.class);
+        when(config.imageValidation()).thenReturn(settings);
+        when(settings.maxConcurrent()).thenReturn(maxConcurrent);
+        when(settings.reachableTtlSeconds()).thenReturn(REACHABLE_TTL_SECONDS);
+        when(settings.brokenTtlSeconds()).thenReturn(BROKEN_TTL_SECONDS);
+        when(settings.maxEntries()).thenReturn(10_000);
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        return new RemoteImageValidator(config, client, now::get);
+    }
+
+    private String url(String path) {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + path;
+    }
+
+    private int requests(String path) {
+        AtomicInteger count = requests.get(path);
+        return count == null ? 0 : count.get();
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition not met in time");
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail("interrupted");
+            }
+        }
+    }
+}
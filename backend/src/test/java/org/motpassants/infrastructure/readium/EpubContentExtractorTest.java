@@ -0,0 +1,210 @@
+package org.motpassants.infrastructure.readium;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.motpassants.domain.core.model.Book;
+import org.motpassants.domain.core.model.BookContentChapter;
+import org.motpassants.infrastructure.config.LibrarieConfigProperties;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for EpubContentExtractor.
+ * Tests markup stripping, entity decoding, truncation and extraction of every spine document.
+ */
+@DisplayName("EpubContentExtractor Unit Tests")
+class EpubContentExtractorTest {
+
+    @TempDir
+    Path storage;
+
+    private EpubContentExtractor extractor;
+
+    @BeforeEach
+    void setUp() {
+        LibrarieConfigProperties config = mock(LibrarieConfigProperties.class);
+        LibrarieConfigProperties.Storage storageConfig = mock(LibrarieConfigProperties.Storage.class);
+        when(config.storage()).thenReturn(storageConfig);
+        when(storageConfig.baseDir()).thenReturn(storage.toString());
+        extractor = new EpubContentExtractor(new EpubPublicationService(config));
+    }
+
+    @Test
+    @DisplayName("Should drop tags and the text of head, script and style elements")
+    void shouldStripMarkup() throws IOException {
+        String xhtml = """
+            <?xml version="1.0" encoding="UTF-8"?>
+            <!DOCTYPE html>
+            <html xmlns="http://www.w3.org/1999/xhtml">
+            <head><title>Not content</title><style>p { color: red; }</style></head>
+            <body>
+              <h1 class="title">Chapter One</h1>
+              <!-- a comment with <p>markup</p> -->
+              <p>It was a <em>dark</em> and <a href="#n1">stormy</a> night.</p>
+              <script type="text/javascript">var skipped = "<p>no</p>";</script>
+              <svg><svg><text>nested</text></svg><text>drawing</text></svg>
+              <p>The end<br/>of it.</p>
+            </body>
+            </html>
+            """;
+
+        String text = EpubContentExtractor.extractText(new StringReader(xhtml), 10_000);
+
+        assertEquals("Chapter One It was a dark and stormy night. The end of it.", text);
+    }
+
+    @Test
+    @DisplayName("Should separate words at block boundaries but not inside inline elements")
+    void shouldSeparateBlocksOnly() throws IOException {
+        String xhtml = "<body><p>one</p><p>two</p><div>th<b>r</b>ee</div><xhtml:p>four</xhtml:p><li>five</li></body>";
+
+        assertEquals("one two three four five", EpubContentExtractor.extractText(new StringReader(xhtml), 1000));
+    }
+
+    @Test
+    @DisplayName("Should decode named and numeric entities and keep stray ampersands")
+    void shouldDecodeEntities() throws IOException {
+        String xhtml = "<p>Fish &amp; chips &lt;3 &#233;t&#xE9; &ldquo;quoted&rdquo; &nbsp;spaced&hellip; R&D &unknown; done</p>";
+
+        assertEquals("Fish & chips <3 été \"quoted\" spaced... R&D done",
+            EpubContentExtractor.extractText(new StringReader(xhtml), 1000));
+    }
+
+    @Test
+    @DisplayName("Should keep multibyte characters, including supplementary code points")
+    void shouldKeepMultibyteText() throws IOException {
+        String xhtml = "<p>Ærøskøbing — 東京の夜 &#x1F4DA; naïve</p>";
+
+        assertEquals("Ærøskøbing — 東京の夜 📚 naïve", EpubContentExtractor.extractText(new StringReader(xhtml), 1000));
+    }
+
+    @Test
+    @DisplayName("Should stop at the character limit")
+    void shouldTruncateAtLimit() throws IOException {
+        String xhtml = "<p>" + "word ".repeat(1000) + "</p>";
+
+        String text = EpubContentExtractor.extractText(new StringReader(xhtml), 12);
+
+        assertEquals("word word wo", text);
+    }
+
+    @Test
+    @DisplayName("Should return what was read when the markup is cut off inside a tag")
+    void shouldTolerateTruncatedMarkup() throws IOException {
+        assertEquals("kept text", EpubContentExtractor.extractText(new StringReader("<p>kept text</p><p class=\"cut"), 1000));
+    }
+
+    @Test
+    @DisplayName("Should extract one chapter per spine document in reading order")
+    void shouldExtractEveryChapter() throws IOException {
+        Map<String, String> documents = new LinkedHashMap<>();
+        documents.put("OEBPS/text/ch2.xhtml", "<html><body><p>Second chapter, café.</p></body></html>");
+        documents.put("OEBPS/text/ch1.xhtml", "<html><head><title>Skip</title></head><body><p>First chapter.</p></body></html>");
+        documents.put("OEBPS/images/plate.jpg", "not markup");
+        writeEpub("book.epub", """
+            <package xmlns="http://www.idpf.org/2007/opf" version="3.0">
+              <metadata xmlns:dc="http://purl.org/dc/elements/1.1/"><dc:title>Sample</dc:title></metadata>
+              <manifest>
+                <item id="c1" href="text/ch1.xhtml" media-type="application/xhtml+xml"/>
+                <item id="c2" href="text/ch2.xhtml" media-type="application/xhtml+xml"/>
+                <item id="img" href="images/plate.jpg" media-type="image/jpeg"/>
+                <item id="gone" href="text/missing.xhtml" media-type="application/xhtml+xml"/>
+              </manifest>
+              <spine>
+                <itemref idref="c1"/>
+                <itemref idref="img"/>
+                <itemref idref="c2"/>
+                <itemref idref="gone"/>
+              </spine>
+            </package>
+            """, documents);
+
+        Optional<List<BookContentChapter>> chapters = extractor.extractChapters(book("book.epub"), 10_000);
+
+        assertTrue(chapters.isPresent());
+        List<BookContentChapter> list = chapters.get();
+        assertEquals(4, list.size());
+        assertEquals(List.of(0, 1, 2, 3), list.stream().map(BookContentChapter::index).toList());
+        assertEquals("OEBPS/text/ch1.xhtml", list.get(0).href());
+        assertEquals("First chapter.", list.get(0).text());
+        assertEquals("image/jpeg", list.get(1).mediaType());
+        assertEquals("", list.get(1).text());
+        assertEquals("Second chapter, café.", list.get(2).text());
+        assertEquals("", list.get(3).text());
+    }
+
+    @Test
+    @DisplayName("Should apply the character limit to each chapter separately")
+    void shouldLimitEachChapter() throws IOException {
+        Map<String, String> documents = new LinkedHashMap<>();
+        documents.put("a.xhtml", "<p>alpha alpha alpha</p>");
+        documents.put("b.xhtml", "<p>bravo bravo bravo</p>");
+        writeEpub("limited.epub", """
+            <package xmlns="http://www.idpf.org/2007/opf" version="3.0">
+              <manifest>
+                <item id="a" href="a.xhtml" media-type="application/xhtml+xml"/>
+                <item id="b" href="b.xhtml" media-type="application/xhtml+xml"/>
+              </manifest>
+              <spine><itemref idref="a"/><itemref idref="b"/></spine>
+            </package>
+            """, documents);
+
+        List<BookContentChapter> chapters = extractor.extractChapters(book("limited.epub"), 5).orElseThrow();
+
+        assertEquals(List.of("alpha", "bravo"), chapters.stream().map(BookContentChapter::text).toList());
+    }
+
+    @Test
+    @DisplayName("Should return empty for books that are not readable EPUBs")
+    void shouldReturnEmptyForNonEpub() throws IOException {
+        Files.writeString(storage.resolve("notes.pdf"), "%PDF");
+
+        assertTrue(extractor.extractChapters(book("notes.pdf"), 100).isEmpty());
+        assertTrue(extractor.extractChapters(book("absent.epub"), 100).isEmpty());
+    }
+
+    private Book book(String path) {
+        Book book = new Book();
+        book.setTitle("Sample");
+        book.setPath(path);
+        return book;
+    }
+
+    private void writeEpub(String name, String opf, Map<String, String> documents) throws IOException {
+        String opfPath = documents.keySet().stream().anyMatch(path -> path.startsWith("OEBPS/")) ? "OEBPS/content.opf" : "content.opf";
+        try (OutputStream file = Files.newOutputStream(storage.resolve(name)); ZipOutputStream zip = new ZipOutputStream(file)) {
+            put(zip, "mimetype", "application/epub+zip");
+            put(zip, "META-INF/container.xml", """
+                <container xmlns="urn:oasis:names:tc:opendocument:xmlns:container" version="1.0">
+                  <rootfiles><rootfile full-path="%s" media-type="application/oebps-package+xml"/></rootfiles>
+                </container>
+                """.formatted(opfPath));
+            put(zip, opfPath, opf);
+            for (Map.Entry<String, String> document : documents.entrySet()) {
+                put(zip, document.getKey(), document.getValue());
+            }
+        }
+    }
+
+    private static void put(ZipOutputStream zip, String path, String content) throws IOException {
+        zip.putNextEntry(new ZipEntry(path));
+        zip.write(content.getBytes(StandardCharsets.UTF_8));
+        zip.closeEntry();
+    }
+}
@@ -0,0 +1,264 @@
+package org.motpassants.infrastructure.realtime;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.agroal.api.AgroalDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.motpassants.domain.core.model.ReadingProgress;
+import org.motpassants.infrastructure.config.LibrarieConfigProperties;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ReadingProgressBroadcaster.
+ * Tests the bounded subscriber queue, superseding of queued events and the LISTEN/NOTIFY relay.
+ */
+@DisplayName("ReadingProgressBroadcaster Unit Tests")
+class ReadingProgressBroadcasterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final UUID userId = UUID.randomUUID();
+    private final List<ReadingProgressBroadcaster> started = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        started.forEach(broadcaster -> broadcaster.onStop(null));
+    }
+
+    @Test
+    @DisplayName("Should drop the oldest queued events of a slow subscriber")
+    void shouldDropOldestEventsWhenQueueIsFull() {
+        ReadingProgressBroadcaster broadcaster = broadcaster(2, false, mock(AgroalDataSource.class));
+        ManualSender sender = new ManualSender();
+        ReadingProgressBroadcaster.Subscription subscription = broadcaster.subscribe(userId, sender::send);
+
+        for (int i = 1; i <= 4; i++) {
+            subscription.offer(UUID.randomUUID(), "progress", "e" + i);
+        }
+        // e1 is in flight; e2 was pushed out of the two-slot queue by e4
+        sender.completeAll();
+
+        assertEquals(List.of("e1", "e3", "e4"), sender.sent);
+    }
+
+    @Test
+    @DisplayName("Should replace a queued event for the same book with the newer one")
+    void shouldSupersedeQueuedEventsForSameBook() {
+        ReadingProgressBroadcaster broadcaster = broadcaster(16, false, mock(AgroalDataSource.class));
+        ManualSender sender = new ManualSender();
+        ReadingProgressBroadcaster.Subscription subscription = broadcaster.subscribe(userId, sender::send);
+        UUID book = UUID.randomUUID();
+
+        subscription.offer(book, "progress", "page 1");
+        subscription.offer(book, "progress", "page 2");
+        subscription.offer(UUID.randomUUID(), "progress", "other book");
+        subscription.offer(null, "ping", "{}");
+        subscription.offer(book, "progress", "page 3");
+        subscription.offer(null, "ping", "{}");
+        sender.completeAll();
+
+        assertEquals(List.of("page 1", "other book", "{}", "page 3", "{}"), sender.sent);
+    }
+
+    @Test
+    @DisplayName("Should unsubscribe when a send fails or the subscription is closed")
+    void shouldUnsubscribeOnFailureAndClose() {
+        ReadingProgressBroadcaster broadcaster = broadcaster(16, false, mock(AgroalDataSource.class));
+        List<String> sent = new ArrayList<>();
+        broadcaster.subscribe(userId, (name, data) -> {
+            sent.add(data);
+            return CompletableFuture.failedFuture(new IllegalStateException("client gone"));
+        });
+        ReadingProgressBroadcaster.Subscription closed = broadcaster.subscribe(userId, (name, data) -> {
+            sent.add("closed " + data);
+            return CompletableFuture.completedFuture(null);
+        });
+        closed.close();
+        assertEquals(1, broadcaster.subscriberCount());
+
+        broadcaster.publish(progress(UUID.randomUUID(), null));
+        broadcaster.publish(progress(UUID.randomUUID(), null));
+
+        assertEquals(1, sent.size());
+        assertEquals(0, broadcaster.subscriberCount());
+        // The user's last subscription leaves no empty entry behind
+        assertEquals(0, broadcaster.subscribedUserCount());
+    }
+
+    @Test
+    @DisplayName("Should deliver published progress only to the user's subscribers")
+    void shouldDeliverToUserSubscribersOnly() throws Exception {
+        ReadingProgressBroadcaster broadcaster = broadcaster(16, false, mock(AgroalDataSource.class));
+        List<String> mine = new ArrayList<>();
+        List<String> others = new ArrayList<>();
+        broadcaster.subscribe(userId, (name, data) -> {
+            mine.add(name + " " + data);
+            return CompletableFuture.completedFuture(null);
+        });
+        broadcaster.subscribe(UUID.randomUUID(), (name, data) -> {
+            others.add(data);
+            return CompletableFuture.completedFuture(null);
+        });
+        UUID book = UUID.randomUUID();
+
+        broadcaster.publish(progress(book, null));
+
+        assertEquals(1, mine.size());
+        assertTrue(mine.get(0).startsWith("progress "));
+        JsonNode event = objectMapper.readTree(mine.get(0).substring("progress ".length()));
+        assertEquals(book.toString(), event.path("bookId").asText());
+        assertEquals(40.0, event.path("progress").asDouble(), 0.001);
+        assertTrue(others.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should relay events to other nodes through NOTIFY and ignore its own notifications")
+    void shouldRelayThroughNotify() throws Exception {
+        List<BlockingQueue<String>> channel = new CopyOnWriteArrayList<>();
+        BlockingQueue<String> inboxA = new LinkedBlockingQueue<>();
+        BlockingQueue<String> inboxB = new LinkedBlockingQueue<>();
+        channel.add(inboxA);
+        channel.add(inboxB);
+        ReadingProgressBroadcaster nodeA = startedNode(channel, inboxA);
+        ReadingProgressBroadcaster nodeB = startedNode(channel, inboxB);
+        BlockingQueue<String> receivedA = new LinkedBlockingQueue<>();
+        BlockingQueue<String> receivedB = new LinkedBlockingQueue<>();
+        nodeA.subscribe(userId, (name, data) -> {
+            receivedA.add(data);
+            return CompletableFuture.completedFuture(null);
+        });
+        nodeB.subscribe(userId, (name, data) -> {
+            receivedB.add(data);
+            return CompletableFuture.completedFuture(null);
+        });
+        UUID book = UUID.randomUUID();
+
+        nodeA.publish(progress(book, null));
+
+        String relayed = receivedB.poll(5, TimeUnit.SECONDS);
+        assertNotNull(relayed, "node B should receive the event through NOTIFY");
+        assertEquals(book.toString(), objectMapper.readTree(relayed).path("bookId").asText());
+
+        // Notifications are handled in order, so once this foreign one arrives node A has seen its own
+        ObjectNode foreign = objectMapper.createObjectNode();
+        foreign.put("origin", "another-node");
+        foreign.put("userId", userId.toString());
+        foreign.putObject("event").put("bookId", UUID.randomUUID().toString());
+        inboxA.add(objectMapper.writeValueAsString(foreign));
+
+        String local = receivedA.poll(5, TimeUnit.SECONDS);
+        String fromOtherNode = receivedA.poll(5, TimeUnit.SECONDS);
+        assertEquals(book.toString(), objectMapper.readTree(local).path("bookId").asText());
+        assertNotNull(fromOtherNode);
+        assertNotEquals(book.toString(), objectMapper.readTree(fromOtherNode).path("bookId").asText());
+        assertTrue(receivedA.isEmpty(), "node A must not deliver its own notification a second time");
+    }
+
+    @Test
+    @DisplayName("Should leave the locator out of notifications that would exceed the NOTIFY size limit")
+    void shouldTrimOversizedNotifications() throws Exception {
+        List<BlockingQueue<String>> channel = new CopyOnWriteArrayList<>();
+        BlockingQueue<String> inbox = new LinkedBlockingQueue<>();
+        channel.add(inbox);
+        ReadingProgressBroadcaster node = startedNode(channel, new LinkedBlockingQueue<>());
+
+        node.publish(progress(UUID.randomUUID(), "{\"href\":\"" + "x".repeat(10_000) + "\"}"));
+
+        String payload = inbox.poll(5, TimeUnit.SECONDS);
+        assertNotNull(payload);
+        assertTrue(payload.getBytes(StandardCharsets.UTF_8).length < 8000);
+        JsonNode event = objectMapper.readTree(payload).path("event");
+        assertFalse(event.has("locator"));
+        assertEquals(40.0, event.path("progress").asDouble(), 0.001);
+    }
+
+    private ReadingProgressBroadcaster broadcaster(int queueSize, boolean relay, AgroalDataSource dataSource) {
+        LibrarieConfigProperties config = mock(LibrarieConfigProperties.class);
+        LibrarieConfigProperties.ReadingProgress settings = mock(LibrarieConfigProperties.ReadingProgress.class);
+        when(config.readingProgress()).thenReturn(settings);
+        when(settings.subscriberQueueSize()).thenReturn(queueSize);
+        when(settings.clusterRelayEnabled()).thenReturn(relay);
+        return new ReadingProgressBroadcaster(config, dataSource, objectMapper);
+    }
+
+    /**
+     * A node whose NOTIFY writes to every inbox of the channel and whose LISTEN connection reads its own inbox.
+     */
+    private ReadingProgressBroadcaster startedNode(List<BlockingQueue<String>> channel, BlockingQueue<String> inbox) throws Exception {
+        AgroalDataSource dataSource = mock(AgroalDataSource.class);
+        Connection connection = mock(Connection.class);
+        PGConnection pgConnection = mock(PGConnection.class);
+        PreparedStatement notify = mock(PreparedStatement.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.createStatement()).thenReturn(mock(Statement.class));
+        when(connection.unwrap(PGConnection.class)).thenReturn(pgConnection);
+        when(connection.prepareStatement("SELECT pg_notify(?, ?)")).thenReturn(notify);
+        doAnswer(invocation -> {
+            String payload = invocation.getArgument(1);
+            channel.forEach(queue -> queue.add(payload));
+            return null;
+        }).when(notify).setString(eq(2), anyString());
+        when(pgConnection.getNotifications(anyInt())).thenAnswer(invocation -> {
+            String payload = inbox.poll(50, TimeUnit.MILLISECONDS);
+            if (payload == null) {
+                return null;
+            }
+            PGNotification notification = mock(PGNotification.class);
+            when(notification.getParameter()).thenReturn(payload);
+            return new PGNotification[] {notification};
+        });
+
+        ReadingProgressBroadcaster broadcaster = broadcaster(16, true, dataSource);
+        broadcaster.onStart(null);
+        started.add(broadcaster);
+        return broadcaster;
+    }
+
+    private ReadingProgress progress(UUID bookId, String locator) {
+        ReadingProgress progress = ReadingProgress.create(userId, bookId);
+        progress.updateProgress(0.4, 40, 100);
+        progress.setProgressLocator(locator);
+        return progress;
+    }
+
+    /**
+     * Records sent payloads and keeps each send pending until completed by the test.
+     */
+    private static final class ManualSender {
+        final List<String> sent = new ArrayList<>();
+        final List<CompletableFuture<Void>> inFlight = new ArrayList<>();
+
+        CompletableFuture<Void> send(String name, String data) {
+            sent.add(data);
+            CompletableFuture<Void> future = new CompletableFuture<>();
+            inFlight.add(future);
+            return future;
+        }
+
+        void completeAll() {
+            for (int i = 0; i < inFlight.size(); i++) {
+                inFlight.get(i).complete(null);
+            }
+        }
+    }
+}
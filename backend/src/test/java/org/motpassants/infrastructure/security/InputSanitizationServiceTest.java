@@ -0,0 +1,61 @@
+package org.motpassants.infrastructure.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for InputSanitizationService.
+ * Tests search normalization: case, accents, ligatures and control characters.
+ */
+@DisplayName("InputSanitizationService Unit Tests")
+class InputSanitizationServiceTest {
+
+    private final InputSanitizationService sanitizer = new InputSanitizationService();
+
+    @Test
+    @DisplayName("Should fold case")
+    void shouldFoldCase() {
+        assertEquals("dune messiah", sanitizer.normalizeForSearch("DUNE Messiah"));
+        // Root locale: the dotted capital I does not become a Turkish dotless i
+        assertEquals("istanbul", sanitizer.normalizeForSearch("ISTANBUL"));
+    }
+
+    @Test
+    @DisplayName("Should remove accents in both composed and decomposed form")
+    void shouldRemoveAccents() {
+        assertEquals("paul eluard", sanitizer.normalizeForSearch("Paul Éluard"));
+        assertEquals("paul eluard", sanitizer.normalizeForSearch("Paul E\u0301luard"));
+        assertEquals("garcia marquez", sanitizer.normalizeForSearch("García Márquez"));
+        assertEquals("bronte", sanitizer.normalizeForSearch("BRONTË"));
+        assertEquals("francais naive", sanitizer.normalizeForSearch("Français naïve"));
+    }
+
+    @Test
+    @DisplayName("Should fold ligatures and letters without a combining mark")
+    void shouldFoldLigatures() {
+        assertEquals("oeuvres", sanitizer.normalizeForSearch("Œuvres"));
+        assertEquals("coeur", sanitizer.normalizeForSearch("cœur"));
+        assertEquals("aesop", sanitizer.normalizeForSearch("Æsop"));
+        assertEquals("strasse", sanitizer.normalizeForSearch("Straße"));
+        assertEquals("hoeg", sanitizer.normalizeForSearch("Høeg"));
+        assertEquals("lodz", sanitizer.normalizeForSearch("Łódź"));
+        assertEquals("dokic", sanitizer.normalizeForSearch("Đokić"));
+    }
+
+    @Test
+    @DisplayName("Should leave non-Latin scripts unchanged apart from case")
+    void shouldKeepOtherScripts() {
+        assertEquals("東京", sanitizer.normalizeForSearch("東京"));
+        assertEquals("анна каренина", sanitizer.normalizeForSearch("Анна Каренина"));
+    }
+
+    @Test
+    @DisplayName("Should strip control characters and surrounding whitespace")
+    void shouldStripControlCharacters() {
+        assertEquals("dune", sanitizer.normalizeForSearch("  du\u0000ne\t\n "));
+        assertEquals("", sanitizer.normalizeForSearch("   "));
+        assertNull(sanitizer.normalizeForSearch(null));
+    }
+}
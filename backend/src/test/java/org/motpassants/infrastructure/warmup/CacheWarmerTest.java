@@ -0,0 +1,98 @@
+package org.motpassants.infrastructure.warmup;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.motpassants.domain.core.model.Book;
+import org.motpassants.domain.core.model.BookSortCriteria;
+import org.motpassants.domain.core.model.PageResult;
+import org.motpassants.domain.port.in.BookUseCase;
+import org.motpassants.domain.port.in.ReadingProgressUseCase;
+import org.motpassants.infrastructure.config.LibrarieConfigProperties;
+import org.motpassants.infrastructure.media.ImageCachingService;
+import org.motpassants.infrastructure.readium.EpubPublicationService;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for CacheWarmer.
+ * Tests which covers and publications a warming pass loads.
+ */
+@DisplayName("CacheWarmer Unit Tests")
+class CacheWarmerTest {
+
+    private LibrarieConfigProperties.Warmup settings;
+    private BookUseCase bookUseCase;
+    private ReadingProgressUseCase readingProgressUseCase;
+    private ImageCachingService imageCachingService;
+    private EpubPublicationService epubService;
+    private CacheWarmer warmer;
+
+    @BeforeEach
+    void setUp() {
+        LibrarieConfigProperties config = mock(LibrarieConfigProperties.class);
+        LibrarieConfigProperties.Storage storage = mock(LibrarieConfigProperties.Storage.class);
+        settings = mock(LibrarieConfigProperties.Warmup.class);
+        when(config.storage()).thenReturn(storage);
+        when(storage.baseDir()).thenReturn("./storage");
+        when(config.warmup()).thenReturn(settings);
+        when(settings.pages()).thenReturn(2);
+        when(settings.recentBooks()).thenReturn(10);
+        when(settings.ratePerSecond()).thenReturn(0);
+        bookUseCase = mock(BookUseCase.class);
+        readingProgressUseCase = mock(ReadingProgressUseCase.class);
+        imageCachingService = mock(ImageCachingService.class);
+        epubService = mock(EpubPublicationService.class);
+        warmer = new CacheWarmer(config, bookUseCase, readingProgressUseCase, imageCachingService, epubService);
+    }
+
+    @Test
+    @DisplayName("Should warm covers of the first list pages, then covers and publications of recently read books")
+    void shouldWarmListPagesAndRecentBooks() {
+        Book first = book(true);
+        Book noCover = book(false);
+        Book second = book(true);
+        Book recent = book(true);
+        when(bookUseCase.getAllBooks(null, CacheWarmer.PAGE_SIZE, BookSortCriteria.DEFAULT))
+            .thenReturn(new PageResult<>(List.of(first, noCover), "next", null, true, false, 3));
+        when(bookUseCase.getAllBooks("next", CacheWarmer.PAGE_SIZE, BookSortCriteria.DEFAULT))
+            .thenReturn(new PageResult<>(List.of(second), null, "next", false, true, 3));
+        UUID deleted = UUID.randomUUID();
+        when(readingProgressUseCase.getRecentlyReadBookIds(10)).thenReturn(List.of(first.getId(), deleted, recent.getId()));
+        when(bookUseCase.getBookById(first.getId())).thenReturn(Optional.of(first));
+        when(bookUseCase.getBookById(recent.getId())).thenReturn(Optional.of(recent));
+        when(bookUseCase.getBookById(deleted)).thenReturn(Optional.empty());
+
+        assertEquals(5, warmer.warm());
+
+        for (Book book : List.of(first, second, recent)) {
+            verify(imageCachingService).warm(any(), eq("books"), eq("covers"), eq(book.getId().toString()));
+        }
+        verify(imageCachingService, never()).warm(any(), any(), any(), eq(noCover.getId().toString()));
+        verify(epubService).openPublication(first);
+        verify(epubService).openPublication(recent);
+        verify(epubService, times(2)).openPublication(any());
+    }
+
+    @Test
+    @DisplayName("Should stop after the configured number of pages")
+    void shouldStopAfterConfiguredPages() {
+        when(settings.pages()).thenReturn(1);
+        when(bookUseCase.getAllBooks(null, CacheWarmer.PAGE_SIZE, BookSortCriteria.DEFAULT))
+            .thenReturn(new PageResult<>(List.of(book(true)), "next", null, true, false, 40));
+        when(readingProgressUseCase.getRecentlyReadBookIds(10)).thenReturn(List.of());
+
+        assertEquals(1, warmer.warm());
+
+        verify(bookUseCase, never()).getAllBooks(eq("next"), anyInt(), any());
+    }
+
+    private static Book book(boolean hasCover) {
+        return Book.builder().id(UUID.randomUUID()).title("Book").hasCover(hasCover).build();
+    }
+}
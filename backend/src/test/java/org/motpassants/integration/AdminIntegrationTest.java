@@ -0,0 +1,24 @@
+package org.motpassants.integration;
+
+import io.quarkus.test.junit.QuarkusTest;
+import org.junit.jupiter.api.Test;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Integration tests for the library maintenance endpoints.
+ */
+@QuarkusTest
+public class AdminIntegrationTest {
+
+    @Test
+    public void testGetDuplicates() {
+        given()
+            .queryParam("limit", 5)
+            .when().get("/v1/admin/duplicates")
+            .then()
+            .statusCode(200)
+            .body("size()", lessThanOrEqualTo(5));
+    }
+}
@@ -2,12 +2,18 @@ package org.motpassants.integration;
 
 import io.quarkus.test.junit.QuarkusTest;
 import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestMethodOrder;
 import org.junit.jupiter.api.MethodOrderer;
 import org.junit.jupiter.api.Order;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.hamcrest.Matchers.*;
 
 /**
@@ -130,6 +136,50 @@ public class AuthorIntegrationTest {
             .body("limit", equalTo(5));
     }
 
+    @Test
+    @Order(7)
+    public void testSearchAuthorsPagesPastFirstPage() {
+        List<String> created = new ArrayList<>();
+        for (String name : List.of("Pagination Zed", "Pagination Zed Alpha", "Pagination Zed Beta", "Zed Pagination Gamma", "Pagination Zed Delta")) {
+            created.add(given()
+                .contentType(ContentType.JSON)
+                .body("{\"name\": \"" + name + "\", \"sortName\": \"" + name + "\"}")
+                .when().post("/v1/authors")
+                .then()
+                .statusCode(201)
+                .extract().path("id"));
+        }
+        try {
+            List<String> seen = new ArrayList<>();
+            String cursor = null;
+            int pages = 0;
+            do {
+                RequestSpecification request = given().queryParam("q", "pagination zed").queryParam("limit", 2);
+                if (cursor != null) {
+                    request.queryParam("cursor", cursor);
+                }
+                Response page = request
+                    .when().get("/v1/authors/search")
+                    .then()
+                    .statusCode(200)
+                    .body("content", hasSize(lessThanOrEqualTo(2)))
+                    .body("totalElements", equalTo(4))
+                    .extract().response();
+                seen.addAll(page.path("content.name"));
+                cursor = page.path("nextCursor");
+                assertEquals(cursor != null, (boolean) page.path("hasNext"));
+                pages++;
+            } while (cursor != null && pages < 5);
+
+            // Exact match first, then name prefixes (shorter first); "Zed Pagination Gamma" does not contain the query
+            assertEquals(List.of(
+                "Pagination Zed", "Pagination Zed Beta", "Pagination Zed Alpha", "Pagination Zed Delta"), seen);
+            assertEquals(2, pages);
+        } finally {
+            created.forEach(id -> given().when().delete("/v1/authors/{id}", id));
+        }
+    }
+
     @Test
     @Order(8)
     public void testGetAuthorPicture() {
@@ -2,11 +2,16 @@ package org.motpassants.integration;
 
 import io.quarkus.test.junit.QuarkusTest;
 import io.restassured.http.ContentType;
+import io.restassured.response.Response;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestMethodOrder;
 import org.junit.jupiter.api.MethodOrderer;
 import org.junit.jupiter.api.Order;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
 import static io.restassured.RestAssured.given;
 import static org.hamcrest.Matchers.*;
 
@@ -65,6 +70,13 @@ public class BookIntegrationTest {
             .body("id", equalTo(createdBookId))
             .body("title", equalTo("Test Book Integration"))
             .body("isbn", equalTo("978-0123456789"));
+
+        given()
+            .queryParam("limit", 5)
+            .when().get("/v1/books/{id}/similar", createdBookId)
+            .then()
+            .statusCode(200)
+            .body("size()", lessThanOrEqualTo(5));
     }
 
     @Test
@@ -97,6 +109,39 @@ public class BookIntegrationTest {
             .statusCode(200)
             .body("content", notNullValue())
             .body("content", hasSize(greaterThanOrEqualTo(0)));
+
+        // Free text means the same with or without a field term
+        for (String q : List.of("test updated", "test updated -tag:horror")) {
+            given()
+                .queryParam("q", q)
+                .when().get("/v1/books/search")
+                .then()
+                .statusCode(200)
+                .body("content.title", hasItem("Updated Test Book"))
+                .body("hasNext", equalTo(false));
+        }
+
+        // Plain words also match paths and ISBNs, as before field terms existed
+        given()
+            .queryParam("q", "0123456789")
+            .when().get("/v1/books/search")
+            .then()
+            .statusCode(200)
+            .body("content.title", hasItem("Updated Test Book"));
+
+        given()
+            .queryParam("q", "title:\"updated test\" -tag:horror")
+            .when().get("/v1/books/search")
+            .then()
+            .statusCode(200)
+            .body("content.title", hasItem("Updated Test Book"));
+
+        given()
+            .queryParam("q", "year:someday")
+            .when().get("/v1/books/search")
+            .then()
+            .statusCode(400)
+            .body("error", containsString("Invalid year"));
     }
 
     @Test
@@ -116,7 +161,50 @@ public class BookIntegrationTest {
             .then()
             .statusCode(200)
             .body("content", notNullValue())
-            .body("content", hasSize(greaterThanOrEqualTo(0)));
+            .body("content", hasSize(greaterThanOrEqualTo(0)))
+            .body("facets.languages", notNullValue())
+            .body("facets.decades", notNullValue());
+    }
+
+    @Test
+    @Order(10)
+    public void testSearchBooksByCriteriaPages() {
+        List<String> created = new ArrayList<>();
+        for (String title : List.of("Criteria Paging Charlie", "Criteria Paging Alpha", "Criteria Paging Bravo")) {
+            created.add(given()
+                .contentType(ContentType.JSON)
+                .body("{\"title\": \"" + title + "\"}")
+                .when().post("/v1/books")
+                .then()
+                .statusCode(201)
+                .extract().path("id"));
+        }
+        try {
+            Response first = given()
+                .contentType(ContentType.JSON)
+                .body("{\"title\": \"criteria paging\", \"limit\": 2}")
+                .when().post("/v1/books/criteria")
+                .then()
+                .statusCode(200)
+                .body("content.title", contains("Criteria Paging Alpha", "Criteria Paging Bravo"))
+                .body("hasNext", equalTo(true))
+                .body("nextCursor", notNullValue())
+                .body("totalElements", equalTo(3))
+                .extract().response();
+
+            given()
+                .contentType(ContentType.JSON)
+                .body(Map.of("title", "criteria paging", "limit", 2, "cursor", first.path("nextCursor")))
+                .when().post("/v1/books/criteria")
+                .then()
+                .statusCode(200)
+                .body("content.title", contains("Criteria Paging Charlie"))
+                .body("hasNext", equalTo(false))
+                .body("nextCursor", nullValue())
+                .body("totalElements", equalTo(3));
+        } finally {
+            created.forEach(id -> given().when().delete("/v1/books/{id}", id));
+        }
     }
 
     @Test
@@ -159,5 +247,81 @@ public class BookIntegrationTest {
             .when().get("/v1/books/00000000-0000-0000-0000-000000000000")
             .then()
             .statusCode(404);
+
+        given()
+            .when().get("/v1/books/00000000-0000-0000-0000-000000000000/similar")
+            .then()
+            .statusCode(404);
+    }
+
+    @Test
+    @Order(11)
+    public void testSearchIgnoresAccentsAndCase() {
+        String id = given()
+            .contentType(ContentType.JSON)
+            .body("{\"title\": \"Œuvres de Zéphyrin Brontë\"}")
+            .when().post("/v1/books")
+            .then()
+            .statusCode(201)
+            .extract().path("id");
+        try {
+            given()
+                .queryParam("q", "zephyrin")
+                .when().get("/v1/books/search")
+                .then()
+                .statusCode(200)
+                .body("content.id", hasItem(id));
+
+            given()
+                .contentType(ContentType.JSON)
+                .body(Map.of("title", "OEUVRES DE ZÉPHYRIN BRONTE"))
+                .when().post("/v1/books/criteria")
+                .then()
+                .statusCode(200)
+                .body("content.id", contains(id));
+        } finally {
+            given().when().delete("/v1/books/{id}", id);
+        }
+    }
+
+    @Test
+    @Order(12)
+    public void testSearchPagesWithCursor() {
+        List<String> ids = new ArrayList<>();
+        try {
+            for (int i = 1; i <= 3; i++) {
+                ids.add(given()
+                    .contentType(ContentType.JSON)
+                    .body(Map.of("title", "Quokka Atlas " + i))
+                    .when().post("/v1/books")
+                    .then()
+                    .statusCode(201)
+                    .extract().path("id"));
+            }
+
+            Response first = given()
+                .queryParam("q", "quokka")
+                .queryParam("limit", 2)
+                .when().get("/v1/books/search")
+                .then()
+                .statusCode(200)
+                .body("content.title", contains("Quokka Atlas 1", "Quokka Atlas 2"))
+                .body("hasNext", equalTo(true))
+                .body("nextCursor", notNullValue())
+                .extract().response();
+
+            given()
+                .queryParam("q", "quokka")
+                .queryParam("limit", 2)
+                .queryParam("cursor", first.path("nextCursor").toString())
+                .when().get("/v1/books/search")
+                .then()
+                .statusCode(200)
+                .body("content.title", contains("Quokka Atlas 3"))
+                .body("hasNext", equalTo(false))
+                .body("nextCursor", nullValue());
+        } finally {
+            ids.forEach(id -> given().when().delete("/v1/books/{id}", id));
+        }
     }
-}
\ No newline at end of file
+}
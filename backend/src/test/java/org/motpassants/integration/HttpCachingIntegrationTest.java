@@ -1,8 +1,31 @@
 package org.motpassants.integration;
 
 import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
 import io.restassured.response.Response;
+import jakarta.inject.Inject;
 import org.junit.jupiter.api.*;
+import org.motpassants.domain.port.out.ConfigurationPort;
+import org.motpassants.infrastructure.media.CoverThumbnailService;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
 
 import static io.restassured.RestAssured.given;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -10,11 +33,32 @@ import static org.hamcrest.Matchers.*;
 
 /**
  * Integration tests for HTTP caching functionality on static assets.
- * Validates Cache-Control headers, ETags, Last-Modified, and 304 responses.
+ * Validates Cache-Control headers, ETags, Last-Modified, 304 responses, versioned image URLs and cover batches.
  */
 @QuarkusTest
 public class HttpCachingIntegrationTest {
 
+    @Inject
+    ConfigurationPort configurationPort;
+
+    @Inject
+    CoverThumbnailService thumbnailService;
+
+    private final List<Path> createdImages = new ArrayList<>();
+
+    @AfterEach
+    void deleteImages() throws IOException {
+        for (Path image : createdImages) {
+            try (Stream<Path> siblings = Files.list(image.getParent())) {
+                // The original and the variants generated from it
+                for (Path file : siblings.filter(f -> f.getFileName().toString().startsWith(image.getFileName().toString())).toList()) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+        createdImages.clear();
+    }
+
     @Test
     @DisplayName("Fallback SVG has proper caching headers")
     public void testFallbackSvgCaching() {
@@ -93,4 +137,280 @@ public class HttpCachingIntegrationTest {
             assertThat("Should save bandwidth on cached response", cachedSize, lessThan(firstSize));
         }
     }
+
+    @Test
+    @DisplayName("Cover size must be a positive width")
+    public void testCoverSizeValidation() {
+        given()
+            .queryParam("size", 0)
+            .when()
+            .get("/v1/books/00000000-0000-0000-0000-000000000099/cover")
+            .then()
+            .statusCode(400);
+    }
+
+    @Test
+    @DisplayName("Batch covers stream as multipart and reject oversized batches")
+    public void testCoverBatch() {
+        Response response = given()
+            .contentType("application/json")
+            .body("{\"ids\": [\"00000000-0000-0000-0000-000000000099\"], \"size\": 160}")
+            .when()
+            .post("/v1/books/covers/batch");
+        assertThat(response.getStatusCode(), equalTo(200));
+        assertThat(response.getContentType(), startsWith("multipart/mixed; boundary="));
+        // No cover on disk for this book: only the closing delimiter is sent
+        assertThat(response.asString(), endsWith("--\r\n"));
+        assertThat(response.asString(), not(containsString("Content-ID")));
+
+        StringBuilder ids = new StringBuilder();
+        for (int i = 0; i < 101; i++) {
+            ids.append(i == 0 ? "" : ",").append("\"00000000-0000-0000-0000-").append(String.format("%012d", i)).append('"');
+        }
+        given()
+            .contentType("application/json")
+            .body("{\"ids\": [" + ids + "]}")
+            .when()
+            .post("/v1/books/covers/batch")
+            .then()
+            .statusCode(400);
+    }
+
+    @Test
+    @DisplayName("Batch covers carry each image as a part with its id, ETag and length, leaving out known ETags")
+    public void testCoverBatchParts() throws IOException {
+        String first = createBook("Batch Cover One");
+        String second = createBook("Batch Cover Two");
+        byte[] firstBytes = writeImage("books", "covers", first, 40);
+        byte[] secondBytes = writeImage("books", "covers", second, 60);
+        String missing = "00000000-0000-0000-0000-000000000099";
+
+        Response response = given()
+            .contentType("application/json")
+            .body("{\"ids\": [\"" + first + "\", \"" + missing + "\", \"" + second + "\"]}")
+            .when()
+            .post("/v1/books/covers/batch");
+        assertThat(response.getStatusCode(), equalTo(200));
+        List<Part> parts = parseMultipart(response);
+        assertThat(parts.size(), equalTo(2));
+        assertPart(parts.get(0), first, firstBytes);
+        assertPart(parts.get(1), second, secondBytes);
+
+        // A client holding the first cover gets only the second, whatever the ETag quoting
+        Response partial = given()
+            .contentType("application/json")
+            .body("{\"ids\": [\"" + first + "\", \"" + second + "\"], \"knownEtags\": [\"W/\\\"" + sha256(firstBytes) + "\\\"\"]}")
+            .when()
+            .post("/v1/books/covers/batch");
+        assertThat(partial.getStatusCode(), equalTo(200));
+        List<Part> remaining = parseMultipart(partial);
+        assertThat(remaining.size(), equalTo(1));
+        assertPart(remaining.get(0), second, secondBytes);
+    }
+
+    @Test
+    @DisplayName("Versioned cover URLs validate the file name and 404 without a cover")
+    public void testVersionedCoverUrls() {
+        given()
+            .when()
+            .get("/v1/books/covers/not-a-cover.jpg")
+            .then()
+            .statusCode(400);
+
+        given()
+            .when()
+            .get("/v1/books/covers/00000000-0000-0000-0000-000000000099.0123456789abcdef.jpg")
+            .then()
+            .statusCode(404);
+    }
+
+    @Test
+    @DisplayName("A stored cover redirects to its versioned URL, which is immutable until the cover changes")
+    public void testVersionedCoverRedirects() throws IOException {
+        String title = "Versioned Cover " + UUID.randomUUID();
+        String id = createBook(title);
+        byte[] bytes = writeImage("books", "covers", id, 200);
+        String url = "/v1/books/covers/" + id + "." + version(bytes) + ".jpg";
+
+        Response redirect = given().redirects().follow(false).when().get("/v1/books/{id}/cover", id);
+        assertThat(redirect.getStatusCode(), equalTo(302));
+        assertThat(redirect.getHeader("Location"), endsWith(url));
+        assertThat(redirect.getHeader("Cache-Control"), equalTo("no-cache"));
+        assertThat(given().redirects().follow(false).queryParam("size", 160).when().get("/v1/books/{id}/cover", id)
+            .getHeader("Location"), endsWith(url + "?size=160"));
+
+        Response current = given().redirects().follow(false).when().get(url);
+        assertThat(current.getStatusCode(), equalTo(200));
+        assertThat(current.getHeader("Cache-Control"), containsString("immutable"));
+        assertThat(current.getHeader("ETag"), equalTo("\"" + sha256(bytes) + "\""));
+        assertThat(Arrays.equals(current.asByteArray(), bytes), is(true));
+        given().header("If-None-Match", current.getHeader("ETag")).when().get(url).then().statusCode(304);
+
+        // The first sized request answers with the original and has the variants and placeholder generated
+        Response pending = given().redirects().follow(false).queryParam("size", 160).when().get(url);
+        assertThat(pending.getStatusCode(), equalTo(200));
+        assertThat(pending.getHeader("Cache-Control"), not(containsString("immutable")));
+        Path original = imagePath("books", "covers", id);
+        await(() -> Files.exists(CoverThumbnailService.variantPath(original, 640)));
+        Response variant = given().redirects().follow(false).queryParam("size", 160).when().get(url);
+        assertThat(variant.getStatusCode(), equalTo(200));
+        assertThat(variant.getHeader("Cache-Control"), containsString("immutable"));
+        given()
+            .queryParam("q", title)
+            .when().get("/v1/books/search")
+            .then()
+            .statusCode(200)
+            .body("content.find { it.id == '" + id + "' }.coverUrl", equalTo(url));
+
+        // A new cover moves the versioned URL; the old one redirects to it
+        byte[] replaced = writeImage("books", "covers", id, 120);
+        Response stale = given().redirects().follow(false).when().get(url);
+        assertThat(stale.getStatusCode(), equalTo(302));
+        assertThat(stale.getHeader("Location"), endsWith("/v1/books/covers/" + id + "." + version(replaced) + ".jpg"));
+    }
+
+    @Test
+    @DisplayName("A stored author picture redirects to its versioned URL, exposed in the author DTO")
+    public void testVersionedPictureRedirects() throws IOException {
+        String id = given()
+            .contentType(ContentType.JSON)
+            .body("{\"name\": \"Versioned Picture Author\", \"sortName\": \"Author, Versioned Picture\"}")
+            .when().post("/v1/authors")
+            .then()
+            .statusCode(201)
+            .extract().path("id");
+        byte[] bytes = writeImage("authors", "pictures", id, 80);
+        String url = "/v1/authors/pictures/" + id + "." + version(bytes) + ".jpg";
+
+        Response redirect = given().redirects().follow(false).when().get("/v1/authors/{id}/picture", id);
+        assertThat(redirect.getStatusCode(), equalTo(302));
+        assertThat(redirect.getHeader("Location"), endsWith(url));
+
+        Response current = given().redirects().follow(false).when().get(url);
+        assertThat(current.getStatusCode(), equalTo(200));
+        assertThat(current.getHeader("Cache-Control"), containsString("immutable"));
+        assertThat(Arrays.equals(current.asByteArray(), bytes), is(true));
+
+        Response stale = given().redirects().follow(false).when().get("/v1/authors/pictures/" + id + ".0123456789abcdef.jpg");
+        assertThat(stale.getStatusCode(), equalTo(302));
+        assertThat(stale.getHeader("Location"), endsWith(url));
+
+        Path original = imagePath("authors", "pictures", id);
+        thumbnailService.scheduleVariants(original);
+        await(() -> Files.exists(CoverThumbnailService.variantPath(original, 640)));
+        given()
+            .when().get("/v1/authors/{id}", id)
+            .then()
+            .statusCode(200)
+            .body("pictureUrl", equalTo(url));
+    }
+
+    private record Part(Map<String, String> headers, byte[] body) {}
+
+    /**
+     * Split a multipart body into parts, checking the framing: each part opens with the boundary,
+     * its body is exactly Content-Length bytes followed by CRLF, and the body ends with the closing delimiter.
+     */
+    private static List<Part> parseMultipart(Response response) {
+        String contentType = response.getContentType();
+        assertThat(contentType, startsWith("multipart/mixed; boundary="));
+        byte[] delimiter = ("--" + contentType.substring(contentType.indexOf("boundary=") + 9)).getBytes(StandardCharsets.US_ASCII);
+        byte[] body = response.asByteArray();
+        List<Part> parts = new ArrayList<>();
+        int position = 0;
+        while (true) {
+            assertThat("delimiter expected at " + position, Arrays.equals(body, position, position + delimiter.length,
+                delimiter, 0, delimiter.length), is(true));
+            position += delimiter.length;
+            String next = new String(body, position, 2, StandardCharsets.US_ASCII);
+            if (next.equals("--")) {
+                assertThat(new String(body, position, body.length - position, StandardCharsets.US_ASCII), equalTo("--\r\n"));
+                return parts;
+            }
+            assertThat(next, equalTo("\r\n"));
+            position += 2;
+            Map<String, String> headers = new LinkedHashMap<>();
+            while (true) {
+                int end = indexOf(body, "\r\n".getBytes(StandardCharsets.US_ASCII), position);
+                String line = new String(body, position, end - position, StandardCharsets.US_ASCII);
+                position = end + 2;
+                if (line.isEmpty()) break;
+                int colon = line.indexOf(':');
+                headers.put(line.substring(0, colon).trim(), line.substring(colon + 1).trim());
+            }
+            int length = Integer.parseInt(headers.get("Content-Length"));
+            parts.add(new Part(headers, Arrays.copyOfRange(body, position, position + length)));
+            position += length;
+            assertThat(new String(body, position, 2, StandardCharsets.US_ASCII), equalTo("\r\n"));
+            position += 2;
+        }
+    }
+
+    private static int indexOf(byte[] data, byte[] target, int from) {
+        for (int i = from; i <= data.length - target.length; i++) {
+            if (Arrays.equals(data, i, i + target.length, target, 0, target.length)) return i;
+        }
+        throw new AssertionError("missing CRLF after position " + from);
+    }
+
+    private static void assertPart(Part part, String id, byte[] bytes) {
+        assertThat(part.headers().get("Content-ID"), equalTo("<" + id + ">"));
+        assertThat(part.headers().get("ETag"), equalTo("\"" + sha256(bytes) + "\""));
+        assertThat(part.headers().get("Content-Length"), equalTo(String.valueOf(bytes.length)));
+        assertThat(part.headers().get("Content-Type"), startsWith("image/"));
+        assertThat(Arrays.equals(part.body(), bytes), is(true));
+    }
+
+    private static String createBook(String title) {
+        return given()
+            .contentType(ContentType.JSON)
+            .body("{\"title\": \"" + title + "\"}")
+            .when().post("/v1/books")
+            .then()
+            .statusCode(201)
+            .extract().path("id");
+    }
+
+    /**
+     * Store a PNG of the given width as the image of an entity, as the hydration would.
+     */
+    private byte[] writeImage(String folder, String subFolder, String id, int width) throws IOException {
+        Path file = imagePath(folder, subFolder, id);
+        Files.createDirectories(file.getParent());
+        ImageIO.write(new BufferedImage(width, width * 3 / 2, BufferedImage.TYPE_INT_RGB), "png", file.toFile());
+        createdImages.add(file);
+        return Files.readAllBytes(file);
+    }
+
+    private Path imagePath(String folder, String subFolder, String id) {
+        return Paths.get(configurationPort.getStorageConfig().getBaseDir()).resolve(folder).resolve(subFolder).resolve(id);
+    }
+
+    /**
+     * Version in versioned image URLs: the start of the SHA-256 of the content.
+     */
+    private static String version(byte[] bytes) {
+        return sha256(bytes).substring(0, 16);
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            assertThat("condition not met in time", System.currentTimeMillis() < deadline, is(true));
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AssertionError("interrupted", e);
+            }
+        }
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
 }
@@ -0,0 +1,136 @@
+package org.motpassants.integration;
+
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.motpassants.domain.core.model.ReadingProgress;
+import org.motpassants.domain.port.out.ReadingProgressRepository;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for the atomic reading progress upsert.
+ * Many threads write progress for the same book at once; exactly one row must remain
+ * and it must hold the most recent position.
+ */
+@QuarkusTest
+@DisplayName("Reading Progress Concurrency Integration Tests")
+public class ReadingProgressConcurrencyIntegrationTest {
+
+    private static final UUID READER_ID = UUID.fromString("550e8400-e29b-41d4-a716-446655440000");
+    private static final int THREADS = 16;
+    private static final int WRITES_PER_THREAD = 25;
+
+    @Inject
+    ReadingProgressRepository readingProgressRepository;
+
+    @Inject
+    DataSource dataSource;
+
+    private UUID bookId;
+
+    @BeforeEach
+    void createBook() throws Exception {
+        bookId = UUID.randomUUID();
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement ps = conn.prepareStatement(
+                 "INSERT INTO books (id, title, title_sort, path) VALUES (?, ?, ?, ?)")) {
+            ps.setObject(1, bookId);
+            ps.setString(2, "Concurrency Test Book");
+            ps.setString(3, "Concurrency Test Book");
+            ps.setString(4, "/test/concurrency-" + bookId + ".epub");
+            ps.executeUpdate();
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep a single row holding the latest position under concurrent writes")
+    void shouldKeepLatestPositionUnderConcurrentWrites() throws Exception {
+        LocalDateTime base = LocalDateTime.now().withNano(0);
+        int totalWrites = THREADS * WRITES_PER_THREAD;
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                final int thread = t;
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < WRITES_PER_THREAD; i++) {
+                        // Interleave sequence numbers so threads race on both newer and older positions
+                        int seq = i * THREADS + thread + 1;
+                        ReadingProgress progress = ReadingProgress.create(READER_ID, bookId);
+                        progress.updateProgress((double) seq / totalWrites, seq, totalWrites);
+                        progress.setLastReadAt(base.plusSeconds(seq));
+                        readingProgressRepository.save(progress);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(1, countRows(), "Concurrent upserts must not create duplicate rows");
+
+        Optional<ReadingProgress> stored = readingProgressRepository.findByUserIdAndBookId(READER_ID, bookId);
+        assertTrue(stored.isPresent());
+        assertEquals(totalWrites, stored.get().getCurrentPage());
+        assertEquals(1.0, stored.get().getProgress(), 0.0001);
+        assertEquals(base.plusSeconds(totalWrites), stored.get().getLastReadAt());
+    }
+
+    @Test
+    @DisplayName("Should not let a stale update overwrite a newer position")
+    void shouldIgnoreStaleUpdate() {
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+
+        ReadingProgress newer = ReadingProgress.create(READER_ID, bookId);
+        newer.updateProgress(0.8, 80, 100);
+        newer.setLastReadAt(now);
+        readingProgressRepository.save(newer);
+
+        ReadingProgress stale = ReadingProgress.create(READER_ID, bookId);
+        stale.updateProgress(0.2, 20, 100);
+        stale.setLastReadAt(now.minusMinutes(5));
+        ReadingProgress result = readingProgressRepository.save(stale);
+
+        assertEquals(80, result.getCurrentPage());
+        assertEquals(0.8, result.getProgress(), 0.0001);
+    }
+
+    private int countRows() throws Exception {
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement ps = conn.prepareStatement(
+                 "SELECT COUNT(*) FROM reading_progress WHERE user_id = ? AND book_id = ?")) {
+            ps.setObject(1, READER_ID);
+            ps.setObject(2, bookId);
+            try (ResultSet rs = ps.executeQuery()) {
+                rs.next();
+                return rs.getInt(1);
+            }
+        }
+    }
+}
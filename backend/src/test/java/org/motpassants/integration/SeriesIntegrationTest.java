@@ -148,6 +148,7 @@ public class SeriesIntegrationTest {
             .when().get("/v1/books/series/{id}/books", createdSeriesId)
             .then()
             .statusCode(200)
+            .contentType(ContentType.JSON)
             .body("size()", greaterThanOrEqualTo(0));
     }
 
@@ -149,4 +149,46 @@ public class SettingsIntegrationTest {
             .then()
             .statusCode(anyOf(equalTo(405), equalTo(404))); // Method Not Allowed or Not Found
     }
-}
\ No newline at end of file
+
+    @Test
+    @Order(11)
+    public void testGetSystemSettingsETag() {
+        String etag = given()
+            .when().get("/v1/settings")
+            .then()
+            .statusCode(200)
+            .header("ETag", notNullValue())
+            .header("Cache-Control", containsString("no-cache"))
+            .extract().header("ETag");
+
+        given()
+            .header("If-None-Match", etag)
+            .when().get("/v1/settings")
+            .then()
+            .statusCode(304)
+            .header("ETag", equalTo(etag));
+    }
+
+    @Test
+    @Order(12)
+    public void testGetLibraryStatistics() {
+        String etag = given()
+            .when().get("/v1/settings/statistics")
+            .then()
+            .statusCode(200)
+            .body("books", greaterThanOrEqualTo(0))
+            .body("series", greaterThanOrEqualTo(0))
+            .body("authors", greaterThanOrEqualTo(0))
+            .body("totalBytes", greaterThanOrEqualTo(0))
+            .body("formats", notNullValue())
+            .body("languages", notNullValue())
+            .header("ETag", notNullValue())
+            .extract().header("ETag");
+
+        given()
+            .header("If-None-Match", etag)
+            .when().get("/v1/settings/statistics")
+            .then()
+            .statusCode(304);
+    }
+}